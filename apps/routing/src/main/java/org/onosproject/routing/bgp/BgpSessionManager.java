@@ -38,6 +38,7 @@ import org.onlab.packet.Ip6Prefix;
 import org.onlab.packet.IpPrefix;
 import org.onosproject.incubator.net.routing.Route;
 import org.onosproject.incubator.net.routing.RouteAdminService;
+import org.onosproject.routing.impl.RouteUpdateAccumulator;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +75,7 @@ public class BgpSessionManager implements BgpInfoService {
     private Ip4Address myBgpId;        // Same BGP ID for all peers
 
     private BgpRouteSelector bgpRouteSelector = new BgpRouteSelector(this);
+    private RouteUpdateAccumulator routeUpdates;
     private ConcurrentMap<Ip4Prefix, BgpRouteEntry> bgpRoutes4 =
             new ConcurrentHashMap<>();
     private ConcurrentMap<Ip6Prefix, BgpRouteEntry> bgpRoutes6 =
@@ -286,27 +288,30 @@ public class BgpSessionManager implements BgpInfoService {
     }
 
     /**
-     * Sends updates routes to the route service.
+     * Sends updates routes to the route service. Updates are batched with
+     * those from other UPDATE messages received shortly afterwards.
      *
      * @param updates routes to update
      */
     void update(Collection<Route> updates) {
-        routeService.update(updates);
+        routeUpdates.update(updates);
     }
 
     /**
-     * Sends withdrawn routes to the routes service.
+     * Sends withdrawn routes to the routes service. Withdrawals are batched
+     * with those from other UPDATE messages received shortly afterwards.
      *
      * @param withdraws routes to withdraw
      */
     void withdraw(Collection<Route> withdraws) {
-        routeService.withdraw(withdraws);
+        routeUpdates.withdraw(withdraws);
     }
 
 
     public void start() {
         log.debug("BGP Session Manager start.");
         isShutdown = false;
+        routeUpdates = new RouteUpdateAccumulator(routeService);
 
         ChannelFactory channelFactory = new NioServerSocketChannelFactory(
                 newCachedThreadPool(groupedThreads("onos/bgp", "sm-boss-%d")),
@@ -345,5 +350,6 @@ public class BgpSessionManager implements BgpInfoService {
         isShutdown = true;
         allChannels.close().awaitUninterruptibly();
         serverBootstrap.releaseExternalResources();
+        routeUpdates.shutdown();
     }
 }
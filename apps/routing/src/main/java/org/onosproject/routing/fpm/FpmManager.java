@@ -41,6 +41,7 @@ import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.incubator.net.routing.Route;
 import org.onosproject.incubator.net.routing.RouteAdminService;
+import org.onosproject.routing.impl.RouteUpdateAccumulator;
 import org.onosproject.routing.fpm.protocol.FpmHeader;
 import org.onosproject.routing.fpm.protocol.Netlink;
 import org.onosproject.routing.fpm.protocol.RouteAttribute;
@@ -87,6 +88,8 @@ public class FpmManager implements FpmInfoService {
 
     private Map<IpPrefix, Route> fpmRoutes = new ConcurrentHashMap<>();
 
+    private RouteUpdateAccumulator routeUpdates;
+
     @Property(name = "clearRoutes", boolValue = true,
             label = "Whether to clear routes when the FPM connection goes down")
     private boolean clearRoutes = true;
@@ -94,6 +97,7 @@ public class FpmManager implements FpmInfoService {
     @Activate
     protected void activate(ComponentContext context) {
         componentConfigService.registerProperties(getClass());
+        routeUpdates = new RouteUpdateAccumulator(routeService);
         modified(context);
         startServer();
         log.info("Started");
@@ -102,6 +106,7 @@ public class FpmManager implements FpmInfoService {
     @Deactivate
     protected void deactivate() {
         stopServer();
+        routeUpdates.shutdown();
         fpmRoutes.clear();
         componentConfigService.unregisterProperties(getClass(), false);
         log.info("Stopped");
@@ -232,14 +237,14 @@ public class FpmManager implements FpmInfoService {
             break;
         }
 
-        routeService.withdraw(withdraws);
-        routeService.update(updates);
+        routeUpdates.withdraw(withdraws);
+        routeUpdates.update(updates);
     }
 
 
     private void clearRoutes() {
         log.info("Clearing all routes");
-        routeService.withdraw(ImmutableList.copyOf(fpmRoutes.values()));
+        routeUpdates.withdraw(ImmutableList.copyOf(fpmRoutes.values()));
     }
 
     @Override
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routing.impl;
+
+import org.onlab.packet.IpPrefix;
+import org.onosproject.incubator.net.routing.Route;
+import org.onosproject.incubator.net.routing.RouteAdminService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.onlab.util.Tools.groupedThreads;
+
+/**
+ * Accumulates route updates and withdrawals from a route source and pushes
+ * them to the route service in batches.
+ * <p>
+ * Only the last operation received for each prefix within a batch window is
+ * kept. A batch is pushed once it holds the maximum number of prefixes or
+ * once the batch window has elapsed since its first operation. Batch
+ * windows are timed on a thread owned by the accumulator, which is released
+ * by {@link #shutdown()}.
+ * </p>
+ */
+public class RouteUpdateAccumulator {
+
+    private static final int DEFAULT_MAX_ROUTES = 1000;
+    private static final int DEFAULT_MAX_BATCH_MS = 50;
+
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private final RouteAdminService routeService;
+    private final ScheduledExecutorService executor;
+    private final int maxRoutes;
+    private final int maxBatchMillis;
+
+    // Serializes flushes so that batches reach the route service in order
+    private final Object flushLock = new Object();
+
+    // Pending operations keyed by prefix; a prefix is in at most one of these
+    private Map<IpPrefix, Route> pendingUpdates = new LinkedHashMap<>();
+    private Map<IpPrefix, Route> pendingWithdraws = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushTask;
+
+    /**
+     * Creates a route update accumulator with the default thresholds.
+     *
+     * @param routeService route service to push batches to
+     */
+    public RouteUpdateAccumulator(RouteAdminService routeService) {
+        this(routeService, DEFAULT_MAX_ROUTES, DEFAULT_MAX_BATCH_MS);
+    }
+
+    /**
+     * Creates a route update accumulator.
+     *
+     * @param routeService   route service to push batches to
+     * @param maxRoutes      maximum number of prefixes to accumulate before
+     *                       the batch is pushed
+     * @param maxBatchMillis maximum number of millis allowed since the first
+     *                       operation before the batch is pushed
+     */
+    public RouteUpdateAccumulator(RouteAdminService routeService,
+                                  int maxRoutes, int maxBatchMillis) {
+        this(routeService,
+             newSingleThreadScheduledExecutor(groupedThreads("onos/routing", "route-updates")),
+             maxRoutes, maxBatchMillis);
+    }
+
+    /**
+     * Creates a route update accumulator timing batch windows on the given
+     * executor.
+     *
+     * @param routeService   route service to push batches to
+     * @param executor       executor to schedule batch window expiry on
+     * @param maxRoutes      maximum number of prefixes to accumulate before
+     *                       the batch is pushed
+     * @param maxBatchMillis maximum number of millis allowed since the first
+     *                       operation before the batch is pushed
+     */
+    RouteUpdateAccumulator(RouteAdminService routeService,
+                           ScheduledExecutorService executor,
+                           int maxRoutes, int maxBatchMillis) {
+        this.routeService = checkNotNull(routeService);
+        this.executor = checkNotNull(executor);
+        checkArgument(maxRoutes > 0, "Maximum number of routes must be positive");
+        checkArgument(maxBatchMillis > 0, "Maximum millis must be positive");
+        this.maxRoutes = maxRoutes;
+        this.maxBatchMillis = maxBatchMillis;
+    }
+
+    /**
+     * Queues the given routes to be updated in the route service.
+     *
+     * @param routes routes to update
+     */
+    public void update(Collection<Route> routes) {
+        accumulate(routes, false);
+    }
+
+    /**
+     * Queues the given routes to be withdrawn from the route service.
+     *
+     * @param routes routes to withdraw
+     */
+    public void withdraw(Collection<Route> routes) {
+        accumulate(routes, true);
+    }
+
+    /**
+     * Pushes all pending operations to the route service immediately.
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<IpPrefix, Route> updates;
+            Map<IpPrefix, Route> withdraws;
+            synchronized (this) {
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                    flushTask = null;
+                }
+                updates = pendingUpdates;
+                withdraws = pendingWithdraws;
+                pendingUpdates = new LinkedHashMap<>();
+                pendingWithdraws = new LinkedHashMap<>();
+            }
+            push(updates, withdraws);
+        }
+    }
+
+    /**
+     * Pushes all pending operations to the route service and stops the
+     * batch window timer. The accumulator must not be used afterwards.
+     */
+    public void shutdown() {
+        flush();
+        executor.shutdown();
+    }
+
+    private void accumulate(Collection<Route> routes, boolean withdraw) {
+        if (routes.isEmpty()) {
+            return;
+        }
+        boolean full;
+        synchronized (this) {
+            for (Route route : routes) {
+                if (withdraw) {
+                    pendingUpdates.remove(route.prefix());
+                    pendingWithdraws.put(route.prefix(), route);
+                } else {
+                    pendingWithdraws.remove(route.prefix());
+                    pendingUpdates.put(route.prefix(), route);
+                }
+            }
+            full = pendingUpdates.size() + pendingWithdraws.size() >= maxRoutes;
+            if (!full && flushTask == null) {
+                flushTask = executor.schedule(this::flush, maxBatchMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full) {
+            flush();
+        }
+    }
+
+    private void push(Map<IpPrefix, Route> updates,
+                      Map<IpPrefix, Route> withdraws) {
+        if (updates.isEmpty() && withdraws.isEmpty()) {
+            return;
+        }
+        log.debug("Pushing {} route updates and {} withdrawals",
+                  updates.size(), withdraws.size());
+        List<Route> withdrawn = new ArrayList<>(withdraws.values());
+        if (!withdrawn.isEmpty()) {
+            routeService.withdraw(withdrawn);
+        }
+        List<Route> updated = new ArrayList<>(updates.values());
+        if (!updated.isEmpty()) {
+            routeService.update(updated);
+        }
+    }
+}
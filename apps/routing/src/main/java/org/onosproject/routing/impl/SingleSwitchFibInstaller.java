@@ -76,6 +76,7 @@ import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Dictionary;
 import java.util.List;
 import java.util.Map;
@@ -275,6 +276,23 @@ public class SingleSwitchFibInstaller {
         log.trace("Sending forwarding objective {} -> nextId:{}", route, nextId);
     }
 
+    private void updateRoutes(List<ResolvedRoute> routes) {
+        // Resolve next hops for the whole batch under a single lock
+        List<Integer> nextIds = new ArrayList<>(routes.size());
+        synchronized (this) {
+            for (ResolvedRoute route : routes) {
+                addNextHop(route);
+                nextIds.add(nextHops.get(route.nextHop()));
+            }
+        }
+
+        for (int i = 0; i < routes.size(); i++) {
+            flowObjectiveService.forward(deviceId,
+                    generateRibForwardingObj(routes.get(i).prefix(), nextIds.get(i)).add());
+        }
+        log.trace("Sent forwarding objectives for {} routes", routes.size());
+    }
+
     private synchronized void deleteRoute(ResolvedRoute route) {
         //Integer nextId = nextHops.get(route.nextHop());
 
@@ -514,6 +532,27 @@ public class SingleSwitchFibInstaller {
                 break;
             }
         }
+
+        @Override
+        public void events(List<RouteEvent> events) {
+            // Events arrive coalesced to one per prefix, so updates and
+            // removals in a batch can be programmed independently
+            List<ResolvedRoute> updates = new ArrayList<>();
+            for (RouteEvent event : events) {
+                switch (event.type()) {
+                case ROUTE_ADDED:
+                case ROUTE_UPDATED:
+                    updates.add(event.subject());
+                    break;
+                case ROUTE_REMOVED:
+                    deleteRoute(event.subject());
+                    break;
+                default:
+                    break;
+                }
+            }
+            updateRoutes(updates);
+        }
     }
 
     /**
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.routing.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.junit.NullScheduledExecutor;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.incubator.net.routing.Route;
+import org.onosproject.incubator.net.routing.RouteAdminService;
+import org.onosproject.incubator.net.routing.RouteServiceAdapter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the route update accumulator.
+ */
+public class RouteUpdateAccumulatorTest {
+
+    private static final int MAX_ROUTES = 3;
+    private static final int MAX_BATCH_MS = 50;
+
+    private static final IpPrefix PREFIX1 = IpPrefix.valueOf("1.1.1.0/24");
+    private static final IpPrefix PREFIX2 = IpPrefix.valueOf("2.2.2.0/24");
+    private static final IpPrefix PREFIX3 = IpPrefix.valueOf("3.3.3.0/24");
+    private static final IpAddress NEXT_HOP1 = IpAddress.valueOf("192.168.10.1");
+    private static final IpAddress NEXT_HOP2 = IpAddress.valueOf("192.168.20.1");
+
+    private TestRouteAdminService routeService;
+    private ManualScheduledExecutor executor;
+    private RouteUpdateAccumulator accumulator;
+
+    @Before
+    public void setUp() {
+        routeService = new TestRouteAdminService();
+        executor = new ManualScheduledExecutor();
+        accumulator = new RouteUpdateAccumulator(routeService, executor, MAX_ROUTES, MAX_BATCH_MS);
+    }
+
+    /**
+     * Tests that operations are held until the batch window expires.
+     */
+    @Test
+    public void testWindowFlush() {
+        accumulator.update(ImmutableList.of(route(PREFIX1, NEXT_HOP1)));
+        accumulator.withdraw(ImmutableList.of(route(PREFIX2, NEXT_HOP1)));
+
+        assertNotNull(executor.task);
+        assertEquals(MAX_BATCH_MS, executor.delayMillis);
+        assertTrue(routeService.calls.isEmpty());
+
+        executor.runTask();
+
+        assertEquals(ImmutableList.of(
+                new Call(true, ImmutableList.of(route(PREFIX2, NEXT_HOP1))),
+                new Call(false, ImmutableList.of(route(PREFIX1, NEXT_HOP1)))),
+                     routeService.calls);
+    }
+
+    /**
+     * Tests that a batch is pushed as soon as it holds the maximum number
+     * of prefixes, and that its batch window is cancelled.
+     */
+    @Test
+    public void testSizeFlush() {
+        accumulator.update(ImmutableList.of(route(PREFIX1, NEXT_HOP1), route(PREFIX2, NEXT_HOP1)));
+        assertTrue(routeService.calls.isEmpty());
+        ScheduledFuture<?> window = executor.future;
+
+        accumulator.update(ImmutableList.of(route(PREFIX3, NEXT_HOP1)));
+
+        assertEquals(ImmutableList.of(
+                new Call(false, ImmutableList.of(route(PREFIX1, NEXT_HOP1),
+                                                 route(PREFIX2, NEXT_HOP1),
+                                                 route(PREFIX3, NEXT_HOP1)))),
+                     routeService.calls);
+        assertTrue(window.isCancelled());
+    }
+
+    /**
+     * Tests that only the last operation for each prefix is pushed.
+     */
+    @Test
+    public void testLastWriteWins() {
+        // large enough to hold every prefix of the test
+        accumulator = new RouteUpdateAccumulator(routeService, executor, 10, MAX_BATCH_MS);
+        accumulator.update(ImmutableList.of(route(PREFIX1, NEXT_HOP1), route(PREFIX2, NEXT_HOP1)));
+        accumulator.update(ImmutableList.of(route(PREFIX1, NEXT_HOP2)));
+        accumulator.withdraw(ImmutableList.of(route(PREFIX2, NEXT_HOP1)));
+        accumulator.withdraw(ImmutableList.of(route(PREFIX3, NEXT_HOP1)));
+        accumulator.update(ImmutableList.of(route(PREFIX3, NEXT_HOP2)));
+
+        accumulator.flush();
+
+        assertEquals(ImmutableList.of(
+                new Call(true, ImmutableList.of(route(PREFIX2, NEXT_HOP1))),
+                new Call(false, ImmutableList.of(route(PREFIX1, NEXT_HOP2),
+                                                 route(PREFIX3, NEXT_HOP2)))),
+                     routeService.calls);
+    }
+
+    /**
+     * Tests that shutting down pushes pending operations and stops the executor.
+     */
+    @Test
+    public void testShutdown() {
+        accumulator.update(ImmutableList.of(route(PREFIX1, NEXT_HOP1)));
+
+        accumulator.shutdown();
+
+        assertEquals(ImmutableList.of(new Call(false, ImmutableList.of(route(PREFIX1, NEXT_HOP1)))),
+                     routeService.calls);
+        assertTrue(executor.isShutdown());
+
+        // nothing is left to push
+        accumulator.flush();
+        assertEquals(1, routeService.calls.size());
+        assertNull(executor.runTask());
+    }
+
+    private static Route route(IpPrefix prefix, IpAddress nextHop) {
+        return new Route(Route.Source.STATIC, prefix, nextHop);
+    }
+
+    /**
+     * Call made to the route service.
+     */
+    private static final class Call {
+        private final boolean withdraw;
+        private final List<Route> routes;
+
+        private Call(boolean withdraw, Collection<Route> routes) {
+            this.withdraw = withdraw;
+            this.routes = ImmutableList.copyOf(routes);
+        }
+
+        @Override
+        public int hashCode() {
+            return routes.hashCode() * 31 + Boolean.hashCode(withdraw);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Call)) {
+                return false;
+            }
+            Call that = (Call) obj;
+            return withdraw == that.withdraw && routes.equals(that.routes);
+        }
+
+        @Override
+        public String toString() {
+            return (withdraw ? "withdraw " : "update ") + routes;
+        }
+    }
+
+    /**
+     * Route admin service recording the calls made to it.
+     */
+    private static class TestRouteAdminService extends RouteServiceAdapter implements RouteAdminService {
+        private final List<Call> calls = new ArrayList<>();
+
+        @Override
+        public void update(Collection<Route> routes) {
+            calls.add(new Call(false, routes));
+        }
+
+        @Override
+        public void withdraw(Collection<Route> routes) {
+            calls.add(new Call(true, routes));
+        }
+    }
+
+    /**
+     * Scheduled executor holding the last scheduled task until it is run
+     * by the test.
+     */
+    private static class ManualScheduledExecutor extends NullScheduledExecutor {
+        private Runnable task;
+        private long delayMillis;
+        private TestFuture future;
+        private boolean shutdown;
+
+        @Override
+        public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+            task = command;
+            delayMillis = unit.toMillis(delay);
+            future = new TestFuture();
+            return future;
+        }
+
+        // Runs the pending task unless it was cancelled; returns the task run
+        Runnable runTask() {
+            Runnable run = future == null || future.isCancelled() ? null : task;
+            task = null;
+            future = null;
+            if (run != null) {
+                run.run();
+            }
+            return run;
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+    }
+
+    private static class TestFuture extends CompletableFuture<Object> implements ScheduledFuture<Object> {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return 0;
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return 0;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.onosproject.routing.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.easymock.EasyMock;
 import org.junit.Before;
@@ -97,6 +98,7 @@ public class SingleSwitchFibInstallerTest {
     private static final MacAddress MAC2 = MacAddress.valueOf("00:00:00:00:00:02");
 
     private static final IpPrefix PREFIX1 = Ip4Prefix.valueOf("1.1.1.0/24");
+    private static final IpPrefix PREFIX2 = Ip4Prefix.valueOf("2.2.2.0/24");
     private static final IpAddress NEXT_HOP1 = IpAddress.valueOf("192.168.10.1");
     private static final IpAddress NEXT_HOP2 = IpAddress.valueOf("192.168.20.1");
     private static final InterfaceIpAddress INTF1 =
@@ -379,6 +381,60 @@ public class SingleSwitchFibInstallerTest {
         verify(flowObjectiveService);
     }
 
+    /**
+     * Tests a batch of route events.
+     *
+     * We verify that routes sharing a next hop in a batch allocate a single
+     * next objective, and that removals in the batch are applied as well.
+     */
+    @Test
+    public void testRouteBatch() {
+        // Firstly add a route
+        testRouteAdd();
+
+        reset(flowObjectiveService);
+        // The next hop is already known, so no next objective is created
+        flowObjectiveService.forward(DEVICE_ID, createForwardingObjective(PREFIX2, true));
+        EasyMock.expectLastCall().once();
+        flowObjectiveService.forward(DEVICE_ID, createForwardingObjective(PREFIX1, false));
+        EasyMock.expectLastCall().once();
+        replay(flowObjectiveService);
+
+        routeListener.events(Lists.newArrayList(
+                new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                               new ResolvedRoute(PREFIX2, NEXT_HOP1, MAC1)),
+                new RouteEvent(RouteEvent.Type.ROUTE_REMOVED,
+                               new ResolvedRoute(PREFIX1, null, null))));
+
+        verify(flowObjectiveService);
+    }
+
+    /**
+     * Tests a batch of route events adding routes through a new next hop.
+     *
+     * We verify that the next hop is resolved once for the whole batch.
+     */
+    @Test
+    public void testRouteBatchNewNextHop() {
+        NextObjective nextObjective = createNextObjective(MAC1, MAC1, SW1_ETH1.port(), VlanId.NONE, true);
+        flowObjectiveService.next(DEVICE_ID, nextObjective);
+        EasyMock.expectLastCall().once();
+        flowObjectiveService.forward(DEVICE_ID, createForwardingObjective(PREFIX1, true));
+        EasyMock.expectLastCall().once();
+        flowObjectiveService.forward(DEVICE_ID, createForwardingObjective(PREFIX2, true));
+        EasyMock.expectLastCall().once();
+        // a single next id is allocated
+        setUpFlowObjectiveService();
+
+        routeListener.events(Lists.newArrayList(
+                new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                               new ResolvedRoute(PREFIX1, NEXT_HOP1, MAC1)),
+                new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                               new ResolvedRoute(PREFIX2, NEXT_HOP1, MAC1))));
+
+        verify(flowObjectiveService);
+    }
+
     private class TestInterfaceService extends InterfaceServiceAdapter {
         @Override
         public void addListener(InterfaceListener listener) {
@@ -33,14 +33,21 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.onlab.util.Tools.groupedThreads;
 
 /**
  * Default routing handler that is responsible for route computing and
@@ -50,6 +57,7 @@ public class DefaultRoutingHandler {
     private static final int MAX_RETRY_ATTEMPTS = 25;
     private static final String ECMPSPG_MISSING = "ECMP shortest path graph not found";
     private static Logger log = LoggerFactory.getLogger(DefaultRoutingHandler.class);
+    private static final long ECMP_THREAD_KEEP_ALIVE_SECONDS = 60;
 
     private SegmentRoutingManager srManager;
     private RoutingRulePopulator rulePopulator;
@@ -60,6 +68,13 @@ public class DefaultRoutingHandler {
     private volatile Status populationStatus;
     private ScheduledExecutorService executorService = Executors.newScheduledThreadPool(1);
 
+    // Computes the ECMP graphs of all switches in parallel; idle workers
+    // time out, so no threads are held between route computations
+    private final ThreadPoolExecutor ecmpExecutor = new ThreadPoolExecutor(
+            Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors(),
+            ECMP_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            groupedThreads("onos/sr", "ecmp-%d"));
+
     /**
      * Represents the default routing population status.
      */
@@ -89,6 +104,16 @@ public class DefaultRoutingHandler {
         this.config = checkNotNull(srManager.deviceConfiguration);
         this.populationStatus = Status.IDLE;
         this.currentEcmpSpgMap = Maps.newHashMap();
+        this.ecmpExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Stops the threads of this routing handler. Rule population must not
+     * be started afterwards.
+     */
+    public void shutdown() {
+        ecmpExecutor.shutdownNow();
+        executorService.shutdownNow();
     }
 
     /**
@@ -106,14 +131,16 @@ public class DefaultRoutingHandler {
             log.info("Starting to populate segment-routing rules");
             log.debug("populateAllRoutingRules: populationStatus is STARTED");
 
+            Map<DeviceId, EcmpShortestPathGraph> ecmpSpgs =
+                    computeEcmpShortestPathGraphs(getLocalMasteredDevices());
             for (Device sw : srManager.deviceService.getDevices()) {
-                if (!srManager.mastershipService.isLocalMaster(sw.id())) {
+                EcmpShortestPathGraph ecmpSpg = ecmpSpgs.get(sw.id());
+                if (ecmpSpg == null) {
                     log.debug("populateAllRoutingRules: skipping device {}...we are not master",
                               sw.id());
                     continue;
                 }
 
-                EcmpShortestPathGraph ecmpSpg = new EcmpShortestPathGraph(sw.id(), srManager);
                 if (!populateEcmpRoutingRules(sw.id(), ecmpSpg, ImmutableSet.of())) {
                     log.debug("populateAllRoutingRules: populationStatus is ABORTED");
                     populationStatus = Status.ABORTED;
@@ -153,16 +180,11 @@ public class DefaultRoutingHandler {
                 return true;
             }
 
-            // Take the snapshots of the links
-            updatedEcmpSpgMap = new HashMap<>();
-            for (Device sw : srManager.deviceService.getDevices()) {
-                if (!srManager.mastershipService.isLocalMaster(sw.id())) {
-                    continue;
-                }
-                EcmpShortestPathGraph ecmpSpgUpdated =
-                        new EcmpShortestPathGraph(sw.id(), srManager);
-                updatedEcmpSpgMap.put(sw.id(), ecmpSpgUpdated);
-            }
+            // Take the snapshots of the links. When a link fails, only the
+            // graphs using that link can change, so all others are kept.
+            updatedEcmpSpgMap = updateEcmpShortestPathGraphs(currentEcmpSpgMap,
+                                                             getLocalMasteredDevices(),
+                                                             linkFail);
 
             log.info("Starts rule population from link change");
 
@@ -309,6 +331,10 @@ public class DefaultRoutingHandler {
                         + " rerouting and opting for full-reroute", sw.id());
                 return null;
             }
+            if (!ecmpSpg.containsLink(linkFail)) {
+                log.trace("Failed link is not used by the ECMP graph of {}", sw.id());
+                continue;
+            }
             HashMap<Integer, HashMap<DeviceId, ArrayList<ArrayList<DeviceId>>>> switchVia =
                     ecmpSpg.getAllLearnedSwitchesAndVia();
             for (Integer itrIdx : switchVia.keySet()) {
@@ -348,6 +374,68 @@ public class DefaultRoutingHandler {
         return routes;
     }
 
+    /**
+     * Returns the devices this instance is master for.
+     *
+     * @return list of locally mastered device identifiers
+     */
+    private List<DeviceId> getLocalMasteredDevices() {
+        List<DeviceId> devices = new ArrayList<>();
+        for (Device sw : srManager.deviceService.getDevices()) {
+            if (srManager.mastershipService.isLocalMaster(sw.id())) {
+                devices.add(sw.id());
+            }
+        }
+        return devices;
+    }
+
+    /**
+     * Returns the ECMP shortest path graphs of the given devices after a link
+     * change. When a link fails, the current graphs not using that link are
+     * kept, and only the others are recomputed.
+     *
+     * @param currentGraphs current ECMP shortest path graphs by root device
+     * @param roots root devices of the graphs
+     * @param linkFail link failed, null for link added
+     * @return map of root device to its ECMP shortest path graph
+     */
+    HashMap<DeviceId, EcmpShortestPathGraph> updateEcmpShortestPathGraphs(
+            Map<DeviceId, EcmpShortestPathGraph> currentGraphs,
+            List<DeviceId> roots, Link linkFail) {
+        HashMap<DeviceId, EcmpShortestPathGraph> graphs = new HashMap<>();
+        List<DeviceId> rootsToCompute = new ArrayList<>();
+        for (DeviceId deviceId : roots) {
+            EcmpShortestPathGraph ecmpSpg = currentGraphs.get(deviceId);
+            if (linkFail != null && ecmpSpg != null && !ecmpSpg.containsLink(linkFail)) {
+                graphs.put(deviceId, ecmpSpg);
+            } else {
+                rootsToCompute.add(deviceId);
+            }
+        }
+        log.debug("Recomputing ECMP graphs for {} of {} devices",
+                  rootsToCompute.size(), roots.size());
+        graphs.putAll(computeEcmpShortestPathGraphs(rootsToCompute));
+        return graphs;
+    }
+
+    /**
+     * Computes the ECMP shortest path graphs rooted at the given devices in
+     * parallel.
+     *
+     * @param roots root devices of the graphs
+     * @return map of root device to its ECMP shortest path graph
+     */
+    Map<DeviceId, EcmpShortestPathGraph> computeEcmpShortestPathGraphs(
+            List<DeviceId> roots) {
+        Map<DeviceId, CompletableFuture<EcmpShortestPathGraph>> futures = new HashMap<>();
+        for (DeviceId root : roots) {
+            futures.put(root, CompletableFuture.supplyAsync(
+                    () -> new EcmpShortestPathGraph(root, srManager), ecmpExecutor));
+        }
+        return futures.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().join()));
+    }
+
     private Set<ArrayList<DeviceId>> computeRouteChange() {
 
         Set<ArrayList<DeviceId>> routes = new HashSet<>();
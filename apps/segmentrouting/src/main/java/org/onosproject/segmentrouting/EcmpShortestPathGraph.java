@@ -258,6 +258,32 @@ public class EcmpShortestPathGraph {
         return rootDevice;
     }
 
+    /**
+     * Returns whether a link between the two devices of the given link, in
+     * either direction, is on any of the ECMP paths from the root Device.
+     * Removing a link that is not on any of them leaves the graph unchanged.
+     *
+     * @param link the link to look up
+     * @return true if the link is used by the graph
+     */
+    public boolean containsLink(Link link) {
+        return hasUpstreamLink(link.src().deviceId(), link.dst().deviceId())
+                || hasUpstreamLink(link.dst().deviceId(), link.src().deviceId());
+    }
+
+    private boolean hasUpstreamLink(DeviceId src, DeviceId dst) {
+        ArrayList<Link> upstreamLinkArray = upstreamLinks.get(dst);
+        if (upstreamLinkArray == null) {
+            return false;
+        }
+        for (Link link : upstreamLinkArray) {
+            if (link.src().deviceId().equals(src)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Return the computed ECMP paths from the root Device to a given Device in
      * the network.
@@ -396,6 +396,10 @@ public class SegmentRoutingManager implements SegmentRoutingService {
         deviceListener = null;
         groupHandlerMap.clear();
 
+        if (defaultRoutingHandler != null) {
+            defaultRoutingHandler.shutdown();
+        }
+
         nsNextObjStore.destroy();
         subnetNextObjStore.destroy();
         portNextObjStore.destroy();
@@ -896,6 +900,9 @@ public class SegmentRoutingManager implements SegmentRoutingService {
             icmpHandler = new IcmpHandler(segmentRoutingManager);
             ipHandler = new IpHandler(segmentRoutingManager);
             routingRulePopulator = new RoutingRulePopulator(segmentRoutingManager);
+            if (defaultRoutingHandler != null) {
+                defaultRoutingHandler.shutdown();
+            }
             defaultRoutingHandler = new DefaultRoutingHandler(segmentRoutingManager);
 
             tunnelHandler = new TunnelHandler(linkService, deviceConfiguration,
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.segmentrouting;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.config.NetworkConfigRegistryAdapter;
+import org.onosproject.net.link.LinkServiceAdapter;
+import org.onosproject.segmentrouting.config.DeviceConfiguration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+import static org.onosproject.net.NetTestTools.link;
+
+/**
+ * Tests for the ECMP graph updates of the default routing handler.
+ */
+public class DefaultRoutingHandlerTest {
+
+    private static final DeviceId S1 = did("1");
+    private static final DeviceId S2 = did("2");
+    private static final DeviceId S3 = did("3");
+    private static final List<DeviceId> ROOTS = ImmutableList.of(S1, S2, S3);
+
+    // Triangle of switches; the graph of each switch does not use the
+    // link between the other two
+    private static final Link S1_S2 = link("1", 1, "2", 1);
+    private static final Link S2_S1 = link("2", 1, "1", 1);
+    private static final Link S1_S3 = link("1", 2, "3", 1);
+    private static final Link S3_S1 = link("3", 1, "1", 2);
+    private static final Link S2_S3 = link("2", 2, "3", 2);
+    private static final Link S3_S2 = link("3", 2, "2", 2);
+
+    private final Set<Link> links = new HashSet<>(
+            ImmutableList.of(S1_S2, S2_S1, S1_S3, S3_S1, S2_S3, S3_S2));
+    private DefaultRoutingHandler handler;
+
+    @Before
+    public void setUp() {
+        SegmentRoutingManager srManager = new SegmentRoutingManager();
+        srManager.linkService = new TestLinkService();
+        srManager.deviceConfiguration = new DeviceConfiguration(APP_ID, new NetworkConfigRegistryAdapter());
+        srManager.routingRulePopulator = new RoutingRulePopulator(srManager);
+        handler = new DefaultRoutingHandler(srManager);
+    }
+
+    @After
+    public void tearDown() {
+        handler.shutdown();
+    }
+
+    /**
+     * Tests that only the graphs using a failed link are recomputed.
+     */
+    @Test
+    public void testLinkFailure() {
+        Map<DeviceId, EcmpShortestPathGraph> current = handler.computeEcmpShortestPathGraphs(ROOTS);
+        assertEquals(3, current.size());
+        assertFalse(current.get(S1).containsLink(S2_S3));
+        assertTrue(current.get(S2).containsLink(S2_S3));
+        assertTrue(current.get(S3).containsLink(S3_S2));
+
+        links.remove(S2_S3);
+        links.remove(S3_S2);
+        Map<DeviceId, EcmpShortestPathGraph> updated =
+                handler.updateEcmpShortestPathGraphs(current, ROOTS, S2_S3);
+
+        assertEquals(3, updated.size());
+        assertSame(current.get(S1), updated.get(S1));
+        assertNotSame(current.get(S2), updated.get(S2));
+        assertNotSame(current.get(S3), updated.get(S3));
+        assertFalse(updated.get(S2).containsLink(S2_S3));
+        assertFalse(updated.get(S3).containsLink(S2_S3));
+        // the other switch is now reached through the first one
+        assertTrue(updated.get(S2).containsLink(S1_S3));
+        assertTrue(updated.get(S3).containsLink(S1_S2));
+    }
+
+    /**
+     * Tests that all graphs are recomputed when a link is added.
+     */
+    @Test
+    public void testLinkAdded() {
+        Map<DeviceId, EcmpShortestPathGraph> current = handler.computeEcmpShortestPathGraphs(ROOTS);
+
+        Map<DeviceId, EcmpShortestPathGraph> updated =
+                handler.updateEcmpShortestPathGraphs(current, ROOTS, null);
+
+        assertEquals(3, updated.size());
+        for (DeviceId root : ROOTS) {
+            assertNotSame(current.get(root), updated.get(root));
+        }
+    }
+
+    /**
+     * Tests that graphs are computed for devices without a current graph.
+     */
+    @Test
+    public void testNewDevice() {
+        Map<DeviceId, EcmpShortestPathGraph> current =
+                handler.computeEcmpShortestPathGraphs(ImmutableList.of(S1));
+
+        Map<DeviceId, EcmpShortestPathGraph> updated =
+                handler.updateEcmpShortestPathGraphs(current, ROOTS, S2_S3);
+
+        assertEquals(3, updated.size());
+        assertSame(current.get(S1), updated.get(S1));
+    }
+
+    private class TestLinkService extends LinkServiceAdapter {
+        @Override
+        public Set<Link> getDeviceEgressLinks(DeviceId deviceId) {
+            return links.stream()
+                    .filter(link -> link.src().deviceId().equals(deviceId))
+                    .collect(Collectors.toSet());
+        }
+    }
+}
@@ -17,6 +17,7 @@ package org.onosproject.vtnrsc.util;
 
 import org.onosproject.store.service.EventuallyConsistentMapBuilder;
 import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.ConsistentTreeMapBuilder;
 import org.onosproject.store.service.DistributedSetBuilder;
 import org.onosproject.store.service.DistributedQueueBuilder;
 import org.onosproject.store.service.AtomicCounterBuilder;
@@ -39,6 +40,11 @@ public class VtnStorageServiceAdapter implements StorageService {
         return null;
     }
 
+    @Override
+    public <V> ConsistentTreeMapBuilder<V> consistentTreeMapBuilder() {
+        return null;
+    }
+
     @Override
     public <E> DistributedSetBuilder<E> setBuilder() {
         return null;
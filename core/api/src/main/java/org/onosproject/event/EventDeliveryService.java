@@ -35,4 +35,27 @@ public interface EventDeliveryService extends EventDispatcher, EventSinkRegistry
      */
     long getDispatchTimeLimit();
 
+    /**
+     * Sets the number of parallel dispatch lanes. Events are assigned to
+     * lanes by their class, so all events destined for the same sink are
+     * still delivered in the order in which they were posted.
+     *
+     * <p>
+     * Implementations dispatching through a single lane may ignore this.
+     * </p>
+     *
+     * @param lanes number of dispatch lanes; must be positive
+     */
+    default void setDispatchLanes(int lanes) {
+    }
+
+    /**
+     * Returns the number of parallel dispatch lanes.
+     *
+     * @return number of dispatch lanes
+     */
+    default int getDispatchLanes() {
+        return 1;
+    }
+
 }
@@ -15,22 +15,30 @@
  */
 package org.onosproject.net.packet;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import org.onosproject.net.ConnectPoint;
+import org.onlab.packet.DeserializationException;
 import org.onlab.packet.Ethernet;
+import org.slf4j.Logger;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Default implementation of an immutable inbound packet.
  */
 public final class DefaultInboundPacket implements InboundPacket {
 
+    private static final Logger log = getLogger(DefaultInboundPacket.class);
+
     private final ConnectPoint receivedFrom;
-    private final Ethernet parsed;
+    private final Supplier<Ethernet> parsed;
     private final ByteBuffer unparsed;
     private final Optional<Long> cookie;
 
@@ -57,11 +65,51 @@ public final class DefaultInboundPacket implements InboundPacket {
     public DefaultInboundPacket(ConnectPoint receivedFrom, Ethernet parsed,
             ByteBuffer unparsed, Optional<Long> cookie) {
         this.receivedFrom = receivedFrom;
-        this.parsed = parsed;
+        this.parsed = Suppliers.ofInstance(parsed);
+        this.unparsed = unparsed;
+        this.cookie = cookie;
+    }
+
+    /**
+     * Creates an immutable inbound packet whose ethernet frame is decoded
+     * from the raw bytes only when it is first requested.
+     *
+     * @param receivedFrom connection point where received
+     * @param unparsed     unparsed raw bytes
+     * @param cookie       cookie
+     */
+    public DefaultInboundPacket(ConnectPoint receivedFrom, ByteBuffer unparsed,
+                                Optional<Long> cookie) {
+        this.receivedFrom = receivedFrom;
+        // Decode from a view taken now, as consumers of unparsed() may move
+        // the position of the shared buffer before the frame is requested.
+        ByteBuffer frame = unparsed == null ? null : unparsed.duplicate();
+        this.parsed = Suppliers.memoize(() -> deserialize(frame));
         this.unparsed = unparsed;
         this.cookie = cookie;
     }
 
+    // Decodes the ethernet frame held in the given buffer view.
+    private static Ethernet deserialize(ByteBuffer frame) {
+        if (frame == null) {
+            return null;
+        }
+        ByteBuffer buffer = frame.duplicate();
+        try {
+            if (buffer.hasArray()) {
+                return Ethernet.deserializer().deserialize(buffer.array(),
+                        buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            }
+            byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            return Ethernet.deserializer().deserialize(data, 0, data.length);
+        } catch (BufferUnderflowException | NullPointerException |
+                DeserializationException e) {
+            log.error("packet deserialization problem : {}", e.getMessage());
+            return null;
+        }
+    }
+
     @Override
     public ConnectPoint receivedFrom() {
         return receivedFrom;
@@ -69,7 +117,7 @@ public final class DefaultInboundPacket implements InboundPacket {
 
     @Override
     public Ethernet parsed() {
-        return parsed;
+        return parsed.get();
     }
 
     @Override
@@ -85,7 +133,7 @@ public final class DefaultInboundPacket implements InboundPacket {
 
     @Override
     public int hashCode() {
-        return Objects.hash(receivedFrom, parsed, unparsed);
+        return Objects.hash(receivedFrom, parsed(), unparsed);
     }
 
     @Override
@@ -96,7 +144,7 @@ public final class DefaultInboundPacket implements InboundPacket {
         if (obj instanceof InboundPacket) {
             final DefaultInboundPacket other = (DefaultInboundPacket) obj;
             return Objects.equals(this.receivedFrom, other.receivedFrom) &&
-                    Objects.equals(this.parsed, other.parsed) &&
+                    Objects.equals(this.parsed(), other.parsed()) &&
                     Objects.equals(this.unparsed, other.unparsed);
         }
         return false;
@@ -106,7 +154,7 @@ public final class DefaultInboundPacket implements InboundPacket {
     public String toString() {
         return toStringHelper(this)
                 .add("receivedFrom", receivedFrom)
-                .add("parsed", parsed)
+                .add("parsed", parsed())
                 .toString();
     }
 }
@@ -43,7 +43,20 @@ public interface PacketService {
      */
     void addProcessor(PacketProcessor processor, int priority);
 
-    // TODO allow processors to register for particular types of packets
+    /**
+     * Adds the specified processor to the list of packet processors, to be
+     * invoked only for packets matching the given selector. Selector
+     * criteria which cannot be evaluated against a received packet are
+     * treated as matching.
+     *
+     * @param processor processor to be added
+     * @param priority  priority in the reverse natural order
+     * @param selector  selector of the packets the processor is interested in
+     */
+    default void addProcessor(PacketProcessor processor, int priority,
+                              TrafficSelector selector) {
+        addProcessor(processor, priority);
+    }
 
     /**
      * Removes the specified processor from the processing pipeline.
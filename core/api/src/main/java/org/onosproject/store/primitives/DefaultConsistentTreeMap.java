@@ -27,6 +27,7 @@ import org.onosproject.store.service.Versioned;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -148,6 +149,11 @@ public class DefaultConsistentTreeMap<K, V> extends Synchronous<AsyncConsistentT
         return complete(treeMap.navigableKeySet());
     }
 
+    @Override
+    public NavigableMap<K, Versioned<V>> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        return complete(treeMap.subMap(fromKey, fromInclusive, toKey, toInclusive));
+    }
+
     @Override
     public int size() {
         return complete(treeMap.size());
@@ -173,6 +179,11 @@ public class DefaultConsistentTreeMap<K, V> extends Synchronous<AsyncConsistentT
         return complete(treeMap.get(key));
     }
 
+    @Override
+    public Map<K, Versioned<V>> getAll(Set<K> keys) {
+        return complete(treeMap.getAll(keys));
+    }
+
     @Override
     public Versioned<V> computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
         return complete(treeMap.computeIfAbsent(key, mappingFunction));
@@ -209,6 +220,16 @@ public class DefaultConsistentTreeMap<K, V> extends Synchronous<AsyncConsistentT
         return complete(treeMap.remove(key));
     }
 
+    @Override
+    public void putAll(Map<K, V> entries) {
+        complete(treeMap.putAll(entries));
+    }
+
+    @Override
+    public void removeAll(Set<K> keys) {
+        complete(treeMap.removeAll(keys));
+    }
+
     @Override
     public void clear() {
         complete(treeMap.clear());
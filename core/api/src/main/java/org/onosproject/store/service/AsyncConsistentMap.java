@@ -17,6 +17,7 @@
 package org.onosproject.store.service;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -29,6 +30,7 @@ import java.util.function.Predicate;
 import org.onosproject.store.primitives.DefaultConsistentMap;
 import org.onosproject.store.primitives.TransactionId;
 
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
 
 /**
@@ -109,6 +111,28 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
      */
     CompletableFuture<Versioned<V>> get(K key);
 
+    /**
+     * Returns the values (and versions) to which the specified keys are mapped.
+     * Keys that have no mapping in this map are absent from the returned map.
+     * <p>
+     * Implementations backed by a replicated store should fetch all keys that
+     * reside in the same partition with a single request.
+     *
+     * @param keys the keys whose associated values (and versions) are to be returned
+     * @return a future map of keys to their values (and versions)
+     */
+    default CompletableFuture<Map<K, Versioned<V>>> getAll(Set<K> keys) {
+        Map<K, Versioned<V>> values = Maps.newConcurrentMap();
+        return CompletableFuture.allOf(keys.stream()
+                                           .map(key -> get(key).thenAccept(v -> {
+                                               if (v != null) {
+                                                   values.put(key, v);
+                                               }
+                                           }))
+                                           .toArray(CompletableFuture[]::new))
+                                .thenApply(v -> values);
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null),
      * attempts to compute its value using the given mapping function and enters it into
@@ -202,6 +226,42 @@ public interface AsyncConsistentMap<K, V> extends DistributedPrimitive {
      */
     CompletableFuture<Versioned<V>> remove(K key);
 
+    /**
+     * Associates each of the specified values with its key in this map (optional operation).
+     * Previous mappings for any of the keys are replaced.
+     * <p>
+     * Implementations backed by a replicated store should apply all entries that
+     * reside in the same partition as a single update. If any of those keys is locked
+     * by a pending transaction the returned future is completed exceptionally and none
+     * of that partition's entries are updated.
+     *
+     * @param entries mappings to be stored in this map
+     * @return future that will be successfully completed when all entries are stored
+     */
+    default CompletableFuture<Void> putAll(Map<K, V> entries) {
+        return CompletableFuture.allOf(entries.entrySet()
+                                              .stream()
+                                              .map(e -> put(e.getKey(), e.getValue()))
+                                              .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Removes the mappings for the specified keys from this map if present (optional operation).
+     * <p>
+     * Implementations backed by a replicated store should remove all keys that
+     * reside in the same partition as a single update. If any of those keys is locked
+     * by a pending transaction the returned future is completed exceptionally and none
+     * of that partition's keys are removed.
+     *
+     * @param keys keys whose mappings are to be removed from the map
+     * @return future that will be successfully completed when all keys are removed
+     */
+    default CompletableFuture<Void> removeAll(Set<K> keys) {
+        return CompletableFuture.allOf(keys.stream()
+                                           .map(this::remove)
+                                           .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Removes all of the mappings from this map (optional operation).
      * The map will be empty after this call returns.
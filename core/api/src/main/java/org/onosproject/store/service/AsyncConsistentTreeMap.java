@@ -19,6 +19,7 @@ package org.onosproject.store.service;
 import org.onosproject.store.primitives.DefaultConsistentTreeMap;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
 import java.util.concurrent.CompletableFuture;
 
@@ -27,6 +28,11 @@ import java.util.concurrent.CompletableFuture;
  */
 public interface AsyncConsistentTreeMap<K, V> extends AsyncConsistentMap<K, V> {
 
+    @Override
+    default DistributedPrimitive.Type primitiveType() {
+        return DistributedPrimitive.Type.CONSISTENT_TREEMAP;
+    }
+
     /**
      * Return the lowest key in the map.
      *
@@ -140,6 +146,21 @@ public interface AsyncConsistentTreeMap<K, V> extends AsyncConsistentMap<K, V> {
      */
     CompletableFuture<NavigableSet<K>> navigableKeySet();
 
+    /**
+     * Returns the entries whose keys range from {@code fromKey} to {@code toKey}, in key order.
+     * <p>
+     * The range is evaluated by the map itself, so only the matching entries are
+     * transferred to the caller.
+     *
+     * @param fromKey low endpoint of the keys in the returned map
+     * @param fromInclusive {@code true} if the low endpoint is to be included
+     * @param toKey high endpoint of the keys in the returned map
+     * @param toInclusive {@code true} if the high endpoint is to be included
+     * @return a navigable snapshot of the entries in the range
+     */
+    CompletableFuture<NavigableMap<K, Versioned<V>>> subMap(K fromKey, boolean fromInclusive,
+                                                            K toKey, boolean toInclusive);
+
     default ConsistentTreeMap<K, V> asTreeMap() {
         return asTreeMap(DistributedPrimitive.DEFAULT_OPERTATION_TIMEOUT_MILLIS);
     }
@@ -147,6 +168,4 @@ public interface AsyncConsistentTreeMap<K, V> extends AsyncConsistentMap<K, V> {
     default ConsistentTreeMap<K, V> asTreeMap(long timeoutMillis) {
         return new DefaultConsistentTreeMap<>(this, timeoutMillis);
     }
-
-
 }
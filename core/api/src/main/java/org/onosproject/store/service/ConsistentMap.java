@@ -25,6 +25,7 @@ import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
 
+import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.MoreExecutors;
 
 /**
@@ -76,6 +77,24 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
      */
     Versioned<V> get(K key);
 
+    /**
+     * Returns the values (and versions) to which the specified keys are mapped.
+     * Keys that have no mapping in this map are absent from the returned map.
+     *
+     * @param keys the keys whose associated values (and versions) are to be returned
+     * @return map of keys to their values (and versions)
+     */
+    default Map<K, Versioned<V>> getAll(Set<K> keys) {
+        Map<K, Versioned<V>> values = Maps.newHashMap();
+        keys.forEach(key -> {
+            Versioned<V> value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
     /**
      * If the specified key is not already associated with a value (or is mapped to null),
      * attempts to compute its value using the given mapping function and enters it into
@@ -166,6 +185,25 @@ public interface ConsistentMap<K, V> extends DistributedPrimitive {
      */
     Versioned<V> remove(K key);
 
+    /**
+     * Associates each of the specified values with its key in this map (optional operation).
+     * Previous mappings for any of the keys are replaced.
+     *
+     * @param entries mappings to be stored in this map
+     */
+    default void putAll(Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
+    /**
+     * Removes the mappings for the specified keys from this map if present (optional operation).
+     *
+     * @param keys keys whose mappings are to be removed from the map
+     */
+    default void removeAll(Set<K> keys) {
+        keys.forEach(this::remove);
+    }
+
     /**
      * Removes all of the mappings from this map (optional operation).
      * The map will be empty after this call returns.
@@ -17,6 +17,7 @@
 package org.onosproject.store.service;
 
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.NavigableSet;
 
 /**
@@ -137,4 +138,15 @@ import java.util.NavigableSet;
      */
      NavigableSet<K> navigableKeySet();
 
+    /**
+     * Returns the entries whose keys range from {@code fromKey} to {@code toKey}, in key order.
+     *
+     * @param fromKey low endpoint of the keys in the returned map
+     * @param fromInclusive {@code true} if the low endpoint is to be included
+     * @param toKey high endpoint of the keys in the returned map
+     * @param toInclusive {@code true} if the high endpoint is to be included
+     * @return a navigable snapshot of the entries in the range
+     */
+     NavigableMap<K, Versioned<V>> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive);
+
 }
@@ -36,6 +36,11 @@ public interface DistributedPrimitive {
          */
         CONSISTENT_MAP,
 
+        /**
+         * Map with strong consistency semantics whose keys are kept in sorted order.
+         */
+        CONSISTENT_TREEMAP,
+
         /**
          * Map with eventual consistency semantics.
          */
@@ -43,6 +43,14 @@ public interface StorageService {
      */
     <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder();
 
+    /**
+     * Creates a new ConsistentTreeMapBuilder.
+     *
+     * @param <V> value type
+     * @return builder for a consistent tree map
+     */
+    <V> ConsistentTreeMapBuilder<V> consistentTreeMapBuilder();
+
     /**
      * Creates a new DistributedSetBuilder.
      *
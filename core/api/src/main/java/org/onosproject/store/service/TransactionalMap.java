@@ -16,6 +16,11 @@
 
 package org.onosproject.store.service;
 
+import java.util.Map;
+import java.util.Set;
+
+import com.google.common.collect.Maps;
+
 /**
  * Transactional Map data structure.
  * <p>
@@ -38,6 +43,24 @@ public interface TransactionalMap<K, V> {
      */
     V get(K key);
 
+    /**
+     * Returns the values to which the specified keys are mapped. Keys that
+     * have no mapping in this map are absent from the returned map.
+     *
+     * @param keys the keys whose associated values are to be returned
+     * @return map of keys to their values
+     */
+    default Map<K, V> getAll(Set<K> keys) {
+        Map<K, V> values = Maps.newHashMap();
+        keys.forEach(key -> {
+            V value = get(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        });
+        return values;
+    }
+
     /**
      * Returns true if this map contains a mapping for the specified key.
      * @param key key whose presence in this map to be tested
@@ -66,6 +89,24 @@ public interface TransactionalMap<K, V> {
      */
     V remove(K key);
 
+    /**
+     * Associates each of the specified values with its key in this map (optional operation).
+     *
+     * @param entries mappings to be stored in this map
+     */
+    default void putAll(Map<K, V> entries) {
+        entries.forEach(this::put);
+    }
+
+    /**
+     * Removes the mappings for the specified keys from this map if present (optional operation).
+     *
+     * @param keys keys whose mappings are to be removed from the map
+     */
+    default void removeAll(Set<K> keys) {
+        keys.forEach(this::remove);
+    }
+
     /**
      * If the specified key is not already associated with a value
      * associates it with the given value and returns null, else returns the current value.
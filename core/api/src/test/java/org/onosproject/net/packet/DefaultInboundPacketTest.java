@@ -27,6 +27,8 @@ import com.google.common.testing.EqualsTester;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.onlab.junit.ImmutableClassChecker.assertThatClassIsImmutable;
 import static org.onosproject.net.NetTestTools.connectPoint;
 
@@ -58,6 +60,11 @@ public class DefaultInboundPacketTest {
                     eth,
                     byteBuffer,
                     Optional.empty());
+    final DefaultInboundPacket lazyPacket1 =
+            new DefaultInboundPacket(connectPoint("d1", 1),
+                    byteBuffer,
+                    Optional.of(1L));
+
     /**
      * Checks that the DefaultInboundPacket class is immutable.
      */
@@ -87,4 +94,45 @@ public class DefaultInboundPacketTest {
         assertThat(packet1.unparsed(), notNullValue());
         assertThat(packet1.cookie(), equalTo(Optional.of(1L)));
     }
+
+    /**
+     * Tests that a packet created from raw bytes decodes its frame on demand.
+     */
+    @Test
+    public void testLazyParsing() {
+        assertThat(lazyPacket1.parsed().getSourceMAC(), equalTo(eth.getSourceMAC()));
+        assertThat(lazyPacket1.parsed().getDestinationMAC(), equalTo(eth.getDestinationMAC()));
+        assertThat(lazyPacket1.parsed(), sameInstance(lazyPacket1.parsed()));
+        assertThat(lazyPacket1.unparsed(), equalTo(byteBuffer));
+    }
+
+    /**
+     * Tests that reading the raw bytes before the frame is requested does
+     * not affect the decoded frame.
+     */
+    @Test
+    public void testLazyParsingAfterUnparsedRead() {
+        DefaultInboundPacket packet =
+                new DefaultInboundPacket(connectPoint("d1", 1),
+                        ByteBuffer.wrap(eth.serialize()),
+                        Optional.empty());
+        ByteBuffer raw = packet.unparsed();
+        raw.get(new byte[raw.remaining()]);
+
+        assertThat(packet.parsed(), notNullValue());
+        assertThat(packet.parsed().getSourceMAC(), equalTo(eth.getSourceMAC()));
+        assertThat(packet.parsed().getDestinationMAC(), equalTo(eth.getDestinationMAC()));
+    }
+
+    /**
+     * Tests that a malformed frame decodes to null rather than throwing.
+     */
+    @Test
+    public void testLazyParsingMalformedFrame() {
+        DefaultInboundPacket packet =
+                new DefaultInboundPacket(connectPoint("d1", 1),
+                        ByteBuffer.wrap(new byte[] {0x01, 0x02, 0x03}),
+                        Optional.empty());
+        assertThat(packet.parsed(), nullValue());
+    }
 }
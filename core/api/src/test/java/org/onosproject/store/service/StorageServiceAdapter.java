@@ -29,6 +29,11 @@ public class StorageServiceAdapter implements StorageService {
         return null;
     }
 
+    @Override
+    public <V> ConsistentTreeMapBuilder<V> consistentTreeMapBuilder() {
+        return null;
+    }
+
     @Override
     public <E> DistributedSetBuilder<E> setBuilder() {
         return null;
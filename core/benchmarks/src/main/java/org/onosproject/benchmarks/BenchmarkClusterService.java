@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.IpAddress;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.ControllerNode;
+import org.onosproject.cluster.DefaultControllerNode;
+import org.onosproject.cluster.NodeId;
+
+import java.util.Set;
+
+/**
+ * Cluster service stub describing a three node cluster in which all
+ * nodes are active.
+ */
+class BenchmarkClusterService extends ClusterServiceAdapter {
+
+    private final Set<ControllerNode> nodes = ImmutableSet.of(
+            getLocalNode(),
+            new DefaultControllerNode(new NodeId("peer1"), IpAddress.valueOf("127.0.0.2")),
+            new DefaultControllerNode(new NodeId("peer2"), IpAddress.valueOf("127.0.0.3")));
+
+    @Override
+    public Set<ControllerNode> getNodes() {
+        return nodes;
+    }
+
+    @Override
+    public ControllerNode.State getState(NodeId nodeId) {
+        return ControllerNode.State.ACTIVE;
+    }
+}
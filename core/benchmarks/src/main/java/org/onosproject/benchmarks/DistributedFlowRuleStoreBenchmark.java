@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.Ip4Prefix;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRuleBatchEntry;
+import org.onosproject.net.flow.FlowRuleBatchEntry.FlowRuleOperation;
+import org.onosproject.net.flow.FlowRuleBatchOperation;
+import org.onosproject.store.flow.ReplicaInfo;
+import org.onosproject.store.flow.ReplicaInfoEventListener;
+import org.onosproject.store.flow.ReplicaInfoService;
+import org.onosproject.store.flow.impl.DistributedFlowRuleStore;
+import org.onosproject.store.persistence.PersistenceServiceAdapter;
+import org.onosproject.store.service.TestStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks storing batches of flow rules for a locally mastered device
+ * in the distributed flow rule store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DistributedFlowRuleStoreBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+    private static final int BATCHES = 64;
+
+    @Param({"10", "1000"})
+    private int batchSize;
+
+    private BenchmarkFlowRuleStore store;
+    private FlowRuleBatchOperation[] batches;
+    private int next;
+
+    /**
+     * Activates the store and prepares the batches to store.
+     */
+    @Setup
+    public void setUp() {
+        store = new BenchmarkFlowRuleStore();
+        store.activate(null);
+        store.setDelegate(event -> { });
+
+        DefaultApplicationId appId = new DefaultApplicationId(1, "benchmark");
+        batches = new FlowRuleBatchOperation[BATCHES];
+        int rule = 0;
+        for (int b = 0; b < BATCHES; b++) {
+            ImmutableList.Builder<FlowRuleBatchEntry> entries = ImmutableList.builder();
+            for (int i = 0; i < batchSize; i++, rule++) {
+                entries.add(new FlowRuleBatchEntry(FlowRuleOperation.ADD, DefaultFlowRule.builder()
+                        .forDevice(DEVICE_ID)
+                        .fromApp(appId)
+                        .withPriority(100)
+                        .withSelector(DefaultTrafficSelector.builder()
+                                              .matchEthType(Ethernet.TYPE_IPV4)
+                                              .matchIPDst(Ip4Prefix.valueOf(0x0a000000 + rule, 32))
+                                              .build())
+                        .withTreatment(DefaultTrafficTreatment.builder()
+                                               .setOutput(PortNumber.portNumber(1))
+                                               .build())
+                        .makePermanent()
+                        .build()));
+            }
+            batches[b] = new FlowRuleBatchOperation(entries.build(), DEVICE_ID, b);
+        }
+    }
+
+    /**
+     * Deactivates the store.
+     */
+    @TearDown
+    public void tearDown() {
+        store.deactivate(null);
+    }
+
+    /**
+     * Stores the next batch of flow rule additions.
+     */
+    @Benchmark
+    public void storeBatch() {
+        store.storeBatch(batches[next++ % BATCHES]);
+    }
+
+    // Flow rule store wired with local stubs instead of injected services.
+    private static final class BenchmarkFlowRuleStore extends DistributedFlowRuleStore {
+        private BenchmarkFlowRuleStore() {
+            BenchmarkClusterService cluster = new BenchmarkClusterService();
+            NodeId local = cluster.getLocalNode().id();
+            clusterService = cluster;
+            clusterCommunicator = new BenchmarkClusterCommunicationService();
+            mastershipService = new MastershipServiceAdapter() {
+                @Override
+                public NodeId getMasterFor(DeviceId deviceId) {
+                    return local;
+                }
+            };
+            replicaInfoManager = new ReplicaInfoService() {
+                @Override
+                public ReplicaInfo getReplicaInfoFor(DeviceId deviceId) {
+                    List<NodeId> backups = ImmutableList.of(new NodeId("peer1"));
+                    return new ReplicaInfo(local, backups);
+                }
+
+                @Override
+                public void addListener(ReplicaInfoEventListener listener) {
+                }
+
+                @Override
+                public void removeListener(ReplicaInfoEventListener listener) {
+                }
+            };
+            deviceService = new DeviceServiceAdapter();
+            coreService = new CoreServiceAdapter();
+            configService = new ComponentConfigAdapter();
+            persistenceService = new PersistenceServiceAdapter();
+            storageService = new TestStorageService();
+        }
+    }
+}
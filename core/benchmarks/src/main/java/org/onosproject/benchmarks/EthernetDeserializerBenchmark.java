@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.Data;
+import org.onlab.packet.DeserializationException;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.UDP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks decoding of an ethernet frame carrying an IPv4/UDP payload,
+ * as done for every packet-in.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EthernetDeserializerBenchmark {
+
+    private byte[] frame;
+
+    /**
+     * Builds the raw frame to decode.
+     */
+    @Setup
+    public void setUp() {
+        UDP udp = new UDP()
+                .setSourcePort(5000)
+                .setDestinationPort(6000);
+        udp.setPayload(new Data(new byte[64]));
+
+        IPv4 ipv4 = new IPv4()
+                .setSourceAddress("10.0.0.1")
+                .setDestinationAddress("10.0.0.2")
+                .setProtocol(IPv4.PROTOCOL_UDP);
+        ipv4.setPayload(udp);
+
+        Ethernet eth = new Ethernet()
+                .setSourceMACAddress(MacAddress.valueOf("00:00:00:00:00:01"))
+                .setDestinationMACAddress(MacAddress.valueOf("00:00:00:00:00:02"))
+                .setEtherType(Ethernet.TYPE_IPV4);
+        eth.setPayload(ipv4);
+
+        frame = eth.serialize();
+    }
+
+    /**
+     * Decodes the complete frame including all nested layers.
+     *
+     * @return decoded frame
+     * @throws DeserializationException if the frame cannot be decoded
+     */
+    @Benchmark
+    public Ethernet deserialize() throws DeserializationException {
+        return Ethernet.deserializer().deserialize(frame, 0, frame.length);
+    }
+}
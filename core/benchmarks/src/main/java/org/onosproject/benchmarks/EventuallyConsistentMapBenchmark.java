@@ -0,0 +1,100 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.util.KryoNamespace;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.store.persistence.PersistenceServiceAdapter;
+import org.onosproject.store.primitives.impl.EventuallyConsistentMapBuilderImpl;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.EventuallyConsistentMap;
+import org.onosproject.store.service.WallClockTimestamp;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the put path of the eventually consistent map, including
+ * timestamping and the encoding of peer updates, against a stubbed
+ * three node cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EventuallyConsistentMapBenchmark {
+
+    @Param({"1000", "100000"})
+    private int keyCount;
+
+    private EventuallyConsistentMap<DeviceId, PortNumber> map;
+    private DeviceId[] keys;
+    private int next;
+
+    /**
+     * Builds the map and the key space.
+     */
+    @Setup
+    public void setUp() {
+        KryoNamespace.Builder serializer = KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API);
+
+        map = new EventuallyConsistentMapBuilderImpl<DeviceId, PortNumber>(
+                        new BenchmarkClusterService(),
+                        new BenchmarkClusterCommunicationService(),
+                        new PersistenceServiceAdapter())
+                .withName("benchmark")
+                .withSerializer(serializer)
+                .withTimestampProvider((k, v) -> new WallClockTimestamp())
+                .build();
+
+        keys = new DeviceId[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = DeviceId.deviceId(String.format("of:%016x", i));
+        }
+    }
+
+    /**
+     * Destroys the map.
+     */
+    @TearDown
+    public void tearDown() {
+        map.destroy();
+    }
+
+    /**
+     * Puts a value under the next key of the key space.
+     */
+    @Benchmark
+    public void put() {
+        int i = next++ % keyCount;
+        map.put(keys[i], PortNumber.portNumber(i));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.graph.AbstractEdge;
+import org.onlab.graph.AdjacencyListsGraph;
+import org.onlab.graph.CsrGraph;
+import org.onlab.graph.DijkstraGraphSearch;
+import org.onlab.graph.EdgeWeight;
+import org.onlab.graph.Graph;
+import org.onlab.graph.GraphPathSearch;
+import org.onlab.graph.SuurballeGraphSearch;
+import org.onlab.graph.Vertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
+
+/**
+ * Benchmarks shortest and disjoint path searches on generated topologies.
+ * Each topology is a bidirectional ring with random chords, which keeps it
+ * connected and 2-edge-connected.
+ * <p>
+ * Topologies are held in compressed sparse row form, as topology graphs are,
+ * so the searches are measured on their own. The adjacency lists form is
+ * measured as well; Dijkstra searches convert such graphs to compressed
+ * sparse row form on every call, so it includes that conversion.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class GraphSearchBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int CHORDS_PER_VERTEX = 2;
+
+    private static final EdgeWeight<BenchVertex, BenchEdge> WEIGHT = edge -> edge.weight;
+
+    private final DijkstraGraphSearch<BenchVertex, BenchEdge> dijkstra =
+            new DijkstraGraphSearch<>();
+    private final SuurballeGraphSearch<BenchVertex, BenchEdge> suurballe =
+            new SuurballeGraphSearch<>();
+
+    @Param({"100", "1000"})
+    private int vertexCount;
+
+    @Param({"csr", "adjacency-lists"})
+    private String graphForm;
+
+    private Graph<BenchVertex, BenchEdge> graph;
+    private BenchVertex src;
+    private BenchVertex dst;
+
+    /**
+     * Generates the topology.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        List<BenchVertex> vertexes = new ArrayList<>(vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            vertexes.add(new BenchVertex(i));
+        }
+
+        Set<BenchEdge> edges = new HashSet<>();
+        for (int i = 0; i < vertexCount; i++) {
+            addLink(edges, vertexes.get(i), vertexes.get((i + 1) % vertexCount), 1.0);
+            for (int c = 0; c < CHORDS_PER_VERTEX; c++) {
+                int j = random.nextInt(vertexCount);
+                if (j != i) {
+                    addLink(edges, vertexes.get(i), vertexes.get(j), 1.0 + random.nextInt(9));
+                }
+            }
+        }
+
+        graph = graphForm.equals("csr") ?
+                new CsrGraph<>(new HashSet<>(vertexes), edges) :
+                new AdjacencyListsGraph<>(new HashSet<>(vertexes), edges);
+        src = vertexes.get(0);
+        dst = vertexes.get(vertexCount / 2);
+    }
+
+    private static void addLink(Set<BenchEdge> edges, BenchVertex a, BenchVertex b,
+                                double weight) {
+        edges.add(new BenchEdge(a, b, weight));
+        edges.add(new BenchEdge(b, a, weight));
+    }
+
+    /**
+     * Computes all shortest paths between two distant vertexes.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<BenchVertex, BenchEdge> dijkstra() {
+        return dijkstra.search(graph, src, dst, WEIGHT, ALL_PATHS);
+    }
+
+    /**
+     * Computes all shortest paths from one vertex to every other vertex.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<BenchVertex, BenchEdge> dijkstraAllDestinations() {
+        return dijkstra.search(graph, src, null, WEIGHT, ALL_PATHS);
+    }
+
+    /**
+     * Computes the shortest disjoint path pairs between two distant vertexes.
+     *
+     * @return search result
+     */
+    @Benchmark
+    public GraphPathSearch.Result<BenchVertex, BenchEdge> suurballe() {
+        return suurballe.search(graph, src, dst, WEIGHT, ALL_PATHS);
+    }
+
+    /**
+     * Vertex of a generated topology.
+     */
+    public static final class BenchVertex implements Vertex {
+        private final int id;
+
+        BenchVertex(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return id;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof BenchVertex && ((BenchVertex) obj).id == id;
+        }
+
+        @Override
+        public String toString() {
+            return "v" + id;
+        }
+    }
+
+    /**
+     * Weighted edge of a generated topology.
+     */
+    public static final class BenchEdge extends AbstractEdge<BenchVertex> {
+        private final double weight;
+
+        BenchEdge(BenchVertex src, BenchVertex dst, double weight) {
+            super(src, dst);
+            this.weight = weight;
+        }
+    }
+}
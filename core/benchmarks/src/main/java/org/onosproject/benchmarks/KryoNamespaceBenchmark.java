@@ -0,0 +1,124 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.VlanId;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultHost;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.HostId;
+import org.onosproject.net.HostLocation;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.onlab.packet.IpAddress.valueOf;
+
+/**
+ * Benchmarks serialization of API types using the KryoNamespaces.API namespace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class KryoNamespaceBenchmark {
+
+    private static final ProviderId PID = new ProviderId("of", "benchmark");
+
+    private KryoNamespace serializer;
+    private DefaultHost host;
+    private ConnectPoint connectPoint;
+    private byte[] hostBytes;
+    private byte[] connectPointBytes;
+
+    /**
+     * Builds the namespace and the objects to serialize.
+     */
+    @Setup
+    public void setUp() {
+        serializer = KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API)
+                .build("benchmark");
+
+        DeviceId deviceId = DeviceId.deviceId("of:0000000000000001");
+        connectPoint = new ConnectPoint(deviceId, PortNumber.portNumber(1));
+        MacAddress mac = MacAddress.valueOf("00:00:00:00:00:01");
+        host = new DefaultHost(PID, HostId.hostId(mac), mac, VlanId.NONE,
+                               new HostLocation(connectPoint, 0L),
+                               ImmutableSet.of(valueOf("10.0.0.1"), valueOf("10.0.0.2")));
+
+        hostBytes = serializer.serialize(host);
+        connectPointBytes = serializer.serialize(connectPoint);
+    }
+
+    /**
+     * Serializes a small API object.
+     *
+     * @return serialized bytes
+     */
+    @Benchmark
+    public byte[] serializeConnectPoint() {
+        return serializer.serialize(connectPoint);
+    }
+
+    /**
+     * Deserializes a small API object.
+     *
+     * @return deserialized object
+     */
+    @Benchmark
+    public ConnectPoint deserializeConnectPoint() {
+        return serializer.deserialize(connectPointBytes);
+    }
+
+    /**
+     * Serializes a host with nested location and address set.
+     *
+     * @return serialized bytes
+     */
+    @Benchmark
+    public byte[] serializeHost() {
+        return serializer.serialize(host);
+    }
+
+    /**
+     * Deserializes a host with nested location and address set.
+     *
+     * @return deserialized object
+     */
+    @Benchmark
+    public DefaultHost deserializeHost() {
+        return serializer.deserialize(hostBytes);
+    }
+}
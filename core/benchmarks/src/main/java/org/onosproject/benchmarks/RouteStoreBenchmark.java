@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.incubator.net.routing.Route;
+import org.onosproject.incubator.store.routing.impl.LocalRouteStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks longest prefix match and route updates on the local route store.
+ * Tables hold random prefixes with lengths spread like those of an Internet
+ * routing table, mostly /16 to /24 for IPv4 and /32 to /48 for IPv6.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RouteStoreBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int LOOKUPS = 4096;
+
+    @Param({"10000", "100000"})
+    private int routeCount;
+
+    @Param({"4", "6"})
+    private int version;
+
+    private LocalRouteStore store;
+    private IpAddress nextHop;
+    private IpAddress[] lookups;
+    private Route[] updates;
+    private int next;
+
+    /**
+     * Fills the route table and generates the addresses to look up.
+     */
+    @Setup
+    public void setUp() {
+        Random random = new Random(SEED);
+        store = new LocalRouteStore();
+        store.activate();
+        nextHop = randomAddress(random);
+
+        for (int i = 0; i < routeCount; i++) {
+            store.updateRoute(randomRoute(random));
+        }
+        // default route, so that every lookup walks to a match
+        store.updateRoute(new Route(Route.Source.STATIC,
+                                    IpPrefix.valueOf(nextHop, 0), nextHop));
+
+        lookups = new IpAddress[LOOKUPS];
+        updates = new Route[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            lookups[i] = randomAddress(random);
+            updates[i] = randomRoute(random);
+        }
+    }
+
+    /**
+     * Looks up the most specific route of an address.
+     *
+     * @return matching route
+     */
+    @Benchmark
+    public Route longestPrefixMatch() {
+        return store.longestPrefixMatch(lookups[next++ & (LOOKUPS - 1)]);
+    }
+
+    /**
+     * Adds or replaces a route.
+     */
+    @Benchmark
+    public void updateRoute() {
+        store.updateRoute(updates[next++ & (LOOKUPS - 1)]);
+    }
+
+    private Route randomRoute(Random random) {
+        int length = version == 4 ? 16 + random.nextInt(9) : 32 + random.nextInt(17);
+        return new Route(Route.Source.STATIC,
+                         IpPrefix.valueOf(randomAddress(random), length), nextHop);
+    }
+
+    private IpAddress randomAddress(Random random) {
+        byte[] address = new byte[version == 4 ? IpAddress.INET_BYTE_LENGTH : IpAddress.INET6_BYTE_LENGTH];
+        random.nextBytes(address);
+        return IpAddress.valueOf(version == 4 ? IpAddress.Version.INET : IpAddress.Version.INET6, address);
+    }
+}
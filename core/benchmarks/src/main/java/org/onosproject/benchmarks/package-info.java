@@ -0,0 +1,24 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+/**
+ * JMH micro-benchmarks of core hot paths which run without a cluster.
+ * <p>
+ * The module builds a self-contained {@code target/onos-benchmarks.jar};
+ * run it with {@code java -jar target/onos-benchmarks.jar [regexp]}.
+ * </p>
+ */
+package org.onosproject.benchmarks;
@@ -18,6 +18,9 @@ package org.onosproject.common;
 import com.google.common.base.Function;
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
@@ -53,9 +56,11 @@ import org.onosproject.net.topology.TopologyVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -82,6 +87,9 @@ public class DefaultTopology extends AbstractModel implements Topology {
     private static LinkWeight defaultLinkWeight = null;
     private static GraphPathSearch<TopologyVertex, TopologyEdge> defaultGraphPathSearch = null;
 
+    private static final int DEFAULT_PATH_CACHE_SIZE = 10_000;
+    private static int pathCacheSize = DEFAULT_PATH_CACHE_SIZE;
+
     private final long time;
     private final long creationTime;
     private final long computeCost;
@@ -96,6 +104,10 @@ public class DefaultTopology extends AbstractModel implements Topology {
     private final Function<ConnectPoint, Boolean> broadcastFunction;
     private final Supplier<ClusterIndexes> clusterIndexes;
 
+    // Results of path computations; valid for the lifetime of this snapshot
+    private final Cache<PathKey, Set<Path>> pathCache;
+    private final Cache<PathKey, Set<DisjointPath>> disjointPathCache;
+
     /**
      * Sets the default link-weight to be used when computing paths. If null is
      * specified, the builtin default link-weight measuring hop-counts will be
@@ -108,6 +120,19 @@ public class DefaultTopology extends AbstractModel implements Topology {
         defaultLinkWeight = linkWeight;
     }
 
+    /**
+     * Sets the maximum number of path computation results retained by each
+     * topology snapshot for each kind of path query. Zero disables caching.
+     * The new size applies to topology snapshots created afterwards.
+     *
+     * @param size maximum number of cached results
+     */
+    public static void setPathCacheSize(int size) {
+        checkArgument(size >= 0, "Path cache size must not be negative");
+        log.info("Setting new path cache size to {}", size);
+        pathCacheSize = size;
+    }
+
     /**
      * Sets the default lpath search algorighm to be used when computing paths.
      * If null is specified, the builtin default Dijkstra will be used.
@@ -146,6 +171,8 @@ public class DefaultTopology extends AbstractModel implements Topology {
         this.hopCountWeight = new HopCountLinkWeight(graph.getVertexes().size());
         this.broadcastSets = Suppliers.memoize(() -> buildBroadcastSets());
         this.infrastructurePoints = Suppliers.memoize(() -> findInfrastructurePoints());
+        this.pathCache = buildPathCache();
+        this.disjointPathCache = buildPathCache();
         this.computeCost = Math.max(0, System.nanoTime() - time);
     }
 
@@ -345,13 +372,22 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
+        GraphPathSearch<TopologyVertex, TopologyEdge> search = graphPathSearch();
+        PathKey key = new PathKey(src, dst, weight, search);
+        Set<Path> paths = cached(pathCache, key);
+        if (paths != null) {
+            return paths;
+        }
+
         GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
-                graphPathSearch().search(graph, srcV, dstV, weight, ALL_PATHS);
+                search.search(graph, srcV, dstV, weight, ALL_PATHS);
         ImmutableSet.Builder<Path> builder = ImmutableSet.builder();
         for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
             builder.add(networkPath(path));
         }
-        return builder.build();
+        paths = builder.build();
+        cache(pathCache, key, paths);
+        return paths;
     }
 
     /**
@@ -385,13 +421,21 @@ public class DefaultTopology extends AbstractModel implements Topology {
             return ImmutableSet.of();
         }
 
+        PathKey key = new PathKey(src, dst, weight, SUURBALLE);
+        Set<DisjointPath> paths = cached(disjointPathCache, key);
+        if (paths != null) {
+            return paths;
+        }
+
         GraphPathSearch.Result<TopologyVertex, TopologyEdge> result =
                 SUURBALLE.search(graph, srcV, dstV, weight, ALL_PATHS);
         ImmutableSet.Builder<DisjointPath> builder = ImmutableSet.builder();
         for (org.onlab.graph.Path<TopologyVertex, TopologyEdge> path : result.paths()) {
             builder.add(networkDisjointPath((org.onlab.graph.DisjointPathPair<TopologyVertex, TopologyEdge>) path));
         }
-        return builder.build();
+        paths = builder.build();
+        cache(disjointPathCache, key, paths);
+        return paths;
     }
 
     /**
@@ -471,6 +515,56 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return getDisjointPaths(src, dst, linkWeight(), riskProfile);
     }
 
+    /**
+     * Pre-computes the shortest paths, using the default link weight, between
+     * all ordered pairs of the given devices so that subsequent path queries
+     * are served from the path cache.
+     *
+     * @param devices devices between which to compute paths
+     */
+    public void warmPathCache(Collection<DeviceId> devices) {
+        if (pathCache == null) {
+            return;
+        }
+        for (DeviceId src : devices) {
+            for (DeviceId dst : devices) {
+                if (!src.equals(dst)) {
+                    getPaths(src, dst);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the hit/miss statistics of the path caches of this topology.
+     *
+     * @return path cache statistics
+     */
+    public CacheStats pathCacheStats() {
+        if (pathCache == null) {
+            return new CacheStats(0, 0, 0, 0, 0, 0);
+        }
+        return pathCache.stats().plus(disjointPathCache.stats());
+    }
+
+    private static <T> Cache<PathKey, Set<T>> buildPathCache() {
+        int size = pathCacheSize;
+        if (size == 0) {
+            return null;
+        }
+        return CacheBuilder.newBuilder().maximumSize(size).recordStats().build();
+    }
+
+    private static <T> Set<T> cached(Cache<PathKey, Set<T>> cache, PathKey key) {
+        return cache != null ? cache.getIfPresent(key) : null;
+    }
+
+    private static <T> void cache(Cache<PathKey, Set<T>> cache, PathKey key, Set<T> paths) {
+        if (cache != null) {
+            cache.put(key, paths);
+        }
+    }
+
     // Converts graph path to a network path with the same cost.
     private Path networkPath(org.onlab.graph.Path<TopologyVertex, TopologyEdge> path) {
         List<Link> links = path.edges().stream().map(TopologyEdge::link).collect(Collectors.toList());
@@ -623,6 +717,43 @@ public class DefaultTopology extends AbstractModel implements Topology {
         }
     }
 
+    // Key of a path computation result; weight and search are compared by identity.
+    private static final class PathKey {
+        private final DeviceId src;
+        private final DeviceId dst;
+        private final LinkWeight weight;
+        private final GraphPathSearch<TopologyVertex, TopologyEdge> search;
+
+        private PathKey(DeviceId src, DeviceId dst, LinkWeight weight,
+                        GraphPathSearch<TopologyVertex, TopologyEdge> search) {
+            this.src = src;
+            this.dst = dst;
+            this.weight = weight;
+            this.search = search;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(src, dst, System.identityHashCode(weight),
+                                System.identityHashCode(search));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof PathKey) {
+                PathKey other = (PathKey) obj;
+                return Objects.equals(src, other.src) &&
+                        Objects.equals(dst, other.dst) &&
+                        weight == other.weight &&
+                        search == other.search;
+            }
+            return false;
+        }
+    }
+
     static final class ClusterIndexes {
         final ImmutableMap<DeviceId, TopologyCluster> clustersByDevice;
         final ImmutableSetMultimap<TopologyCluster, DeviceId> devicesByCluster;
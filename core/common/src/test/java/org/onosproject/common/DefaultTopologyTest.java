@@ -109,6 +109,22 @@ public class DefaultTopologyTest {
         assertEquals("incorrect path count", 1, paths.size());
     }
 
+    @Test
+    public void pathCacheRelated() {
+        Set<Path> paths = dt.getPaths(D1, D3);
+        assertSame("paths should be cached", paths, dt.getPaths(D1, D3));
+        assertEquals("incorrect hit count", 1, dt.pathCacheStats().hitCount());
+        assertEquals("incorrect miss count", 1, dt.pathCacheStats().missCount());
+
+        Set<Path> weighted = dt.getPaths(D1, D3, WEIGHT);
+        assertEquals("incorrect path count", 1, weighted.size());
+        assertEquals("incorrect miss count", 2, dt.pathCacheStats().missCount());
+
+        dt.warmPathCache(of(D1, D2));
+        dt.getPaths(D2, D1);
+        assertEquals("incorrect hit count", 2, dt.pathCacheStats().hitCount());
+    }
+
     @Test
     public void pointRelated() {
         assertTrue("should be infrastructure point",
@@ -94,6 +94,11 @@ public class CoreManager implements CoreService {
             label = "Maximum number of millis an event sink has to process an event")
     private int maxEventTimeLimit = DEFAULT_EVENT_TIME;
 
+    private static final int DEFAULT_EVENT_LANES = 1;
+    @Property(name = "eventDispatchLanes", intValue = DEFAULT_EVENT_LANES,
+            label = "Number of parallel event dispatch lanes")
+    private int eventDispatchLanes = DEFAULT_EVENT_LANES;
+
     private static final boolean DEFAULT_PERFORMANCE_CHECK = false;
     @Property(name = "sharedThreadPerformanceCheck", boolValue = DEFAULT_PERFORMANCE_CHECK,
             label = "Enable queue performance check on shared pool")
@@ -190,13 +195,22 @@ public class CoreManager implements CoreService {
             log.warn("maxEventTimeLimit must be greater than or equal to 0");
         }
 
+        Integer dispatchLanes = Tools.getIntegerProperty(properties, "eventDispatchLanes");
+        if (dispatchLanes != null && dispatchLanes > 0) {
+            eventDispatchLanes = dispatchLanes;
+            eventDeliveryService.setDispatchLanes(eventDispatchLanes);
+        } else if (dispatchLanes != null) {
+            log.warn("eventDispatchLanes must be greater than 0");
+        }
+
         Boolean performanceCheck = Tools.isPropertyEnabled(properties, "sharedThreadPerformanceCheck");
         if (performanceCheck != null) {
             calculatePoolPerformance = performanceCheck;
             SharedExecutors.setCalculatePoolPerformance(calculatePoolPerformance, metricsService);
         }
 
-        log.info("Settings: sharedThreadPoolSize={}, maxEventTimeLimit={}, calculatePoolPerformance={}",
-                 sharedThreadPoolSize, maxEventTimeLimit, calculatePoolPerformance);
+        log.info("Settings: sharedThreadPoolSize={}, maxEventTimeLimit={}, " +
+                         "eventDispatchLanes={}, calculatePoolPerformance={}",
+                 sharedThreadPoolSize, maxEventTimeLimit, eventDispatchLanes, calculatePoolPerformance);
     }
 }
@@ -18,7 +18,12 @@ package org.onosproject.event.impl;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Reference;
+import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.SharedExecutors;
 import org.onosproject.event.AbstractEvent;
 import org.onosproject.event.DefaultEventSinkRegistry;
@@ -27,17 +32,25 @@ import org.onosproject.event.EventDeliveryService;
 import org.onosproject.event.EventSink;
 import org.slf4j.Logger;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Stopwatch;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.TimerTask;
-import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.EVENT_READ;
@@ -45,6 +58,12 @@ import static org.onosproject.security.AppPermission.Type.EVENT_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Simple implementation of an event dispatching service.
+ * <p>
+ * Events are dispatched through one or more lanes, each with its own queue
+ * and dispatch thread. Events are assigned to lanes by their class, so each
+ * sink only ever sees events from a single lane and in the order in which
+ * they were posted, while unrelated sinks may run in parallel.
+ * </p>
  */
 @Component(immediate = true)
 @Service
@@ -53,41 +72,70 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
     private final Logger log = getLogger(getClass());
 
-    private boolean executionTimeLimit = false;
-
     // Default number of millis a sink can take to process an event.
     private static final long DEFAULT_EXECUTE_MS = 5_000; // ms
     private static final long WATCHDOG_MS = 250; // ms
+    private static final long LANE_DRAIN_MS = 10_000; // ms
+
+    private static final int DEFAULT_LANES = 1;
 
-    private final BlockingQueue<Event> events = new LinkedBlockingQueue<>();
+    private static final String METRIC_COMPONENT = "EventDispatcher";
+    private static final String QUEUE_FEATURE = "queue";
+    private static final String SINK_FEATURE = "sink";
 
-    private final ExecutorService executor =
-            newSingleThreadExecutor(groupedThreads("onos/event", "dispatch-%d", log));
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
 
     @SuppressWarnings("unchecked")
     private static final Event KILL_PILL = new AbstractEvent(null, 0) {
     };
 
-    private DispatchLoop dispatchLoop;
+    private volatile DispatchLane[] lanes = createLanes(DEFAULT_LANES);
     private long maxProcessMillis = DEFAULT_EXECUTE_MS;
 
     // Means to detect long-running sinks
     private TimerTask watchdog;
-    private EventSink lastSink;
-    private final Stopwatch stopwatch = Stopwatch.createUnstarted();
-    private Future<?> dispatchFuture;
+
+    // Per-sink processing time metrics
+    private MetricsComponent metricsComponent;
+    private MetricsFeature queueFeature;
+    private MetricsFeature sinkFeature;
+    private final Map<Class<?>, Timer> sinkTimers = new ConcurrentHashMap<>();
 
     @Override
     public void post(Event event) {
-        if (!events.add(event)) {
+        DispatchLane lane = lane(event);
+        if (!lane.events.add(event)) {
             log.error("Unable to post event {}", event);
+            return;
+        }
+        // If the lane got retired while the event was being queued, its
+        // leftover events may already have been handed over; hand this one
+        // over ourselves unless the retirement took care of it.
+        if (lane.retired && lane.events.remove(event)) {
+            post(event);
         }
     }
 
+    // Selects the dispatch lane for the given event based on its class name,
+    // so the lane assignment does not vary from run to run.
+    private DispatchLane lane(Event event) {
+        DispatchLane[] current = lanes;
+        int hash = event.getClass().getName().hashCode();
+        return current[(hash & Integer.MAX_VALUE) % current.length];
+    }
+
     @Activate
     public void activate() {
-        dispatchLoop = new DispatchLoop();
-        dispatchFuture = executor.submit(dispatchLoop);
+        if (metricsService != null) {
+            metricsComponent = metricsService.registerComponent(METRIC_COMPONENT);
+            queueFeature = metricsComponent.registerFeature(QUEUE_FEATURE);
+            sinkFeature = metricsComponent.registerFeature(SINK_FEATURE);
+        }
+
+        for (DispatchLane lane : lanes) {
+            lane.start();
+        }
 
         if (maxProcessMillis != 0) {
             startWatchdog();
@@ -98,9 +146,14 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
     @Deactivate
     public void deactivate() {
-        dispatchLoop.stop();
         stopWatchdog();
-        post(KILL_PILL);
+        for (DispatchLane lane : lanes) {
+            lane.stop();
+        }
+        for (DispatchLane lane : lanes) {
+            lane.awaitTermination();
+        }
+        sinkTimers.keySet().forEach(this::removeSinkTimer);
         log.info("Stopped");
     }
 
@@ -138,18 +191,166 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         return maxProcessMillis;
     }
 
-    // Auxiliary event dispatching loop that feeds off the events queue.
+    @Override
+    public synchronized void setDispatchLanes(int count) {
+        checkPermission(EVENT_WRITE);
+        checkArgument(count > 0, "Number of dispatch lanes must be positive");
+        DispatchLane[] oldLanes = lanes;
+        if (oldLanes.length == count) {
+            return;
+        }
+
+        // New events are queued on the new lanes right away, but those lanes
+        // are only started once the old ones have been drained to preserve
+        // per-sink ordering across the switch-over.
+        DispatchLane[] newLanes = createLanes(count);
+        lanes = newLanes;
+        for (DispatchLane lane : oldLanes) {
+            lane.stop();
+        }
+        for (DispatchLane lane : oldLanes) {
+            lane.awaitTermination();
+        }
+
+        // Events that made it onto an old lane behind its kill-pill were
+        // posted before anything now queued on the new lanes; move them to
+        // the head of their new lanes, keeping their relative order.
+        for (DispatchLane lane : oldLanes) {
+            List<Event> leftovers = lane.retire();
+            for (int i = leftovers.size() - 1; i >= 0; i--) {
+                Event event = leftovers.get(i);
+                lane(event).events.addFirst(event);
+            }
+        }
+        for (DispatchLane lane : newLanes) {
+            lane.start();
+        }
+        log.info("Dispatching events through {} lanes", count);
+    }
+
+    @Override
+    public int getDispatchLanes() {
+        checkPermission(EVENT_READ);
+        return lanes.length;
+    }
+
+    private DispatchLane[] createLanes(int count) {
+        DispatchLane[] newLanes = new DispatchLane[count];
+        for (int i = 0; i < count; i++) {
+            newLanes[i] = new DispatchLane(i);
+        }
+        return newLanes;
+    }
+
+    // Returns the processing timer for the given sink, creating it if needed.
+    private Timer sinkTimer(EventSink sink) {
+        if (metricsService == null) {
+            return null;
+        }
+        return sinkTimers.computeIfAbsent(sink.getClass(), c ->
+                metricsService.createTimer(metricsComponent, sinkFeature, c.getName()));
+    }
+
+    private void removeSinkTimer(Class<?> sinkClass) {
+        if (metricsService != null) {
+            metricsService.removeMetric(metricsComponent, sinkFeature, sinkClass.getName());
+        }
+        sinkTimers.remove(sinkClass);
+    }
+
+    // Single dispatch lane with its own event queue and dispatch thread.
+    private final class DispatchLane {
+        private final int index;
+        private final BlockingDeque<Event> events = new LinkedBlockingDeque<>();
+        private final ExecutorService executor;
+        private final Stopwatch stopwatch = Stopwatch.createUnstarted();
+
+        private DispatchLoop dispatchLoop;
+        private Future<?> dispatchFuture;
+        private volatile EventSink lastSink;
+        private volatile boolean retired;
+
+        private DispatchLane(int index) {
+            this.index = index;
+            this.executor = newSingleThreadExecutor(
+                    groupedThreads("onos/event", "dispatch-" + index + "-%d", log));
+        }
+
+        private String queueMetricName() {
+            return "lane-" + index + "-depth";
+        }
+
+        synchronized void start() {
+            if (metricsService != null) {
+                metricsService.removeMetric(metricsComponent, queueFeature, queueMetricName());
+                metricsService.registerMetric(metricsComponent, queueFeature, queueMetricName(),
+                                              (Gauge<Integer>) events::size);
+            }
+            dispatchLoop = new DispatchLoop(this);
+            dispatchFuture = executor.submit(dispatchLoop);
+        }
+
+        // Lets the lane drain its already queued events and then terminate.
+        synchronized void stop() {
+            events.add(KILL_PILL);
+            executor.shutdown();
+        }
+
+        void awaitTermination() {
+            try {
+                if (!executor.awaitTermination(LANE_DRAIN_MS, TimeUnit.MILLISECONDS)) {
+                    log.warn("Dispatch lane {} did not drain in time", index);
+                    dispatchLoop.stop();
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                log.warn("Interrupted while draining dispatch lane {}", index);
+                Thread.currentThread().interrupt();
+            }
+            if (metricsService != null) {
+                metricsService.removeMetric(metricsComponent, queueFeature, queueMetricName());
+            }
+        }
+
+        // Marks the terminated lane as retired and returns the events that
+        // were queued on it but never dispatched.
+        List<Event> retire() {
+            retired = true;
+            List<Event> leftovers = new ArrayList<>();
+            events.drainTo(leftovers);
+            leftovers.remove(KILL_PILL);
+            return leftovers;
+        }
+
+        // Replaces a dispatch loop which is stuck in a long-running sink.
+        synchronized void restart() {
+            if (executor.isShutdown()) {
+                return;
+            }
+            dispatchLoop.stop();
+            dispatchLoop = new DispatchLoop(this);
+            dispatchFuture.cancel(true);
+            dispatchFuture = executor.submit(dispatchLoop);
+        }
+    }
+
+    // Auxiliary event dispatching loop that feeds off the lane events queue.
     private class DispatchLoop implements Runnable {
+        private final DispatchLane lane;
         private volatile boolean stopped;
 
+        DispatchLoop(DispatchLane lane) {
+            this.lane = lane;
+        }
+
         @Override
         public void run() {
             stopped = false;
-            log.info("Dispatch loop initiated");
+            log.info("Dispatch loop initiated for lane {}", lane.index);
             while (!stopped) {
                 try {
                     // Fetch the next event and if it is the kill-pill, bail
-                    Event event = events.take();
+                    Event event = lane.events.take();
                     if (event == KILL_PILL) {
                         break;
                     }
@@ -160,7 +361,7 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
                     log.warn("Error encountered while dispatching event:", e);
                 }
             }
-            log.info("Dispatch loop terminated");
+            log.info("Dispatch loop terminated for lane {}", lane.index);
         }
 
         // Locate the sink for the event class and use it to process the event
@@ -168,10 +369,15 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         private void process(Event event) {
             EventSink sink = getSink(event.getClass());
             if (sink != null) {
-                lastSink = sink;
-                stopwatch.start();
-                sink.process(event);
-                stopwatch.reset();
+                lane.lastSink = sink;
+                Timer.Context timer = startTimer(sinkTimer(sink));
+                lane.stopwatch.start();
+                try {
+                    sink.process(event);
+                } finally {
+                    lane.stopwatch.reset();
+                    stopTimer(timer);
+                }
             } else {
                 log.warn("No sink registered for event class {}",
                          event.getClass().getName());
@@ -187,20 +393,19 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
     private class Watchdog extends TimerTask {
         @Override
         public void run() {
-            long elapsedTimeMillis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
-            if (elapsedTimeMillis > maxProcessMillis) {
-                stopwatch.reset();
-                log.warn("Event sink {} exceeded execution time limit: {} ms; spawning new dispatch loop",
-                          lastSink.getClass().getName(), elapsedTimeMillis);
-
-                // Notify the sink that it has exceeded its time limit.
-                lastSink.onProcessLimit();
-
-                // Cancel the old dispatch loop and submit a new one.
-                dispatchLoop.stop();
-                dispatchLoop = new DispatchLoop();
-                dispatchFuture.cancel(true);
-                dispatchFuture = executor.submit(dispatchLoop);
+            for (DispatchLane lane : lanes) {
+                long elapsedTimeMillis = lane.stopwatch.elapsed(TimeUnit.MILLISECONDS);
+                if (elapsedTimeMillis > maxProcessMillis) {
+                    lane.stopwatch.reset();
+                    log.warn("Event sink {} exceeded execution time limit: {} ms; spawning new dispatch loop",
+                             lane.lastSink.getClass().getName(), elapsedTimeMillis);
+
+                    // Notify the sink that it has exceeded its time limit.
+                    lane.lastSink.onProcessLimit();
+
+                    // Cancel the old dispatch loop and submit a new one.
+                    lane.restart();
+                }
             }
         }
     }
@@ -15,15 +15,23 @@
  */
 package org.onosproject.net.packet.impl;
 
+import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.core.ApplicationId;
@@ -58,12 +66,19 @@ import org.onosproject.net.packet.PacketStore;
 import org.onosproject.net.packet.PacketStoreDelegate;
 import org.onosproject.net.provider.AbstractProviderRegistry;
 import org.onosproject.net.provider.AbstractProviderService;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.onlab.util.Tools.groupedThreads;
@@ -86,6 +101,20 @@ public class PacketManager
             "Table Type cannot be null. For requesting packets without " +
                     "table hints, use other methods in the packetService API";
 
+    private static final int DEFAULT_PROCESSING_THREADS = 0;
+    private static final int LANE_QUEUE_SIZE = 4096;
+    private static final long DROP_WARNING_MS = 10_000; // ms
+
+    private static final String METRIC_COMPONENT = "PacketManager";
+    private static final String LANE_FEATURE = "lanes";
+    private static final String DROPPED_METRIC = "dropped";
+
+    @Property(name = "packetProcessingThreads", intValue = DEFAULT_PROCESSING_THREADS,
+            label = "Number of threads processing received packets; packets from " +
+                    "the same port are always handled by the same thread. " +
+                    "0 processes packets on the thread that received them")
+    private int packetProcessingThreads = DEFAULT_PROCESSING_THREADS;
+
     private final PacketStoreDelegate delegate = new InternalStoreDelegate();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
@@ -106,8 +135,24 @@ public class PacketManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     private FlowObjectiveService objectiveService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected MetricsService metricsService;
+
     private ExecutorService eventHandlingExecutor;
 
+    // Packet processing lanes; empty when packets are processed inline
+    private volatile ExecutorService[] processingLanes = new ExecutorService[0];
+
+    // Packets dropped because their processing lane was full
+    private final LongAdder droppedPackets = new LongAdder();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+    private volatile long droppedAtLastWarning;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature laneFeature;
+
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
     private final List<ProcessorEntry> processors = Lists.newCopyOnWriteArrayList();
@@ -118,7 +163,16 @@ public class PacketManager
     private NodeId localNodeId;
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
+        if (metricsService != null) {
+            metricsComponent = metricsService.registerComponent(METRIC_COMPONENT);
+            laneFeature = metricsComponent.registerFeature(LANE_FEATURE);
+            metricsService.removeMetric(metricsComponent, laneFeature, DROPPED_METRIC);
+            metricsService.registerMetric(metricsComponent, laneFeature, DROPPED_METRIC,
+                                          (Gauge<Long>) droppedPackets::sum);
+        }
         eventHandlingExecutor = Executors.newSingleThreadExecutor(
                 groupedThreads("onos/net/packet", "event-handler", log));
         localNodeId = clusterService.getLocalNode().id();
@@ -132,12 +186,81 @@ public class PacketManager
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
         store.unsetDelegate(delegate);
         deviceService.removeListener(deviceListener);
         eventHandlingExecutor.shutdown();
+        shutdownLanes(processingLanes);
+        processingLanes = new ExecutorService[0];
+        if (metricsService != null) {
+            metricsService.removeMetric(metricsComponent, laneFeature, DROPPED_METRIC);
+        }
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        int threads = packetProcessingThreads;
+        if (context != null) {
+            Integer newThreads = Tools.getIntegerProperty(context.getProperties(),
+                                                          "packetProcessingThreads");
+            threads = newThreads == null || newThreads < 0 ?
+                    DEFAULT_PROCESSING_THREADS : newThreads;
+        }
+        if (threads != processingLanes.length) {
+            ExecutorService[] oldLanes = processingLanes;
+            processingLanes = createLanes(threads);
+            // packets already queued on the old lanes still get processed,
+            // but may interleave with newer packets of the same port
+            shutdownLanes(oldLanes);
+        }
+        packetProcessingThreads = threads;
+        log.info("Settings: packetProcessingThreads={}", packetProcessingThreads);
+    }
+
+    private ExecutorService[] createLanes(int count) {
+        ExecutorService[] lanes = new ExecutorService[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(LANE_QUEUE_SIZE),
+                    groupedThreads("onos/net/packet", "processor-" + i, log));
+        }
+        return lanes;
+    }
+
+    private void shutdownLanes(ExecutorService[] lanes) {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * Returns the number of packets dropped because their processing lane
+     * was full.
+     *
+     * @return number of dropped packets
+     */
+    long droppedPackets() {
+        return droppedPackets.sum();
+    }
+
+    // Counts a dropped packet and warns about drops at most once per interval.
+    private void packetDropped(PacketContext context, int lane) {
+        droppedPackets.increment();
+        long now = System.currentTimeMillis();
+        long last = lastDropWarning.get();
+        if (now - last < DROP_WARNING_MS || !lastDropWarning.compareAndSet(last, now)) {
+            log.debug("Dropping packet from {}; processing lane {} is full",
+                      context.inPacket().receivedFrom(), lane);
+            return;
+        }
+        long dropped = droppedPackets.sum();
+        log.warn("Dropped {} packets since last warning; processing lanes are full, " +
+                         "most recently lane {} with packet from {}",
+                 dropped - droppedAtLastWarning, lane, context.inPacket().receivedFrom());
+        droppedAtLastWarning = dropped;
+    }
+
     @Override
     protected PacketProvider defaultProvider() {
         return defaultProvider;
@@ -145,9 +268,15 @@ public class PacketManager
 
     @Override
     public void addProcessor(PacketProcessor processor, int priority) {
+        addProcessor(processor, priority, null);
+    }
+
+    @Override
+    public void addProcessor(PacketProcessor processor, int priority,
+                             TrafficSelector selector) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, "Processor cannot be null");
-        ProcessorEntry entry = new ProcessorEntry(processor, priority);
+        ProcessorEntry entry = new ProcessorEntry(processor, priority, selector);
 
         // Insert the new processor according to its priority.
         int i = 0;
@@ -366,8 +495,25 @@ public class PacketManager
 
         @Override
         public void processPacket(PacketContext context) {
-            // TODO filter packets sent to processors based on registrations
+            ExecutorService[] lanes = processingLanes;
+            if (lanes.length == 0) {
+                process(context);
+                return;
+            }
+            // hashing on the ingress port keeps packets of a port in order
+            int lane = Math.floorMod(context.inPacket().receivedFrom().hashCode(), lanes.length);
+            try {
+                lanes[lane].execute(() -> process(context));
+            } catch (RejectedExecutionException e) {
+                packetDropped(context, lane);
+            }
+        }
+
+        private void process(PacketContext context) {
             for (ProcessorEntry entry : processors) {
+                if (!entry.accepts(context)) {
+                    continue;
+                }
                 try {
                     long start = System.nanoTime();
                     entry.processor().process(context);
@@ -445,12 +591,16 @@ public class PacketManager
     private class ProcessorEntry implements PacketProcessorEntry {
         private final PacketProcessor processor;
         private final int priority;
-        private long invocations = 0;
-        private long nanos = 0;
+        private final TrafficSelector selector;
+        // updated concurrently when packets are processed on several lanes
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
 
-        public ProcessorEntry(PacketProcessor processor, int priority) {
+        public ProcessorEntry(PacketProcessor processor, int priority,
+                              TrafficSelector selector) {
             this.processor = processor;
             this.priority = priority;
+            this.selector = selector;
         }
 
         @Override
@@ -465,22 +615,28 @@ public class PacketManager
 
         @Override
         public long invocations() {
-            return invocations;
+            return invocations.sum();
         }
 
         @Override
         public long totalNanos() {
-            return nanos;
+            return nanos.sum();
         }
 
         @Override
         public long averageNanos() {
-            return invocations > 0 ? nanos / invocations : 0;
+            long count = invocations.sum();
+            return count > 0 ? nanos.sum() / count : 0;
+        }
+
+        boolean accepts(PacketContext context) {
+            return selector == null ||
+                    PacketSelectorMatcher.matches(selector, context.inPacket());
         }
 
         void addNanos(long nanos) {
-            this.nanos += nanos;
-            this.invocations++;
+            this.nanos.add(nanos);
+            this.invocations.increment();
         }
     }
 }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet.impl;
+
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPacket;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.IPv6;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.Ip6Address;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.TCP;
+import org.onlab.packet.UDP;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.criteria.Criterion;
+import org.onosproject.net.flow.criteria.EthCriterion;
+import org.onosproject.net.flow.criteria.EthTypeCriterion;
+import org.onosproject.net.flow.criteria.IPCriterion;
+import org.onosproject.net.flow.criteria.IPProtocolCriterion;
+import org.onosproject.net.flow.criteria.PortCriterion;
+import org.onosproject.net.flow.criteria.TcpPortCriterion;
+import org.onosproject.net.flow.criteria.UdpPortCriterion;
+import org.onosproject.net.flow.criteria.VlanIdCriterion;
+import org.onosproject.net.packet.InboundPacket;
+
+/**
+ * Matches received packets against the selectors with which packet
+ * processors registered their interest.
+ */
+final class PacketSelectorMatcher {
+
+    // non-instantiable
+    private PacketSelectorMatcher() {
+    }
+
+    /**
+     * Indicates whether the inbound packet matches all criteria of the
+     * selector. Criteria which cannot be evaluated against a packet are
+     * treated as matching, so a processor is never starved of packets it
+     * asked for.
+     *
+     * @param selector traffic selector
+     * @param packet   inbound packet
+     * @return true if the packet matches the selector
+     */
+    static boolean matches(TrafficSelector selector, InboundPacket packet) {
+        Ethernet eth = null;
+        for (Criterion criterion : selector.criteria()) {
+            if (criterion.type() == Criterion.Type.IN_PORT) {
+                if (!((PortCriterion) criterion).port().equals(packet.receivedFrom().port())) {
+                    return false;
+                }
+                continue;
+            }
+            if (eth == null) {
+                eth = packet.parsed();
+                if (eth == null) {
+                    return true;
+                }
+            }
+            if (!matches(criterion, eth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean matches(Criterion criterion, Ethernet eth) {
+        IPacket ip = eth.getPayload();
+        switch (criterion.type()) {
+            case ETH_TYPE:
+                return ((EthTypeCriterion) criterion).ethType().toShort() == eth.getEtherType();
+            case ETH_SRC:
+                return matches((EthCriterion) criterion, eth.getSourceMAC());
+            case ETH_DST:
+                return matches((EthCriterion) criterion, eth.getDestinationMAC());
+            case VLAN_VID:
+                VlanId vlanId = ((VlanIdCriterion) criterion).vlanId();
+                if (vlanId.equals(VlanId.ANY)) {
+                    return eth.getVlanID() != Ethernet.VLAN_UNTAGGED;
+                }
+                return vlanId.toShort() == eth.getVlanID();
+            case IP_PROTO:
+                return ((IPProtocolCriterion) criterion).protocol() == ipProtocol(ip);
+            case IPV4_SRC:
+                return ip instanceof IPv4 && matches((IPCriterion) criterion,
+                        Ip4Address.valueOf(((IPv4) ip).getSourceAddress()));
+            case IPV4_DST:
+                return ip instanceof IPv4 && matches((IPCriterion) criterion,
+                        Ip4Address.valueOf(((IPv4) ip).getDestinationAddress()));
+            case IPV6_SRC:
+                return ip instanceof IPv6 && matches((IPCriterion) criterion,
+                        Ip6Address.valueOf(((IPv6) ip).getSourceAddress()));
+            case IPV6_DST:
+                return ip instanceof IPv6 && matches((IPCriterion) criterion,
+                        Ip6Address.valueOf(((IPv6) ip).getDestinationAddress()));
+            case TCP_SRC:
+                return transport(ip) instanceof TCP &&
+                        ((TCP) transport(ip)).getSourcePort() ==
+                                ((TcpPortCriterion) criterion).tcpPort().toInt();
+            case TCP_DST:
+                return transport(ip) instanceof TCP &&
+                        ((TCP) transport(ip)).getDestinationPort() ==
+                                ((TcpPortCriterion) criterion).tcpPort().toInt();
+            case UDP_SRC:
+                return transport(ip) instanceof UDP &&
+                        ((UDP) transport(ip)).getSourcePort() ==
+                                ((UdpPortCriterion) criterion).udpPort().toInt();
+            case UDP_DST:
+                return transport(ip) instanceof UDP &&
+                        ((UDP) transport(ip)).getDestinationPort() ==
+                                ((UdpPortCriterion) criterion).udpPort().toInt();
+            default:
+                return true;
+        }
+    }
+
+    private static boolean matches(EthCriterion criterion, MacAddress mac) {
+        if (criterion.mask() == null) {
+            return criterion.mac().equals(mac);
+        }
+        long mask = criterion.mask().toLong();
+        return (criterion.mac().toLong() & mask) == (mac.toLong() & mask);
+    }
+
+    private static boolean matches(IPCriterion criterion, IpAddress address) {
+        return criterion.ip().contains(address);
+    }
+
+    private static int ipProtocol(IPacket ip) {
+        if (ip instanceof IPv4) {
+            return ((IPv4) ip).getProtocol() & 0xff;
+        } else if (ip instanceof IPv6) {
+            return ((IPv6) ip).getNextHeader() & 0xff;
+        }
+        return -1;
+    }
+
+    private static IPacket transport(IPacket ip) {
+        return ip instanceof IPv4 || ip instanceof IPv6 ? ip.getPayload() : null;
+    }
+}
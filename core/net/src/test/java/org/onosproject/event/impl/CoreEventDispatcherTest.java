@@ -27,6 +27,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Test of the event dispatcher mechanism.
@@ -76,6 +77,44 @@ public class CoreEventDispatcherTest {
         validate(prickleSink);
     }
 
+    @Test
+    public void postWithMultipleLanes() throws Exception {
+        dispatcher.setDispatchLanes(4);
+        assertEquals("incorrect lane count", 4, dispatcher.getDispatchLanes());
+        prickleSink.latch = new CountDownLatch(2);
+        gooSink.latch = new CountDownLatch(1);
+        dispatcher.post(new Prickle("one"));
+        dispatcher.post(new Goo("boom"));
+        dispatcher.post(new Prickle("two"));
+        prickleSink.latch.await(100, TimeUnit.MILLISECONDS);
+        gooSink.latch.await(100, TimeUnit.MILLISECONDS);
+        validate(prickleSink, "one", "two");
+        validate(gooSink, "boom");
+    }
+
+    @Test
+    public void changeLanesWhilePosting() throws Exception {
+        int count = 2000;
+        prickleSink.latch = new CountDownLatch(count);
+        Thread poster = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                dispatcher.post(new Prickle(Integer.toString(i)));
+            }
+        });
+        poster.start();
+        dispatcher.setDispatchLanes(4);
+        dispatcher.setDispatchLanes(2);
+        dispatcher.setDispatchLanes(1);
+        poster.join();
+        assertTrue("events were lost", prickleSink.latch.await(5, TimeUnit.SECONDS));
+
+        String[] expected = new String[count];
+        for (int i = 0; i < count; i++) {
+            expected[i] = Integer.toString(i);
+        }
+        validate(prickleSink, expected);
+    }
+
     private void validate(Sink sink, String... strings) {
         int i = 0;
         assertEquals("incorrect event count", strings.length, sink.subjects.size());
@@ -18,35 +18,56 @@ package org.onosproject.net.packet.impl;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.MacAddress;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.CoreServiceAdapter;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.TestListener;
 import org.onosproject.net.AnnotationKeys;
+import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceServiceAdapter;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
 import org.onosproject.net.driver.DefaultDriver;
 import org.onosproject.net.driver.impl.DriverManager;
+import org.onosproject.net.flow.DefaultTrafficSelector;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.packet.DefaultInboundPacket;
 import org.onosproject.net.packet.DefaultOutboundPacket;
+import org.onosproject.net.packet.DefaultPacketContext;
 import org.onosproject.net.packet.OutboundPacket;
+import org.onosproject.net.packet.PacketContext;
 import org.onosproject.net.packet.PacketProgrammable;
+import org.onosproject.net.packet.PacketProvider;
 import org.onosproject.net.packet.PacketProviderRegistry;
+import org.onosproject.net.packet.PacketProviderService;
+import org.onosproject.net.provider.AbstractProvider;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.provider.TestProvider;
 import org.onosproject.store.trivial.SimplePacketStore;
 
 import java.nio.ByteBuffer;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.onosproject.net.NetTestTools.injectEventDispatcher;
 
 /**
@@ -82,8 +103,9 @@ public class PacketManagerTest {
         mgr.deviceService = new TestDeviceService();
         mgr.deviceService = new TestDeviceService();
         mgr.coreService = new TestCoreService();
+        mgr.cfgService = new ComponentConfigAdapter();
         providerRegistry = mgr;
-        mgr.activate();
+        mgr.activate(null);
         driverService = new TestDriverManager();
         driverService.addDriver(new DefaultDriver("foo", ImmutableList.of(), "", "", "",
                                                   ImmutableMap.of(PacketProgrammable.class,
@@ -102,6 +124,128 @@ public class PacketManagerTest {
         assertEquals("Packet not emitted correctly", packet, emittedPacket);
     }
 
+    @After
+    public void tearDown() {
+        mgr.deactivate();
+    }
+
+    /**
+     * Tests that processors registered with a selector only see matching packets.
+     */
+    @Test
+    public void processorSelectorFiltering() {
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+        List<PacketContext> all = new CopyOnWriteArrayList<>();
+        List<PacketContext> arp = new CopyOnWriteArrayList<>();
+        mgr.addProcessor(all::add, 1);
+        mgr.addProcessor(arp::add, 2,
+                         DefaultTrafficSelector.builder().matchEthType(Ethernet.TYPE_ARP).build());
+
+        providerService.processPacket(packetContext(PortNumber.portNumber(1), Ethernet.TYPE_ARP));
+        providerService.processPacket(packetContext(PortNumber.portNumber(1), Ethernet.TYPE_IPV4));
+
+        assertEquals("incorrect packets to unfiltered processor", 2, all.size());
+        assertEquals("incorrect packets to filtered processor", 1, arp.size());
+        assertEquals("incorrect invocation count", 1, mgr.getProcessors().get(1).invocations());
+    }
+
+    /**
+     * Tests that packets are processed in order per port on processing lanes.
+     */
+    @Test
+    public void processingLanes() throws InterruptedException {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("packetProcessingThreads", "4");
+                return props;
+            }
+        });
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+        int count = 100;
+        CountDownLatch latch = new CountDownLatch(2 * count);
+        List<PacketContext> port1 = new CopyOnWriteArrayList<>();
+        List<PacketContext> port2 = new CopyOnWriteArrayList<>();
+        mgr.addProcessor(context -> {
+            PortNumber port = context.inPacket().receivedFrom().port();
+            (port.equals(PortNumber.portNumber(1)) ? port1 : port2).add(context);
+            latch.countDown();
+        }, 1);
+
+        List<PacketContext> sent1 = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PacketContext context = packetContext(PortNumber.portNumber(1), Ethernet.TYPE_IPV4);
+            sent1.add(context);
+            providerService.processPacket(context);
+            providerService.processPacket(packetContext(PortNumber.portNumber(2), Ethernet.TYPE_IPV4));
+        }
+
+        assertTrue("packets not processed", latch.await(5, TimeUnit.SECONDS));
+        assertEquals("packets of a port processed out of order", sent1, port1);
+        assertEquals("incorrect packet count", count, port2.size());
+    }
+
+    /**
+     * Tests that packets overflowing a full processing lane are counted.
+     */
+    @Test
+    public void droppedPackets() throws InterruptedException {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("packetProcessingThreads", "1");
+                return props;
+            }
+        });
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        mgr.addProcessor(context -> {
+            blocked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 1);
+
+        // one packet is being processed and 4096 fill up the lane queue
+        int count = 1 + 4096 + 10;
+        for (int i = 0; i < count; i++) {
+            providerService.processPacket(packetContext(PortNumber.portNumber(1), Ethernet.TYPE_IPV4));
+        }
+        assertTrue("packet not processed", blocked.await(5, TimeUnit.SECONDS));
+        release.countDown();
+
+        assertEquals("incorrect dropped packet count", 10, mgr.droppedPackets());
+    }
+
+    private static PacketContext packetContext(PortNumber port, short ethType) {
+        Ethernet eth = new Ethernet();
+        eth.setEtherType(ethType)
+                .setSourceMACAddress(MacAddress.valueOf(1L))
+                .setDestinationMACAddress(MacAddress.BROADCAST);
+        DefaultInboundPacket inPkt = new DefaultInboundPacket(new ConnectPoint(FOO_DID, port),
+                                                              eth, ByteBuffer.wrap(eth.serialize()));
+        return new DefaultPacketContext(System.currentTimeMillis(), inPkt, null, false) {
+            @Override
+            public void send() {
+            }
+        };
+    }
+
+    private static class TestPacketProvider extends AbstractProvider implements PacketProvider {
+        TestPacketProvider() {
+            super(new ProviderId("of", "packet"));
+        }
+
+        @Override
+        public void emit(OutboundPacket packet) {
+        }
+    }
+
     private static class TestDeviceService extends DeviceServiceAdapter {
         @Override
         public int getDeviceCount() {
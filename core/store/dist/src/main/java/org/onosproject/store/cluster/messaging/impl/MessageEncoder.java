@@ -43,6 +43,27 @@ public class MessageEncoder extends MessageToByteEncoder<InternalMessage> {
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    // Fixed-size header fields: preamble, message id, IP version, sender port,
+    // message type length, status and payload length
+    private static final int FIXED_HEADER_LENGTH = 4 + 8 + 1 + 4 + 4 + 4 + 4;
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext context,
+                                     InternalMessage message,
+                                     boolean preferDirect) throws Exception {
+        // Size the buffer for the whole frame up front so that large payloads
+        // are copied into the pooled buffer once, without intermediate resizing.
+        int length = FIXED_HEADER_LENGTH
+                + IpAddress.byteLength(message.sender().host().version())
+                + message.type().getBytes(Charsets.UTF_8).length
+                + message.payload().length;
+        if (preferDirect) {
+            return context.alloc().ioBuffer(length);
+        } else {
+            return context.alloc().heapBuffer(length);
+        }
+    }
+
     @Override
     protected void encode(
             ChannelHandlerContext context,
@@ -24,12 +24,16 @@ import org.apache.commons.lang3.RandomUtils;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.ChassisId;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.NewConcurrentHashMap;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -71,15 +75,9 @@ import org.onosproject.store.cluster.messaging.ClusterMessage;
 import org.onosproject.store.cluster.messaging.ClusterMessageHandler;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.impl.Timestamped;
-import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.serializers.StoreSerializer;
 import org.onosproject.store.serializers.custom.DistributedStoreSerializers;
-import org.onosproject.store.service.EventuallyConsistentMap;
-import org.onosproject.store.service.EventuallyConsistentMapEvent;
-import org.onosproject.store.service.EventuallyConsistentMapListener;
-import org.onosproject.store.service.MultiValuedTimestamp;
-import org.onosproject.store.service.StorageService;
-import org.onosproject.store.service.WallClockTimestamp;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
 import java.io.IOException;
@@ -95,10 +93,13 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
@@ -113,7 +114,6 @@ import static org.onosproject.cluster.ControllerNodeToNodeId.toNodeId;
 import static org.onosproject.net.DefaultAnnotations.merge;
 import static org.onosproject.net.device.DeviceEvent.Type.*;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.*;
-import static org.onosproject.store.service.EventuallyConsistentMapEvent.Type.PUT;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -131,6 +131,16 @@ public class GossipDeviceStore
     private static final String DEVICE_NOT_FOUND = "Device with ID %s not found";
     // Timeout in milliseconds to process device or ports on remote master node
     private static final int REMOTE_MASTER_TIMEOUT = 1000;
+    // Number of statistics samples kept per port; a minute at the default poll rate
+    private static final int DEFAULT_PORT_STATS_HISTORY_DEPTH = 12;
+    // Two samples are needed to compute the delta statistics
+    private static final int MIN_PORT_STATS_HISTORY_DEPTH = 2;
+    // Minimum age in milliseconds of statistics fetched from a remote master before they are refreshed
+    private static final long REMOTE_PORT_STATS_REFRESH = 1000;
+
+    @Property(name = "portStatsHistoryDepth", intValue = DEFAULT_PORT_STATS_HISTORY_DEPTH,
+            label = "Number of statistics samples kept for each port of the devices this node masters")
+    private int portStatsHistoryDepth = DEFAULT_PORT_STATS_HISTORY_DEPTH;
 
     // innerMap is used to lock a Device, thus instance should never be replaced.
     // collection of Description given from various providers
@@ -141,10 +151,12 @@ public class GossipDeviceStore
     private final ConcurrentMap<DeviceId, Device> devices = Maps.newConcurrentMap();
     private final ConcurrentMap<DeviceId, ConcurrentMap<PortNumber, Port>> devicePorts = Maps.newConcurrentMap();
 
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortStats;
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats;
-    private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>>
-            portStatsListener = new InternalPortStatsListener();
+    // port statistics of the devices polled by this node
+    private volatile PortStatisticsHistory portStatsHistory =
+            new PortStatisticsHistory(DEFAULT_PORT_STATS_HISTORY_DEPTH);
+    // last port statistics received from the masters of the other devices
+    private final ConcurrentMap<DeviceId, RemotePortStatistics> remotePortStats = Maps.newConcurrentMap();
+    private final ConcurrentMap<DeviceId, RemotePortStatistics> remotePortDeltaStats = Maps.newConcurrentMap();
 
     // to be updated under Device lock
     private final Map<DeviceId, Timestamp> offline = Maps.newHashMap();
@@ -156,9 +168,6 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected DeviceClockService deviceClockService;
 
-    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
-    protected StorageService storageService;
-
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterCommunicationService clusterCommunicator;
 
@@ -171,6 +180,9 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MastershipTermService termService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
 
     protected static final StoreSerializer SERIALIZER = StoreSerializer.using(KryoNamespace.newBuilder()
                     .register(DistributedStoreSerializers.STORE_COMMON)
@@ -196,7 +208,10 @@ public class GossipDeviceStore
     private long periodSec = 5;
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
+
         executor = newCachedThreadPool(groupedThreads("onos/device", "fg-%d", log));
 
         backgroundExecutor =
@@ -226,40 +241,27 @@ public class GossipDeviceStore
         clusterCommunicator.addSubscriber(
                 GossipDeviceStoreMessageSubjects.PORT_INJECTED, new PortInjectedEventListener(), executor);
 
+        clusterCommunicator.<DeviceId, List<PortStatistics>>addSubscriber(PORT_STATS_REQ,
+                SERIALIZER::decode,
+                deviceId -> portStatsHistory.latest(deviceId),
+                SERIALIZER::encode,
+                executor);
+        clusterCommunicator.<DeviceId, List<PortStatistics>>addSubscriber(PORT_DELTA_STATS_REQ,
+                SERIALIZER::decode,
+                this::localPortDeltaStatistics,
+                SERIALIZER::encode,
+                executor);
+
         // start anti-entropy thread
         backgroundExecutor.scheduleAtFixedRate(new SendAdvertisementTask(),
                                                initialDelaySec, periodSec, TimeUnit.SECONDS);
 
-        // Create a distributed map for port stats.
-        KryoNamespace.Builder deviceDataSerializer = KryoNamespace.newBuilder()
-                .register(KryoNamespaces.API)
-                .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID)
-                .register(MultiValuedTimestamp.class);
-
-        devicePortStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>eventuallyConsistentMapBuilder()
-                .withName("port-stats")
-                .withSerializer(deviceDataSerializer)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
-        devicePortDeltaStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>
-                eventuallyConsistentMapBuilder()
-                .withName("port-stats-delta")
-                .withSerializer(deviceDataSerializer)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
-        devicePortStats.addListener(portStatsListener);
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
-        devicePortStats.removeListener(portStatsListener);
-        devicePortStats.destroy();
-        devicePortDeltaStats.destroy();
+        cfgService.unregisterProperties(getClass(), false);
         executor.shutdownNow();
 
         backgroundExecutor.shutdownNow();
@@ -275,6 +277,9 @@ public class GossipDeviceStore
         devices.clear();
         devicePorts.clear();
         availableDevices.clear();
+        portStatsHistory.clear();
+        remotePortStats.clear();
+        remotePortDeltaStats.clear();
         clusterCommunicator.removeSubscriber(
                 GossipDeviceStoreMessageSubjects.DEVICE_UPDATE);
         clusterCommunicator.removeSubscriber(
@@ -293,9 +298,32 @@ public class GossipDeviceStore
                 GossipDeviceStoreMessageSubjects.DEVICE_INJECTED);
         clusterCommunicator.removeSubscriber(
                 GossipDeviceStoreMessageSubjects.PORT_INJECTED);
+        clusterCommunicator.removeSubscriber(PORT_STATS_REQ);
+        clusterCommunicator.removeSubscriber(PORT_DELTA_STATS_REQ);
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        int depth = portStatsHistoryDepth;
+        if (context != null) {
+            Integer newDepth = Tools.getIntegerProperty(context.getProperties(), "portStatsHistoryDepth");
+            if (newDepth == null) {
+                depth = DEFAULT_PORT_STATS_HISTORY_DEPTH;
+            } else if (newDepth >= MIN_PORT_STATS_HISTORY_DEPTH) {
+                depth = newDepth;
+            } else {
+                log.warn("portStatsHistoryDepth must be at least {}", MIN_PORT_STATS_HISTORY_DEPTH);
+            }
+        }
+        if (depth != portStatsHistoryDepth) {
+            // the samples taken so far are dropped; the next polls refill the history
+            portStatsHistory = new PortStatisticsHistory(depth);
+            portStatsHistoryDepth = depth;
+        }
+        log.info("Settings: portStatsHistoryDepth={}", portStatsHistoryDepth);
+    }
+
     @Override
     public int getDeviceCount() {
         return devices.size();
@@ -874,36 +902,15 @@ public class GossipDeviceStore
             .orElse(Stream.empty());
     }
 
+    // Statistics are kept on the polling node only, so PORT_STATS_UPDATED is
+    // raised there rather than on every node of the cluster.
     @Override
     public DeviceEvent updatePortStatistics(ProviderId providerId, DeviceId deviceId,
                                             Collection<PortStatistics> newStatsCollection) {
 
-        Map<PortNumber, PortStatistics> prvStatsMap = devicePortStats.get(deviceId);
-        Map<PortNumber, PortStatistics> newStatsMap = Maps.newHashMap();
-        Map<PortNumber, PortStatistics> deltaStatsMap = Maps.newHashMap();
-
-        if (prvStatsMap != null) {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                PortStatistics prvStats = prvStatsMap.get(port);
-                DefaultPortStatistics.Builder builder = DefaultPortStatistics.builder();
-                PortStatistics deltaStats = builder.build();
-                if (prvStats != null) {
-                    deltaStats = calcDeltaStats(deviceId, prvStats, newStats);
-                }
-                deltaStatsMap.put(port, deltaStats);
-                newStatsMap.put(port, newStats);
-            }
-        } else {
-            for (PortStatistics newStats : newStatsCollection) {
-                PortNumber port = PortNumber.portNumber(newStats.port());
-                newStatsMap.put(port, newStats);
-            }
-        }
-        devicePortDeltaStats.put(deviceId, deltaStatsMap);
-        devicePortStats.put(deviceId, newStatsMap);
-        // DeviceEvent returns null because of InternalPortStatsListener usage
-        return null;
+        portStatsHistory.record(deviceId, newStatsCollection);
+        Device device = devices.get(deviceId);
+        return device == null ? null : new DeviceEvent(PORT_STATS_UPDATED, device);
     }
 
     /**
@@ -943,20 +950,105 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
-        if (portStats == null) {
-            return Collections.emptyList();
+        if (mastershipService.isLocalMaster(deviceId)) {
+            remotePortStats.remove(deviceId);
+            return portStatsHistory.latest(deviceId);
         }
-        return ImmutableList.copyOf(portStats.values());
+        return remotePortStatistics(deviceId, PORT_STATS_REQ, remotePortStats);
     }
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
-        if (portStats == null) {
+        if (mastershipService.isLocalMaster(deviceId)) {
+            remotePortDeltaStats.remove(deviceId);
+            return localPortDeltaStatistics(deviceId);
+        }
+        return remotePortStatistics(deviceId, PORT_DELTA_STATS_REQ, remotePortDeltaStats);
+    }
+
+    /**
+     * Returns the statistics samples retained for a port, newest first.
+     * Only the node polling the device holds its history.
+     *
+     * @param deviceId device identifier
+     * @param portNumber port number
+     * @return port statistics samples
+     */
+    public List<PortStatistics> getPortStatisticsHistory(DeviceId deviceId, PortNumber portNumber) {
+        return portStatsHistory.history(deviceId, portNumber);
+    }
+
+    private List<PortStatistics> localPortDeltaStatistics(DeviceId deviceId) {
+        return portStatsHistory.deltas(deviceId,
+                (prvStats, newStats) -> calcDeltaStats(deviceId, prvStats, newStats));
+    }
+
+    // Port statistics are kept by the node polling the device, its master.
+    // Answers from the master are cached and refreshed at most once per
+    // interval; only a read with nothing cached yet waits for the answer.
+    private List<PortStatistics> remotePortStatistics(DeviceId deviceId, MessageSubject subject,
+                                                      ConcurrentMap<DeviceId, RemotePortStatistics> cache) {
+        // history left over from when this node was the master is stale
+        portStatsHistory.remove(deviceId);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            cache.remove(deviceId);
             return Collections.emptyList();
         }
-        return ImmutableList.copyOf(portStats.values());
+        RemotePortStatistics remote = cache.computeIfAbsent(deviceId, k -> new RemotePortStatistics());
+        CompletableFuture<List<PortStatistics>> refresh = remote.refresh(deviceId, subject, master);
+        List<PortStatistics> stats = remote.stats;
+        if (stats == null) {
+            try {
+                stats = refresh.get(REMOTE_MASTER_TIMEOUT, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("Failed to fetch port statistics of {} from {}", deviceId, master, e);
+            }
+        }
+        return stats == null ? Collections.emptyList() : stats;
+    }
+
+    // Port statistics of a device fetched from its master
+    private final class RemotePortStatistics {
+        private volatile List<PortStatistics> stats;
+        private long fetched;
+        private CompletableFuture<List<PortStatistics>> pending;
+
+        // Requests the statistics unless a request is pending or the last
+        // answer is recent; returns the pending or the completed request.
+        synchronized CompletableFuture<List<PortStatistics>> refresh(DeviceId deviceId,
+                                                                     MessageSubject subject,
+                                                                     NodeId master) {
+            if (pending != null) {
+                return pending;
+            }
+            if (System.currentTimeMillis() - fetched < REMOTE_PORT_STATS_REFRESH) {
+                return CompletableFuture.completedFuture(stats);
+            }
+            CompletableFuture<List<PortStatistics>> request =
+                    clusterCommunicator.<DeviceId, List<PortStatistics>>sendAndReceive(deviceId,
+                            subject,
+                            SERIALIZER::encode,
+                            SERIALIZER::decode,
+                            master);
+            pending = request;
+            request.whenComplete((result, error) -> completed(request, result));
+            return request;
+        }
+
+        private synchronized void completed(CompletableFuture<List<PortStatistics>> request,
+                                            List<PortStatistics> result) {
+            if (result != null) {
+                stats = result;
+            }
+            // failed requests are retried no sooner than successful ones
+            fetched = System.currentTimeMillis();
+            if (pending == request) {
+                pending = null;
+            }
+        }
     }
 
     @Override
@@ -1062,6 +1154,9 @@ public class GossipDeviceStore
             removalRequest.put(deviceId, timestamp);
 
             Device device = devices.remove(deviceId);
+            portStatsHistory.remove(deviceId);
+            remotePortStats.remove(deviceId);
+            remotePortDeltaStats.remove(deviceId);
             // should DEVICE_REMOVED carry removed ports?
             Map<PortNumber, Port> ports = devicePorts.get(deviceId);
             if (ports != null) {
@@ -1747,17 +1842,4 @@ public class GossipDeviceStore
             }
         }
     }
-
-    private class InternalPortStatsListener
-            implements EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>> {
-        @Override
-        public void event(EventuallyConsistentMapEvent<DeviceId, Map<PortNumber, PortStatistics>> event) {
-            if (event.type() == PUT) {
-                Device device = devices.get(event.key());
-                if (device != null) {
-                    delegate.notify(new DeviceEvent(PORT_STATS_UPDATED, device));
-                }
-            }
-        }
-    }
 }
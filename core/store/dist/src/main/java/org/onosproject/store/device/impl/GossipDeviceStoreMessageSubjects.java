@@ -38,4 +38,8 @@ public final class GossipDeviceStoreMessageSubjects {
     // Network elements injected (not discovered) by ConfigProvider
     public static final MessageSubject DEVICE_INJECTED = new MessageSubject("peer-device-injected");
     public static final MessageSubject PORT_INJECTED = new MessageSubject("peer-port-injected");
+
+    // Port statistics held only by the node polling the device
+    public static final MessageSubject PORT_STATS_REQ = new MessageSubject("peer-port-stats-request");
+    public static final MessageSubject PORT_DELTA_STATS_REQ = new MessageSubject("peer-port-delta-stats-request");
 }
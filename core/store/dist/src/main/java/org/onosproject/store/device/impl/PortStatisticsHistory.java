@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.store.device.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Fixed-size history of port statistics samples for the devices polled by
+ * this node.
+ * <p>
+ * Each port keeps its most recent samples in a ring buffer of primitive
+ * counters, so memory use is bounded by the history depth regardless of how
+ * long a device has been polled.
+ * </p>
+ */
+final class PortStatisticsHistory {
+
+    // Offsets of the counters stored for each sample
+    private static final int PACKETS_RECEIVED = 0;
+    private static final int PACKETS_SENT = 1;
+    private static final int BYTES_RECEIVED = 2;
+    private static final int BYTES_SENT = 3;
+    private static final int PACKETS_RX_DROPPED = 4;
+    private static final int PACKETS_TX_DROPPED = 5;
+    private static final int PACKETS_RX_ERRORS = 6;
+    private static final int PACKETS_TX_ERRORS = 7;
+    private static final int DURATION_SEC = 8;
+    private static final int DURATION_NANO = 9;
+    private static final int FIELDS = 10;
+
+    private final int depth;
+    private final Map<DeviceId, Map<Integer, PortSamples>> devices = Maps.newConcurrentMap();
+
+    /**
+     * Creates a port statistics history.
+     *
+     * @param depth number of samples retained per port
+     */
+    PortStatisticsHistory(int depth) {
+        checkArgument(depth > 1, "History depth must be greater than 1");
+        this.depth = depth;
+    }
+
+    /**
+     * Records a new sample for each of the given ports. Ports missing from
+     * the sample are considered gone and their history is discarded.
+     *
+     * @param deviceId device identifier
+     * @param stats    latest statistics of the device ports
+     */
+    void record(DeviceId deviceId, Collection<PortStatistics> stats) {
+        Map<Integer, PortSamples> ports =
+                devices.computeIfAbsent(deviceId, k -> Maps.newConcurrentMap());
+        Set<Integer> sampled = Sets.newHashSetWithExpectedSize(stats.size());
+        for (PortStatistics sample : stats) {
+            ports.computeIfAbsent(sample.port(), k -> new PortSamples()).add(sample);
+            sampled.add(sample.port());
+        }
+        ports.keySet().retainAll(sampled);
+    }
+
+    /**
+     * Returns the latest sample of each port of the device.
+     *
+     * @param deviceId device identifier
+     * @return latest port statistics, empty if the device has no history
+     */
+    List<PortStatistics> latest(DeviceId deviceId) {
+        Map<Integer, PortSamples> ports = devices.get(deviceId);
+        if (ports == null) {
+            return Collections.emptyList();
+        }
+        ImmutableList.Builder<PortStatistics> latest = ImmutableList.builder();
+        ports.forEach((port, samples) -> {
+            PortStatistics sample = samples.get(deviceId, port, 0);
+            if (sample != null) {
+                latest.add(sample);
+            }
+        });
+        return latest.build();
+    }
+
+    /**
+     * Returns the change between the two latest samples of each port of the
+     * device. Ports with a single sample are skipped.
+     *
+     * @param deviceId device identifier
+     * @param delta    function computing the delta of the previous and the
+     *                 latest sample
+     * @return port statistics deltas, empty if the device has no history
+     */
+    List<PortStatistics> deltas(DeviceId deviceId, BinaryOperator<PortStatistics> delta) {
+        Map<Integer, PortSamples> ports = devices.get(deviceId);
+        if (ports == null) {
+            return Collections.emptyList();
+        }
+        ImmutableList.Builder<PortStatistics> deltas = ImmutableList.builder();
+        ports.forEach((port, samples) -> {
+            PortStatistics previous;
+            PortStatistics latest;
+            synchronized (samples) {
+                latest = samples.get(deviceId, port, 0);
+                previous = samples.get(deviceId, port, 1);
+            }
+            if (previous != null && latest != null) {
+                deltas.add(delta.apply(previous, latest));
+            }
+        });
+        return deltas.build();
+    }
+
+    /**
+     * Returns the retained samples of a port, newest first.
+     *
+     * @param deviceId device identifier
+     * @param port     port number
+     * @return port statistics samples, empty if the port has no history
+     */
+    List<PortStatistics> history(DeviceId deviceId, PortNumber port) {
+        Map<Integer, PortSamples> ports = devices.get(deviceId);
+        PortSamples samples = ports == null ? null : ports.get((int) port.toLong());
+        if (samples == null) {
+            return Collections.emptyList();
+        }
+        ImmutableList.Builder<PortStatistics> history = ImmutableList.builder();
+        synchronized (samples) {
+            for (int i = 0; i < samples.count; i++) {
+                history.add(samples.get(deviceId, (int) port.toLong(), i));
+            }
+        }
+        return history.build();
+    }
+
+    /**
+     * Returns whether any samples are held for the device.
+     *
+     * @param deviceId device identifier
+     * @return true if the device has history
+     */
+    boolean contains(DeviceId deviceId) {
+        return devices.containsKey(deviceId);
+    }
+
+    /**
+     * Discards the history of the device.
+     *
+     * @param deviceId device identifier
+     */
+    void remove(DeviceId deviceId) {
+        devices.remove(deviceId);
+    }
+
+    /**
+     * Clears the history of all devices.
+     */
+    void clear() {
+        devices.clear();
+    }
+
+    // Ring buffer of the samples of one port
+    private final class PortSamples {
+        private final long[] counters = new long[depth * FIELDS];
+        private int next;
+        private int count;
+
+        synchronized void add(PortStatistics stats) {
+            int offset = next * FIELDS;
+            counters[offset + PACKETS_RECEIVED] = stats.packetsReceived();
+            counters[offset + PACKETS_SENT] = stats.packetsSent();
+            counters[offset + BYTES_RECEIVED] = stats.bytesReceived();
+            counters[offset + BYTES_SENT] = stats.bytesSent();
+            counters[offset + PACKETS_RX_DROPPED] = stats.packetsRxDropped();
+            counters[offset + PACKETS_TX_DROPPED] = stats.packetsTxDropped();
+            counters[offset + PACKETS_RX_ERRORS] = stats.packetsRxErrors();
+            counters[offset + PACKETS_TX_ERRORS] = stats.packetsTxErrors();
+            counters[offset + DURATION_SEC] = stats.durationSec();
+            counters[offset + DURATION_NANO] = stats.durationNano();
+            next = (next + 1) % depth;
+            count = Math.min(count + 1, depth);
+        }
+
+        // Returns the sample taken the given number of polls ago, or null
+        synchronized PortStatistics get(DeviceId deviceId, int port, int age) {
+            if (age >= count) {
+                return null;
+            }
+            int offset = ((next - 1 - age + depth) % depth) * FIELDS;
+            return DefaultPortStatistics.builder()
+                    .setDeviceId(deviceId)
+                    .setPort(port)
+                    .setPacketsReceived(counters[offset + PACKETS_RECEIVED])
+                    .setPacketsSent(counters[offset + PACKETS_SENT])
+                    .setBytesReceived(counters[offset + BYTES_RECEIVED])
+                    .setBytesSent(counters[offset + BYTES_SENT])
+                    .setPacketsRxDropped(counters[offset + PACKETS_RX_DROPPED])
+                    .setPacketsTxDropped(counters[offset + PACKETS_TX_DROPPED])
+                    .setPacketsRxErrors(counters[offset + PACKETS_RX_ERRORS])
+                    .setPacketsTxErrors(counters[offset + PACKETS_TX_ERRORS])
+                    .setDurationSec(counters[offset + DURATION_SEC])
+                    .setDurationNano(counters[offset + DURATION_NANO])
+                    .build();
+        }
+    }
+}
@@ -16,7 +16,7 @@
 package org.onosproject.store.flow.impl;
 
  import com.google.common.collect.ImmutableList;
- import com.google.common.collect.ImmutableMap;
+ import com.google.common.collect.ImmutableSet;
  import com.google.common.collect.Iterables;
  import com.google.common.collect.Maps;
  import com.google.common.collect.Sets;
@@ -29,6 +29,7 @@ package org.onosproject.store.flow.impl;
  import org.apache.felix.scr.annotations.Reference;
  import org.apache.felix.scr.annotations.ReferenceCardinality;
  import org.apache.felix.scr.annotations.Service;
+ import org.onlab.util.ExtendedSet;
  import org.onlab.util.KryoNamespace;
  import org.onlab.util.Tools;
  import org.onosproject.cfg.ComponentConfigService;
@@ -62,10 +63,12 @@ package org.onosproject.store.flow.impl;
  import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
  import org.onosproject.store.cluster.messaging.ClusterMessage;
  import org.onosproject.store.cluster.messaging.ClusterMessageHandler;
+ import org.onosproject.store.cluster.messaging.MessageSubject;
  import org.onosproject.store.flow.ReplicaInfoEvent;
  import org.onosproject.store.flow.ReplicaInfoEventListener;
  import org.onosproject.store.flow.ReplicaInfoService;
  import org.onosproject.store.impl.MastershipBasedTimestamp;
+ import org.onosproject.store.serializers.ExtendedSetSerializer;
  import org.onosproject.store.serializers.KryoNamespaces;
  import org.onosproject.store.serializers.StoreSerializer;
  import org.onosproject.store.serializers.custom.DistributedStoreSerializers;
@@ -119,6 +122,7 @@ public class DistributedFlowRuleStore
     private static final long FLOW_RULE_STORE_TIMEOUT_MILLIS = 5000;
     // number of devices whose flow entries will be backed up in one communication round
     private static final int FLOW_TABLE_BACKUP_BATCH_SIZE = 1;
+    private static final int DEFAULT_FULL_BACKUP_PERIOD_MILLIS = 60_000;
 
     @Property(name = "msgHandlerPoolSize", intValue = MESSAGE_HANDLER_THREAD_POOL_SIZE,
             label = "Number of threads in the message handler pool")
@@ -131,6 +135,11 @@ public class DistributedFlowRuleStore
     @Property(name = "backupPeriod", intValue = DEFAULT_BACKUP_PERIOD_MILLIS,
             label = "Delay in ms between successive backup runs")
     private int backupPeriod = DEFAULT_BACKUP_PERIOD_MILLIS;
+
+    @Property(name = "fullBackupPeriod", intValue = DEFAULT_FULL_BACKUP_PERIOD_MILLIS,
+            label = "Delay in ms after which a device flow table is backed up in full rather than incrementally")
+    private int fullBackupPeriod = DEFAULT_FULL_BACKUP_PERIOD_MILLIS;
+
     @Property(name = "persistenceEnabled", boolValue = false,
             label = "Indicates whether or not changes in the flow table should be persisted to disk.")
     private boolean persistenceEnabled = DEFAULT_PERSISTENCE_ENABLED;
@@ -180,6 +189,8 @@ public class DistributedFlowRuleStore
             KryoNamespace.newBuilder()
                     .register(DistributedStoreSerializers.STORE_COMMON)
                     .nextId(DistributedStoreSerializers.STORE_CUSTOM_BEGIN)
+                    .register(FlowTableBackup.class)
+                    .register(new ExtendedSetSerializer(), ExtendedSet.class)
                     .build("FlowRuleStore"));
 
     protected static final KryoNamespace.Builder SERIALIZER_BUILDER = KryoNamespace.newBuilder()
@@ -255,6 +266,7 @@ public class DistributedFlowRuleStore
         int newPoolSize;
         boolean newBackupEnabled;
         int newBackupPeriod;
+        int newFullBackupPeriod;
         try {
             String s = get(properties, "msgHandlerPoolSize");
             newPoolSize = isNullOrEmpty(s) ? msgHandlerPoolSize : Integer.parseInt(s.trim());
@@ -265,11 +277,16 @@ public class DistributedFlowRuleStore
             s = get(properties, "backupPeriod");
             newBackupPeriod = isNullOrEmpty(s) ? backupPeriod : Integer.parseInt(s.trim());
 
+            s = get(properties, "fullBackupPeriod");
+            newFullBackupPeriod = isNullOrEmpty(s) ? fullBackupPeriod : Integer.parseInt(s.trim());
+
         } catch (NumberFormatException | ClassCastException e) {
             newPoolSize = MESSAGE_HANDLER_THREAD_POOL_SIZE;
             newBackupEnabled = DEFAULT_BACKUP_ENABLED;
             newBackupPeriod = DEFAULT_BACKUP_PERIOD_MILLIS;
+            newFullBackupPeriod = DEFAULT_FULL_BACKUP_PERIOD_MILLIS;
         }
+        fullBackupPeriod = newFullBackupPeriod;
 
         boolean restartBackupTask = false;
         if (newBackupEnabled != backupEnabled) {
@@ -321,13 +338,17 @@ public class DistributedFlowRuleStore
         clusterCommunicator.addSubscriber(
                 GET_FLOW_ENTRY, SERIALIZER::decode, flowTable::getFlowEntry, SERIALIZER::encode, executor);
         clusterCommunicator.addSubscriber(
-                GET_DEVICE_FLOW_ENTRIES, SERIALIZER::decode, flowTable::getFlowEntries, SERIALIZER::encode, executor);
+                GET_DEVICE_FLOW_ENTRIES, SERIALIZER::decode, flowTable::getFlowEntriesSnapshot, SERIALIZER::encode,
+                executor);
         clusterCommunicator.addSubscriber(
                 REMOVE_FLOW_ENTRY, SERIALIZER::decode, this::removeFlowRuleInternal, SERIALIZER::encode, executor);
         clusterCommunicator.addSubscriber(
                 REMOVE_FLOW_ENTRY, SERIALIZER::decode, this::removeFlowRuleInternal, SERIALIZER::encode, executor);
         clusterCommunicator.addSubscriber(
                 FLOW_TABLE_BACKUP, SERIALIZER::decode, flowTable::onBackupReceipt, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(
+                FLOW_TABLE_BACKUP_DELTA, SERIALIZER::decode, flowTable::onDeltaBackupReceipt,
+                SERIALIZER::encode, executor);
     }
 
     private void unregisterMessageHandlers() {
@@ -337,11 +358,12 @@ public class DistributedFlowRuleStore
         clusterCommunicator.removeSubscriber(APPLY_BATCH_FLOWS);
         clusterCommunicator.removeSubscriber(REMOTE_APPLY_COMPLETED);
         clusterCommunicator.removeSubscriber(FLOW_TABLE_BACKUP);
+        clusterCommunicator.removeSubscriber(FLOW_TABLE_BACKUP_DELTA);
     }
 
     private void logConfig(String prefix) {
-        log.info("{} with msgHandlerPoolSize = {}; backupEnabled = {}, backupPeriod = {}",
-                 prefix, msgHandlerPoolSize, backupEnabled, backupPeriod);
+        log.info("{} with msgHandlerPoolSize = {}; backupEnabled = {}, backupPeriod = {}, fullBackupPeriod = {}",
+                 prefix, msgHandlerPoolSize, backupEnabled, backupPeriod, fullBackupPeriod);
     }
 
     // This is not a efficient operation on a distributed sharded
@@ -350,7 +372,10 @@ public class DistributedFlowRuleStore
     @Override
     public int getFlowRuleCount() {
         AtomicInteger sum = new AtomicInteger(0);
-        deviceService.getDevices().forEach(device -> sum.addAndGet(Iterables.size(getFlowEntries(device.id()))));
+        deviceService.getDevices().forEach(device -> sum.addAndGet(
+                mastershipService.isLocalMaster(device.id()) ?
+                        flowTable.getFlowEntryCount(device.id()) :
+                        Iterables.size(getFlowEntries(device.id()))));
         return sum.get();
     }
 
@@ -657,13 +682,24 @@ public class DistributedFlowRuleStore
 
     private class InternalFlowTable implements ReplicaInfoEventListener {
 
-        //TODO replace the Map<V,V> with ExtendedSet
-        private final Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
+        // Entry sets exist only for flow ids with at least one stored entry.
+        private final Map<DeviceId, Map<FlowId, ExtendedSet<StoredFlowEntry>>>
                 flowEntries = Maps.newConcurrentMap();
 
         private final Map<DeviceId, Long> lastBackupTimes = Maps.newConcurrentMap();
         private final Map<DeviceId, Long> lastUpdateTimes = Maps.newConcurrentMap();
         private final Map<DeviceId, NodeId> lastBackupNodes = Maps.newConcurrentMap();
+        private final Map<DeviceId, Long> lastFullBackupTimes = Maps.newConcurrentMap();
+
+        // Sequence numbers of the backups sent for each device, and their epoch
+        private final Map<DeviceId, Long> lastBackupSequences = Maps.newConcurrentMap();
+        private final long backupEpoch = System.currentTimeMillis();
+
+        // Last backup applied for each device backed up on this node
+        private final Map<DeviceId, BackupPosition> backupPositions = Maps.newConcurrentMap();
+
+        // Flows added, modified or removed since the last backup of each device
+        private final Map<DeviceId, Set<FlowId>> dirtyFlowIds = Maps.newConcurrentMap();
 
         @Override
         public void event(ReplicaInfoEvent event) {
@@ -696,6 +732,7 @@ public class DistributedFlowRuleStore
                             + "Flows can be lost if the master goes down", currentBackupNode, deviceId);
                     lastBackupNodes.remove(deviceId);
                     lastBackupTimes.remove(deviceId);
+                    lastFullBackupTimes.remove(deviceId);
                     return;
                     // TODO: Pick any available node as backup and ensure hand-off occurs when
                     // a new master is elected.
@@ -718,15 +755,62 @@ public class DistributedFlowRuleStore
             if (deviceIds.isEmpty()) {
                 return;
             }
-            log.debug("Sending flowEntries for devices {} to {} as backup.", deviceIds, nodeId);
-            Map<DeviceId, Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>
-                    deviceFlowEntries = Maps.newConcurrentMap();
-            deviceIds.forEach(id -> deviceFlowEntries.put(id, ImmutableMap.copyOf(getFlowTable(id))));
-            clusterCommunicator.<Map<DeviceId,
-                                 Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>>,
-                                 Set<DeviceId>>
+            // A device can be backed up incrementally only if the same backup node
+            // holds a recent enough full copy of its flow table.
+            long now = System.currentTimeMillis();
+            Set<DeviceId> fullBackups = Sets.newHashSet();
+            Set<DeviceId> deltaBackups = Sets.newHashSet();
+            deviceIds.forEach(id -> {
+                Long lastFullBackupTime = lastFullBackupTimes.get(id);
+                if (Objects.equals(nodeId, lastBackupNodes.get(id)) && lastFullBackupTime != null
+                        && now - lastFullBackupTime < fullBackupPeriod) {
+                    deltaBackups.add(id);
+                } else {
+                    fullBackups.add(id);
+                }
+            });
+
+            if (!fullBackups.isEmpty()) {
+                log.debug("Sending flowEntries for devices {} to {} as backup.", fullBackups, nodeId);
+                Map<DeviceId, FlowTableBackup> backups = Maps.newHashMap();
+                fullBackups.forEach(id -> {
+                    dirtyFlowIds.remove(id);
+                    long sequence = lastBackupSequences.merge(id, 1L, Long::sum);
+                    Map<FlowId, Set<StoredFlowEntry>> entries = Maps.newHashMap();
+                    getFlowTable(id).forEach((flowId, flows) -> entries.put(flowId, ImmutableSet.copyOf(flows)));
+                    backups.put(id, new FlowTableBackup(local, backupEpoch, sequence, FlowTableBackup.NONE,
+                                                        entries));
+                });
+                sendBackup(nodeId, FLOW_TABLE_BACKUP, backups, true);
+            }
+
+            if (!deltaBackups.isEmpty()) {
+                log.debug("Sending changed flowEntries for devices {} to {} as backup.", deltaBackups, nodeId);
+                Map<DeviceId, FlowTableBackup> backups = Maps.newHashMap();
+                deltaBackups.forEach(id -> {
+                    Set<FlowId> changed = dirtyFlowIds.remove(id);
+                    Map<FlowId, ExtendedSet<StoredFlowEntry>> table = getFlowTable(id);
+                    Map<FlowId, Set<StoredFlowEntry>> delta = Maps.newHashMap();
+                    if (changed != null) {
+                        // an empty entry set marks flows which no longer exist
+                        changed.forEach(flowId -> {
+                            Set<StoredFlowEntry> flows = table.get(flowId);
+                            delta.put(flowId, flows == null ? ImmutableSet.of() : ImmutableSet.copyOf(flows));
+                        });
+                    }
+                    long sequence = lastBackupSequences.merge(id, 1L, Long::sum);
+                    backups.put(id, new FlowTableBackup(local, backupEpoch, sequence, sequence - 1, delta));
+                });
+                sendBackup(nodeId, FLOW_TABLE_BACKUP_DELTA, backups, false);
+            }
+        }
+
+        private void sendBackup(NodeId nodeId, MessageSubject subject,
+                                Map<DeviceId, FlowTableBackup> deviceFlowEntries,
+                                boolean full) {
+            clusterCommunicator.<Map<DeviceId, FlowTableBackup>, Set<DeviceId>>
                     sendAndReceive(deviceFlowEntries,
-                                   FLOW_TABLE_BACKUP,
+                                   subject,
                                    SERIALIZER::encode,
                                    SERIALIZER::decode,
                                    nodeId)
@@ -736,27 +820,37 @@ public class DistributedFlowRuleStore
                             Sets.difference(deviceFlowEntries.keySet(), backedupDevices);
                         if (devicesNotBackedup.size() > 0) {
                             log.warn("Failed to backup devices: {}. Reason: {}",
-                                     devicesNotBackedup, error.getMessage());
+                                     devicesNotBackedup, error != null ? error.getMessage() : "rejected");
+                            // changes sent in a lost delta are only recovered by a full backup
+                            devicesNotBackedup.forEach(lastFullBackupTimes::remove);
                         }
                         if (backedupDevices != null) {
+                            long now = System.currentTimeMillis();
                             backedupDevices.forEach(id -> {
-                                lastBackupTimes.put(id, System.currentTimeMillis());
+                                lastBackupTimes.put(id, now);
                                 lastBackupNodes.put(id, nodeId);
+                                if (full) {
+                                    lastFullBackupTimes.put(id, now);
+                                }
                             });
                         }
                     });
         }
 
+        private void markDirty(DeviceId deviceId, FlowId flowId) {
+            dirtyFlowIds.computeIfAbsent(deviceId, id -> Sets.newConcurrentHashSet()).add(flowId);
+        }
+
         /**
          * Returns the flow table for specified device.
          *
          * @param deviceId identifier of the device
          * @return Map representing Flow Table of given device.
          */
-        private Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> getFlowTable(DeviceId deviceId) {
+        private Map<FlowId, ExtendedSet<StoredFlowEntry>> getFlowTable(DeviceId deviceId) {
             if (persistenceEnabled) {
                 return flowEntries.computeIfAbsent(deviceId, id -> persistenceService
-                        .<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>persistentMapBuilder()
+                        .<FlowId, ExtendedSet<StoredFlowEntry>>persistentMapBuilder()
                         .withName("FlowTable:" + deviceId.toString())
                         .withSerializer(new Serializer() {
                             @Override
@@ -775,42 +869,60 @@ public class DistributedFlowRuleStore
             }
         }
 
-        private Map<StoredFlowEntry, StoredFlowEntry> getFlowEntriesInternal(DeviceId deviceId, FlowId flowId) {
-            return getFlowTable(deviceId).computeIfAbsent(flowId, id -> Maps.newConcurrentMap());
-        }
-
         private StoredFlowEntry getFlowEntryInternal(FlowRule rule) {
-            return getFlowEntriesInternal(rule.deviceId(), rule.id()).get(rule);
+            // plain lookup; a miss must not leave an empty entry set behind
+            ExtendedSet<StoredFlowEntry> entries = getFlowTable(rule.deviceId()).get(rule.id());
+            return entries == null ? null : entries.get(rule);
         }
 
-        private Set<FlowEntry> getFlowEntriesInternal(DeviceId deviceId) {
-            return getFlowTable(deviceId).values().stream()
-                        .flatMap(m -> m.values().stream())
-                        .collect(Collectors.toSet());
+        private Iterable<FlowEntry> getFlowEntriesInternal(DeviceId deviceId) {
+            Map<FlowId, ExtendedSet<StoredFlowEntry>> table = flowEntries.get(deviceId);
+            if (table == null) {
+                return Collections.emptyList();
+            }
+            // weakly consistent view over the live table; avoids copying every entry per call
+            return Iterables.unmodifiableIterable(Iterables.<FlowEntry>concat(table.values()));
         }
 
         public StoredFlowEntry getFlowEntry(FlowRule rule) {
             return getFlowEntryInternal(rule);
         }
 
-        public Set<FlowEntry> getFlowEntries(DeviceId deviceId) {
+        public Iterable<FlowEntry> getFlowEntries(DeviceId deviceId) {
             return getFlowEntriesInternal(deviceId);
         }
 
+        /**
+         * Returns a serializable copy of the flow entries of the specified
+         * device, for answering remote requests.
+         *
+         * @param deviceId identifier of the device
+         * @return set of flow entries
+         */
+        public Set<FlowEntry> getFlowEntriesSnapshot(DeviceId deviceId) {
+            return Sets.newHashSet(getFlowEntriesInternal(deviceId));
+        }
+
         public void add(FlowEntry rule) {
-            getFlowEntriesInternal(rule.deviceId(), rule.id())
-                    .compute((StoredFlowEntry) rule, (k, stored) -> {
-                        //TODO compare stored and rule timestamps
-                        //TODO the key is not updated
-                        return (StoredFlowEntry) rule;
-                    });
+            // entry sets are created and dropped under the lock of their flow id
+            getFlowTable(rule.deviceId()).compute(rule.id(), (id, entries) -> {
+                ExtendedSet<StoredFlowEntry> updated =
+                        entries == null ? new ExtendedSet<>(Maps.newConcurrentMap()) : entries;
+                //TODO compare stored and rule timestamps
+                updated.insertOrReplace((StoredFlowEntry) rule, stored -> true);
+                return updated;
+            });
+            markDirty(rule.deviceId(), rule.id());
             lastUpdateTimes.put(rule.deviceId(), System.currentTimeMillis());
         }
 
         public FlowEntry remove(DeviceId deviceId, FlowEntry rule) {
             final AtomicReference<FlowEntry> removedRule = new AtomicReference<>();
-            getFlowEntriesInternal(rule.deviceId(), rule.id())
-                .computeIfPresent((StoredFlowEntry) rule, (k, stored) -> {
+            getFlowTable(rule.deviceId()).computeIfPresent(rule.id(), (id, entries) -> {
+                entries.conditionalRemove((StoredFlowEntry) rule, stored -> {
+                    if (stored == null) {
+                        return false;
+                    }
                     if (rule instanceof DefaultFlowEntry) {
                         DefaultFlowEntry toRemove = (DefaultFlowEntry) rule;
                         if (stored instanceof DefaultFlowEntry) {
@@ -818,16 +930,19 @@ public class DistributedFlowRuleStore
                             if (toRemove.created() < storedEntry.created()) {
                                 log.debug("Trying to remove more recent flow entry {} (stored: {})",
                                           toRemove, stored);
-                                // the key is not updated, removedRule remains null
-                                return stored;
+                                // the entry is kept, removedRule remains null
+                                return false;
                             }
                         }
                     }
                     removedRule.set(stored);
-                    return null;
+                    return true;
                 });
+                return entries.isEmpty() ? null : entries;
+            });
 
             if (removedRule.get() != null) {
+                markDirty(deviceId, rule.id());
                 lastUpdateTimes.put(deviceId, System.currentTimeMillis());
                 return removedRule.get();
             } else {
@@ -835,8 +950,17 @@ public class DistributedFlowRuleStore
             }
         }
 
+        public int getFlowEntryCount(DeviceId deviceId) {
+            Map<FlowId, ExtendedSet<StoredFlowEntry>> table = flowEntries.get(deviceId);
+            return table == null ? 0 : table.values().stream().mapToInt(Set::size).sum();
+        }
+
         public void purgeFlowRule(DeviceId deviceId) {
             flowEntries.remove(deviceId);
+            dirtyFlowIds.remove(deviceId);
+            lastFullBackupTimes.remove(deviceId);
+            lastBackupSequences.remove(deviceId);
+            backupPositions.remove(deviceId);
         }
 
         private NodeId getBackupNode(DeviceId deviceId) {
@@ -881,26 +1005,92 @@ public class DistributedFlowRuleStore
             }
         }
 
-        private Set<DeviceId> onBackupReceipt(Map<DeviceId,
-                Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>>> flowTables) {
-            log.debug("Received flowEntries for {} to backup", flowTables.keySet());
+        private Set<DeviceId> onBackupReceipt(Map<DeviceId, FlowTableBackup> backups) {
+            log.debug("Received flowEntries for {} to backup", backups.keySet());
+            return applyBackups(backups);
+        }
+
+        private Set<DeviceId> onDeltaBackupReceipt(Map<DeviceId, FlowTableBackup> backups) {
+            log.debug("Received changed flowEntries for {} to backup", backups.keySet());
+            return applyBackups(backups);
+        }
+
+        // Applies the backups which follow the last backup applied for their
+        // device and returns the devices whose backup was applied. Backups are
+        // received on several threads, so each device is updated under the
+        // lock of its backup position; stale or out of order backups are
+        // dropped and left unacknowledged, which makes the master fall back
+        // to a full backup.
+        private Set<DeviceId> applyBackups(Map<DeviceId, FlowTableBackup> backups) {
             Set<DeviceId> backedupDevices = Sets.newHashSet();
             try {
-                flowTables.forEach((deviceId, deviceFlowTable) -> {
+                backups.forEach((deviceId, backup) -> {
                     // Only process those devices are that not managed by the local node.
-                    if (!Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
-                        Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> backupFlowTable =
-                                getFlowTable(deviceId);
-                        backupFlowTable.clear();
-                        backupFlowTable.putAll(deviceFlowTable);
-                        backedupDevices.add(deviceId);
+                    if (Objects.equals(local, mastershipService.getMasterFor(deviceId))) {
+                        return;
                     }
+                    backupPositions.compute(deviceId, (id, position) -> {
+                        if (!follows(backup, position)) {
+                            log.debug("Dropping out of order backup {} for {} (last applied: {})",
+                                      backup, id, position);
+                            return position;
+                        }
+                        applyBackup(id, backup);
+                        backedupDevices.add(id);
+                        return new BackupPosition(backup);
+                    });
                 });
             } catch (Exception e) {
                 log.warn("Failure processing backup request", e);
             }
             return backedupDevices;
         }
+
+        private boolean follows(FlowTableBackup backup, BackupPosition position) {
+            boolean sameSource = position != null && position.isFrom(backup);
+            if (backup.isFull()) {
+                return !sameSource || backup.sequence() > position.sequence;
+            }
+            return sameSource && backup.previous() == position.sequence;
+        }
+
+        private void applyBackup(DeviceId deviceId, FlowTableBackup backup) {
+            Map<FlowId, ExtendedSet<StoredFlowEntry>> backupFlowTable = getFlowTable(deviceId);
+            if (backup.isFull()) {
+                backupFlowTable.clear();
+            }
+            backup.entries().forEach((flowId, entries) -> {
+                if (entries.isEmpty()) {
+                    backupFlowTable.remove(flowId);
+                } else {
+                    ExtendedSet<StoredFlowEntry> copy = new ExtendedSet<>(Maps.newConcurrentMap());
+                    copy.addAll(entries);
+                    backupFlowTable.put(flowId, copy);
+                }
+            });
+        }
+    }
+
+    // Identifies the last backup applied for a device.
+    private static final class BackupPosition {
+        private final NodeId source;
+        private final long epoch;
+        private final long sequence;
+
+        private BackupPosition(FlowTableBackup backup) {
+            this.source = backup.source();
+            this.epoch = backup.epoch();
+            this.sequence = backup.sequence();
+        }
+
+        private boolean isFrom(FlowTableBackup backup) {
+            return source.equals(backup.source()) && epoch == backup.epoch();
+        }
+
+        @Override
+        public String toString() {
+            return source + "/" + epoch + "/" + sequence;
+        }
     }
 
     @Override
@@ -40,4 +40,7 @@ public final class FlowStoreMessageSubjects {
 
     public static final MessageSubject FLOW_TABLE_BACKUP
         = new MessageSubject("peer-flow-table-backup");
+
+    public static final MessageSubject FLOW_TABLE_BACKUP_DELTA
+        = new MessageSubject("peer-flow-table-backup-delta");
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import org.onosproject.cluster.NodeId;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.StoredFlowEntry;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Backup of the flow table of a single device, sent by the device master.
+ * <p>
+ * A full backup replaces the backed up table. A delta backup holds the
+ * flows changed since the backup numbered {@link #previous()}, with an empty
+ * entry map for flows which no longer exist, and may only be applied on top
+ * of that backup. Backups are numbered per device by their source, and the
+ * epoch tells apart the numbering of successive runs of the source.
+ * </p>
+ */
+final class FlowTableBackup {
+
+    /**
+     * Value of {@link #previous()} for full backups.
+     */
+    static final long NONE = -1L;
+
+    private final NodeId source;
+    private final long epoch;
+    private final long sequence;
+    private final long previous;
+    private final Map<FlowId, Set<StoredFlowEntry>> entries;
+
+    /**
+     * Creates a flow table backup.
+     *
+     * @param source   node sending the backup
+     * @param epoch    epoch of the sequence numbers of the source
+     * @param sequence sequence number of this backup
+     * @param previous sequence number of the backup a delta applies to;
+     *                 {@link #NONE} for a full backup
+     * @param entries  flow entries of the backup
+     */
+    FlowTableBackup(NodeId source, long epoch, long sequence, long previous,
+                    Map<FlowId, Set<StoredFlowEntry>> entries) {
+        this.source = checkNotNull(source);
+        this.epoch = epoch;
+        this.sequence = sequence;
+        this.previous = previous;
+        this.entries = checkNotNull(entries);
+    }
+
+    /**
+     * Returns the node which sent the backup.
+     *
+     * @return source node
+     */
+    NodeId source() {
+        return source;
+    }
+
+    /**
+     * Returns the epoch of the sequence numbers of the source.
+     *
+     * @return epoch
+     */
+    long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Returns the sequence number of the backup.
+     *
+     * @return sequence number
+     */
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the sequence number of the backup this delta applies to.
+     *
+     * @return sequence number, or {@link #NONE} for a full backup
+     */
+    long previous() {
+        return previous;
+    }
+
+    /**
+     * Returns whether this is a full backup.
+     *
+     * @return true for a full backup, false for a delta
+     */
+    boolean isFull() {
+        return previous == NONE;
+    }
+
+    /**
+     * Returns the flow entries of the backup, by flow id.
+     *
+     * @return flow entries
+     */
+    Map<FlowId, Set<StoredFlowEntry>> entries() {
+        return entries;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("source", source)
+                .add("epoch", epoch)
+                .add("sequence", sequence)
+                .add("previous", previous)
+                .add("flows", entries.size())
+                .toString();
+    }
+}
@@ -76,7 +76,6 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Properties;
@@ -133,6 +132,9 @@ public class DistributedGroupStore
     // Per device group table with (device id + group id) as key
     private final ConcurrentMap<DeviceId, ConcurrentMap<GroupId, StoredGroupEntry>>
             groupEntriesById = new ConcurrentHashMap<>();
+    // Local per device index of the group key table with app cookie as key
+    private final ConcurrentMap<DeviceId, ConcurrentMap<GroupKey, StoredGroupEntry>>
+            groupEntriesByKey = new ConcurrentHashMap<>();
     private ConsistentMap<GroupStoreKeyMapKey,
             StoredGroupEntry> auditPendingReqQueue = null;
     private MapEventListener<GroupStoreKeyMapKey, StoredGroupEntry>
@@ -200,6 +202,13 @@ public class DistributedGroupStore
                 .withSerializer(serializer)
                 .build();
         groupStoreEntriesByKey.addListener(mapListener);
+        // Seed the local indexes; map events keep them current from now on.
+        // An event delivered while seeding carries a newer value than the
+        // snapshot, so the snapshot never overwrites an indexed entry.
+        getGroupStoreKeyMap().forEach((key, group) -> {
+            getGroupKeyTable(key.deviceId()).putIfAbsent(key.appCookie, group);
+            getGroupIdTable(key.deviceId()).putIfAbsent(group.id(), group);
+        });
         log.debug("Current size of groupstorekeymap:{}",
                   groupStoreEntriesByKey.size());
 
@@ -249,6 +258,11 @@ public class DistributedGroupStore
         return NewConcurrentHashMap.<GroupId, StoredGroupEntry>ifNeeded();
     }
 
+    private static NewConcurrentHashMap<GroupKey, StoredGroupEntry>
+    lazyEmptyGroupKeyTable() {
+        return NewConcurrentHashMap.<GroupKey, StoredGroupEntry>ifNeeded();
+    }
+
     /**
      * Returns the group store eventual consistent key map.
      *
@@ -259,6 +273,38 @@ public class DistributedGroupStore
         return groupStoreEntriesByKey.asJavaMap();
     }
 
+    /**
+     * Stores the group entry in the group key map and in the local key index.
+     *
+     * @param key   key of the group entry
+     * @param group group entry
+     */
+    private void putGroupStoreEntry(GroupStoreKeyMapKey key, StoredGroupEntry group) {
+        getGroupStoreKeyMap().put(key, group);
+        getGroupKeyTable(key.deviceId()).put(key.appCookie, group);
+    }
+
+    /**
+     * Removes the group entry from the group key map and the local key index.
+     *
+     * @param key key of the group entry
+     */
+    private void removeGroupStoreEntry(GroupStoreKeyMapKey key) {
+        getGroupStoreKeyMap().remove(key);
+        getGroupKeyTable(key.deviceId()).remove(key.appCookie);
+    }
+
+    /**
+     * Returns the local group key table for specified device.
+     *
+     * @param deviceId identifier of the device
+     * @return Map representing group key table of given device.
+     */
+    private ConcurrentMap<GroupKey, StoredGroupEntry> getGroupKeyTable(DeviceId deviceId) {
+        return createIfAbsentUnchecked(groupEntriesByKey,
+                                       deviceId, lazyEmptyGroupKeyTable());
+    }
+
     /**
      * Returns the group id table for specified device.
      *
@@ -300,8 +346,7 @@ public class DistributedGroupStore
      */
     @Override
     public int getGroupCount(DeviceId deviceId) {
-        return (getGroups(deviceId) != null) ?
-                Iterables.size(getGroups(deviceId)) : 0;
+        return Iterables.size(getStoredGroups(deviceId));
     }
 
     /**
@@ -323,11 +368,7 @@ public class DistributedGroupStore
             return Collections.emptySet();
         }
 
-        Set<StoredGroupEntry> storedGroups = getGroupStoreKeyMap().values()
-                .stream()
-                .filter(input -> input.deviceId().equals(deviceId))
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(storedGroups);
+        return ImmutableSet.copyOf(getGroupKeyTable(deviceId).values());
     }
 
     /**
@@ -344,8 +385,7 @@ public class DistributedGroupStore
 
     private StoredGroupEntry getStoredGroupEntry(DeviceId deviceId,
                                                  GroupKey appCookie) {
-        return getGroupStoreKeyMap().get(new GroupStoreKeyMapKey(deviceId,
-                                                                 appCookie));
+        return getGroupKeyTable(deviceId).get(appCookie);
     }
 
     @Override
@@ -505,8 +545,7 @@ public class DistributedGroupStore
                     StoredGroupEntry group = new DefaultGroup(
                             matchingExtraneousGroup.id(), groupDesc);
                     // Insert the newly created group entry into key and id maps
-                    getGroupStoreKeyMap().
-                            put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
+                    putGroupStoreEntry(new GroupStoreKeyMapKey(groupDesc.deviceId(),
                                                         groupDesc.appCookie()), group);
                     // Ensure it also inserted into group id based table to
                     // avoid any chances of duplication in group id generation
@@ -525,8 +564,7 @@ public class DistributedGroupStore
                     StoredGroupEntry modifiedGroup = new DefaultGroup(
                             matchingExtraneousGroup.id(), groupDesc);
                     modifiedGroup.setState(GroupState.PENDING_UPDATE);
-                    getGroupStoreKeyMap().
-                            put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
+                    putGroupStoreEntry(new GroupStoreKeyMapKey(groupDesc.deviceId(),
                                                         groupDesc.appCookie()), modifiedGroup);
                     // Ensure it also inserted into group id based table to
                     // avoid any chances of duplication in group id generation
@@ -554,8 +592,7 @@ public class DistributedGroupStore
                 StoredGroupEntry group = new DefaultGroup(
                         matchingExtraneousGroup.id(), groupDesc);
                 // Insert the newly created group entry into key and id maps
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
+                putGroupStoreEntry(new GroupStoreKeyMapKey(groupDesc.deviceId(),
                                                     groupDesc.appCookie()), group);
                 // Ensure it also inserted into group id based table to
                 // avoid any chances of duplication in group id generation
@@ -594,8 +631,7 @@ public class DistributedGroupStore
         // Create a group entry object
         StoredGroupEntry group = new DefaultGroup(id, groupDesc);
         // Insert the newly created group entry into key and id maps
-        getGroupStoreKeyMap().
-                put(new GroupStoreKeyMapKey(groupDesc.deviceId(),
+        putGroupStoreEntry(new GroupStoreKeyMapKey(groupDesc.deviceId(),
                                             groupDesc.appCookie()), group);
         // Ensure it also inserted into group id based table to
         // avoid any chances of duplication in group id generation
@@ -707,8 +743,7 @@ public class DistributedGroupStore
             //groupkey based map update listener
             log.debug("updateGroupDescriptionInternal with type {}: Group updated with buckets",
                       type);
-            getGroupStoreKeyMap().
-                    put(new GroupStoreKeyMapKey(newGroup.deviceId(),
+            putGroupStoreEntry(new GroupStoreKeyMapKey(newGroup.deviceId(),
                                                 newGroup.appCookie()), newGroup);
             notifyDelegate(new GroupEvent(Type.GROUP_UPDATE_REQUESTED, newGroup));
         } else {
@@ -808,8 +843,7 @@ public class DistributedGroupStore
                   existing.state());
         synchronized (existing) {
             existing.setState(GroupState.PENDING_DELETE);
-            getGroupStoreKeyMap().
-                    put(new GroupStoreKeyMapKey(existing.deviceId(), existing.appCookie()),
+            putGroupStoreEntry(new GroupStoreKeyMapKey(existing.deviceId(), existing.appCookie()),
                         existing);
         }
         log.debug("deleteGroupDescriptionInternal: in device {} issuing GROUP_REMOVE_REQUESTED",
@@ -873,8 +907,7 @@ public class DistributedGroupStore
                     event = new GroupEvent(Type.GROUP_UPDATED, existing);
                 }
                 //Re-PUT map entries to trigger map update events
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(existing.deviceId(),
+                putGroupStoreEntry(new GroupStoreKeyMapKey(existing.deviceId(),
                                                     existing.appCookie()), existing);
             }
         } else {
@@ -903,7 +936,7 @@ public class DistributedGroupStore
                       group.deviceId());
             //Removal from groupid based map will happen in the
             //map update listener
-            getGroupStoreKeyMap().remove(new GroupStoreKeyMapKey(existing.deviceId(),
+            removeGroupStoreEntry(new GroupStoreKeyMapKey(existing.deviceId(),
                                                                  existing.appCookie()));
             notifyDelegate(new GroupEvent(Type.GROUP_REMOVED, existing));
         } else {
@@ -916,16 +949,12 @@ public class DistributedGroupStore
 
     @Override
     public void purgeGroupEntry(DeviceId deviceId) {
-        Set<Entry<GroupStoreKeyMapKey, StoredGroupEntry>> entryPendingRemove =
-                new HashSet<>();
-
-        getGroupStoreKeyMap().entrySet().stream()
-                .filter(entry -> entry.getKey().deviceId().equals(deviceId))
-                .forEach(entryPendingRemove::add);
+        Set<StoredGroupEntry> entryPendingRemove =
+                new HashSet<>(getGroupKeyTable(deviceId).values());
 
         entryPendingRemove.forEach(entry -> {
-            groupStoreEntriesByKey.remove(entry.getKey());
-            notifyDelegate(new GroupEvent(Type.GROUP_REMOVED, entry.getValue()));
+            removeGroupStoreEntry(new GroupStoreKeyMapKey(deviceId, entry.appCookie()));
+            notifyDelegate(new GroupEvent(Type.GROUP_REMOVED, entry));
         });
     }
 
@@ -1021,7 +1050,7 @@ public class DistributedGroupStore
                              existing.deviceId());
                     //Removal from groupid based map will happen in the
                     //map update listener
-                    getGroupStoreKeyMap().remove(new GroupStoreKeyMapKey(existing.deviceId(),
+                    removeGroupStoreEntry(new GroupStoreKeyMapKey(existing.deviceId(),
                                                                          existing.appCookie()));
                 }
                 break;
@@ -1081,10 +1110,10 @@ public class DistributedGroupStore
                                   + "event {} with null entry", mapEvent.type());
                 return;
             } else if (group == null) {
-                group = getGroupIdTable(key.deviceId()).values()
-                        .stream()
-                        .filter((storedGroup) -> (storedGroup.appCookie().equals(key.appCookie)))
-                        .findFirst().get();
+                group = Versioned.valueOrNull(mapEvent.oldValue());
+                if (group == null) {
+                    group = getGroupKeyTable(key.deviceId()).get(key.appCookie);
+                }
                 if (group == null) {
                     log.error("GroupStoreKeyMapListener: Received "
                                       + "event {} with null entry... can not process", mapEvent.type());
@@ -1096,8 +1125,9 @@ public class DistributedGroupStore
                       group.id(),
                       key.deviceId());
             if (mapEvent.type() == MapEvent.Type.INSERT || mapEvent.type() == MapEvent.Type.UPDATE) {
-                // Update the group ID table
+                // Update the group ID and key tables
                 getGroupIdTable(group.deviceId()).put(group.id(), group);
+                getGroupKeyTable(key.deviceId()).put(key.appCookie, group);
                 StoredGroupEntry value = Versioned.valueOrNull(mapEvent.newValue());
                 if (value.state() == Group.GroupState.ADDED) {
                     if (value.isGroupStateAddedFirstTime()) {
@@ -1114,8 +1144,10 @@ public class DistributedGroupStore
                 }
             } else if (mapEvent.type() == MapEvent.Type.REMOVE) {
                 groupEvent = new GroupEvent(Type.GROUP_REMOVED, group);
-                // Remove the entry from the group ID table
+                // Remove the entry from the group ID and key tables unless
+                // the key was re-added before this event got delivered
                 getGroupIdTable(group.deviceId()).remove(group.id(), group);
+                getGroupKeyTable(key.deviceId()).remove(key.appCookie, group);
             }
 
             if (groupEvent != null) {
@@ -1372,8 +1404,7 @@ public class DistributedGroupStore
                           existing.state());
                 existing.setState(Group.GroupState.PENDING_ADD_RETRY);
                 //Re-PUT map entries to trigger map update events
-                getGroupStoreKeyMap().
-                        put(new GroupStoreKeyMapKey(existing.deviceId(),
+                putGroupStoreEntry(new GroupStoreKeyMapKey(existing.deviceId(),
                                                     existing.appCookie()), existing);
                 notifyDelegate(new GroupEvent(GroupEvent.Type.GROUP_ADD_REQUESTED,
                                               group));
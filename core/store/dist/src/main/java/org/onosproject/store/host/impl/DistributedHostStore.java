@@ -50,14 +50,11 @@ import org.onosproject.store.service.Serializer;
 import org.onosproject.store.service.StorageService;
 import org.slf4j.Logger;
 
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
@@ -85,6 +82,13 @@ public class DistributedHostStore
     private final ConcurrentHashMap<HostId, DefaultHost> prevHosts =
             new ConcurrentHashMap<>();
 
+    // Local secondary indexes over prevHosts, maintained by HostLocationTracker
+    private final HostIndex<MacAddress> hostsByMac = new HostIndex<>();
+    private final HostIndex<IpAddress> hostsByIp = new HostIndex<>();
+    private final HostIndex<VlanId> hostsByVlan = new HostIndex<>();
+    private final HostIndex<ConnectPoint> hostsByLocation = new HostIndex<>();
+    private final HostIndex<DeviceId> hostsByDevice = new HostIndex<>();
+
     private MapEventListener<HostId, DefaultHost> hostLocationTracker =
             new HostLocationTracker();
 
@@ -102,6 +106,7 @@ public class DistributedHostStore
         hosts = hostsConsistentMap.asJavaMap();
 
         prevHosts.putAll(hosts);
+        prevHosts.values().forEach(this::indexHost);
 
         hostsConsistentMap.addListener(hostLocationTracker);
 
@@ -112,6 +117,11 @@ public class DistributedHostStore
     public void deactivate() {
         hostsConsistentMap.removeListener(hostLocationTracker);
         prevHosts.clear();
+        hostsByMac.clear();
+        hostsByIp.clear();
+        hostsByVlan.clear();
+        hostsByLocation.clear();
+        hostsByDevice.clear();
 
         log.info("Stopped");
     }
@@ -245,39 +255,100 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getHosts(VlanId vlanId) {
-        return filter(hosts.values(), host -> Objects.equals(host.vlan(), vlanId));
+        return lookup(hostsByVlan, vlanId);
     }
 
     @Override
     public Set<Host> getHosts(MacAddress mac) {
-        return filter(hosts.values(), host -> Objects.equals(host.mac(), mac));
+        return lookup(hostsByMac, mac);
     }
 
     @Override
     public Set<Host> getHosts(IpAddress ip) {
-        return filter(hosts.values(), host -> host.ipAddresses().contains(ip));
+        return lookup(hostsByIp, ip);
     }
 
     @Override
     public Set<Host> getConnectedHosts(ConnectPoint connectPoint) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().location().equals(connectPoint))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return lookup(hostsByLocation, connectPoint);
     }
 
     @Override
     public Set<Host> getConnectedHosts(DeviceId deviceId) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().location().deviceId().equals(deviceId))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return lookup(hostsByDevice, deviceId);
+    }
+
+    private <K> Set<Host> lookup(HostIndex<K> index, K key) {
+        ImmutableSet.Builder<Host> builder = ImmutableSet.builder();
+        index.get(key).forEach(hostId -> {
+            Host host = prevHosts.get(hostId);
+            if (host != null) {
+                builder.add(host);
+            }
+        });
+        return builder.build();
+    }
+
+    private void indexHost(Host host) {
+        hostsByMac.add(host.mac(), host.id());
+        hostsByVlan.add(host.vlan(), host.id());
+        host.ipAddresses().forEach(ip -> hostsByIp.add(ip, host.id()));
+        if (host.location() != null) {
+            hostsByLocation.add(host.location(), host.id());
+            hostsByDevice.add(host.location().deviceId(), host.id());
+        }
+    }
+
+    private void unindexHost(Host host) {
+        hostsByMac.remove(host.mac(), host.id());
+        hostsByVlan.remove(host.vlan(), host.id());
+        host.ipAddresses().forEach(ip -> hostsByIp.remove(ip, host.id()));
+        if (host.location() != null) {
+            hostsByLocation.remove(host.location(), host.id());
+            hostsByDevice.remove(host.location().deviceId(), host.id());
+        }
     }
 
-    private Set<Host> filter(Collection<DefaultHost> collection, Predicate<DefaultHost> predicate) {
-        return collection.stream().filter(predicate).collect(Collectors.toSet());
+    private void updateIndexes(Host prevHost, Host host) {
+        if (prevHost != null) {
+            unindexHost(prevHost);
+        }
+        if (host != null) {
+            indexHost(host);
+        }
+    }
+
+    /**
+     * Local secondary index from an attribute value to the identifiers of
+     * the hosts carrying it.
+     *
+     * @param <K> indexed attribute type
+     */
+    private static final class HostIndex<K> {
+        private final ConcurrentHashMap<K, Set<HostId>> index = new ConcurrentHashMap<>();
+
+        Set<HostId> get(K key) {
+            return index.getOrDefault(key, ImmutableSet.of());
+        }
+
+        void add(K key, HostId hostId) {
+            index.compute(key, (k, ids) -> {
+                Set<HostId> set = ids == null ? Sets.newConcurrentHashSet() : ids;
+                set.add(hostId);
+                return set;
+            });
+        }
+
+        void remove(K key, HostId hostId) {
+            index.computeIfPresent(key, (k, ids) -> {
+                ids.remove(hostId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+
+        void clear() {
+            index.clear();
+        }
     }
 
     private class HostLocationTracker implements MapEventListener<HostId, DefaultHost> {
@@ -285,6 +356,7 @@ public class DistributedHostStore
         public void event(MapEvent<HostId, DefaultHost> event) {
             DefaultHost host = checkNotNull(event.value().value());
             Host prevHost = prevHosts.put(host.id(), host);
+            updateIndexes(prevHost, event.type() == MapEvent.Type.REMOVE ? null : host);
             switch (event.type()) {
                 case INSERT:
                     notifyDelegate(new HostEvent(HOST_ADDED, host));
@@ -298,6 +370,7 @@ public class DistributedHostStore
                     break;
                 case REMOVE:
                     if (prevHosts.remove(host.id()) != null) {
+                        unindexHost(host);
                         notifyDelegate(new HostEvent(HOST_REMOVED, host));
                     }
                     break;
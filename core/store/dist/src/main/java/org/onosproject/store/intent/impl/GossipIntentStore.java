@@ -48,7 +48,10 @@ import org.onosproject.store.service.WallClockTimestamp;
 import org.slf4j.Logger;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
@@ -186,28 +189,32 @@ public class GossipIntentStore
 
         IntentData currentData = currentMap.get(newData.key());
         if (IntentData.isUpdateAcceptable(currentData, newData)) {
-            // Only the master is modifying the current state. Therefore assume
-            // this always succeeds
-            if (newData.state() == PURGE_REQ) {
-                if (currentData != null) {
-                    currentMap.remove(newData.key(), currentData);
-                } else {
-                    log.info("Gratuitous purge request for intent: {}", newData.key());
-                }
+            writeAccepted(currentData, newData);
+        }
+    }
+
+    private void writeAccepted(IntentData currentData, IntentData newData) {
+        // Only the master is modifying the current state. Therefore assume
+        // this always succeeds
+        if (newData.state() == PURGE_REQ) {
+            if (currentData != null) {
+                currentMap.remove(newData.key(), currentData);
             } else {
-                currentMap.put(newData.key(), new IntentData(newData));
+                log.info("Gratuitous purge request for intent: {}", newData.key());
             }
-
-            // Remove the intent data from the pending map if the newData is more
-            // recent or equal to the existing entry.
-            pendingMap.compute(newData.key(), (key, existingValue) -> {
-                if (existingValue == null || !existingValue.version().isNewerThan(newData.version())) {
-                    return null;
-                } else {
-                    return existingValue;
-                }
-            });
+        } else {
+            currentMap.put(newData.key(), new IntentData(newData));
         }
+
+        // Remove the intent data from the pending map if the newData is more
+        // recent or equal to the existing entry.
+        pendingMap.compute(newData.key(), (key, existingValue) -> {
+            if (existingValue == null || !existingValue.version().isNewerThan(newData.version())) {
+                return null;
+            } else {
+                return existingValue;
+            }
+        });
     }
 
     private Collection<NodeId> getPeerNodes(Key key, IntentData data) {
@@ -247,7 +254,23 @@ public class GossipIntentStore
 
     @Override
     public void batchWrite(Iterable<IntentData> updates) {
-        updates.forEach(this::write);
+        // Replay the batch against a local view of the current state so that
+        // only the last accepted update of each intent reaches the maps. This
+        // keeps intermediate states out of gossip and listener events.
+        Map<Key, IntentData> latest = new HashMap<>();
+        Map<Key, IntentData> accepted = new LinkedHashMap<>();
+        for (IntentData newData : updates) {
+            checkNotNull(newData);
+            Key key = newData.key();
+            IntentData latestData = latest.containsKey(key) ? latest.get(key) : currentMap.get(key);
+            if (IntentData.isUpdateAcceptable(latestData, newData)) {
+                latest.put(key, newData.state() == PURGE_REQ ? null : newData);
+                accepted.put(key, newData);
+            } else {
+                latest.put(key, latestData);
+            }
+        }
+        accepted.values().forEach(newData -> writeAccepted(currentMap.get(newData.key()), newData));
     }
 
     @Override
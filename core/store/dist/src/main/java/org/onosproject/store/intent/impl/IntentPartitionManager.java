@@ -15,13 +15,19 @@
  */
 package org.onosproject.store.intent.impl;
 
+import com.google.common.hash.Hashing;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
+import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.Leadership;
 import org.onosproject.cluster.LeadershipEvent;
 import org.onosproject.cluster.LeadershipEventListener;
@@ -33,11 +39,15 @@ import org.onosproject.net.intent.IntentPartitionEvent;
 import org.onosproject.net.intent.IntentPartitionEventListener;
 import org.onosproject.net.intent.IntentPartitionService;
 import org.onosproject.net.intent.Key;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Comparator;
+import java.util.Dictionary;
 import java.util.List;
 import java.util.Objects;
+import java.util.Properties;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -63,15 +73,22 @@ public class IntentPartitionManager implements IntentPartitionService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected EventDeliveryService eventDispatcher;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
+    protected ComponentConfigService cfgService;
+
     protected final AtomicBoolean rebalanceScheduled = new AtomicBoolean(false);
 
-    static final int NUM_PARTITIONS = 14;
+    static final int DEFAULT_NUM_PARTITIONS = 14;
     private static final int BACKOFF_TIME = 2;
     private static final int CHECK_PARTITION_BALANCE_PERIOD_SEC = 10;
     private static final int RETRY_AFTER_DELAY_SEC = 5;
 
     private static final String ELECTION_PREFIX = "intent-partition-";
 
+    @Property(name = "numPartitions", intValue = DEFAULT_NUM_PARTITIONS,
+            label = "Number of intent keyspace partitions; must be the same on all instances")
+    private volatile int numPartitions = DEFAULT_NUM_PARTITIONS;
+
     protected NodeId localNodeId;
     private ListenerRegistry<IntentPartitionEvent, IntentPartitionEventListener> listenerRegistry;
     private LeadershipEventListener leaderListener = new InternalLeadershipListener();
@@ -80,14 +97,16 @@ public class IntentPartitionManager implements IntentPartitionService {
             .newScheduledThreadPool(1);
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
         localNodeId = clusterService.getLocalNode().id();
         leadershipService.addListener(leaderListener);
 
         listenerRegistry = new ListenerRegistry<>();
         eventDispatcher.addSink(IntentPartitionEvent.class, listenerRegistry);
 
-        for (int i = 0; i < NUM_PARTITIONS; i++) {
+        for (int i = 0; i < numPartitions; i++) {
             leadershipService.runForLeadership(getPartitionPath(i));
             log.debug("Registered to run for {}", getPartitionPath(i));
         }
@@ -101,11 +120,54 @@ public class IntentPartitionManager implements IntentPartitionService {
     public void deactivate() {
         executor.shutdownNow();
 
+        cfgService.unregisterProperties(getClass(), false);
         eventDispatcher.removeSink(IntentPartitionEvent.class);
         leadershipService.removeListener(leaderListener);
         log.info("Stopped");
     }
 
+    /**
+     * Applies a change of the number of partitions.
+     * <p>
+     * The change is not coordinated across the cluster: each instance applies
+     * it when it receives the new configuration. Until all instances have
+     * applied it, they may map some keys to different partitions, so an
+     * intent may briefly be processed by two instances or by none.
+     * </p>
+     *
+     * @param context component context
+     */
+    @Modified
+    public void modified(ComponentContext context) {
+        Dictionary<?, ?> properties = context != null ? context.getProperties() : new Properties();
+        int newNumPartitions = Tools.getIntegerProperty(properties, "numPartitions", numPartitions);
+        if (newNumPartitions <= 0 || newNumPartitions == numPartitions) {
+            return;
+        }
+
+        int oldNumPartitions = numPartitions;
+        numPartitions = newNumPartitions;
+        if (listenerRegistry == null) {
+            // not activated yet; activation runs for the configured partitions
+            return;
+        }
+
+        // Keys are spread by consistent hashing, so resizing only moves the
+        // keys of the partitions being added or removed
+        for (int i = oldNumPartitions; i < newNumPartitions; i++) {
+            leadershipService.runForLeadership(getPartitionPath(i));
+        }
+        for (int i = newNumPartitions; i < oldNumPartitions; i++) {
+            leadershipService.withdraw(getPartitionPath(i));
+        }
+        log.info("Intent partitions changed from {} to {}; keys may be assigned inconsistently "
+                         + "until all instances apply the change", oldNumPartitions, newNumPartitions);
+
+        eventDispatcher.post(new IntentPartitionEvent(IntentPartitionEvent.Type.LEADER_CHANGED,
+                                                      ELECTION_PREFIX));
+        scheduleRebalance(0);
+    }
+
     /**
      * Sets the specified executor to be used for scheduling background tasks.
      *
@@ -125,13 +187,8 @@ public class IntentPartitionManager implements IntentPartitionService {
         return getPartitionPath(id.value());
     }
 
-    private PartitionId getPartitionForKey(Key intentKey) {
-        int partition = Math.abs((int) intentKey.hash()) % NUM_PARTITIONS;
-        //TODO investigate Guava consistent hash method
-        // ... does it add significant computational complexity? is it worth it?
-        //int partition = consistentHash(intentKey.hash(), NUM_PARTITIONS);
-        PartitionId id = new PartitionId(partition);
-        return id;
+    PartitionId getPartitionForKey(Key intentKey) {
+        return new PartitionId(Hashing.consistentHash(intentKey.hash(), numPartitions));
     }
 
     @Override
@@ -172,27 +229,34 @@ public class IntentPartitionManager implements IntentPartitionService {
      * other instances take over.
      */
     private void rebalance() {
-        int activeNodes = (int) clusterService.getNodes()
+        List<NodeId> activeNodeIds = clusterService.getNodes()
                 .stream()
-                .filter(node -> clusterService.getState(node.id()).isActive())
-                .count();
+                .map(ControllerNode::id)
+                .filter(id -> clusterService.getState(id).isActive())
+                .collect(Collectors.toList());
+        int activeNodes = activeNodeIds.size();
+        int partitions = numPartitions;
 
-        int myShare = (int) Math.ceil((double) NUM_PARTITIONS / activeNodes);
+        int myShare = (int) Math.ceil((double) partitions / activeNodes);
 
         // First make sure this node is a candidate for all partitions.
-        IntStream.range(0, NUM_PARTITIONS)
+        IntStream.range(0, partitions)
                  .mapToObj(this::getPartitionPath)
                  .map(leadershipService::getLeadership)
                  .filter(leadership -> !leadership.candidates().contains(localNodeId))
                  .map(Leadership::topic)
                  .forEach(leadershipService::runForLeadership);
 
-        List<String> myPartitions = IntStream.range(0, NUM_PARTITIONS)
+        // Hand off first the partitions that rendezvous hashing places on
+        // other nodes, so that ownership converges and only those move
+        List<String> myPartitions = IntStream.range(0, partitions)
                                              .mapToObj(this::getPartitionPath)
                                              .map(leadershipService::getLeadership)
                                              .filter(Objects::nonNull)
                                              .filter(leadership -> localNodeId.equals(leadership.leaderNodeId()))
                                              .map(Leadership::topic)
+                                             .sorted(Comparator.comparing(
+                                                     topic -> localNodeId.equals(preferredOwner(topic, activeNodeIds))))
                                              .collect(Collectors.toList());
 
         int relinquish = myPartitions.size() - myShare;
@@ -209,6 +273,29 @@ public class IntentPartitionManager implements IntentPartitionService {
         }
     }
 
+    /**
+     * Returns the node that rendezvous hashing prefers as owner of a partition.
+     *
+     * @param topic   partition election topic
+     * @param nodeIds candidate nodes
+     * @return node with the highest hash for the partition
+     */
+    static NodeId preferredOwner(String topic, List<NodeId> nodeIds) {
+        NodeId preferred = null;
+        int best = Integer.MIN_VALUE;
+        for (NodeId nodeId : nodeIds) {
+            int weight = Hashing.murmur3_32().newHasher()
+                    .putUnencodedChars(topic)
+                    .putUnencodedChars(nodeId.toString())
+                    .hash().asInt();
+            if (preferred == null || weight > best) {
+                preferred = nodeId;
+                best = weight;
+            }
+        }
+        return preferred;
+    }
+
     private void scheduleRebalance(int afterDelaySec) {
         if (rebalanceScheduled.compareAndSet(false, true)) {
             executor.schedule(this::doRebalance, afterDelaySec, TimeUnit.SECONDS);
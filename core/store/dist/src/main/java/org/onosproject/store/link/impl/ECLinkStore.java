@@ -15,12 +15,10 @@
  */
 package org.onosproject.store.link.impl;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.apache.felix.scr.annotations.Activate;
@@ -119,6 +117,12 @@ public class ECLinkStore
 
     private final Map<LinkKey, Link> links = Maps.newConcurrentMap();
     private final Map<LinkKey, Set<ProviderId>> linkProviders = Maps.newConcurrentMap();
+
+    // Secondary indexes of the link cache, maintained along with it
+    private final Map<DeviceId, Set<LinkKey>> srcDeviceLinks = Maps.newConcurrentMap();
+    private final Map<DeviceId, Set<LinkKey>> dstDeviceLinks = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> srcPortLinks = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> dstPortLinks = Maps.newConcurrentMap();
     private EventuallyConsistentMap<Provided<LinkKey>, LinkDescription> linkDescriptions;
 
 
@@ -202,7 +206,7 @@ public class ECLinkStore
         linkDescriptions.removeListener(linkTracker);
         linkDescriptions.destroy();
         linkProviders.clear();
-        links.clear();
+        clearLinkCache();
         clusterCommunicator.removeSubscriber(LINK_INJECT_MESSAGE);
         netCfgService.removeListener(cfgListener);
         netCfgService.unregisterConfigFactory(factory);
@@ -222,12 +226,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getDeviceEgressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.src().deviceId()));
+        return lookup(srcDeviceLinks, deviceId);
     }
 
     @Override
     public Set<Link> getDeviceIngressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.dst().deviceId()));
+        return lookup(dstDeviceLinks, deviceId);
     }
 
     @Override
@@ -237,12 +241,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getEgressLinks(ConnectPoint src) {
-        return filter(links.values(), link -> src.equals(link.src()));
+        return lookup(srcPortLinks, src);
     }
 
     @Override
     public Set<Link> getIngressLinks(ConnectPoint dst) {
-        return filter(links.values(), link -> dst.equals(link.dst()));
+        return lookup(dstPortLinks, dst);
     }
 
     @Override
@@ -318,10 +322,14 @@ public class ECLinkStore
         Link link = links.compute(linkKey, (key, existingLink) -> {
             Link newLink = composeLink(linkKey);
             if (newLink == null) {
+                if (existingLink != null) {
+                    unindex(key);
+                }
                 return null;
             }
             if (existingLink == null) {
                 eventType.set(LINK_ADDED);
+                index(key);
                 return newLink;
             } else if (existingLink.state() != newLink.state() ||
                     existingLink.isExpected() != newLink.isExpected() ||
@@ -408,7 +416,12 @@ public class ECLinkStore
                 (oldLink.type() == INDIRECT && newLink.type() == DIRECT) ||
                 !AnnotationsUtil.isEqual(oldLink.annotations(), newLink.annotations())) {
 
-            links.put(key, newLink);
+            links.compute(key, (k, existingLink) -> {
+                if (existingLink == null) {
+                    index(k);
+                }
+                return newLink;
+            });
             return new LinkEvent(LINK_UPDATED, newLink);
         }
         return null;
@@ -455,7 +468,13 @@ public class ECLinkStore
     }
 
     private LinkEvent purgeLinkCache(LinkKey linkKey) {
-        Link removedLink = links.remove(linkKey);
+        AtomicReference<Link> removed = new AtomicReference<>();
+        links.computeIfPresent(linkKey, (key, existingLink) -> {
+            unindex(key);
+            removed.set(existingLink);
+            return null;
+        });
+        Link removedLink = removed.get();
         if (removedLink != null) {
             getAllProviders(linkKey).forEach(p -> linkDescriptions.remove(new Provided<>(linkKey, p)));
             linkProviders.remove(linkKey);
@@ -464,8 +483,54 @@ public class ECLinkStore
         return null;
     }
 
-    private Set<Link> filter(Collection<Link> links, Predicate<Link> predicate) {
-        return links.stream().filter(predicate).collect(Collectors.toSet());
+    private void clearLinkCache() {
+        links.clear();
+        srcDeviceLinks.clear();
+        dstDeviceLinks.clear();
+        srcPortLinks.clear();
+        dstPortLinks.clear();
+    }
+
+    // Adds the link key to the secondary indexes; called while holding the link cache entry
+    private void index(LinkKey linkKey) {
+        addToIndex(srcDeviceLinks, linkKey.src().deviceId(), linkKey);
+        addToIndex(dstDeviceLinks, linkKey.dst().deviceId(), linkKey);
+        addToIndex(srcPortLinks, linkKey.src(), linkKey);
+        addToIndex(dstPortLinks, linkKey.dst(), linkKey);
+    }
+
+    // Removes the link key from the secondary indexes; called while holding the link cache entry
+    private void unindex(LinkKey linkKey) {
+        removeFromIndex(srcDeviceLinks, linkKey.src().deviceId(), linkKey);
+        removeFromIndex(dstDeviceLinks, linkKey.dst().deviceId(), linkKey);
+        removeFromIndex(srcPortLinks, linkKey.src(), linkKey);
+        removeFromIndex(dstPortLinks, linkKey.dst(), linkKey);
+    }
+
+    private static <K> void addToIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.compute(key, (k, linkKeys) -> {
+            Set<LinkKey> keys = linkKeys == null ? Sets.newConcurrentHashSet() : linkKeys;
+            keys.add(linkKey);
+            return keys;
+        });
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.computeIfPresent(key, (k, linkKeys) -> {
+            linkKeys.remove(linkKey);
+            return linkKeys.isEmpty() ? null : linkKeys;
+        });
+    }
+
+    private <K> Set<Link> lookup(Map<K, Set<LinkKey>> index, K key) {
+        Set<LinkKey> linkKeys = index.get(key);
+        if (linkKeys == null) {
+            return Sets.newHashSet();
+        }
+        return linkKeys.stream()
+                .map(links::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
     }
 
     private LinkEvent injectLink(Provided<LinkDescription> linkInjectRequest) {
@@ -512,7 +577,7 @@ public class ECLinkStore
                     linkDescriptions.clear();
                 }
                 if (links != null) {
-                    links.clear();
+                    clearLinkCache();
                 }
             }
             log.debug("config set link discovery mode to {}",
@@ -15,6 +15,8 @@
  */
 package org.onosproject.store.topology.impl;
 
+import com.codahale.metrics.Gauge;
+import com.google.common.cache.CacheStats;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
@@ -24,7 +26,11 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.graph.GraphPathSearch;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.KryoNamespace;
+import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.common.DefaultTopology;
 import org.onosproject.event.Event;
@@ -68,10 +74,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.get;
+import static org.onlab.util.Tools.groupedThreads;
 import static org.onlab.util.Tools.isNullOrEmpty;
 import static org.onosproject.net.topology.TopologyEvent.Type.TOPOLOGY_CHANGED;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -91,7 +100,8 @@ public class DistributedTopologyStore
 
     private final Logger log = getLogger(getClass());
 
-    private static final String FORMAT = "Settings: linkWeightFunction={}";
+    private static final String FORMAT =
+            "Settings: linkWeightFunction={}, pathCacheSize={}, pathCacheWarmup={}";
 
     private volatile DefaultTopology current =
             new DefaultTopology(ProviderId.NONE,
@@ -114,6 +124,21 @@ public class DistributedTopologyStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected DeviceService deviceService;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY)
+    protected MetricsService metricsService;
+
+    private static final String METRIC_COMPONENT = "Topology";
+    private static final String PATH_CACHE_FEATURE = "pathCache";
+    private static final String HITS = "hits";
+    private static final String MISSES = "misses";
+    private static final String HIT_RATE = "hitRate";
+
+    private MetricsComponent metricsComponent;
+    private MetricsFeature pathCacheFeature;
+
+    // Path cache statistics of the topology snapshots already superseded
+    private volatile CacheStats retiredPathCacheStats = new CacheStats(0, 0, 0, 0, 0, 0);
+
     private static final String HOP_COUNT = "hopCount";
     private static final String LINK_METRIC = "linkMetric";
     private static final String GEO_DISTANCE = "geoDistance";
@@ -123,6 +148,19 @@ public class DistributedTopologyStore
             label = "Default link-weight function: hopCount, linkMetric, geoDistance")
     private String linkWeightFunction = DEFAULT_LINK_WEIGHT_FUNCTION;
 
+    private static final int DEFAULT_PATH_CACHE_SIZE = 10_000;
+    @Property(name = "pathCacheSize", intValue = DEFAULT_PATH_CACHE_SIZE,
+            label = "Maximum number of path results cached per topology snapshot; 0 disables caching")
+    private int pathCacheSize = DEFAULT_PATH_CACHE_SIZE;
+
+    private static final boolean DEFAULT_PATH_CACHE_WARMUP = false;
+    @Property(name = "pathCacheWarmup", boolValue = DEFAULT_PATH_CACHE_WARMUP,
+            label = "Pre-compute paths between all edge devices of each new topology")
+    private boolean pathCacheWarmup = DEFAULT_PATH_CACHE_WARMUP;
+
+    private final ExecutorService warmupExecutor =
+            newSingleThreadExecutor(groupedThreads("onos/topology", "path-warmup", log));
+
     // Cluster root to broadcast points bindings to allow convergence to
     // a shared broadcast tree; node that is the master of the cluster root
     // is the primary.
@@ -143,14 +181,17 @@ public class DistributedTopologyStore
                 .withTimestampProvider((k, v) -> clockService.getTimestamp())
                 .build();
         broadcastPoints.addListener(listener);
+        registerMetrics();
         log.info("Started");
     }
 
     @Deactivate
     protected void deactivate() {
         configService.unregisterProperties(getClass(), false);
+        unregisterMetrics();
         broadcastPoints.removeListener(listener);
         broadcastPoints.destroy();
+        warmupExecutor.shutdownNow();
         log.info("Stopped");
     }
 
@@ -168,7 +209,20 @@ public class DistributedTopologyStore
                             new GeoDistanceLinkWeight(deviceService) : null;
             setDefaultLinkWeight(weight);
         }
-        log.info(FORMAT, linkWeightFunction);
+
+        Integer newPathCacheSize = Tools.getIntegerProperty(properties, "pathCacheSize");
+        if (newPathCacheSize != null && newPathCacheSize >= 0) {
+            pathCacheSize = newPathCacheSize;
+            DefaultTopology.setPathCacheSize(pathCacheSize);
+        } else if (newPathCacheSize != null) {
+            log.warn("pathCacheSize must be greater than or equal to 0");
+        }
+
+        Boolean warmup = Tools.isPropertyEnabled(properties, "pathCacheWarmup");
+        if (warmup != null) {
+            pathCacheWarmup = warmup;
+        }
+        log.info(FORMAT, linkWeightFunction, pathCacheSize, pathCacheWarmup);
     }
 
     @Override
@@ -284,11 +338,64 @@ public class DistributedTopologyStore
 
         // Promote the new topology to current and return a ready-to-send event.
         synchronized (this) {
+            retiredPathCacheStats = retiredPathCacheStats.plus(current.pathCacheStats());
             current = newTopology;
+            if (pathCacheWarmup) {
+                warmupExecutor.execute(() -> warmPathCache(newTopology));
+            }
             return new TopologyEvent(TOPOLOGY_CHANGED, current, reasons);
         }
     }
 
+    /**
+     * Returns the hit/miss statistics of the path caches of all topology
+     * snapshots built by this store so far.
+     *
+     * @return path cache statistics
+     */
+    CacheStats pathCacheStats() {
+        return retiredPathCacheStats.plus(current.pathCacheStats());
+    }
+
+    private void registerMetrics() {
+        if (metricsService == null) {
+            return;
+        }
+        metricsComponent = metricsService.registerComponent(METRIC_COMPONENT);
+        pathCacheFeature = metricsComponent.registerFeature(PATH_CACHE_FEATURE);
+        metricsService.registerMetric(metricsComponent, pathCacheFeature, HITS,
+                                      (Gauge<Long>) () -> pathCacheStats().hitCount());
+        metricsService.registerMetric(metricsComponent, pathCacheFeature, MISSES,
+                                      (Gauge<Long>) () -> pathCacheStats().missCount());
+        metricsService.registerMetric(metricsComponent, pathCacheFeature, HIT_RATE,
+                                      (Gauge<Double>) () -> pathCacheStats().hitRate());
+    }
+
+    private void unregisterMetrics() {
+        if (metricsService == null || metricsComponent == null) {
+            return;
+        }
+        metricsService.removeMetric(metricsComponent, pathCacheFeature, HITS);
+        metricsService.removeMetric(metricsComponent, pathCacheFeature, MISSES);
+        metricsService.removeMetric(metricsComponent, pathCacheFeature, HIT_RATE);
+    }
+
+    // Pre-computes paths between the edge devices of the given topology,
+    // unless it has already been superseded.
+    private void warmPathCache(DefaultTopology topology) {
+        if (topology != current) {
+            return;
+        }
+        Set<DeviceId> edgeDevices = topology.getGraph().getVertexes().stream()
+                .map(TopologyVertex::deviceId)
+                .filter(deviceId -> deviceService.getPorts(deviceId).stream()
+                        .anyMatch(port -> !topology.isInfrastructure(
+                                new ConnectPoint(deviceId, port.number()))))
+                .collect(Collectors.toSet());
+        topology.warmPathCache(edgeDevices);
+        log.debug("Warmed path cache for {} edge devices", edgeDevices.size());
+    }
+
     private void updateBroadcastPoints(DefaultTopology topology) {
         // Remove any broadcast trees rooted by devices for which we are master.
         Set<DeviceId> toRemove = broadcastPoints.keySet().stream()
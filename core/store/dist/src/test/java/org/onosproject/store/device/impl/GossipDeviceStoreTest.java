@@ -26,8 +26,9 @@ import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.onlab.packet.ChassisId;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onlab.packet.IpAddress;
-import org.onlab.util.KryoNamespace;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
@@ -42,6 +43,7 @@ import org.onosproject.net.Port;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.SparseAnnotations;
 import org.onosproject.net.device.DefaultDeviceDescription;
+import org.onosproject.net.device.DefaultPortStatistics;
 import org.onosproject.net.device.DefaultPortDescription;
 import org.onosproject.net.device.DeviceClockService;
 import org.onosproject.net.device.DeviceClockServiceAdapter;
@@ -50,6 +52,7 @@ import org.onosproject.net.device.DeviceEvent;
 import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
+import org.onosproject.net.device.PortStatistics;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Timestamp;
 import org.onosproject.store.cluster.StaticClusterService;
@@ -58,13 +61,12 @@ import org.onosproject.store.cluster.messaging.ClusterMessage;
 import org.onosproject.store.cluster.messaging.ClusterMessageHandler;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.impl.MastershipBasedTimestamp;
-import org.onosproject.store.service.EventuallyConsistentMap;
-import org.onosproject.store.service.EventuallyConsistentMapBuilder;
-import org.onosproject.store.service.StorageService;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -73,7 +75,6 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 
 import static java.util.Arrays.asList;
@@ -135,15 +136,13 @@ public class GossipDeviceStoreTest {
             new DefaultControllerNode(NID2, IpAddress.valueOf("127.0.0.2"));
     private static final List<SparseAnnotations> NO_ANNOTATION = Collections.<SparseAnnotations>emptyList();
 
-    EventuallyConsistentMapBuilder ecMapBuilder;
-    EventuallyConsistentMap ecMap;
-    StorageService testStorageService;
     private TestGossipDeviceStore testGossipDeviceStore;
     private GossipDeviceStore gossipDeviceStore;
     private DeviceStore deviceStore;
 
     private DeviceClockService deviceClockService = new TestDeviceClockService();
     private ClusterCommunicationService clusterCommunicator;
+    private final TestMastershipService mastershipService = new TestMastershipService();
 
     @BeforeClass
     public static void setUpBeforeClass() throws Exception {
@@ -164,27 +163,13 @@ public class GossipDeviceStoreTest {
         ClusterService clusterService = new TestClusterService();
 
         testGossipDeviceStore = new TestGossipDeviceStore(deviceClockService, clusterService, clusterCommunicator);
-        testGossipDeviceStore.mastershipService = new TestMastershipService();
+        testGossipDeviceStore.mastershipService = mastershipService;
 
-        ecMapBuilder = createNiceMock(EventuallyConsistentMapBuilder.class);
-        expect(ecMapBuilder.withName(anyObject(String.class))).andReturn(ecMapBuilder).anyTimes();
-        expect(ecMapBuilder.withSerializer(anyObject(KryoNamespace.Builder.class))).andReturn(ecMapBuilder).anyTimes();
-        expect(ecMapBuilder.withAntiEntropyPeriod(5, TimeUnit.SECONDS)).andReturn(ecMapBuilder).anyTimes();
-        expect(ecMapBuilder.withTimestampProvider(anyObject(BiFunction.class))).andReturn(ecMapBuilder).anyTimes();
-        expect(ecMapBuilder.withTombstonesDisabled()).andReturn(ecMapBuilder).anyTimes();
-
-        ecMap = createNiceMock(EventuallyConsistentMap.class);
-        expect(ecMapBuilder.build()).andReturn(ecMap).anyTimes();
-        testStorageService = createNiceMock(StorageService.class);
-        expect(testStorageService.eventuallyConsistentMapBuilder()).andReturn(ecMapBuilder).anyTimes();
-
-        replay(testStorageService, ecMapBuilder, ecMap);
-
-        testGossipDeviceStore.storageService = testStorageService;
         testGossipDeviceStore.deviceClockService = deviceClockService;
+        testGossipDeviceStore.cfgService = new ComponentConfigAdapter();
 
         gossipDeviceStore = testGossipDeviceStore;
-        gossipDeviceStore.activate();
+        gossipDeviceStore.activate(null);
         deviceStore = gossipDeviceStore;
         verify(clusterCommunicator);
         reset(clusterCommunicator);
@@ -859,10 +844,119 @@ public class GossipDeviceStoreTest {
         assertTrue("Remove event fired", removeLatch.await(1, TimeUnit.SECONDS));
     }
 
+    @Test
+    public final void testPortStatistics() {
+        putDevice(DID1, SW1);
+
+        DeviceEvent event = deviceStore.updatePortStatistics(PID, DID1,
+                asList(portStats(DID1, P1, 100, 1), portStats(DID1, P2, 50, 1)));
+        assertEquals(PORT_STATS_UPDATED, event.type());
+        assertEquals(2, deviceStore.getPortStatistics(DID1).size());
+        assertTrue("No delta before a second sample",
+                   deviceStore.getPortDeltaStatistics(DID1).isEmpty());
+
+        deviceStore.updatePortStatistics(PID, DID1, asList(portStats(DID1, P1, 400, 3)));
+        List<PortStatistics> deltas = deviceStore.getPortDeltaStatistics(DID1);
+        assertEquals(1, deltas.size());
+        assertEquals(300, deltas.get(0).bytesReceived());
+        assertEquals(2, deltas.get(0).durationSec());
+        assertEquals(2, gossipDeviceStore.getPortStatisticsHistory(DID1, P1).size());
+
+        deviceStore.removeDevice(DID1);
+        assertTrue(deviceStore.getPortStatistics(DID1).isEmpty());
+        assertTrue(gossipDeviceStore.getPortStatisticsHistory(DID1, P1).isEmpty());
+    }
+
+    @Test
+    public final void testRemotePortStatistics() {
+        mastershipService.masters.put(DID2, NID2);
+
+        resetToDefault(clusterCommunicator);
+        expect(clusterCommunicator.<DeviceId, List<PortStatistics>>sendAndReceive(
+                eq(DID2), eq(GossipDeviceStoreMessageSubjects.PORT_STATS_REQ),
+                anyObject(Function.class), anyObject(Function.class), eq(NID2)))
+                .andReturn(CompletableFuture.completedFuture(asList(portStats(DID2, P1, 100, 1))))
+                .once();
+        replay(clusterCommunicator);
+
+        // the first read gets the answer of the master
+        List<PortStatistics> stats = deviceStore.getPortStatistics(DID2);
+        assertEquals(1, stats.size());
+        assertEquals(100, stats.get(0).bytesReceived());
+
+        // reads right after are served from the cache
+        assertEquals(stats, deviceStore.getPortStatistics(DID2));
+        verify(clusterCommunicator);
+        resetToNice(clusterCommunicator);
+    }
+
+    @Test
+    public final void testPortStatisticsAfterMastershipLoss() {
+        putDevice(DID1, SW1);
+        deviceStore.updatePortStatistics(PID, DID1, asList(portStats(DID1, P1, 100, 1)));
+        assertEquals(100, deviceStore.getPortStatistics(DID1).get(0).bytesReceived());
+
+        mastershipService.masters.put(DID1, NID2);
+        resetToDefault(clusterCommunicator);
+        expect(clusterCommunicator.<DeviceId, List<PortStatistics>>sendAndReceive(
+                eq(DID1), eq(GossipDeviceStoreMessageSubjects.PORT_STATS_REQ),
+                anyObject(Function.class), anyObject(Function.class), eq(NID2)))
+                .andReturn(CompletableFuture.completedFuture(asList(portStats(DID1, P1, 700, 7))));
+        replay(clusterCommunicator);
+
+        // the new master is asked rather than the stale local history used
+        assertEquals(700, deviceStore.getPortStatistics(DID1).get(0).bytesReceived());
+        assertTrue(gossipDeviceStore.getPortStatisticsHistory(DID1, P1).isEmpty());
+        verify(clusterCommunicator);
+        resetToNice(clusterCommunicator);
+    }
+
+    @Test
+    public final void testPortStatisticsHistoryDepth() {
+        putDevice(DID1, SW1);
+        gossipDeviceStore.modified(context("portStatsHistoryDepth", "3"));
+        for (int i = 1; i <= 5; i++) {
+            deviceStore.updatePortStatistics(PID, DID1, asList(portStats(DID1, P1, i * 100, i)));
+        }
+        assertEquals(3, gossipDeviceStore.getPortStatisticsHistory(DID1, P1).size());
+
+        // depths too small to compute deltas are ignored
+        gossipDeviceStore.modified(context("portStatsHistoryDepth", "1"));
+        assertEquals(3, gossipDeviceStore.getPortStatisticsHistory(DID1, P1).size());
+    }
+
+    private static ComponentContextAdapter context(String name, String value) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put(name, value);
+                return props;
+            }
+        };
+    }
+
+    private static PortStatistics portStats(DeviceId deviceId, PortNumber port,
+                                            long bytesReceived, long durationSec) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(deviceId)
+                .setPort((int) port.toLong())
+                .setBytesReceived(bytesReceived)
+                .setDurationSec(durationSec)
+                .build();
+    }
+
     private final class TestMastershipService extends MastershipServiceAdapter {
+        private final Map<DeviceId, NodeId> masters = new HashMap<>();
+
         @Override
         public NodeId getMasterFor(DeviceId deviceId) {
-            return NID1;
+            return masters.getOrDefault(deviceId, NID1);
+        }
+
+        @Override
+        public MastershipRole getLocalRole(DeviceId deviceId) {
+            return NID1.equals(getMasterFor(deviceId)) ? MastershipRole.MASTER : MastershipRole.STANDBY;
         }
         @Override
         public CompletableFuture<MastershipRole> requestRoleFor(DeviceId deviceId) {
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.DeviceId.deviceId;
+
+/**
+ * Unit tests for the port statistics history.
+ */
+public class PortStatisticsHistoryTest {
+
+    private static final DeviceId DID1 = deviceId("of:foo");
+    private static final DeviceId DID2 = deviceId("of:bar");
+
+    private static PortStatistics stats(int port, long bytes, long sec) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(DID1)
+                .setPort(port)
+                .setBytesReceived(bytes)
+                .setPacketsReceived(bytes / 100)
+                .setDurationSec(sec)
+                .build();
+    }
+
+    @Test
+    public void testLatestAndDeltas() {
+        PortStatisticsHistory history = new PortStatisticsHistory(3);
+        assertTrue(history.latest(DID1).isEmpty());
+
+        history.record(DID1, ImmutableList.of(stats(1, 1000, 5), stats(2, 500, 5)));
+        assertTrue(history.contains(DID1));
+        assertFalse(history.contains(DID2));
+        assertEquals(2, history.latest(DID1).size());
+        assertTrue(history.deltas(DID1, (p, n) -> n).isEmpty());
+
+        history.record(DID1, ImmutableList.of(stats(1, 4000, 10)));
+        List<PortStatistics> deltas = history.deltas(DID1,
+                (p, n) -> stats(n.port(), n.bytesReceived() - p.bytesReceived(),
+                                n.durationSec() - p.durationSec()));
+        assertEquals(1, deltas.size());
+        assertEquals(3000, deltas.get(0).bytesReceived());
+        assertEquals(5, deltas.get(0).durationSec());
+    }
+
+    @Test
+    public void testRingWrapsAround() {
+        PortStatisticsHistory history = new PortStatisticsHistory(3);
+        for (int i = 1; i <= 5; i++) {
+            history.record(DID1, ImmutableList.of(stats(1, i * 100, i)));
+        }
+
+        List<PortStatistics> samples = history.history(DID1, PortNumber.portNumber(1));
+        assertEquals(3, samples.size());
+        assertEquals(500, samples.get(0).bytesReceived());
+        assertEquals(400, samples.get(1).bytesReceived());
+        assertEquals(300, samples.get(2).bytesReceived());
+        assertEquals(3, samples.get(2).packetsReceived());
+
+        history.remove(DID1);
+        assertTrue(history.history(DID1, PortNumber.portNumber(1)).isEmpty());
+    }
+
+    @Test
+    public void testAbsentPortsPruned() {
+        PortStatisticsHistory history = new PortStatisticsHistory(3);
+        history.record(DID1, ImmutableList.of(stats(1, 100, 1), stats(2, 100, 1)));
+        history.record(DID1, ImmutableList.of(stats(1, 200, 2)));
+
+        assertEquals(1, history.latest(DID1).size());
+        assertEquals(2, history.history(DID1, PortNumber.portNumber(1)).size());
+        assertTrue(history.history(DID1, PortNumber.portNumber(2)).isEmpty());
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.Ethernet;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowEntry.FlowEntryState;
+import org.onosproject.net.flow.FlowId;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleEvent;
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.cluster.messaging.MessageSubject;
+import org.onosproject.store.flow.ReplicaInfo;
+import org.onosproject.store.flow.ReplicaInfoEventListener;
+import org.onosproject.store.flow.ReplicaInfoService;
+import org.onosproject.store.persistence.PersistenceServiceAdapter;
+import org.onosproject.store.service.TestStorageService;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.FLOW_TABLE_BACKUP;
+import static org.onosproject.store.flow.impl.FlowStoreMessageSubjects.FLOW_TABLE_BACKUP_DELTA;
+
+/**
+ * Tests of the local flow table and of the backups received by the distributed flow rule store.
+ */
+public class DistributedFlowRuleStoreTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("of:1");
+    private static final NodeId MASTER = new NodeId("master");
+    private static final long EPOCH = 1L;
+
+    private static final FlowRule RULE1 = rule(1);
+    private static final FlowRule RULE2 = rule(2);
+
+    private DistributedFlowRuleStore store;
+    private NodeId master = MASTER;
+    private final Map<MessageSubject, Function<byte[], byte[]>> handlers = Maps.newHashMap();
+
+    @Before
+    public void setUp() {
+        store = new DistributedFlowRuleStore();
+        store.clusterService = new ClusterServiceAdapter();
+        store.clusterCommunicator = new TestClusterCommunicationService();
+        store.mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public NodeId getMasterFor(DeviceId deviceId) {
+                return master;
+            }
+        };
+        store.replicaInfoManager = new TestReplicaInfoService();
+        store.deviceService = new DeviceServiceAdapter();
+        store.coreService = new CoreServiceAdapter();
+        store.configService = new ComponentConfigAdapter();
+        store.persistenceService = new PersistenceServiceAdapter();
+        store.storageService = new TestStorageService();
+        store.activate(null);
+    }
+
+    @After
+    public void tearDown() {
+        store.deactivate(null);
+    }
+
+    /**
+     * Tests adding, updating and removing flow entries of a local device.
+     */
+    @Test
+    public void testAddUpdateRemove() {
+        master = store.clusterService.getLocalNode().id();
+
+        assertNull(store.addOrUpdateFlowRule(new DefaultFlowEntry(RULE1)));
+        assertNull(store.addOrUpdateFlowRule(new DefaultFlowEntry(RULE2)));
+        assertEquals(2, Iterables.size(store.getFlowEntries(DID)));
+        assertEquals(FlowEntryState.PENDING_ADD, store.getFlowEntry(RULE1).state());
+
+        // the stored entry is updated in place
+        FlowRuleEvent event = store.addOrUpdateFlowRule(
+                new DefaultFlowEntry(RULE1, FlowEntryState.ADDED, 10, 100, 1000));
+        assertEquals(FlowRuleEvent.Type.RULE_ADDED, event.type());
+        FlowEntry stored = store.getFlowEntry(RULE1);
+        assertEquals(FlowEntryState.ADDED, stored.state());
+        assertEquals(100, stored.packets());
+        assertEquals(2, Iterables.size(store.getFlowEntries(DID)));
+
+        event = store.removeFlowRule(new DefaultFlowEntry(RULE1));
+        assertEquals(FlowRuleEvent.Type.RULE_REMOVED, event.type());
+        assertSame(stored, event.subject());
+        assertNull(store.getFlowEntry(RULE1));
+        assertNull(store.removeFlowRule(new DefaultFlowEntry(RULE1)));
+        assertEquals(ImmutableSet.of(RULE2.id()),
+                     ImmutableSet.copyOf(Iterables.transform(store.getFlowEntries(DID), FlowEntry::id)));
+    }
+
+    /**
+     * Tests that a delta backup is applied on top of the full backup it follows.
+     */
+    @Test
+    public void testDeltaBackup() {
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP, backup(1, FlowTableBackup.NONE, entries(RULE1))));
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP_DELTA, backup(2, 1, entries(RULE2))));
+        assertBackedUp(RULE1, RULE2);
+
+        // an empty entry set removes the flow from the backup
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP_DELTA, backup(3, 2, removed(RULE1))));
+        assertBackedUp(RULE2);
+    }
+
+    /**
+     * Tests that a delta backup received without a prior full backup is rejected.
+     */
+    @Test
+    public void testDeltaBackupWithoutBase() {
+        assertTrue(receive(FLOW_TABLE_BACKUP_DELTA, backup(2, 1, entries(RULE1))).isEmpty());
+        assertBackedUp();
+    }
+
+    /**
+     * Tests that a delta received ahead of the one it follows is rejected,
+     * and that the next full backup is applied in its place.
+     */
+    @Test
+    public void testFullBackupFallback() {
+        receive(FLOW_TABLE_BACKUP, backup(1, FlowTableBackup.NONE, entries(RULE1)));
+
+        // delta 3 overtakes delta 2 and is rejected
+        assertTrue(receive(FLOW_TABLE_BACKUP_DELTA, backup(3, 2, entries(RULE2))).isEmpty());
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP_DELTA, backup(2, 1, removed(RULE1))));
+        assertBackedUp();
+
+        // the master falls back to a full backup, which deltas then follow
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP, backup(4, FlowTableBackup.NONE, entries(RULE2))));
+        assertEquals(ImmutableSet.of(DID),
+                     receive(FLOW_TABLE_BACKUP_DELTA, backup(5, 4, entries(RULE1))));
+        assertBackedUp(RULE1, RULE2);
+
+        // a late full backup is dropped
+        assertTrue(receive(FLOW_TABLE_BACKUP, backup(1, FlowTableBackup.NONE, entries(RULE1))).isEmpty());
+        assertBackedUp(RULE1, RULE2);
+    }
+
+    /**
+     * Tests that a full backup from a restarted master is applied even though
+     * its sequence numbers started over.
+     */
+    @Test
+    public void testFullBackupFromNewEpoch() {
+        receive(FLOW_TABLE_BACKUP, backup(7, FlowTableBackup.NONE, entries(RULE1)));
+
+        FlowTableBackup restarted = new FlowTableBackup(MASTER, EPOCH + 1, 1, FlowTableBackup.NONE,
+                                                        entries(RULE2));
+        assertEquals(ImmutableSet.of(DID), receive(FLOW_TABLE_BACKUP, restarted));
+        assertBackedUp(RULE2);
+    }
+
+    private Set<DeviceId> receive(MessageSubject subject, FlowTableBackup backup) {
+        Map<DeviceId, FlowTableBackup> message = ImmutableMap.of(DID, backup);
+        byte[] reply = handlers.get(subject).apply(DistributedFlowRuleStore.SERIALIZER.encode(message));
+        return DistributedFlowRuleStore.SERIALIZER.decode(reply);
+    }
+
+    // Checks the backed up flow table by taking over mastership of the device.
+    private void assertBackedUp(FlowRule... rules) {
+        NodeId previous = master;
+        master = store.clusterService.getLocalNode().id();
+        try {
+            Set<FlowId> backedUp = Sets.newHashSet();
+            store.getFlowEntries(DID).forEach(entry -> backedUp.add(entry.id()));
+            Set<FlowId> expected = Sets.newHashSet();
+            for (FlowRule rule : rules) {
+                expected.add(rule.id());
+            }
+            assertEquals(expected, backedUp);
+        } finally {
+            master = previous;
+        }
+    }
+
+    private static FlowTableBackup backup(long sequence, long previous,
+                                          Map<FlowId, Set<StoredFlowEntry>> entries) {
+        return new FlowTableBackup(MASTER, EPOCH, sequence, previous, entries);
+    }
+
+    private static Map<FlowId, Set<StoredFlowEntry>> entries(FlowRule rule) {
+        StoredFlowEntry entry = new DefaultFlowEntry(rule);
+        return ImmutableMap.of(rule.id(), ImmutableSet.of(entry));
+    }
+
+    private static Map<FlowId, Set<StoredFlowEntry>> removed(FlowRule rule) {
+        return ImmutableMap.of(rule.id(), ImmutableSet.of());
+    }
+
+    private static FlowRule rule(int port) {
+        return DefaultFlowRule.builder()
+                .forDevice(DID)
+                .fromApp(new DefaultApplicationId(1, "test"))
+                .withPriority(100)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchEthType(Ethernet.TYPE_IPV4)
+                                      .matchInPort(PortNumber.portNumber(port))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(port + 1))
+                                       .build())
+                .makePermanent()
+                .build();
+    }
+
+    // Cluster communication service which hands out the request handlers.
+    private class TestClusterCommunicationService extends ClusterCommunicationServiceAdapter {
+        @Override
+        public <M, R> void addSubscriber(MessageSubject subject,
+                                         Function<byte[], M> decoder, Function<M, R> handler,
+                                         Function<R, byte[]> encoder, Executor executor) {
+            handlers.put(subject, decoder.andThen(handler).andThen(encoder));
+        }
+
+        @Override
+        public <M, R> CompletableFuture<R> sendAndReceive(M message, MessageSubject subject,
+                                                          Function<M, byte[]> encoder,
+                                                          Function<byte[], R> decoder, NodeId toNodeId) {
+            return new CompletableFuture<>();
+        }
+    }
+
+    // Replica info service which never chooses a backup node.
+    private class TestReplicaInfoService implements ReplicaInfoService {
+        @Override
+        public ReplicaInfo getReplicaInfoFor(DeviceId deviceId) {
+            return new ReplicaInfo(master, ImmutableList.of());
+        }
+
+        @Override
+        public void addListener(ReplicaInfoEventListener listener) {
+        }
+
+        @Override
+        public void removeListener(ReplicaInfoEventListener listener) {
+        }
+    }
+}
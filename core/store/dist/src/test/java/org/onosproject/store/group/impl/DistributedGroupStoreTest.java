@@ -46,9 +46,15 @@ import org.onosproject.net.group.GroupKey;
 import org.onosproject.net.group.GroupOperation;
 import org.onosproject.net.group.GroupStore;
 import org.onosproject.net.group.GroupStoreDelegate;
+import org.onosproject.net.group.StoredGroupEntry;
 import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.service.AsyncConsistentMap;
 import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.MapEvent;
+import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.TestStorageService;
+import org.onosproject.store.service.Versioned;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
@@ -58,6 +64,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.iterableWithSize;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 import static org.onosproject.net.NetTestTools.APP_ID;
@@ -423,6 +430,113 @@ public class DistributedGroupStoreTest {
                 .testEquals();
     }
 
+    /**
+     * Tests that the local indexes follow entries written by other nodes.
+     */
+    @Test
+    public void testRemoteGroupEntryEvents() throws Exception {
+        ConsistentMap<DistributedGroupStore.GroupStoreKeyMapKey, StoredGroupEntry> groupStoreEntriesByKey =
+                TestUtils.getField(groupStoreImpl, "groupStoreEntriesByKey");
+        DistributedGroupStore.GroupStoreKeyMapKey key =
+                new DistributedGroupStore.GroupStoreKeyMapKey(deviceId1, groupKey1);
+
+        // Another node adds a group
+        groupStoreEntriesByKey.put(key, new DefaultGroup(groupId1, groupDescription1));
+        assertThat(groupStore.getGroupCount(deviceId1), is(1));
+        assertThat(groupStore.getGroups(deviceId1), iterableWithSize(1));
+        assertThat(groupStore.getGroup(deviceId1, groupKey1).id(), is(groupId1));
+        assertThat(groupStore.getGroup(deviceId1, groupId1), notNullValue());
+
+        // Another node moves the group to ADDED
+        DefaultGroup added = new DefaultGroup(groupId1, groupDescription1);
+        added.setState(Group.GroupState.ADDED);
+        groupStoreEntriesByKey.put(key, added);
+        assertThat(groupStore.getGroupCount(deviceId1), is(1));
+        assertThat(groupStore.getGroup(deviceId1, groupKey1).state(), is(Group.GroupState.ADDED));
+
+        // Another node removes the group
+        groupStoreEntriesByKey.remove(key);
+        assertThat(groupStore.getGroupCount(deviceId1), is(0));
+        assertThat(groupStore.getGroup(deviceId1, groupKey1), nullValue());
+        assertThat(groupStore.getGroup(deviceId1, groupId1), nullValue());
+    }
+
+    /**
+     * Tests that a late remove event does not drop an entry re-added under
+     * the same key in the meantime.
+     */
+    @Test
+    public void testLateRemoveEvent() throws Exception {
+        ConsistentMap<DistributedGroupStore.GroupStoreKeyMapKey, StoredGroupEntry> groupStoreEntriesByKey =
+                TestUtils.getField(groupStoreImpl, "groupStoreEntriesByKey");
+        MapEventListener<DistributedGroupStore.GroupStoreKeyMapKey, StoredGroupEntry> mapListener =
+                TestUtils.getField(groupStoreImpl, "mapListener");
+        DistributedGroupStore.GroupStoreKeyMapKey key =
+                new DistributedGroupStore.GroupStoreKeyMapKey(deviceId1, groupKey1);
+        DefaultGroup removed = new DefaultGroup(groupId1, groupDescription1);
+        groupStoreEntriesByKey.put(key, removed);
+
+        // The group is removed and re-added with a new id by other nodes,
+        // with the remove event arriving after the re-add
+        GroupId readdedId = new DefaultGroupId(4);
+        groupStoreEntriesByKey.put(key, new DefaultGroup(readdedId, groupDescription1));
+        mapListener.event(new MapEvent<>("onos-group-store-keymap", key, null,
+                                         new Versioned<>(removed, 1)));
+
+        assertThat(groupStore.getGroup(deviceId1, groupKey1).id(), is(readdedId));
+        assertThat(groupStore.getGroup(deviceId1, readdedId), notNullValue());
+    }
+
+    /**
+     * Tests that the local indexes are seeded from the entries already in the
+     * group key map on activation.
+     */
+    @Test
+    public void testSeedIndexesOnActivation() throws Exception {
+        ConsistentMap<DistributedGroupStore.GroupStoreKeyMapKey, StoredGroupEntry> groupStoreEntriesByKey =
+                TestUtils.getField(groupStoreImpl, "groupStoreEntriesByKey");
+        groupStoreEntriesByKey.put(new DistributedGroupStore.GroupStoreKeyMapKey(deviceId2, groupKey2),
+                                   new DefaultGroup(groupId2, groupDescription2));
+        groupStoreEntriesByKey.put(new DistributedGroupStore.GroupStoreKeyMapKey(deviceId2, groupKey3),
+                                   new DefaultGroup(groupId3, groupDescription3));
+
+        // A node starting up against a map other nodes already filled
+        DistributedGroupStore restarted = new DistributedGroupStore();
+        restarted.storageService = new TestStorageService() {
+            @Override
+            public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+                ConsistentMapBuilder<K, V> testMapBuilder = super.consistentMapBuilder();
+                return new ConsistentMapBuilder<K, V>() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public ConsistentMap<K, V> build() {
+                        if (name().equals("onos-group-store-keymap")) {
+                            return (ConsistentMap<K, V>) groupStoreEntriesByKey;
+                        }
+                        return testMapBuilder.withName(name()).build();
+                    }
+
+                    @Override
+                    public AsyncConsistentMap<K, V> buildAsyncMap() {
+                        return null;
+                    }
+                };
+            }
+        };
+        restarted.clusterCommunicator = new ClusterCommunicationServiceAdapter();
+        restarted.mastershipService = new MasterOfAll();
+        restarted.cfgService = new ComponentConfigAdapter();
+        restarted.activate();
+        try {
+            assertThat(restarted.getGroupCount(deviceId2), is(2));
+            assertThat(restarted.getGroup(deviceId2, groupKey2).id(), is(groupId2));
+            assertThat(restarted.getGroup(deviceId2, groupId3), notNullValue());
+            assertThat(restarted.getGroupCount(deviceId1), is(0));
+        } finally {
+            restarted.deactivate();
+        }
+    }
+
     @Test
     public void testEqualsGroupStoreKeyMapKey() {
         DistributedGroupStore.GroupStoreKeyMapKey key1 =
@@ -80,4 +80,32 @@ public class DistributedHostStoreTest extends TestCase {
         assertTrue(host.ipAddresses().contains(IP2));
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests that secondary index lookups track host updates and removals.
+     */
+    @Test
+    public void testIndexedLookups() {
+        Set<IpAddress> ips = new HashSet<>();
+        ips.add(IP1);
+
+        HostDescription description = new DefaultHostDescription(HOSTID.mac(),
+                                                                    HOSTID.vlanId(),
+                                                                    HostLocation.NONE,
+                                                                    ips);
+        ecXHostStore.createOrUpdateHost(PID, HOSTID, description, false);
+
+        assertEquals(1, ecXHostStore.getHosts(HOSTID.mac()).size());
+        assertEquals(1, ecXHostStore.getHosts(HOSTID.vlanId()).size());
+        assertEquals(1, ecXHostStore.getHosts(IP1).size());
+        assertEquals(1, ecXHostStore.getConnectedHosts(HostLocation.NONE).size());
+        assertEquals(1, ecXHostStore.getConnectedHosts(HostLocation.NONE.deviceId()).size());
+
+        ecXHostStore.removeIp(HOSTID, IP1);
+        assertTrue(ecXHostStore.getHosts(IP1).isEmpty());
+
+        ecXHostStore.removeHost(HOSTID);
+        assertTrue(ecXHostStore.getHosts(HOSTID.mac()).isEmpty());
+        assertTrue(ecXHostStore.getConnectedHosts(HostLocation.NONE).isEmpty());
+    }
+
+}
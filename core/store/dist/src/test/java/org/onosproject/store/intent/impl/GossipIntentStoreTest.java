@@ -19,6 +19,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -115,6 +116,35 @@ public class GossipIntentStoreTest {
         assertThat(intentStore.getIntentCount(), is(5L));
     }
 
+    /**
+     * Tests that a batch with several updates of the same intent leaves the
+     * intent in the state of the last accepted update.
+     */
+    @Test
+    public void testBatchCoalescing() {
+        Intent intent = builder1.build();
+        IntentData installing = new IntentData(intent, IntentState.INSTALLING,
+                                               new IntentTestsMocks.MockTimestamp(12));
+        IntentData installed = new IntentData(intent, IntentState.INSTALLED,
+                                              new IntentTestsMocks.MockTimestamp(12));
+        IntentData stale = new IntentData(intent, IntentState.WITHDRAWN,
+                                          new IntentTestsMocks.MockTimestamp(11));
+
+        intentStore.batchWrite(ImmutableList.of(installing, installed, stale));
+        assertThat(intentStore.getIntentCount(), is(1L));
+        assertThat(intentStore.getIntentState(intent.key()), is(IntentState.INSTALLED));
+
+        IntentData purge = new IntentData(intent, IntentState.PURGE_REQ,
+                                          new IntentTestsMocks.MockTimestamp(13));
+        IntentData reinstalled = new IntentData(intent, IntentState.INSTALLED,
+                                                new IntentTestsMocks.MockTimestamp(14));
+        intentStore.batchWrite(ImmutableList.of(purge));
+        assertThat(intentStore.getIntentCount(), is(0L));
+
+        intentStore.batchWrite(ImmutableList.of(reinstalled, purge));
+        assertThat(intentStore.getIntentState(intent.key()), is(IntentState.INSTALLED));
+    }
+
 
     /**
      * Tests adding and withdrawing an Intent.
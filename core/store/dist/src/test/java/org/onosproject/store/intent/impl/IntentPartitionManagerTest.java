@@ -15,10 +15,15 @@
  */
 package org.onosproject.store.intent.impl;
 
+import com.google.common.collect.Lists;
+import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.NullScheduledExecutor;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onlab.packet.IpAddress;
+import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
@@ -31,22 +36,30 @@ import org.onosproject.cluster.LeadershipServiceAdapter;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.net.intent.Key;
+import org.osgi.service.component.ComponentContext;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Dictionary;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static junit.framework.TestCase.assertFalse;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.anyString;
+import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.createMock;
 import static org.easymock.EasyMock.expect;
 import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -66,7 +79,7 @@ public class IntentPartitionManagerTest {
 
     private static final String ELECTION_PREFIX = "intent-partition-";
 
-        private LeadershipService leadershipService;
+    private LeadershipService leadershipService;
     private LeadershipEventListener leaderListener;
 
     private IntentPartitionManager partitionManager;
@@ -77,7 +90,7 @@ public class IntentPartitionManagerTest {
 
         leadershipService.addListener(anyObject(LeadershipEventListener.class));
         expectLastCall().andDelegateTo(new TestLeadershipService());
-        for (int i = 0; i < IntentPartitionManager.NUM_PARTITIONS; i++) {
+        for (int i = 0; i < IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i++) {
             expect(leadershipService.runForLeadership(ELECTION_PREFIX + i))
                 .andReturn(null)
                 .times(1);
@@ -90,6 +103,21 @@ public class IntentPartitionManagerTest {
         partitionManager.localNodeId = MY_NODE_ID;
         partitionManager.leadershipService = leadershipService;
         partitionManager.eventDispatcher = new TestEventDispatcher();
+        partitionManager.cfgService = new ComponentConfigAdapter();
+    }
+
+    /**
+     * Returns a key that hashes into the given partition.
+     *
+     * @param partition partition number
+     * @return key of the partition
+     */
+    private Key keyForPartition(int partition) {
+        long hash = 0;
+        while (partitionManager.getPartitionForKey(new ControllableHashKey(hash)).value() != partition) {
+            hash++;
+        }
+        return new ControllableHashKey(hash);
     }
 
     /**
@@ -109,14 +137,14 @@ public class IntentPartitionManagerTest {
                                     .anyTimes();
         }
 
-        for (int i = numMine; i < IntentPartitionManager.NUM_PARTITIONS; i++) {
+        for (int i = numMine; i < IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i++) {
             expect(leadershipService.getLeadership(ELECTION_PREFIX + i))
                                     .andReturn(new Leadership(ELECTION_PREFIX + i,
                                                               new Leader(OTHER_NODE_ID, 1, 1000),
                                                               allNodes))
                                     .anyTimes();
         }
-        for (int i = 0; i < IntentPartitionManager.NUM_PARTITIONS; i++) {
+        for (int i = 0; i < IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i++) {
             expect(leadershipService.getCandidates(ELECTION_PREFIX + i))
             .andReturn(Arrays.asList(MY_NODE_ID, OTHER_NODE_ID))
             .anyTimes();
@@ -133,7 +161,7 @@ public class IntentPartitionManagerTest {
 
         leadershipService.addListener(anyObject(LeadershipEventListener.class));
 
-        for (int i = 0; i < IntentPartitionManager.NUM_PARTITIONS; i++) {
+        for (int i = 0; i < IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i++) {
             expect(leadershipService.runForLeadership(ELECTION_PREFIX + i))
                 .andReturn(null)
                 .times(1);
@@ -141,7 +169,7 @@ public class IntentPartitionManagerTest {
 
         replay(leadershipService);
 
-        partitionManager.activate();
+        partitionManager.activate(null);
 
         verify(leadershipService);
     }
@@ -156,8 +184,8 @@ public class IntentPartitionManagerTest {
         setUpLeadershipService(1);
         replay(leadershipService);
 
-        Key myKey = new ControllableHashKey(0);
-        Key notMyKey = new ControllableHashKey(1);
+        Key myKey = keyForPartition(0);
+        Key notMyKey = keyForPartition(1);
 
         assertTrue(partitionManager.isMine(myKey));
         assertFalse(partitionManager.isMine(notMyKey));
@@ -172,7 +200,7 @@ public class IntentPartitionManagerTest {
         // partition now
         assertTrue(partitionManager.isMine(notMyKey));
 
-        assertFalse(partitionManager.isMine(new ControllableHashKey(4)));
+        assertFalse(partitionManager.isMine(keyForPartition(4)));
     }
 
     /**
@@ -183,11 +211,11 @@ public class IntentPartitionManagerTest {
     @Test
     public void testRebalanceScheduling() {
         // We have all the partitions so we'll need to relinquish some
-        setUpLeadershipService(IntentPartitionManager.NUM_PARTITIONS);
+        setUpLeadershipService(IntentPartitionManager.DEFAULT_NUM_PARTITIONS);
 
         replay(leadershipService);
 
-        partitionManager.activate();
+        partitionManager.activate(null);
         // Send in the event
         leaderListener.event(event);
 
@@ -202,14 +230,14 @@ public class IntentPartitionManagerTest {
     @Test
     public void testRebalance() {
         // We have all the partitions so we'll need to relinquish some
-        setUpLeadershipService(IntentPartitionManager.NUM_PARTITIONS);
+        setUpLeadershipService(IntentPartitionManager.DEFAULT_NUM_PARTITIONS);
 
         leadershipService.withdraw(anyString());
         expectLastCall().times(7);
 
         replay(leadershipService);
 
-        partitionManager.activate();
+        partitionManager.activate(null);
 
         // trigger rebalance
         partitionManager.doRebalance();
@@ -224,10 +252,10 @@ public class IntentPartitionManagerTest {
     @Test
     public void testNoRebalance() {
         // Partitions are already perfectly balanced among the two active instances
-        setUpLeadershipService(IntentPartitionManager.NUM_PARTITIONS / 2);
+        setUpLeadershipService(IntentPartitionManager.DEFAULT_NUM_PARTITIONS / 2);
         replay(leadershipService);
 
-        partitionManager.activate();
+        partitionManager.activate(null);
 
         // trigger rebalance
         partitionManager.doRebalance();
@@ -236,7 +264,7 @@ public class IntentPartitionManagerTest {
 
         reset(leadershipService);
         // We have a smaller share than we should
-        setUpLeadershipService(IntentPartitionManager.NUM_PARTITIONS / 2 - 1);
+        setUpLeadershipService(IntentPartitionManager.DEFAULT_NUM_PARTITIONS / 2 - 1);
         replay(leadershipService);
 
         // trigger rebalance
@@ -245,6 +273,132 @@ public class IntentPartitionManagerTest {
         verify(leadershipService);
     }
 
+    /**
+     * Tests that a change of the number of partitions runs for the added
+     * partitions, withdraws from the removed ones, and spreads keys over
+     * the configured partitions only.
+     */
+    @Test
+    public void testModified() {
+        replay(leadershipService);
+        partitionManager.activate(null);
+        verify(leadershipService);
+
+        int more = IntentPartitionManager.DEFAULT_NUM_PARTITIONS + 2;
+        reset(leadershipService);
+        for (int i = IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i < more; i++) {
+            expect(leadershipService.runForLeadership(ELECTION_PREFIX + i)).andReturn(null);
+        }
+        replay(leadershipService);
+        partitionManager.modified(context(more));
+        verify(leadershipService);
+        assertEquals(more - 1, partitionManager.getPartitionForKey(keyForPartition(more - 1)).value());
+
+        int fewer = 4;
+        reset(leadershipService);
+        for (int i = fewer; i < more; i++) {
+            leadershipService.withdraw(ELECTION_PREFIX + i);
+        }
+        replay(leadershipService);
+        partitionManager.modified(context(fewer));
+        verify(leadershipService);
+        for (long hash = 0; hash < 1000; hash++) {
+            assertTrue(partitionManager.getPartitionForKey(new ControllableHashKey(hash)).value() < fewer);
+        }
+
+        // invalid and unchanged values are ignored
+        reset(leadershipService);
+        replay(leadershipService);
+        partitionManager.modified(context(0));
+        partitionManager.modified(context(fewer));
+        verify(leadershipService);
+    }
+
+    /**
+     * Tests that the configured number of partitions is used from activation.
+     */
+    @Test
+    public void testActivateConfigured() {
+        reset(leadershipService);
+        leadershipService.addListener(anyObject(LeadershipEventListener.class));
+        for (int i = 0; i < 3; i++) {
+            expect(leadershipService.runForLeadership(ELECTION_PREFIX + i)).andReturn(null);
+        }
+        replay(leadershipService);
+
+        partitionManager.activate(context(3));
+
+        verify(leadershipService);
+    }
+
+    /**
+     * Tests that the preferred owner of a partition does not depend on the
+     * order of the nodes, and only changes when the owner itself leaves.
+     */
+    @Test
+    public void testPreferredOwner() {
+        NodeId third = new NodeId("third");
+        List<NodeId> nodes = Arrays.asList(MY_NODE_ID, OTHER_NODE_ID, third);
+        Set<NodeId> owners = new HashSet<>();
+        for (int i = 0; i < IntentPartitionManager.DEFAULT_NUM_PARTITIONS; i++) {
+            String topic = ELECTION_PREFIX + i;
+            NodeId owner = IntentPartitionManager.preferredOwner(topic, nodes);
+            owners.add(owner);
+            assertEquals(owner, IntentPartitionManager.preferredOwner(topic, Lists.reverse(nodes)));
+
+            for (NodeId leaving : nodes) {
+                List<NodeId> remaining = new ArrayList<>(nodes);
+                remaining.remove(leaving);
+                NodeId newOwner = IntentPartitionManager.preferredOwner(topic, remaining);
+                if (leaving.equals(owner)) {
+                    assertNotEquals(owner, newOwner);
+                } else {
+                    assertEquals(owner, newOwner);
+                }
+            }
+        }
+        // partitions are spread over the nodes
+        assertTrue(owners.size() > 1);
+    }
+
+    /**
+     * Tests that rebalancing hands off first the partitions preferred by
+     * another node.
+     */
+    @Test
+    public void testRebalanceHandsOffPreferredPartitions() {
+        setUpLeadershipService(IntentPartitionManager.DEFAULT_NUM_PARTITIONS);
+        Capture<String> withdrawn = new Capture<>(CaptureType.ALL);
+        leadershipService.withdraw(capture(withdrawn));
+        expectLastCall().times(IntentPartitionManager.DEFAULT_NUM_PARTITIONS / 2);
+        replay(leadershipService);
+
+        partitionManager.activate(null);
+        partitionManager.doRebalance();
+        verify(leadershipService);
+
+        List<NodeId> activeNodes = Arrays.asList(MY_NODE_ID, OTHER_NODE_ID);
+        long preferredElsewhere = IntStream.range(0, IntentPartitionManager.DEFAULT_NUM_PARTITIONS)
+                .mapToObj(i -> ELECTION_PREFIX + i)
+                .filter(topic -> !MY_NODE_ID.equals(IntentPartitionManager.preferredOwner(topic, activeNodes)))
+                .count();
+        long handedOffElsewhere = withdrawn.getValues().stream()
+                .filter(topic -> !MY_NODE_ID.equals(IntentPartitionManager.preferredOwner(topic, activeNodes)))
+                .count();
+        assertEquals(Math.min(preferredElsewhere, withdrawn.getValues().size()), handedOffElsewhere);
+    }
+
+    private ComponentContext context(int numPartitions) {
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put("numPartitions", String.valueOf(numPartitions));
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                return properties;
+            }
+        };
+    }
+
     /**
      * LeadershipService that allows us to grab a reference to
      * PartitionManager's LeadershipEventListener.
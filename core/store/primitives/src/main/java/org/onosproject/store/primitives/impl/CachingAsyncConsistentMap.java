@@ -17,6 +17,8 @@ package org.onosproject.store.primitives.impl;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -136,6 +138,18 @@ public class CachingAsyncConsistentMap<K, V> extends DelegatingAsyncConsistentMa
                 .whenComplete((r, e) -> cache.invalidate(key));
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<K, V> entries) {
+        return super.putAll(entries)
+                .whenComplete((r, e) -> cache.invalidateAll(entries.keySet()));
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAll(Set<K> keys) {
+        return super.removeAll(keys)
+                .whenComplete((r, e) -> cache.invalidateAll(keys));
+    }
+
     @Override
     public CompletableFuture<Void> clear() {
         return super.clear()
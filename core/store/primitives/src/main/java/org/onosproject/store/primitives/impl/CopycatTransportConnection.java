@@ -18,6 +18,7 @@ package org.onosproject.store.primitives.impl;
 import static com.google.common.base.Preconditions.checkNotNull;
 import io.atomix.catalyst.concurrent.Listener;
 import io.atomix.catalyst.concurrent.Listeners;
+import io.atomix.catalyst.concurrent.Scheduled;
 import io.atomix.catalyst.concurrent.ThreadContext;
 import io.atomix.catalyst.serializer.SerializationException;
 import io.atomix.catalyst.transport.Address;
@@ -33,14 +34,22 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import org.apache.commons.io.IOUtils;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.PartitionId;
+import org.onosproject.store.cluster.messaging.Endpoint;
 import org.onosproject.store.cluster.messaging.MessagingException;
 import org.onosproject.store.cluster.messaging.MessagingService;
 
@@ -50,6 +59,20 @@ import com.google.common.collect.Maps;
 
 /**
  * {@link Connection} implementation for CopycatTransport.
+ * <p>
+ * Messages sent over a connection are queued and written out together: all
+ * messages submitted during one pass of the sending thread context are packed
+ * into a single request frame, up to {@link #MAX_BATCH_SIZE} per frame. The
+ * receiving side acknowledges the frame once its messages are dispatched, and
+ * sends each response back as soon as it is ready; responses which complete
+ * during the same pass of the connection context share a response frame.
+ * Requests not answered within {@link #REQUEST_TIMEOUT} fail.
+ * </p>
+ * <p>
+ * Frames start with the {@link #VERSION version} of their format, and frames
+ * of any other version are rejected, so that a peer running an incompatible
+ * release fails requests instead of misreading them.
+ * </p>
  */
 public class CopycatTransportConnection implements Connection {
 
@@ -59,15 +82,37 @@ public class CopycatTransportConnection implements Connection {
     static final byte SUCCESS = 0x03;
     static final byte FAILURE = 0x04;
 
+    static final byte VERSION = 0x01;
+
+    static final int MAX_BATCH_SIZE = 128;
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(2);
+
+    private static final byte[] ACK = new byte[0];
+
     private final long connectionId;
     private final CopycatTransport.Mode mode;
     private final Address remoteAddress;
     private final MessagingService messagingService;
     private final String outboundMessageSubject;
     private final String inboundMessageSubject;
+    private final String responseSubject;
+    private final String remoteResponseSubject;
     private final ThreadContext context;
     private final Map<Class<?>, InternalHandler> handlers = Maps.newConcurrentMap();
 
+    private final AtomicLong requestId = new AtomicLong();
+    private final Map<Long, PendingRequest<?>> inflightRequests = Maps.newConcurrentMap();
+    private final Scheduled timeoutTask;
+
+    private final Object batchLock = new Object();
+    private List<PendingRequest<?>> pendingRequests = new ArrayList<>();
+    private boolean flushScheduled = false;
+
+    private final Object responseLock = new Object();
+    private List<FrameEntry> pendingResponses = new ArrayList<>();
+    private boolean responseFlushScheduled = false;
+
     CopycatTransportConnection(long connectionId,
             CopycatTransport.Mode mode,
             PartitionId partitionId,
@@ -81,11 +126,20 @@ public class CopycatTransportConnection implements Connection {
         if (mode == CopycatTransport.Mode.CLIENT) {
             this.outboundMessageSubject = String.format("onos-copycat-%s", partitionId);
             this.inboundMessageSubject = String.format("onos-copycat-%s-%d", partitionId, connectionId);
+            this.responseSubject = String.format("onos-copycat-%s-%d-client-responses", partitionId, connectionId);
+            this.remoteResponseSubject =
+                    String.format("onos-copycat-%s-%d-server-responses", partitionId, connectionId);
         } else {
             this.outboundMessageSubject = String.format("onos-copycat-%s-%d", partitionId, connectionId);
             this.inboundMessageSubject = String.format("onos-copycat-%s", partitionId);
+            this.responseSubject = String.format("onos-copycat-%s-%d-server-responses", partitionId, connectionId);
+            this.remoteResponseSubject =
+                    String.format("onos-copycat-%s-%d-client-responses", partitionId, connectionId);
         }
         this.context = checkNotNull(context);
+        BiConsumer<Endpoint, byte[]> responseHandler = (sender, payload) -> handleResponses(payload);
+        messagingService.registerHandler(responseSubject, responseHandler, context.executor());
+        this.timeoutTask = context.schedule(REQUEST_TIMEOUT, REQUEST_TIMEOUT, this::timeoutRequests);
     }
 
     public void setBidirectional() {
@@ -107,40 +161,128 @@ public class CopycatTransportConnection implements Connection {
         ThreadContext context = ThreadContext.currentContextOrThrow();
         CompletableFuture<U> result = new CompletableFuture<>();
         try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-            new DataOutputStream(baos).writeLong(connectionId);
             context.serializer().writeObject(message, baos);
             if (message instanceof ReferenceCounted) {
                 ((ReferenceCounted<?>) message).release();
             }
-            messagingService.sendAndReceive(CopycatTransport.toEndpoint(remoteAddress),
-                                            outboundMessageSubject,
-                                            baos.toByteArray(),
-                                            context.executor())
-                    .whenComplete((r, e) -> {
-                        Throwable wrappedError = e;
-                        if (e != null) {
-                            Throwable rootCause = Throwables.getRootCause(e);
-                            if (MessagingException.class.isAssignableFrom(rootCause.getClass())) {
-                                wrappedError = new TransportException(e);
-                            }
-                        }
-                        handleResponse(r, wrappedError, result, context);
-                    });
+            enqueue(new PendingRequest<>(requestId.incrementAndGet(), baos.toByteArray(), result, context));
         } catch (SerializationException | IOException e) {
             result.completeExceptionally(e);
         }
         return result;
     }
 
-    private <T> void handleResponse(byte[] response,
-                                    Throwable error,
-                                    CompletableFuture<T> future,
-                                    ThreadContext context) {
-        if (error != null) {
-            context.execute(() -> future.completeExceptionally(error));
+    /**
+     * Queues a request for the next outbound frame. The first request of a
+     * frame schedules the flush on its thread context, so that any request
+     * submitted before the context gets to run the flush shares the frame.
+     */
+    private void enqueue(PendingRequest<?> request) {
+        List<PendingRequest<?>> batch = null;
+        boolean scheduleFlush = false;
+        synchronized (batchLock) {
+            pendingRequests.add(request);
+            if (pendingRequests.size() >= MAX_BATCH_SIZE) {
+                batch = pendingRequests;
+                pendingRequests = new ArrayList<>();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        if (batch != null) {
+            sendBatch(batch);
+        }
+        if (scheduleFlush) {
+            request.context.execute(this::flush);
+        }
+    }
+
+    private void flush() {
+        List<PendingRequest<?>> batch;
+        synchronized (batchLock) {
+            flushScheduled = false;
+            if (pendingRequests.isEmpty()) {
+                return;
+            }
+            batch = pendingRequests;
+            pendingRequests = new ArrayList<>();
+        }
+        sendBatch(batch);
+    }
+
+    private void sendBatch(List<PendingRequest<?>> batch) {
+        List<FrameEntry> requests = new ArrayList<>(batch.size());
+        for (PendingRequest<?> request : batch) {
+            inflightRequests.put(request.id, request);
+            requests.add(new FrameEntry(request.id, request.payload));
+        }
+        byte[] frame;
+        try {
+            frame = encodeFrame(connectionId, requests);
+        } catch (IOException e) {
+            batch.forEach(request -> failRequest(request, e));
+            return;
+        }
+        // the reply only acknowledges the frame; responses come separately
+        messagingService.sendAndReceive(CopycatTransport.toEndpoint(remoteAddress),
+                                        outboundMessageSubject,
+                                        frame,
+                                        context.executor())
+                .whenComplete((r, e) -> {
+                    if (e != null) {
+                        Throwable wrappedError = e;
+                        Throwable rootCause = Throwables.getRootCause(e);
+                        if (MessagingException.class.isAssignableFrom(rootCause.getClass())) {
+                            wrappedError = new TransportException(e);
+                        }
+                        for (PendingRequest<?> request : batch) {
+                            failRequest(request, wrappedError);
+                        }
+                    }
+                });
+    }
+
+    private void handleResponses(byte[] payload) {
+        List<FrameEntry> responses;
+        try {
+            responses = decodeFrame(payload, connectionId);
+        } catch (IOException | IllegalStateException e) {
+            exceptionListeners.forEach(listener -> listener.accept(e));
             return;
         }
-        checkNotNull(response);
+        for (FrameEntry response : responses) {
+            PendingRequest<?> request = inflightRequests.remove(response.id);
+            // requests which timed out are no longer in flight
+            if (request != null) {
+                handleResponse(response.payload, request);
+            }
+        }
+    }
+
+    private void failRequest(PendingRequest<?> request, Throwable error) {
+        // a request which is no longer in flight was answered or timed out
+        if (inflightRequests.remove(request.id) != null) {
+            request.context.execute(() -> request.future.completeExceptionally(error));
+        }
+    }
+
+    private void timeoutRequests() {
+        long now = System.currentTimeMillis();
+        Iterator<PendingRequest<?>> iterator = inflightRequests.values().iterator();
+        while (iterator.hasNext()) {
+            PendingRequest<?> request = iterator.next();
+            if (now - request.timestamp > REQUEST_TIMEOUT.toMillis()) {
+                iterator.remove();
+                request.context.execute(() -> request.future.completeExceptionally(
+                        new TimeoutException("Timedout waiting for reply")));
+            }
+        }
+    }
+
+    private <T> void handleResponse(byte[] response, PendingRequest<T> request) {
+        CompletableFuture<T> future = request.future;
+        ThreadContext context = request.context;
         InputStream input = new ByteArrayInputStream(response);
         try {
             byte status = (byte) input.read();
@@ -150,7 +292,7 @@ public class CopycatTransportConnection implements Connection {
             } else {
                 context.execute(() -> future.complete(context.serializer().readObject(input)));
             }
-        } catch (IOException e) {
+        } catch (Exception e) {
             context.execute(() -> future.completeExceptionally(e));
         }
     }
@@ -162,27 +304,180 @@ public class CopycatTransportConnection implements Connection {
         return null;
     }
 
-   public CompletableFuture<byte[]> handle(byte[] message) {
+    /**
+     * Handles an inbound request frame. Responses are sent back as the
+     * requests complete; the returned future only acknowledges the frame.
+     *
+     * @param frame frame with the requests, without the connection identifier
+     * @return future completed once the requests are dispatched
+     */
+    public CompletableFuture<byte[]> handle(byte[] frame) {
+        List<FrameEntry> requests;
         try {
-            Object request = context.serializer().readObject(new ByteArrayInputStream(message));
-            InternalHandler handler = handlers.get(request.getClass());
-            if (handler == null) {
-                return Tools.exceptionalFuture(new IllegalStateException(
-                        "No handler registered for " + request.getClass()));
+            requests = decodeEntries(new DataInputStream(new ByteArrayInputStream(frame)));
+        } catch (IOException | IllegalStateException e) {
+            return Tools.exceptionalFuture(e);
+        }
+
+        // Requests are dispatched in order, with one task per run of requests
+        // sharing a handler context rather than one task per request.
+        ThreadContext runContext = null;
+        List<Runnable> run = new ArrayList<>();
+        for (FrameEntry request : requests) {
+            Object message;
+            InternalHandler handler;
+            try {
+                message = context.serializer().readObject(new ByteArrayInputStream(request.payload));
+                handler = handlers.get(message.getClass());
+                if (handler == null) {
+                    throw new IllegalStateException("No handler registered for " + message.getClass());
+                }
+            } catch (Exception e) {
+                respond(request.id, null, e);
+                continue;
+            }
+            if (runContext != null && runContext != handler.context) {
+                dispatch(runContext, run);
+                run = new ArrayList<>();
             }
-            return handler.handle(request).handle((result, error) -> {
-                try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-                    baos.write(error != null ? FAILURE : SUCCESS);
-                    context.serializer().writeObject(error != null ? error : result, baos);
-                    return baos.toByteArray();
-                } catch (IOException e) {
-                    Throwables.propagate(e);
-                    return null;
+            runContext = handler.context;
+            run.add(() -> {
+                try {
+                    handler.handle(message).whenComplete((r, e) -> respond(request.id, r, e));
+                } catch (Exception e) {
+                    respond(request.id, null, e);
                 }
             });
+        }
+        if (runContext != null) {
+            dispatch(runContext, run);
+        }
+        return CompletableFuture.completedFuture(ACK);
+    }
+
+    private void dispatch(ThreadContext handlerContext, List<Runnable> run) {
+        handlerContext.execute(() -> run.forEach(Runnable::run));
+    }
+
+    /**
+     * Queues the response to a request for the next response frame. The first
+     * response of a frame schedules its flush on the connection context.
+     */
+    private void respond(long id, Object result, Throwable error) {
+        byte[] response;
+        try {
+            response = encodeResponse(result, error);
         } catch (Exception e) {
-            return Tools.exceptionalFuture(e);
+            // only the request whose response cannot be written fails
+            try {
+                response = encodeResponse(null, new SerializationException(
+                        "Failed to serialize response: " + e.getMessage()));
+            } catch (Exception unexpected) {
+                context.logger().warn("Failed to respond to request {}", id, unexpected);
+                return;
+            }
+        }
+        boolean scheduleFlush = false;
+        synchronized (responseLock) {
+            pendingResponses.add(new FrameEntry(id, response));
+            if (!responseFlushScheduled) {
+                responseFlushScheduled = true;
+                scheduleFlush = true;
+            }
+        }
+        if (scheduleFlush) {
+            context.execute(this::flushResponses);
+        }
+    }
+
+    private byte[] encodeResponse(Object result, Throwable error) throws IOException {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            baos.write(error != null ? FAILURE : SUCCESS);
+            context.serializer().writeObject(error != null ? error : result, baos);
+            return baos.toByteArray();
+        }
+    }
+
+    private void flushResponses() {
+        List<FrameEntry> responses;
+        synchronized (responseLock) {
+            responseFlushScheduled = false;
+            responses = pendingResponses;
+            pendingResponses = new ArrayList<>();
+        }
+        for (int from = 0; from < responses.size(); from += MAX_BATCH_SIZE) {
+            List<FrameEntry> batch = responses.subList(from, Math.min(from + MAX_BATCH_SIZE, responses.size()));
+            try {
+                messagingService.sendAsync(CopycatTransport.toEndpoint(remoteAddress),
+                                           remoteResponseSubject,
+                                           encodeFrame(connectionId, batch));
+            } catch (IOException e) {
+                // the requests of the batch time out on the remote side
+                context.logger().warn("Failed to send responses", e);
+            }
+        }
+    }
+
+    /**
+     * Encodes a frame: the connection identifier, the version of the format,
+     * the number of entries, then the identifier, length and bytes of each entry.
+     *
+     * @param connectionId connection identifier
+     * @param entries      requests or responses of the frame
+     * @return frame
+     * @throws IOException if the frame cannot be written
+     */
+    static byte[] encodeFrame(long connectionId, List<FrameEntry> entries) throws IOException {
+        try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            DataOutputStream output = new DataOutputStream(baos);
+            output.writeLong(connectionId);
+            output.writeByte(VERSION);
+            output.writeInt(entries.size());
+            for (FrameEntry entry : entries) {
+                output.writeLong(entry.id);
+                output.writeInt(entry.payload.length);
+                output.write(entry.payload);
+            }
+            output.flush();
+            return baos.toByteArray();
+        }
+    }
+
+    /**
+     * Decodes a frame written by {@link #encodeFrame(long, List)}.
+     *
+     * @param frame        frame
+     * @param connectionId expected connection identifier
+     * @return entries of the frame
+     * @throws IOException           if the frame is truncated
+     * @throws IllegalStateException if the frame belongs to another connection
+     *                               or has an unsupported version
+     */
+    static List<FrameEntry> decodeFrame(byte[] frame, long connectionId) throws IOException {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame))) {
+            if (input.readLong() != connectionId) {
+                throw new IllegalStateException("Invalid connection Id");
+            }
+            return decodeEntries(input);
+        }
+    }
+
+    // Decodes a frame past its connection identifier.
+    private static List<FrameEntry> decodeEntries(DataInputStream input) throws IOException {
+        byte version = input.readByte();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported frame version " + version
+                    + "; the peer runs an incompatible release");
+        }
+        int count = input.readInt();
+        List<FrameEntry> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = input.readLong();
+            byte[] payload = new byte[input.readInt()];
+            input.readFully(payload);
+            entries.add(new FrameEntry(id, payload));
         }
+        return entries;
     }
 
     @Override
@@ -201,6 +496,10 @@ public class CopycatTransportConnection implements Connection {
         if (mode == CopycatTransport.Mode.CLIENT) {
             messagingService.unregisterHandler(inboundMessageSubject);
         }
+        messagingService.unregisterHandler(responseSubject);
+        timeoutTask.cancel();
+        TransportException closed = new TransportException("Connection closed");
+        inflightRequests.values().forEach(request -> failRequest(request, closed));
         return CompletableFuture.completedFuture(null);
     }
 
@@ -235,17 +534,43 @@ public class CopycatTransportConnection implements Connection {
             this.context = context;
         }
 
+        // Must be called on the handler context.
         @SuppressWarnings("unchecked")
         public CompletableFuture<Object> handle(Object message) {
-            CompletableFuture<Object> answer = new CompletableFuture<>();
-            context.execute(() -> handler.handle(message).whenComplete((r, e) -> {
-                if (e != null) {
-                    answer.completeExceptionally((Throwable) e);
-                } else {
-                    answer.complete(r);
-                }
-            }));
-            return answer;
+            return handler.handle(message);
+        }
+    }
+
+    /**
+     * Request waiting to be written out in a frame or for its response.
+     */
+    private static final class PendingRequest<T> {
+
+        private final long id;
+        private final byte[] payload;
+        private final CompletableFuture<T> future;
+        private final ThreadContext context;
+        private final long timestamp = System.currentTimeMillis();
+
+        private PendingRequest(long id, byte[] payload, CompletableFuture<T> future, ThreadContext context) {
+            this.id = id;
+            this.payload = payload;
+            this.future = future;
+            this.context = context;
+        }
+    }
+
+    /**
+     * Request or response carried in a frame, with the identifier of the request.
+     */
+    static final class FrameEntry {
+
+        final long id;
+        final byte[] payload;
+
+        FrameEntry(long id, byte[] payload) {
+            this.id = id;
+            this.payload = checkNotNull(payload);
         }
     }
 }
@@ -40,6 +40,7 @@ import com.google.common.base.Objects;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
@@ -108,6 +109,31 @@ public class DefaultTransactionalMap<K, V> implements TransactionalMap<K, V>, Tr
         }
     }
 
+    @Override
+    public Map<K, V> getAll(Set<K> keys) {
+        checkState(txContext.isOpen(), TX_CLOSED_ERROR);
+        keys.forEach(key -> checkNotNull(key, ERROR_NULL_KEY));
+        Set<K> unread = keys.stream()
+                .filter(key -> !deleteSet.contains(key)
+                        && !writeCache.containsKey(key)
+                        && !readCache.containsKey(key))
+                .collect(Collectors.toSet());
+        Map<K, Versioned<V>> fetched = unread.isEmpty() ? ImmutableMap.of() : backingConsistentMap.getAll(unread);
+        readCache.putAll(fetched);
+        Map<K, V> values = Maps.newHashMap();
+        keys.stream().filter(key -> !deleteSet.contains(key)).forEach(key -> {
+            V latest = writeCache.get(key);
+            if (latest == null) {
+                Versioned<V> v = readCache.get(key);
+                latest = v != null ? v.value() : null;
+            }
+            if (latest != null) {
+                values.put(key, latest);
+            }
+        });
+        return values;
+    }
+
     @Override
     public boolean containsKey(K key) {
         return get(key) != null;
@@ -135,6 +161,26 @@ public class DefaultTransactionalMap<K, V> implements TransactionalMap<K, V>, Tr
         return latest;
     }
 
+    @Override
+    public void putAll(Map<K, V> entries) {
+        checkState(txContext.isOpen(), TX_CLOSED_ERROR);
+        entries.values().forEach(value -> checkNotNull(value, ERROR_NULL_VALUE));
+
+        // read all prior versions in one round trip before buffering the writes
+        getAll(entries.keySet());
+        writeCache.putAll(entries);
+        deleteSet.removeAll(entries.keySet());
+    }
+
+    @Override
+    public void removeAll(Set<K> keys) {
+        checkState(txContext.isOpen(), TX_CLOSED_ERROR);
+        getAll(keys).keySet().forEach(key -> {
+            writeCache.remove(key);
+            deleteSet.add(key);
+        });
+    }
+
     @Override
     public boolean remove(K key, V value) {
         checkState(txContext.isOpen(), TX_CLOSED_ERROR);
@@ -27,6 +27,7 @@ import org.onosproject.store.primitives.DistributedPrimitiveCreator;
 import org.onosproject.store.service.AsyncAtomicCounter;
 import org.onosproject.store.service.AsyncAtomicValue;
 import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.AsyncConsistentTreeMap;
 import org.onosproject.store.service.AsyncDistributedSet;
 import org.onosproject.store.service.AsyncLeaderElector;
 import org.onosproject.store.service.DistributedQueue;
@@ -67,6 +68,14 @@ public class FederatedDistributedPrimitiveCreator implements DistributedPrimitiv
         return new PartitionedAsyncConsistentMap<>(name, maps, hasher);
     }
 
+    @Override
+    public <V> AsyncConsistentTreeMap<String, V> newAsyncConsistentTreeMap(String name, Serializer serializer) {
+        checkNotNull(name);
+        checkNotNull(serializer);
+        // ordered scans need all keys in one place, so a tree map lives in a single partition
+        return getCreator(name).newAsyncConsistentTreeMap(name, serializer);
+    }
+
     @Override
     public <E> AsyncDistributedSet<E> newAsyncDistributedSet(String name, Serializer serializer) {
         return DistributedPrimitives.newSetFromMap(newAsyncConsistentMap(name, serializer));
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import io.atomix.copycat.Command;
+import io.atomix.copycat.Query;
+import io.atomix.copycat.client.CopycatClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+
+/**
+ * {@code CopycatClient} that times the operations submitted to a partition.
+ * <p>
+ * Commands complete once they are committed to the partition log, so the
+ * command timer tracks the commit latency as observed by this node. When no
+ * metrics service is available, operations are passed through unmetered.
+ */
+public class MeteredCopycatClient extends DelegatingCopycatClient {
+
+    static final String PRIMITIVE_NAME = "partitionClient";
+    static final String COMMAND = "command";
+    static final String QUERY = "query";
+    static final String EXCEPTIONS = "exceptions";
+
+    private final Timer commandTimer;
+    private final Timer queryTimer;
+    private final Counter exceptionCounter;
+
+    /**
+     * Creates a metered client.
+     *
+     * @param client         client to meter
+     * @param partitionName  name of the partition of the client
+     * @param metricsService metrics service; null to disable metering
+     */
+    MeteredCopycatClient(CopycatClient client, String partitionName, MetricsService metricsService) {
+        super(client);
+        if (metricsService == null) {
+            commandTimer = null;
+            queryTimer = null;
+            exceptionCounter = null;
+        } else {
+            MetricsComponent component = metricsService.registerComponent(PRIMITIVE_NAME);
+            MetricsFeature feature = component.registerFeature(partitionName);
+            commandTimer = metricsService.createTimer(component, feature, COMMAND);
+            queryTimer = metricsService.createTimer(component, feature, QUERY);
+            exceptionCounter = metricsService.createCounter(component, feature, EXCEPTIONS);
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Command<T> command) {
+        return metered(commandTimer, () -> super.submit(command));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(Query<T> query) {
+        return metered(queryTimer, () -> super.submit(query));
+    }
+
+    private <T> CompletableFuture<T> metered(Timer timer, Supplier<CompletableFuture<T>> operation) {
+        if (timer == null) {
+            return operation.get();
+        }
+        final Timer.Context context = timer.time();
+        return operation.get().whenComplete((r, e) -> {
+            if (e == null) {
+                context.stop();
+            } else {
+                exceptionCounter.inc();
+            }
+        });
+    }
+}
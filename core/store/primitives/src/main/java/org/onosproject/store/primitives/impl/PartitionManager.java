@@ -16,9 +16,12 @@
 
 package org.onosproject.store.primitives.impl;
 
+import static org.onlab.util.Tools.get;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.Dictionary;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,9 +32,14 @@ import java.util.stream.Collectors;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Deactivate;
+import org.apache.felix.scr.annotations.Modified;
+import org.apache.felix.scr.annotations.Property;
 import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cluster.ClusterMetadata;
 import org.onosproject.cluster.ClusterMetadataDiff;
@@ -51,11 +59,15 @@ import org.onosproject.store.primitives.PartitionEventListener;
 import org.onosproject.store.primitives.PartitionService;
 import org.onosproject.store.service.PartitionClientInfo;
 import org.onosproject.store.service.PartitionInfo;
+import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 
+import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 
+import io.atomix.copycat.server.storage.StorageLevel;
+
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.PARTITION_READ;
 
@@ -69,6 +81,39 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
 
     private final Logger log = getLogger(getClass());
 
+    private static final String METRIC_COMPONENT = "Partition";
+    private static final String LOG_SIZE = "logSize";
+
+    // Storage profile of the partition logs. Partitions are built with the profile
+    // configured on activation; later changes only apply once the component is
+    // restarted. ComponentConfigService itself depends on the storage service and
+    // can therefore not be used here.
+    @Property(name = "storageLevel", value = "DISK",
+            label = "Storage level of partition logs: DISK, MAPPED or MEMORY")
+    private StorageLevel storageLevel = PartitionStorageProfile.DEFAULT_STORAGE_LEVEL;
+
+    @Property(name = "compactionThreads", intValue = PartitionStorageProfile.DEFAULT_COMPACTION_THREADS,
+            label = "Number of log compaction threads per partition")
+    private int compactionThreads = PartitionStorageProfile.DEFAULT_COMPACTION_THREADS;
+
+    @Property(name = "maxEntriesPerSegment", intValue = PartitionStorageProfile.DEFAULT_MAX_ENTRIES_PER_SEGMENT,
+            label = "Maximum number of entries per log segment")
+    private int maxEntriesPerSegment = PartitionStorageProfile.DEFAULT_MAX_ENTRIES_PER_SEGMENT;
+
+    @Property(name = "maxSegmentSize", intValue = PartitionStorageProfile.DEFAULT_MAX_SEGMENT_SIZE,
+            label = "Maximum size of a log segment in bytes")
+    private int maxSegmentSize = PartitionStorageProfile.DEFAULT_MAX_SEGMENT_SIZE;
+
+    @Property(name = "minorCompactionIntervalMs",
+            intValue = PartitionStorageProfile.DEFAULT_MINOR_COMPACTION_INTERVAL_MS,
+            label = "Delay in ms between minor log compactions")
+    private int minorCompactionIntervalMs = PartitionStorageProfile.DEFAULT_MINOR_COMPACTION_INTERVAL_MS;
+
+    @Property(name = "majorCompactionIntervalMs",
+            intValue = PartitionStorageProfile.DEFAULT_MAJOR_COMPACTION_INTERVAL_MS,
+            label = "Delay in ms between major log compactions, which snapshot the partition state")
+    private int majorCompactionIntervalMs = PartitionStorageProfile.DEFAULT_MAJOR_COMPACTION_INTERVAL_MS;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected MessagingService messagingService;
 
@@ -78,12 +123,22 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
     @Reference(cardinality = ReferenceCardinality.MANDATORY_UNARY)
     protected ClusterService clusterService;
 
+    @Reference(cardinality = ReferenceCardinality.OPTIONAL_UNARY)
+    protected MetricsService metricsService;
+
+    private MetricsComponent metricsComponent;
+    private PartitionStorageProfile activeStorageProfile;
+
     private final Map<PartitionId, StoragePartition> partitions = Maps.newConcurrentMap();
     private final AtomicReference<ClusterMetadata> currentClusterMetadata = new AtomicReference<>();
     private final InternalClusterMetadataListener metadataListener = new InternalClusterMetadataListener();
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        readComponentConfiguration(context);
+        activeStorageProfile = storageProfile();
+        log.info("Partition storage profile: {}", activeStorageProfile);
+
         eventDispatcher.addSink(PartitionEvent.class, listenerRegistry);
         currentClusterMetadata.set(metadataService.getClusterMetadata());
         metadataService.addListener(metadataListener);
@@ -94,7 +149,10 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
                                messagingService,
                                clusterService,
                                CatalystSerializers.getSerializer(),
-                               new File(System.getProperty("karaf.data") + "/partitions/" + partition.getId()))));
+                               new File(System.getProperty("karaf.data") + "/partitions/" + partition.getId()),
+                               activeStorageProfile,
+                               metricsService)));
+        registerMetrics();
 
         CompletableFuture<Void> openFuture = CompletableFuture.allOf(partitions.values()
                                                                                .stream()
@@ -106,6 +164,7 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
 
     @Deactivate
     public void deactivate() {
+        unregisterMetrics();
         metadataService.removeListener(metadataListener);
         eventDispatcher.removeSink(PartitionEvent.class);
 
@@ -117,6 +176,109 @@ public class PartitionManager extends AbstractListenerManager<PartitionEvent, Pa
         log.info("Stopped");
     }
 
+    /**
+     * Records a change of the partition storage profile.
+     * <p>
+     * Open partitions keep the profile they were built with, since the Raft
+     * log storage cannot be switched under a running partition server. The new
+     * profile is used when the component is next activated.
+     * </p>
+     *
+     * @param context the component context
+     */
+    @Modified
+    public void modified(ComponentContext context) {
+        readComponentConfiguration(context);
+        PartitionStorageProfile storageProfile = storageProfile();
+        if (!storageProfile.equals(activeStorageProfile)) {
+            log.warn("Partition storage profile changed to {}; partitions keep {} until restarted",
+                     storageProfile, activeStorageProfile);
+        }
+    }
+
+    /**
+     * Extracts the partition storage profile from the component configuration.
+     *
+     * @param context the component context
+     */
+    private void readComponentConfiguration(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+
+        String s = get(properties, "storageLevel");
+        if (s != null) {
+            try {
+                storageLevel = StorageLevel.valueOf(s.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                log.warn("Unknown partition storage level {}; using {}", s, storageLevel);
+            }
+        }
+        compactionThreads = positive(properties, "compactionThreads", compactionThreads);
+        maxEntriesPerSegment = positive(properties, "maxEntriesPerSegment", maxEntriesPerSegment);
+        maxSegmentSize = positive(properties, "maxSegmentSize", maxSegmentSize);
+        minorCompactionIntervalMs = positive(properties, "minorCompactionIntervalMs", minorCompactionIntervalMs);
+        majorCompactionIntervalMs = positive(properties, "majorCompactionIntervalMs", majorCompactionIntervalMs);
+    }
+
+    private int positive(Dictionary<?, ?> properties, String name, int defaultValue) {
+        int value = Tools.getIntegerProperty(properties, name, defaultValue);
+        if (value <= 0) {
+            log.warn("{} must be positive; using {}", name, defaultValue);
+            return defaultValue;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the storage profile of the current component configuration.
+     *
+     * @return storage profile
+     */
+    PartitionStorageProfile storageProfile() {
+        return new PartitionStorageProfile(storageLevel,
+                                           compactionThreads,
+                                           maxEntriesPerSegment,
+                                           maxSegmentSize,
+                                           Duration.ofMillis(minorCompactionIntervalMs),
+                                           Duration.ofMillis(majorCompactionIntervalMs));
+    }
+
+    private void registerMetrics() {
+        if (metricsService == null) {
+            return;
+        }
+        metricsComponent = metricsService.registerComponent(METRIC_COMPONENT);
+        partitions.values().forEach(partition -> {
+            MetricsFeature feature = metricsComponent.registerFeature(partition.getId().toString());
+            metricsService.removeMetric(metricsComponent, feature, LOG_SIZE);
+            metricsService.registerMetric(metricsComponent, feature, LOG_SIZE,
+                                          (Gauge<Long>) () -> folderSize(partition.logFolder()));
+        });
+    }
+
+    private void unregisterMetrics() {
+        if (metricsService == null || metricsComponent == null) {
+            return;
+        }
+        partitions.keySet().forEach(id -> metricsService.removeMetric(metricsComponent,
+                metricsComponent.registerFeature(id.toString()), LOG_SIZE));
+    }
+
+    // Returns the number of bytes held by the log segments of a partition.
+    private static long folderSize(File folder) {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            return 0L;
+        }
+        long size = 0L;
+        for (File file : files) {
+            size += file.isDirectory() ? folderSize(file) : file.length();
+        }
+        return size;
+    }
+
     @Override
     public int getNumberOfPartitions() {
         checkPermission(PARTITION_READ);
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.copycat.server.storage.StorageLevel;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Storage settings of the Raft log kept by a {@link StoragePartitionServer}.
+ */
+public final class PartitionStorageProfile {
+
+    public static final StorageLevel DEFAULT_STORAGE_LEVEL = StorageLevel.DISK;
+    public static final int DEFAULT_COMPACTION_THREADS = 1;
+    public static final int DEFAULT_MAX_ENTRIES_PER_SEGMENT = 32768;
+    public static final int DEFAULT_MAX_SEGMENT_SIZE = 1024 * 1024 * 32;
+    public static final int DEFAULT_MINOR_COMPACTION_INTERVAL_MS = 60 * 1000;
+    public static final int DEFAULT_MAJOR_COMPACTION_INTERVAL_MS = 60 * 60 * 1000;
+
+    /**
+     * Storage profile matching the settings partitions were built with
+     * before they became configurable.
+     */
+    public static final PartitionStorageProfile DEFAULT =
+            new PartitionStorageProfile(DEFAULT_STORAGE_LEVEL,
+                                        DEFAULT_COMPACTION_THREADS,
+                                        DEFAULT_MAX_ENTRIES_PER_SEGMENT,
+                                        DEFAULT_MAX_SEGMENT_SIZE,
+                                        Duration.ofMillis(DEFAULT_MINOR_COMPACTION_INTERVAL_MS),
+                                        Duration.ofMillis(DEFAULT_MAJOR_COMPACTION_INTERVAL_MS));
+
+    private final StorageLevel storageLevel;
+    private final int compactionThreads;
+    private final int maxEntriesPerSegment;
+    private final int maxSegmentSize;
+    private final Duration minorCompactionInterval;
+    private final Duration majorCompactionInterval;
+
+    /**
+     * Creates a partition storage profile.
+     *
+     * @param storageLevel            where log segments are kept; MAPPED keeps
+     *                                them in memory-mapped files
+     * @param compactionThreads       number of log compaction threads
+     * @param maxEntriesPerSegment    maximum number of entries per log segment
+     * @param maxSegmentSize          maximum size of a log segment in bytes
+     * @param minorCompactionInterval interval between minor compactions
+     * @param majorCompactionInterval interval between major compactions, at
+     *                                which state machine snapshots are taken
+     */
+    public PartitionStorageProfile(StorageLevel storageLevel,
+                                   int compactionThreads,
+                                   int maxEntriesPerSegment,
+                                   int maxSegmentSize,
+                                   Duration minorCompactionInterval,
+                                   Duration majorCompactionInterval) {
+        checkArgument(compactionThreads > 0, "Compaction threads must be positive");
+        checkArgument(maxEntriesPerSegment > 0, "Maximum entries per segment must be positive");
+        checkArgument(maxSegmentSize > 0, "Maximum segment size must be positive");
+        this.storageLevel = checkNotNull(storageLevel);
+        this.compactionThreads = compactionThreads;
+        this.maxEntriesPerSegment = maxEntriesPerSegment;
+        this.maxSegmentSize = maxSegmentSize;
+        this.minorCompactionInterval = checkNotNull(minorCompactionInterval);
+        this.majorCompactionInterval = checkNotNull(majorCompactionInterval);
+    }
+
+    /**
+     * Returns the storage level of the log.
+     *
+     * @return storage level
+     */
+    public StorageLevel storageLevel() {
+        return storageLevel;
+    }
+
+    /**
+     * Returns the number of log compaction threads.
+     *
+     * @return number of compaction threads
+     */
+    public int compactionThreads() {
+        return compactionThreads;
+    }
+
+    /**
+     * Returns the maximum number of entries per log segment.
+     *
+     * @return maximum number of entries
+     */
+    public int maxEntriesPerSegment() {
+        return maxEntriesPerSegment;
+    }
+
+    /**
+     * Returns the maximum size of a log segment in bytes.
+     *
+     * @return maximum segment size
+     */
+    public int maxSegmentSize() {
+        return maxSegmentSize;
+    }
+
+    /**
+     * Returns the interval between minor log compactions.
+     *
+     * @return minor compaction interval
+     */
+    public Duration minorCompactionInterval() {
+        return minorCompactionInterval;
+    }
+
+    /**
+     * Returns the interval between major log compactions.
+     *
+     * @return major compaction interval
+     */
+    public Duration majorCompactionInterval() {
+        return majorCompactionInterval;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(storageLevel, compactionThreads, maxEntriesPerSegment,
+                            maxSegmentSize, minorCompactionInterval, majorCompactionInterval);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PartitionStorageProfile)) {
+            return false;
+        }
+        PartitionStorageProfile that = (PartitionStorageProfile) obj;
+        return storageLevel == that.storageLevel
+                && compactionThreads == that.compactionThreads
+                && maxEntriesPerSegment == that.maxEntriesPerSegment
+                && maxSegmentSize == that.maxSegmentSize
+                && minorCompactionInterval.equals(that.minorCompactionInterval)
+                && majorCompactionInterval.equals(that.majorCompactionInterval);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("storageLevel", storageLevel)
+                .add("compactionThreads", compactionThreads)
+                .add("maxEntriesPerSegment", maxEntriesPerSegment)
+                .add("maxSegmentSize", maxSegmentSize)
+                .add("minorCompactionInterval", minorCompactionInterval)
+                .add("majorCompactionInterval", majorCompactionInterval)
+                .toString();
+    }
+}
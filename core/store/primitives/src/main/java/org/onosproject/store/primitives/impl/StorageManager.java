@@ -44,6 +44,7 @@ import org.onosproject.store.service.AtomicCounterBuilder;
 import org.onosproject.store.service.AtomicValueBuilder;
 import org.onosproject.store.service.ConsistentMap;
 import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.ConsistentTreeMapBuilder;
 import org.onosproject.store.service.DistributedQueueBuilder;
 import org.onosproject.store.service.DistributedSetBuilder;
 import org.onosproject.store.service.EventuallyConsistentMapBuilder;
@@ -128,6 +129,12 @@ public class StorageManager implements StorageService, StorageAdminService {
         return new DefaultConsistentMapBuilder<>(federatedPrimitiveCreator);
     }
 
+    @Override
+    public <V> ConsistentTreeMapBuilder<V> consistentTreeMapBuilder() {
+        checkPermission(STORAGE_WRITE);
+        return new DefaultConsistentTreeMapBuilder<>(federatedPrimitiveCreator);
+    }
+
     @Override
     public <E> DistributedSetBuilder<E> setBuilder() {
         checkPermission(STORAGE_WRITE);
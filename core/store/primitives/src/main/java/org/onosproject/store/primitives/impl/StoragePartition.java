@@ -27,6 +27,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -34,6 +35,7 @@ import org.onosproject.cluster.Partition;
 import org.onosproject.cluster.PartitionId;
 import org.onosproject.store.cluster.messaging.MessagingService;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMap;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMap;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElector;
 import org.onosproject.store.service.PartitionInfo;
 
@@ -50,6 +52,8 @@ public class StoragePartition implements Managed<StoragePartition> {
     private final MessagingService messagingService;
     private final ClusterService clusterService;
     private final File logFolder;
+    private final PartitionStorageProfile storageProfile;
+    private final MetricsService metricsService;
     private Partition partition;
     private NodeId localNodeId;
     private StoragePartitionServer server;
@@ -57,19 +61,32 @@ public class StoragePartition implements Managed<StoragePartition> {
 
     public static final Collection<ResourceType> RESOURCE_TYPES = ImmutableSet.of(
                                                                     new ResourceType(AtomixLeaderElector.class),
-                                                                    new ResourceType(AtomixConsistentMap.class));
+                                                                    new ResourceType(AtomixConsistentMap.class),
+                                                                    new ResourceType(AtomixConsistentTreeMap.class));
 
     public StoragePartition(Partition partition,
             MessagingService messagingService,
             ClusterService clusterService,
             Serializer serializer,
-            File logFolder) {
+            File logFolder,
+            PartitionStorageProfile storageProfile,
+            MetricsService metricsService) {
         this.partition = partition;
         this.messagingService = messagingService;
         this.clusterService = clusterService;
         this.localNodeId = clusterService.getLocalNode().id();
         this.serializer = serializer;
         this.logFolder = logFolder;
+        this.storageProfile = storageProfile;
+        this.metricsService = metricsService;
+    }
+
+    /**
+     * Returns the folder holding the Raft log of this partition.
+     * @return log folder
+     */
+    public File logFolder() {
+        return logFolder;
     }
 
     /**
@@ -134,7 +151,8 @@ public class StoragePartition implements Managed<StoragePartition> {
                 () -> new CopycatTransport(CopycatTransport.Mode.SERVER,
                                      partition.getId(),
                                      messagingService),
-                logFolder);
+                logFolder,
+                storageProfile);
         return server.open().thenRun(() -> this.server = server);
     }
 
@@ -153,7 +171,8 @@ public class StoragePartition implements Managed<StoragePartition> {
                 () -> new CopycatTransport(CopycatTransport.Mode.SERVER,
                                      partition.getId(),
                                      messagingService),
-                logFolder);
+                logFolder,
+                storageProfile);
         return server.join(Collections2.transform(otherMembers, this::toAddress)).thenRun(() -> this.server = server);
     }
 
@@ -162,7 +181,8 @@ public class StoragePartition implements Managed<StoragePartition> {
                 serializer,
                 new CopycatTransport(CopycatTransport.Mode.CLIENT,
                                      partition.getId(),
-                                     messagingService));
+                                     messagingService),
+                metricsService);
         return client.open().thenApply(v -> client);
     }
 
@@ -36,15 +36,18 @@ import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.HexString;
 import org.onosproject.store.primitives.DistributedPrimitiveCreator;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMap;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMap;
 import org.onosproject.store.primitives.resources.impl.AtomixCounter;
 import org.onosproject.store.primitives.resources.impl.AtomixLeaderElector;
 import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.service.AsyncAtomicCounter;
 import org.onosproject.store.service.AsyncAtomicValue;
 import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.AsyncConsistentTreeMap;
 import org.onosproject.store.service.AsyncDistributedSet;
 import org.onosproject.store.service.AsyncLeaderElector;
 import org.onosproject.store.service.DistributedPrimitive.Status;
@@ -66,6 +69,7 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
     private final StoragePartition partition;
     private final Transport transport;
     private final io.atomix.catalyst.serializer.Serializer serializer;
+    private final MetricsService metricsService;
     private AtomixClient client;
     private ResourceClient resourceClient;
     private static final String ATOMIC_VALUES_CONSISTENT_MAP_NAME = "onos-atomic-values";
@@ -87,10 +91,12 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
 
     public StoragePartitionClient(StoragePartition partition,
             io.atomix.catalyst.serializer.Serializer serializer,
-            Transport transport) {
+            Transport transport,
+            MetricsService metricsService) {
         this.partition = partition;
         this.serializer = serializer;
         this.transport = transport;
+        this.metricsService = metricsService;
     }
 
     @Override
@@ -141,6 +147,24 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
         return transcodedMap;
     }
 
+    @Override
+    public <V> AsyncConsistentTreeMap<String, V> newAsyncConsistentTreeMap(String name, Serializer serializer) {
+        AtomixConsistentTreeMap atomixTreeMap = client.getResource(name, AtomixConsistentTreeMap.class).join();
+        Consumer<State> statusListener = state -> {
+            atomixTreeMap.statusChangeListeners()
+                         .forEach(listener -> listener.accept(mapper.apply(state)));
+        };
+        resourceClient.client().onStateChange(statusListener);
+        return new TranscodingAsyncConsistentTreeMap<V, byte[]>(atomixTreeMap,
+                value -> value == null ? null : serializer.encode(value),
+                bytes -> serializer.decode(bytes)) {
+            @Override
+            public String name() {
+                return name;
+            }
+        };
+    }
+
     @Override
     public <E> AsyncDistributedSet<E> newAsyncDistributedSet(String name, Serializer serializer) {
         return DistributedPrimitives.newSetFromMap(this.<E, Boolean>newAsyncConsistentMap(name, serializer));
@@ -225,6 +249,8 @@ public class StoragePartitionClient implements DistributedPrimitiveCreator, Mana
                 throw new ResourceManagerException(e);
             }
         }
-        return new ResourceClient(new OnosCopycatClient(copycatClient, 5, 100));
+        return new ResourceClient(new MeteredCopycatClient(new OnosCopycatClient(copycatClient, 5, 100),
+                                                           partition.getId().toString(),
+                                                           metricsService));
     }
 }
@@ -21,7 +21,6 @@ import io.atomix.catalyst.transport.Address;
 import io.atomix.catalyst.transport.Transport;
 import io.atomix.copycat.server.CopycatServer;
 import io.atomix.copycat.server.storage.Storage;
-import io.atomix.copycat.server.storage.StorageLevel;
 import io.atomix.manager.internal.ResourceManagerState;
 import io.atomix.manager.util.ResourceManagerTypeResolver;
 
@@ -40,24 +39,26 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
 
     private final Logger log = getLogger(getClass());
 
-    private static final int MAX_ENTRIES_PER_LOG_SEGMENT = 32768;
     private final StoragePartition partition;
     private final Address localAddress;
     private final Supplier<Transport> transport;
     private final Serializer serializer;
     private final File dataFolder;
+    private final PartitionStorageProfile storageProfile;
     private CopycatServer server;
 
     public StoragePartitionServer(Address localAddress,
             StoragePartition partition,
             Serializer serializer,
             Supplier<Transport> transport,
-            File dataFolder) {
+            File dataFolder,
+            PartitionStorageProfile storageProfile) {
         this.partition = partition;
         this.localAddress = localAddress;
         this.serializer = serializer;
         this.transport = transport;
         this.dataFolder = dataFolder;
+        this.storageProfile = storageProfile;
     }
 
     @Override
@@ -103,10 +104,13 @@ public class StoragePartitionServer implements Managed<StoragePartitionServer> {
                 .withTransport(transport.get())
                 .withStateMachine(ResourceManagerState::new)
                 .withStorage(Storage.builder()
-                        .withStorageLevel(StorageLevel.DISK)
-                        .withCompactionThreads(1)
+                        .withStorageLevel(storageProfile.storageLevel())
+                        .withCompactionThreads(storageProfile.compactionThreads())
                         .withDirectory(dataFolder)
-                        .withMaxEntriesPerSegment(MAX_ENTRIES_PER_LOG_SEGMENT)
+                        .withMaxEntriesPerSegment(storageProfile.maxEntriesPerSegment())
+                        .withMaxSegmentSize(storageProfile.maxSegmentSize())
+                        .withMinorCompactionInterval(storageProfile.minorCompactionInterval())
+                        .withMajorCompactionInterval(storageProfile.majorCompactionInterval())
                         .build())
                 .build();
         server.serializer().resolve(new ResourceManagerTypeResolver());
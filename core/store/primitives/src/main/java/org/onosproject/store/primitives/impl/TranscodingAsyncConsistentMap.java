@@ -108,6 +108,19 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
         }
     }
 
+    @Override
+    public CompletableFuture<Map<K1, Versioned<V1>>> getAll(Set<K1> keys) {
+        try {
+            return backingMap.getAll(keys.stream().map(keyEncoder).collect(Collectors.toSet()))
+                             .thenApply(m -> m.entrySet()
+                                              .stream()
+                                              .collect(Collectors.toMap(e -> keyDecoder.apply(e.getKey()),
+                                                      e -> versionedValueTransform.apply(e.getValue()))));
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
     @Override
     public CompletableFuture<Versioned<V1>> computeIf(K1 key,
             Predicate<? super V1> condition,
@@ -152,6 +165,26 @@ public class TranscodingAsyncConsistentMap<K1, V1, K2, V2> implements AsyncConsi
         }
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<K1, V1> entries) {
+        try {
+            Map<K2, V2> encodedEntries = Maps.newHashMapWithExpectedSize(entries.size());
+            entries.forEach((k, v) -> encodedEntries.put(keyEncoder.apply(k), valueEncoder.apply(v)));
+            return backingMap.putAll(encodedEntries);
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAll(Set<K1> keys) {
+        try {
+            return backingMap.removeAll(keys.stream().map(keyEncoder).collect(Collectors.toSet()));
+        } catch (Exception e) {
+            return Tools.exceptionalFuture(e);
+        }
+    }
+
     @Override
     public CompletableFuture<Void> clear() {
         return backingMap.clear();
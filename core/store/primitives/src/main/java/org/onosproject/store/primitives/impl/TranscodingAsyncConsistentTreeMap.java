@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import org.onosproject.store.service.AsyncConsistentTreeMap;
+import org.onosproject.store.service.Versioned;
+
+import com.google.common.collect.Maps;
+
+/**
+ * An {@code AsyncConsistentTreeMap} that maps its operations to operations on a
+ * differently typed {@code AsyncConsistentTreeMap} by transcoding operation inputs and outputs.
+ * <p>
+ * Only values are transcoded; keys are passed through unchanged so that the
+ * ordering of the backing map is preserved.
+ *
+ * @param <V2> value type of other map
+ * @param <V1> value type of this map
+ */
+public class TranscodingAsyncConsistentTreeMap<V1, V2>
+        extends TranscodingAsyncConsistentMap<String, V1, String, V2>
+        implements AsyncConsistentTreeMap<String, V1> {
+
+    private final AsyncConsistentTreeMap<String, V2> backingMap;
+    private final Function<Versioned<V2>, Versioned<V1>> versionedValueTransform;
+
+    public TranscodingAsyncConsistentTreeMap(AsyncConsistentTreeMap<String, V2> backingMap,
+                                             Function<V1, V2> valueEncoder,
+                                             Function<V2, V1> valueDecoder) {
+        super(backingMap, Function.identity(), Function.identity(), valueEncoder, valueDecoder);
+        this.backingMap = backingMap;
+        this.versionedValueTransform = v -> v == null ? null : v.map(valueDecoder);
+    }
+
+    @Override
+    public CompletableFuture<String> firstKey() {
+        return backingMap.firstKey();
+    }
+
+    @Override
+    public CompletableFuture<String> lastKey() {
+        return backingMap.lastKey();
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> ceilingEntry(String key) {
+        return backingMap.ceilingEntry(key).thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> floorEntry(String key) {
+        return backingMap.floorEntry(key).thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> higherEntry(String key) {
+        return backingMap.higherEntry(key).thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> lowerEntry(String key) {
+        return backingMap.lowerEntry(key).thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> firstEntry() {
+        return backingMap.firstEntry().thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> lastEntry() {
+        return backingMap.lastEntry().thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> pollFirstEntry() {
+        return backingMap.pollFirstEntry().thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<V1>>> pollLastEntry() {
+        return backingMap.pollLastEntry().thenApply(this::transcode);
+    }
+
+    @Override
+    public CompletableFuture<String> lowerKey(String key) {
+        return backingMap.lowerKey(key);
+    }
+
+    @Override
+    public CompletableFuture<String> floorKey(String key) {
+        return backingMap.floorKey(key);
+    }
+
+    @Override
+    public CompletableFuture<String> ceilingKey(String key) {
+        return backingMap.ceilingKey(key);
+    }
+
+    @Override
+    public CompletableFuture<String> higherKey(String key) {
+        return backingMap.higherKey(key);
+    }
+
+    @Override
+    public CompletableFuture<NavigableSet<String>> navigableKeySet() {
+        return backingMap.navigableKeySet();
+    }
+
+    @Override
+    public CompletableFuture<NavigableMap<String, Versioned<V1>>> subMap(String fromKey,
+                                                                         boolean fromInclusive,
+                                                                         String toKey,
+                                                                         boolean toInclusive) {
+        return backingMap.subMap(fromKey, fromInclusive, toKey, toInclusive)
+                         .thenApply(m -> {
+                             NavigableMap<String, Versioned<V1>> result = new TreeMap<>();
+                             m.forEach((k, v) -> result.put(k, versionedValueTransform.apply(v)));
+                             return result;
+                         });
+    }
+
+    private Map.Entry<String, Versioned<V1>> transcode(Map.Entry<String, Versioned<V2>> entry) {
+        return entry == null ? null : Maps.immutableEntry(entry.getKey(),
+                                                          versionedValueTransform.apply(entry.getValue()));
+    }
+}
@@ -41,9 +41,12 @@ import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapComman
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.ContainsValue;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.EntrySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Get;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.GetAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.IsEmpty;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.KeySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Listen;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.PutAll;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.RemoveAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Size;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionCommit;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionPrepare;
@@ -58,6 +61,7 @@ import org.onosproject.store.service.MapEventListener;
 import org.onosproject.store.service.MapTransaction;
 import org.onosproject.store.service.Versioned;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 
@@ -125,6 +129,14 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
         return client.submit(new Get(key));
     }
 
+    @Override
+    public CompletableFuture<Map<String, Versioned<byte[]>>> getAll(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(ImmutableMap.of());
+        }
+        return client.submit(new GetAll(keys));
+    }
+
     @Override
     public CompletableFuture<Set<String>> keySet() {
         return client.submit(new KeySet());
@@ -211,6 +223,26 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
                 .thenApply(v -> v.updated());
     }
 
+    @Override
+    public CompletableFuture<Void> putAll(Map<String, byte[]> entries) {
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.submit(new PutAll(entries))
+                .whenComplete((r, e) -> throwIfLocked(r))
+                .thenApply(v -> null);
+    }
+
+    @Override
+    public CompletableFuture<Void> removeAll(Set<String> keys) {
+        if (keys.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return client.submit(new RemoveAll(keys))
+                .whenComplete((r, e) -> throwIfLocked(r))
+                .thenApply(v -> null);
+    }
+
     @Override
     public CompletableFuture<Void> clear() {
         return client.submit(new Clear())
@@ -272,7 +304,7 @@ public class AtomixConsistentMap extends AbstractResource<AtomixConsistentMap>
         return CompletableFuture.completedFuture(null);
     }
 
-    private void throwIfLocked(MapEntryUpdateResult.Status status) {
+    protected void throwIfLocked(MapEntryUpdateResult.Status status) {
         if (status == MapEntryUpdateResult.Status.WRITE_LOCK) {
             throw new ConcurrentModificationException("Cannot update map: Another transaction in progress");
         }
@@ -47,9 +47,12 @@ import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapComman
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.ContainsValue;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.EntrySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Get;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.GetAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.IsEmpty;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.KeySet;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Listen;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.PutAll;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.RemoveAll;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.Size;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionCommit;
 import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.TransactionPrepare;
@@ -77,13 +80,24 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
 
     private final Logger log = getLogger(getClass());
     private final Map<Long, Commit<? extends AtomixConsistentMapCommands.Listen>> listeners = new HashMap<>();
-    private final Map<String, MapEntryValue> mapEntries = new HashMap<>();
+    private final Map<String, MapEntryValue> mapEntries;
     private final Set<String> preparedKeys = Sets.newHashSet();
     private final Map<TransactionId, Commit<? extends TransactionPrepare>> pendingTransactions = Maps.newHashMap();
     private AtomicLong versionCounter = new AtomicLong(0);
 
     public AtomixConsistentMapState(Properties properties) {
+        this(properties, new HashMap<>());
+    }
+
+    /**
+     * Creates a state machine that keeps its entries in the specified map.
+     *
+     * @param properties resource properties
+     * @param mapEntries initially empty map for holding the entries
+     */
+    protected AtomixConsistentMapState(Properties properties, Map<String, MapEntryValue> mapEntries) {
         super(properties);
+        this.mapEntries = mapEntries;
     }
 
     @Override
@@ -106,12 +120,15 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
         executor.register(ContainsValue.class, this::containsValue);
         executor.register(EntrySet.class, this::entrySet);
         executor.register(Get.class, this::get);
+        executor.register(GetAll.class, this::getAll);
         executor.register(IsEmpty.class, this::isEmpty);
         executor.register(KeySet.class, this::keySet);
         executor.register(Size.class, this::size);
         executor.register(Values.class, this::values);
         // Commands
         executor.register(UpdateAndGet.class, this::updateAndGet);
+        executor.register(PutAll.class, this::putAll);
+        executor.register(RemoveAll.class, this::removeAll);
         executor.register(AtomixConsistentMapCommands.Clear.class, this::clear);
         executor.register(TransactionPrepare.class, this::prepare);
         executor.register(TransactionCommit.class, this::commit);
@@ -176,6 +193,27 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
         }
     }
 
+    /**
+     * Handles a get all commit.
+     *
+     * @param commit getAll commit
+     * @return values mapped to those keys that are present in the map
+     */
+    protected Map<String, Versioned<byte[]>> getAll(Commit<? extends GetAll> commit) {
+        try {
+            Map<String, Versioned<byte[]>> result = new HashMap<>();
+            commit.operation().keys().forEach(key -> {
+                Versioned<byte[]> value = toVersioned(mapEntries.get(key));
+                if (value != null) {
+                    result.put(key, value);
+                }
+            });
+            return result;
+        } finally {
+            commit.close();
+        }
+    }
+
     /**
      * Handles a count commit.
      *
@@ -296,6 +334,82 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
         }
     }
 
+    /**
+     * Handles a put all commit.
+     * <p>
+     * The whole batch is applied as a single state machine operation; if any
+     * of the keys is locked by a pending transaction none of them are updated.
+     *
+     * @param commit putAll commit
+     * @return update status
+     */
+    protected MapEntryUpdateResult.Status putAll(Commit<? extends PutAll> commit) {
+        boolean retained = false;
+        try {
+            Map<String, byte[]> entries = commit.operation().entries();
+            if (entries.keySet().stream().anyMatch(preparedKeys::contains)) {
+                return MapEntryUpdateResult.Status.WRITE_LOCK;
+            }
+            if (entries.isEmpty()) {
+                return MapEntryUpdateResult.Status.NOOP;
+            }
+            CountDownCompleter<Commit<? extends PutAll>> completer =
+                    new CountDownCompleter<>(commit, entries.size(), Commit::close);
+            retained = true;
+            List<MapEvent<String, byte[]>> eventsToPublish = Lists.newArrayListWithCapacity(entries.size());
+            entries.keySet().forEach(key -> {
+                MapEntryValue newValue = new BatchCommit(key, versionCounter.incrementAndGet(), completer);
+                MapEntryValue previousValue = mapEntries.put(key, newValue);
+                eventsToPublish.add(new MapEvent<>("", key, toVersioned(newValue), toVersioned(previousValue)));
+                if (previousValue != null) {
+                    previousValue.discard();
+                }
+            });
+            publish(eventsToPublish);
+            return MapEntryUpdateResult.Status.OK;
+        } catch (Exception e) {
+            log.error("State machine operation failed", e);
+            throw Throwables.propagate(e);
+        } finally {
+            if (!retained) {
+                commit.close();
+            }
+        }
+    }
+
+    /**
+     * Handles a remove all commit.
+     * <p>
+     * The whole batch is applied as a single state machine operation; if any
+     * of the keys is locked by a pending transaction none of them are removed.
+     *
+     * @param commit removeAll commit
+     * @return update status
+     */
+    protected MapEntryUpdateResult.Status removeAll(Commit<? extends RemoveAll> commit) {
+        try {
+            Set<String> keys = commit.operation().keys();
+            if (keys.stream().anyMatch(preparedKeys::contains)) {
+                return MapEntryUpdateResult.Status.WRITE_LOCK;
+            }
+            List<MapEvent<String, byte[]>> eventsToPublish = Lists.newArrayList();
+            keys.forEach(key -> {
+                MapEntryValue previousValue = mapEntries.remove(key);
+                if (previousValue != null) {
+                    eventsToPublish.add(new MapEvent<>("", key, null, toVersioned(previousValue)));
+                    previousValue.discard();
+                }
+            });
+            if (eventsToPublish.isEmpty()) {
+                return MapEntryUpdateResult.Status.NOOP;
+            }
+            publish(eventsToPublish);
+            return MapEntryUpdateResult.Status.OK;
+        } finally {
+            commit.close();
+        }
+    }
+
     /**
      * Handles a clear commit.
      *
@@ -520,12 +634,35 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
                 : MapEntryUpdateResult.Status.PRECONDITION_FAILED;
     }
 
+    /**
+     * Removes the entry for the specified key unless the key is locked by a
+     * pending transaction.
+     *
+     * @param key key to remove
+     * @return update result; carries the removed value as the old value
+     */
+    protected MapEntryUpdateResult<String, byte[]> removeEntry(String key) {
+        MapEntryValue existingValue = mapEntries.get(key);
+        Versioned<byte[]> oldMapValue = toVersioned(existingValue);
+        if (existingValue == null) {
+            return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.NOOP, "", key, null, null);
+        }
+        if (preparedKeys.contains(key)) {
+            return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.WRITE_LOCK, "", key,
+                    oldMapValue, oldMapValue);
+        }
+        mapEntries.remove(key);
+        existingValue.discard();
+        publish(Lists.newArrayList(new MapEvent<>("", key, null, oldMapValue)));
+        return new MapEntryUpdateResult<>(MapEntryUpdateResult.Status.OK, "", key, oldMapValue, null);
+    }
+
     /**
      * Utility for turning a {@code MapEntryValue} to {@code Versioned}.
      * @param value map entry value
      * @return versioned instance
      */
-    private Versioned<byte[]> toVersioned(MapEntryValue value) {
+    protected Versioned<byte[]> toVersioned(MapEntryValue value) {
         return value == null ? null : new Versioned<>(value.value(), value.version());
     }
 
@@ -567,7 +704,7 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
     /**
      * Interface implemented by map values.
      */
-    private interface MapEntryValue {
+    protected interface MapEntryValue {
         /**
          * Returns the raw {@code byte[]}.
          *
@@ -660,4 +797,37 @@ public class AtomixConsistentMapState extends ResourceStateMachine implements Se
             return update == null ? null : update.value();
         }
     }
+
+    /**
+     * A {@code MapEntryValue} that is derived from a batch update i.e.
+     * via a put all operation.
+     */
+    private class BatchCommit implements MapEntryValue {
+        private final String key;
+        private final long version;
+        private final CountDownCompleter<Commit<? extends PutAll>> completer;
+
+        public BatchCommit(String key,
+                           long version,
+                           CountDownCompleter<Commit<? extends PutAll>> completer) {
+            this.key = key;
+            this.version = version;
+            this.completer = completer;
+        }
+
+        @Override
+        public byte[] value() {
+            return completer.object().operation().entries().get(key);
+        }
+
+        @Override
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public void discard() {
+            completer.countDown();
+        }
+    }
 }
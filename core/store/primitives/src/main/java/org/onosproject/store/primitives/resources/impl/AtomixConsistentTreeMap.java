@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.resources.impl;
+
+import io.atomix.copycat.client.CopycatClient;
+import io.atomix.resource.ResourceTypeInfo;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.CeilingEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.CeilingKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FirstEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FirstKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FloorEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FloorKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.HigherEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.HigherKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LastEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LastKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LowerEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LowerKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.PollFirstEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.PollLastEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.SubMap;
+import org.onosproject.store.service.AsyncConsistentTreeMap;
+import org.onosproject.store.service.Versioned;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Distributed resource providing the {@link AsyncConsistentTreeMap} primitive.
+ * <p>
+ * Keys are ordered by their natural {@code String} ordering on the state machine,
+ * so navigation and range queries are evaluated server side.
+ */
+@ResourceTypeInfo(id = -154, factory = AtomixConsistentTreeMapFactory.class)
+public class AtomixConsistentTreeMap extends AtomixConsistentMap
+    implements AsyncConsistentTreeMap<String, byte[]> {
+
+    public AtomixConsistentTreeMap(CopycatClient client, Properties properties) {
+        super(client, properties);
+    }
+
+    @Override
+    public CompletableFuture<String> firstKey() {
+        return client.submit(new FirstKey());
+    }
+
+    @Override
+    public CompletableFuture<String> lastKey() {
+        return client.submit(new LastKey());
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> ceilingEntry(String key) {
+        return client.submit(new CeilingEntry(key));
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> floorEntry(String key) {
+        return client.submit(new FloorEntry(key));
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> higherEntry(String key) {
+        return client.submit(new HigherEntry(key));
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lowerEntry(String key) {
+        return client.submit(new LowerEntry(key));
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> firstEntry() {
+        return client.submit(new FirstEntry());
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> lastEntry() {
+        return client.submit(new LastEntry());
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> pollFirstEntry() {
+        return client.submit(new PollFirstEntry())
+                .whenComplete((r, e) -> throwIfLocked(r == null ? null : r.status()))
+                .thenApply(this::removedEntry);
+    }
+
+    @Override
+    public CompletableFuture<Map.Entry<String, Versioned<byte[]>>> pollLastEntry() {
+        return client.submit(new PollLastEntry())
+                .whenComplete((r, e) -> throwIfLocked(r == null ? null : r.status()))
+                .thenApply(this::removedEntry);
+    }
+
+    @Override
+    public CompletableFuture<String> lowerKey(String key) {
+        return client.submit(new LowerKey(key));
+    }
+
+    @Override
+    public CompletableFuture<String> floorKey(String key) {
+        return client.submit(new FloorKey(key));
+    }
+
+    @Override
+    public CompletableFuture<String> ceilingKey(String key) {
+        return client.submit(new CeilingKey(key));
+    }
+
+    @Override
+    public CompletableFuture<String> higherKey(String key) {
+        return client.submit(new HigherKey(key));
+    }
+
+    @Override
+    public CompletableFuture<NavigableSet<String>> navigableKeySet() {
+        return keySet().thenApply(keys -> new TreeSet<>(keys));
+    }
+
+    @Override
+    public CompletableFuture<NavigableMap<String, Versioned<byte[]>>> subMap(String fromKey,
+                                                                             boolean fromInclusive,
+                                                                             String toKey,
+                                                                             boolean toInclusive) {
+        return client.submit(new SubMap(fromKey, fromInclusive, toKey, toInclusive))
+                .thenApply(entries -> {
+                    NavigableMap<String, Versioned<byte[]>> result = new TreeMap<>();
+                    entries.forEach(e -> result.put(e.getKey(), e.getValue()));
+                    return result;
+                });
+    }
+
+    private Map.Entry<String, Versioned<byte[]>> removedEntry(MapEntryUpdateResult<String, byte[]> result) {
+        return result == null || result.status() != MapEntryUpdateResult.Status.OK ? null
+                : Maps.immutableEntry(result.key(), result.oldValue());
+    }
+}
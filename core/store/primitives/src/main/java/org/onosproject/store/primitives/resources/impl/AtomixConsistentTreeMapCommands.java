@@ -0,0 +1,307 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.resources.impl;
+
+import io.atomix.catalyst.buffer.BufferInput;
+import io.atomix.catalyst.buffer.BufferOutput;
+import io.atomix.catalyst.serializer.SerializableTypeResolver;
+import io.atomix.catalyst.serializer.Serializer;
+import io.atomix.catalyst.serializer.SerializerRegistry;
+import io.atomix.catalyst.util.Assert;
+
+import java.util.List;
+import java.util.Map;
+
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.KeyQuery;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.MapCommand;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentMapCommands.MapQuery;
+import org.onosproject.store.service.Versioned;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * {@link AtomixConsistentTreeMap} resource state machine operations.
+ * <p>
+ * These are in addition to the {@link AtomixConsistentMapCommands map operations}
+ * which the tree map also supports.
+ */
+public final class AtomixConsistentTreeMapCommands {
+
+    private AtomixConsistentTreeMapCommands() {
+    }
+
+    /**
+     * First key query.
+     */
+    @SuppressWarnings("serial")
+    public static class FirstKey extends MapQuery<String> {
+    }
+
+    /**
+     * Last key query.
+     */
+    @SuppressWarnings("serial")
+    public static class LastKey extends MapQuery<String> {
+    }
+
+    /**
+     * First entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class FirstEntry extends MapQuery<Map.Entry<String, Versioned<byte[]>>> {
+    }
+
+    /**
+     * Last entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class LastEntry extends MapQuery<Map.Entry<String, Versioned<byte[]>>> {
+    }
+
+    /**
+     * Ceiling key query.
+     */
+    @SuppressWarnings("serial")
+    public static class CeilingKey extends KeyQuery<String> {
+        public CeilingKey() {
+        }
+
+        public CeilingKey(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Floor key query.
+     */
+    @SuppressWarnings("serial")
+    public static class FloorKey extends KeyQuery<String> {
+        public FloorKey() {
+        }
+
+        public FloorKey(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Higher key query.
+     */
+    @SuppressWarnings("serial")
+    public static class HigherKey extends KeyQuery<String> {
+        public HigherKey() {
+        }
+
+        public HigherKey(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Lower key query.
+     */
+    @SuppressWarnings("serial")
+    public static class LowerKey extends KeyQuery<String> {
+        public LowerKey() {
+        }
+
+        public LowerKey(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Ceiling entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class CeilingEntry extends KeyQuery<Map.Entry<String, Versioned<byte[]>>> {
+        public CeilingEntry() {
+        }
+
+        public CeilingEntry(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Floor entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class FloorEntry extends KeyQuery<Map.Entry<String, Versioned<byte[]>>> {
+        public FloorEntry() {
+        }
+
+        public FloorEntry(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Higher entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class HigherEntry extends KeyQuery<Map.Entry<String, Versioned<byte[]>>> {
+        public HigherEntry() {
+        }
+
+        public HigherEntry(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Lower entry query.
+     */
+    @SuppressWarnings("serial")
+    public static class LowerEntry extends KeyQuery<Map.Entry<String, Versioned<byte[]>>> {
+        public LowerEntry() {
+        }
+
+        public LowerEntry(String key) {
+            super(key);
+        }
+    }
+
+    /**
+     * Sub map query.
+     */
+    @SuppressWarnings("serial")
+    public static class SubMap extends MapQuery<List<Map.Entry<String, Versioned<byte[]>>>> {
+        private String fromKey;
+        private boolean fromInclusive;
+        private String toKey;
+        private boolean toInclusive;
+
+        public SubMap() {
+        }
+
+        public SubMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+            this.fromKey = Assert.notNull(fromKey, "fromKey");
+            this.fromInclusive = fromInclusive;
+            this.toKey = Assert.notNull(toKey, "toKey");
+            this.toInclusive = toInclusive;
+        }
+
+        /**
+         * Returns the low endpoint of the range.
+         * @return from key
+         */
+        public String fromKey() {
+            return fromKey;
+        }
+
+        /**
+         * Returns whether the low endpoint is part of the range.
+         * @return {@code true} if the from key is inclusive
+         */
+        public boolean fromInclusive() {
+            return fromInclusive;
+        }
+
+        /**
+         * Returns the high endpoint of the range.
+         * @return to key
+         */
+        public String toKey() {
+            return toKey;
+        }
+
+        /**
+         * Returns whether the high endpoint is part of the range.
+         * @return {@code true} if the to key is inclusive
+         */
+        public boolean toInclusive() {
+            return toInclusive;
+        }
+
+        @Override
+        public void writeObject(BufferOutput<?> buffer, Serializer serializer) {
+            super.writeObject(buffer, serializer);
+            serializer.writeObject(fromKey, buffer);
+            buffer.writeBoolean(fromInclusive);
+            serializer.writeObject(toKey, buffer);
+            buffer.writeBoolean(toInclusive);
+        }
+
+        @Override
+        public void readObject(BufferInput<?> buffer, Serializer serializer) {
+            super.readObject(buffer, serializer);
+            fromKey = serializer.readObject(buffer);
+            fromInclusive = buffer.readBoolean();
+            toKey = serializer.readObject(buffer);
+            toInclusive = buffer.readBoolean();
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(getClass())
+                    .add("fromKey", fromKey)
+                    .add("fromInclusive", fromInclusive)
+                    .add("toKey", toKey)
+                    .add("toInclusive", toInclusive)
+                    .toString();
+        }
+    }
+
+    /**
+     * Poll first entry command.
+     */
+    @SuppressWarnings("serial")
+    public static class PollFirstEntry extends MapCommand<MapEntryUpdateResult<String, byte[]>> {
+
+        @Override
+        public CompactionMode compaction() {
+          return CompactionMode.FULL;
+        }
+    }
+
+    /**
+     * Poll last entry command.
+     */
+    @SuppressWarnings("serial")
+    public static class PollLastEntry extends MapCommand<MapEntryUpdateResult<String, byte[]>> {
+
+        @Override
+        public CompactionMode compaction() {
+          return CompactionMode.FULL;
+        }
+    }
+
+    /**
+     * Tree map command type resolver.
+     */
+    public static class TypeResolver implements SerializableTypeResolver {
+        @Override
+        public void resolve(SerializerRegistry registry) {
+            new AtomixConsistentMapCommands.TypeResolver().resolve(registry);
+            registry.register(FirstKey.class, -780);
+            registry.register(LastKey.class, -781);
+            registry.register(FirstEntry.class, -782);
+            registry.register(LastEntry.class, -783);
+            registry.register(CeilingKey.class, -784);
+            registry.register(FloorKey.class, -785);
+            registry.register(HigherKey.class, -786);
+            registry.register(LowerKey.class, -787);
+            registry.register(CeilingEntry.class, -788);
+            registry.register(FloorEntry.class, -789);
+            registry.register(HigherEntry.class, -790);
+            registry.register(LowerEntry.class, -791);
+            registry.register(SubMap.class, -792);
+            registry.register(PollFirstEntry.class, -793);
+            registry.register(PollLastEntry.class, -794);
+        }
+    }
+}
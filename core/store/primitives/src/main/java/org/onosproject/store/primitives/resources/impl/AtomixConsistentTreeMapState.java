@@ -0,0 +1,311 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.resources.impl;
+
+import io.atomix.copycat.server.Commit;
+import io.atomix.copycat.server.StateMachineExecutor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.CeilingEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.CeilingKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FirstEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FirstKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FloorEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.FloorKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.HigherEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.HigherKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LastEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LastKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LowerEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.LowerKey;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.PollFirstEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.PollLastEntry;
+import org.onosproject.store.primitives.resources.impl.AtomixConsistentTreeMapCommands.SubMap;
+import org.onosproject.store.service.Versioned;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * State Machine for {@link AtomixConsistentTreeMap} resource.
+ * <p>
+ * Entries are kept sorted by key, so navigation and range queries are answered
+ * directly from the tree. All other map operations, including transactions and
+ * snapshotting, are inherited from {@link AtomixConsistentMapState}.
+ */
+public class AtomixConsistentTreeMapState extends AtomixConsistentMapState {
+
+    private final NavigableMap<String, MapEntryValue> tree;
+
+    public AtomixConsistentTreeMapState(Properties properties) {
+        this(properties, new TreeMap<>());
+    }
+
+    private AtomixConsistentTreeMapState(Properties properties, NavigableMap<String, MapEntryValue> tree) {
+        super(properties, tree);
+        this.tree = tree;
+    }
+
+    @Override
+    protected void configure(StateMachineExecutor executor) {
+        super.configure(executor);
+        // Queries
+        executor.register(FirstKey.class, this::firstKey);
+        executor.register(LastKey.class, this::lastKey);
+        executor.register(FirstEntry.class, this::firstEntry);
+        executor.register(LastEntry.class, this::lastEntry);
+        executor.register(CeilingKey.class, this::ceilingKey);
+        executor.register(FloorKey.class, this::floorKey);
+        executor.register(HigherKey.class, this::higherKey);
+        executor.register(LowerKey.class, this::lowerKey);
+        executor.register(CeilingEntry.class, this::ceilingEntry);
+        executor.register(FloorEntry.class, this::floorEntry);
+        executor.register(HigherEntry.class, this::higherEntry);
+        executor.register(LowerEntry.class, this::lowerEntry);
+        executor.register(SubMap.class, this::subMap);
+        // Commands
+        executor.register(PollFirstEntry.class, this::pollFirstEntry);
+        executor.register(PollLastEntry.class, this::pollLastEntry);
+    }
+
+    /**
+     * Handles a first key commit.
+     *
+     * @param commit firstKey commit
+     * @return lowest key or null if the map is empty
+     */
+    protected String firstKey(Commit<? extends FirstKey> commit) {
+        try {
+            return tree.isEmpty() ? null : tree.firstKey();
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a last key commit.
+     *
+     * @param commit lastKey commit
+     * @return highest key or null if the map is empty
+     */
+    protected String lastKey(Commit<? extends LastKey> commit) {
+        try {
+            return tree.isEmpty() ? null : tree.lastKey();
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a first entry commit.
+     *
+     * @param commit firstEntry commit
+     * @return entry with the lowest key or null if the map is empty
+     */
+    protected Map.Entry<String, Versioned<byte[]>> firstEntry(Commit<? extends FirstEntry> commit) {
+        try {
+            return toVersionedEntry(tree.firstEntry());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a last entry commit.
+     *
+     * @param commit lastEntry commit
+     * @return entry with the highest key or null if the map is empty
+     */
+    protected Map.Entry<String, Versioned<byte[]>> lastEntry(Commit<? extends LastEntry> commit) {
+        try {
+            return toVersionedEntry(tree.lastEntry());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a ceiling key commit.
+     *
+     * @param commit ceilingKey commit
+     * @return least key greater than or equal to the given key, or null
+     */
+    protected String ceilingKey(Commit<? extends CeilingKey> commit) {
+        try {
+            return tree.ceilingKey(commit.operation().key());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a floor key commit.
+     *
+     * @param commit floorKey commit
+     * @return greatest key less than or equal to the given key, or null
+     */
+    protected String floorKey(Commit<? extends FloorKey> commit) {
+        try {
+            return tree.floorKey(commit.operation().key());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a higher key commit.
+     *
+     * @param commit higherKey commit
+     * @return least key strictly greater than the given key, or null
+     */
+    protected String higherKey(Commit<? extends HigherKey> commit) {
+        try {
+            return tree.higherKey(commit.operation().key());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a lower key commit.
+     *
+     * @param commit lowerKey commit
+     * @return greatest key strictly less than the given key, or null
+     */
+    protected String lowerKey(Commit<? extends LowerKey> commit) {
+        try {
+            return tree.lowerKey(commit.operation().key());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a ceiling entry commit.
+     *
+     * @param commit ceilingEntry commit
+     * @return entry with the least key greater than or equal to the given key, or null
+     */
+    protected Map.Entry<String, Versioned<byte[]>> ceilingEntry(Commit<? extends CeilingEntry> commit) {
+        try {
+            return toVersionedEntry(tree.ceilingEntry(commit.operation().key()));
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a floor entry commit.
+     *
+     * @param commit floorEntry commit
+     * @return entry with the greatest key less than or equal to the given key, or null
+     */
+    protected Map.Entry<String, Versioned<byte[]>> floorEntry(Commit<? extends FloorEntry> commit) {
+        try {
+            return toVersionedEntry(tree.floorEntry(commit.operation().key()));
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a higher entry commit.
+     *
+     * @param commit higherEntry commit
+     * @return entry with the least key strictly greater than the given key, or null
+     */
+    protected Map.Entry<String, Versioned<byte[]>> higherEntry(Commit<? extends HigherEntry> commit) {
+        try {
+            return toVersionedEntry(tree.higherEntry(commit.operation().key()));
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a lower entry commit.
+     *
+     * @param commit lowerEntry commit
+     * @return entry with the greatest key strictly less than the given key, or null
+     */
+    protected Map.Entry<String, Versioned<byte[]>> lowerEntry(Commit<? extends LowerEntry> commit) {
+        try {
+            return toVersionedEntry(tree.lowerEntry(commit.operation().key()));
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a sub map commit.
+     *
+     * @param commit subMap commit
+     * @return entries in the requested key range, in key order
+     */
+    protected List<Map.Entry<String, Versioned<byte[]>>> subMap(Commit<? extends SubMap> commit) {
+        try {
+            SubMap range = commit.operation();
+            if (range.fromKey().compareTo(range.toKey()) > 0) {
+                return Lists.newArrayList();
+            }
+            return tree.subMap(range.fromKey(), range.fromInclusive(), range.toKey(), range.toInclusive())
+                       .entrySet()
+                       .stream()
+                       .map(this::toVersionedEntry)
+                       .collect(Collectors.toList());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a poll first entry commit.
+     *
+     * @param commit pollFirstEntry commit
+     * @return update result carrying the removed entry
+     */
+    protected MapEntryUpdateResult<String, byte[]> pollFirstEntry(Commit<? extends PollFirstEntry> commit) {
+        try {
+            return tree.isEmpty() ? null : removeEntry(tree.firstKey());
+        } finally {
+            commit.close();
+        }
+    }
+
+    /**
+     * Handles a poll last entry commit.
+     *
+     * @param commit pollLastEntry commit
+     * @return update result carrying the removed entry
+     */
+    protected MapEntryUpdateResult<String, byte[]> pollLastEntry(Commit<? extends PollLastEntry> commit) {
+        try {
+            return tree.isEmpty() ? null : removeEntry(tree.lastKey());
+        } finally {
+            commit.close();
+        }
+    }
+
+    private Map.Entry<String, Versioned<byte[]>> toVersionedEntry(Map.Entry<String, MapEntryValue> entry) {
+        return entry == null ? null : Maps.immutableEntry(entry.getKey(), toVersioned(entry.getValue()));
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import io.atomix.catalyst.concurrent.SingleThreadContext;
+import io.atomix.catalyst.concurrent.ThreadContext;
+import io.atomix.catalyst.serializer.SerializationException;
+import io.atomix.catalyst.transport.Address;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.cluster.PartitionId;
+import org.onosproject.store.cluster.messaging.Endpoint;
+import org.onosproject.store.cluster.messaging.MessagingService;
+import org.onosproject.store.primitives.impl.CopycatTransportConnection.FrameEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for the Copycat transport connection.
+ */
+public class CopycatTransportConnectionTest {
+
+    private static final long CONNECTION_ID = 42L;
+    private static final PartitionId PARTITION_ID = PartitionId.from(1);
+    private static final Address ADDRESS = new Address("127.0.0.1", 5679);
+    private static final String SERVER_SUBJECT = "onos-copycat-" + PARTITION_ID;
+
+    private ThreadContext clientContext;
+    private ThreadContext serverContext;
+    private CopycatTransportConnection client;
+    private CopycatTransportConnection server;
+    private final CompletableFuture<Object> slowResponse = new CompletableFuture<>();
+
+    @Before
+    public void setUp() throws Exception {
+        clientContext = new SingleThreadContext("client-%d", CatalystSerializers.getSerializer());
+        serverContext = new SingleThreadContext("server-%d", CatalystSerializers.getSerializer());
+        TestMessagingService messagingService = new TestMessagingService();
+        client = new CopycatTransportConnection(CONNECTION_ID, CopycatTransport.Mode.CLIENT,
+                                                PARTITION_ID, ADDRESS, messagingService, clientContext);
+        server = new CopycatTransportConnection(CONNECTION_ID, CopycatTransport.Mode.SERVER,
+                                                PARTITION_ID, ADDRESS, messagingService, serverContext);
+        serverContext.execute(() -> {
+            server.<String, String>handler(String.class, s -> CompletableFuture.completedFuture(s.toUpperCase()));
+            server.<Integer, Integer>handler(Integer.class, i -> {
+                if (i < 0) {
+                    throw new IllegalArgumentException("negative");
+                }
+                return CompletableFuture.completedFuture(i + 1);
+            });
+            // the response of this handler cannot be serialized
+            server.<Boolean, Object>handler(Boolean.class, b -> CompletableFuture.completedFuture(new Object()));
+            server.<Long, Object>handler(Long.class, l -> slowResponse);
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @After
+    public void tearDown() {
+        client.close();
+        server.close();
+        clientContext.close();
+        serverContext.close();
+    }
+
+    /**
+     * Tests that frames are decoded as they were encoded.
+     */
+    @Test
+    public void testFrameEncoding() throws IOException {
+        List<FrameEntry> entries = ImmutableList.of(new FrameEntry(1, new byte[] {1, 2, 3}),
+                                                    new FrameEntry(7, new byte[0]));
+        byte[] frame = CopycatTransportConnection.encodeFrame(CONNECTION_ID, entries);
+
+        List<FrameEntry> decoded = CopycatTransportConnection.decodeFrame(frame, CONNECTION_ID);
+        assertEquals(2, decoded.size());
+        assertEquals(1, decoded.get(0).id);
+        assertArrayEquals(new byte[] {1, 2, 3}, decoded.get(0).payload);
+        assertEquals(7, decoded.get(1).id);
+        assertArrayEquals(new byte[0], decoded.get(1).payload);
+
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(frame));
+        assertEquals(CONNECTION_ID, input.readLong());
+        assertEquals(CopycatTransportConnection.VERSION, input.readByte());
+    }
+
+    /**
+     * Tests that frames of another connection or version are rejected.
+     */
+    @Test
+    public void testFrameRejected() throws IOException {
+        byte[] frame = CopycatTransportConnection.encodeFrame(CONNECTION_ID,
+                ImmutableList.of(new FrameEntry(1, new byte[] {1})));
+        try {
+            CopycatTransportConnection.decodeFrame(frame, CONNECTION_ID + 1);
+            fail("Frame of another connection decoded");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        frame[Long.BYTES] = CopycatTransportConnection.VERSION + 1;
+        try {
+            CopycatTransportConnection.decodeFrame(frame, CONNECTION_ID);
+            fail("Frame of an unsupported version decoded");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        try {
+            CopycatTransportConnection.decodeFrame(Arrays.copyOf(frame, frame.length - 1), CONNECTION_ID);
+            fail("Truncated frame decoded");
+        } catch (IllegalStateException | IOException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Tests that failing requests of a frame do not fail the other requests.
+     */
+    @Test
+    public void testPartialFailure() throws Exception {
+        List<CompletableFuture<Object>> responses = sendAll("a", -1, true, 2, "b");
+
+        assertEquals("A", responses.get(0).get(5, TimeUnit.SECONDS));
+        assertFailure(responses.get(1), IllegalArgumentException.class);
+        assertFailure(responses.get(2), SerializationException.class);
+        assertEquals(3, responses.get(3).get(5, TimeUnit.SECONDS));
+        assertEquals("B", responses.get(4).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that responses are not held back by a slower request of the same frame.
+     */
+    @Test
+    public void testResponsesNotDelayed() throws Exception {
+        List<CompletableFuture<Object>> responses = sendAll(1L, "a", 1);
+
+        assertEquals("A", responses.get(1).get(5, TimeUnit.SECONDS));
+        assertEquals(2, responses.get(2).get(5, TimeUnit.SECONDS));
+        assertFalse(responses.get(0).isDone());
+
+        slowResponse.complete("done");
+        assertEquals("done", responses.get(0).get(5, TimeUnit.SECONDS));
+    }
+
+    // Sends the messages from a single pass of the client context, so that they share a frame.
+    private List<CompletableFuture<Object>> sendAll(Object... messages) throws Exception {
+        return clientContext.execute(() -> {
+            ImmutableList.Builder<CompletableFuture<Object>> responses = ImmutableList.builder();
+            for (Object message : messages) {
+                responses.add(client.send(message));
+            }
+            return responses.build();
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void assertFailure(CompletableFuture<Object> response, Class<? extends Throwable> type)
+            throws Exception {
+        try {
+            response.get(5, TimeUnit.SECONDS);
+            fail("Request did not fail");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(type));
+        }
+    }
+
+    // Messaging service connecting the client and server connections directly.
+    private class TestMessagingService implements MessagingService {
+        private final Map<String, BiConsumer<Endpoint, byte[]>> handlers = Maps.newConcurrentMap();
+
+        @Override
+        public CompletableFuture<Void> sendAsync(Endpoint ep, String type, byte[] payload) {
+            handlers.get(type).accept(ep, payload);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload) {
+            return sendAndReceive(ep, type, payload, Runnable::run);
+        }
+
+        @Override
+        public CompletableFuture<byte[]> sendAndReceive(Endpoint ep, String type, byte[] payload,
+                                                        Executor executor) {
+            assertEquals(SERVER_SUBJECT, type);
+            // the server transport strips the connection identifier
+            return server.handle(Arrays.copyOfRange(payload, Long.BYTES, payload.length));
+        }
+
+        @Override
+        public void registerHandler(String type, BiConsumer<Endpoint, byte[]> handler, Executor executor) {
+            handlers.put(type, (ep, payload) -> executor.execute(() -> handler.accept(ep, payload)));
+        }
+
+        @Override
+        public void registerHandler(String type, BiFunction<Endpoint, byte[], byte[]> handler,
+                                    Executor executor) {
+        }
+
+        @Override
+        public void registerHandler(String type, BiFunction<Endpoint, byte[], CompletableFuture<byte[]>> handler) {
+        }
+
+        @Override
+        public void unregisterHandler(String type) {
+            handlers.remove(type);
+        }
+    }
+}
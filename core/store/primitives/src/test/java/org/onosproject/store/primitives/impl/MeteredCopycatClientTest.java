@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.copycat.Command;
+import io.atomix.copycat.Query;
+import io.atomix.copycat.client.CopycatClient;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsManager;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.easymock.EasyMock.anyObject;
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for the metered Copycat client.
+ */
+public class MeteredCopycatClientTest {
+
+    private static final String PARTITION = "1";
+
+    private final CompletableFuture<Object> commandResult = new CompletableFuture<>();
+    private final CompletableFuture<Object> queryResult = new CompletableFuture<>();
+    private CopycatClient client;
+    private MetricsManager metricsService;
+
+    @Before
+    public void setUp() {
+        client = createMock(CopycatClient.class);
+        expect(client.submit(anyObject(Command.class))).andReturn(commandResult).anyTimes();
+        expect(client.submit(anyObject(Query.class))).andReturn(queryResult).anyTimes();
+        replay(client);
+        metricsService = new MetricsManager();
+    }
+
+    /**
+     * Tests that operations are passed through when no metrics service is available.
+     */
+    @Test
+    public void testUnmetered() {
+        MeteredCopycatClient metered = new MeteredCopycatClient(client, PARTITION, null);
+
+        assertSame(commandResult, metered.submit(new TestCommand()));
+        assertSame(queryResult, metered.submit(new TestQuery()));
+        assertTrue(metricsService.getMetrics().isEmpty());
+    }
+
+    /**
+     * Tests that completed operations are timed by operation type.
+     */
+    @Test
+    public void testTimers() {
+        MeteredCopycatClient metered = new MeteredCopycatClient(client, PARTITION, metricsService);
+
+        CompletableFuture<Object> command = metered.submit(new TestCommand());
+        CompletableFuture<Object> query = metered.submit(new TestQuery());
+        assertEquals(0, timerCount(MeteredCopycatClient.COMMAND));
+        assertEquals(0, timerCount(MeteredCopycatClient.QUERY));
+
+        commandResult.complete("done");
+        queryResult.complete("done");
+        assertTrue(command.isDone());
+        assertTrue(query.isDone());
+        assertEquals(1, timerCount(MeteredCopycatClient.COMMAND));
+        assertEquals(1, timerCount(MeteredCopycatClient.QUERY));
+        assertEquals(0, exceptionCount());
+    }
+
+    /**
+     * Tests that failed operations are counted instead of timed.
+     */
+    @Test
+    public void testExceptions() {
+        MeteredCopycatClient metered = new MeteredCopycatClient(client, PARTITION, metricsService);
+
+        CompletableFuture<Object> command = metered.submit(new TestCommand());
+        commandResult.completeExceptionally(new IllegalStateException());
+
+        assertTrue(command.isCompletedExceptionally());
+        assertEquals(0, timerCount(MeteredCopycatClient.COMMAND));
+        assertEquals(1, exceptionCount());
+    }
+
+    private long timerCount(String operation) {
+        return metricsService.createTimer(component(), feature(), operation).getCount();
+    }
+
+    private long exceptionCount() {
+        return metricsService.createCounter(component(), feature(), MeteredCopycatClient.EXCEPTIONS).getCount();
+    }
+
+    private MetricsComponent component() {
+        return metricsService.registerComponent(MeteredCopycatClient.PRIMITIVE_NAME);
+    }
+
+    private MetricsFeature feature() {
+        return component().registerFeature(PARTITION);
+    }
+
+    private static class TestCommand implements Command<Object> {
+    }
+
+    private static class TestQuery implements Query<Object> {
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.impl;
+
+import io.atomix.copycat.server.storage.StorageLevel;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.osgi.service.component.ComponentContext;
+
+import java.time.Duration;
+import java.util.Dictionary;
+import java.util.Hashtable;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the partition storage profile configuration of the partition manager.
+ */
+public class PartitionManagerTest {
+
+    private PartitionManager partitionManager;
+
+    @Before
+    public void setUp() {
+        partitionManager = new PartitionManager();
+    }
+
+    /**
+     * Tests that the default configuration yields the default profile.
+     */
+    @Test
+    public void testDefaultProfile() {
+        partitionManager.modified(null);
+        assertEquals(PartitionStorageProfile.DEFAULT, partitionManager.storageProfile());
+    }
+
+    /**
+     * Tests that configured properties are read into the profile.
+     */
+    @Test
+    public void testConfiguredProfile() {
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put("storageLevel", "mapped");
+        properties.put("compactionThreads", "4");
+        properties.put("maxEntriesPerSegment", "1024");
+        properties.put("maxSegmentSize", "4096");
+        properties.put("minorCompactionIntervalMs", "1000");
+        properties.put("majorCompactionIntervalMs", "2000");
+        partitionManager.modified(context(properties));
+
+        PartitionStorageProfile profile = partitionManager.storageProfile();
+        assertEquals(StorageLevel.MAPPED, profile.storageLevel());
+        assertEquals(4, profile.compactionThreads());
+        assertEquals(1024, profile.maxEntriesPerSegment());
+        assertEquals(4096, profile.maxSegmentSize());
+        assertEquals(Duration.ofMillis(1000), profile.minorCompactionInterval());
+        assertEquals(Duration.ofMillis(2000), profile.majorCompactionInterval());
+    }
+
+    /**
+     * Tests that invalid properties leave the previous settings in place.
+     */
+    @Test
+    public void testInvalidProperties() {
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put("storageLevel", "tape");
+        properties.put("compactionThreads", "0");
+        properties.put("maxSegmentSize", "-1");
+        partitionManager.modified(context(properties));
+
+        assertEquals(PartitionStorageProfile.DEFAULT, partitionManager.storageProfile());
+    }
+
+    private ComponentContext context(Hashtable<String, Object> properties) {
+        return new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                return properties;
+            }
+        };
+    }
+}
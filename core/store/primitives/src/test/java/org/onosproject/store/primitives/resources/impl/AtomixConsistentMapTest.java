@@ -16,6 +16,7 @@
 package org.onosproject.store.primitives.resources.impl;
 
 import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Sets;
 import io.atomix.resource.ResourceType;
 import org.junit.AfterClass;
@@ -90,6 +91,14 @@ public class AtomixConsistentMapTest extends AtomixTestBase {
         mapListenerTests(3);
     }
 
+    /**
+     * Tests bulk map operations.
+     */
+    @Test
+    public void testBulkMapOperations() throws Throwable {
+        bulkMapOperationTests(3);
+    }
+
     /**
      * Tests map transaction commit.
      */
@@ -235,6 +244,44 @@ public class AtomixConsistentMapTest extends AtomixTestBase {
         }).join();
     }
 
+    protected void bulkMapOperationTests(int clusterSize) throws Throwable {
+        final byte[] value1 = Tools.getBytesUtf8("value1");
+        final byte[] value2 = Tools.getBytesUtf8("value2");
+        final byte[] value3 = Tools.getBytesUtf8("value3");
+
+        AtomixConsistentMap map = createAtomixClient().getResource("testBulkMapOperationsMap",
+                                                                   AtomixConsistentMap.class).join();
+
+        map.putAll(ImmutableMap.of("foo", value1, "bar", value2)).join();
+
+        map.size().thenAccept(result -> {
+            assertEquals(2, result.intValue());
+        }).join();
+
+        map.getAll(Sets.newHashSet("foo", "bar", "baz")).thenAccept(result -> {
+            assertEquals(2, result.size());
+            assertArrayEquals(value1, result.get("foo").value());
+            assertArrayEquals(value2, result.get("bar").value());
+            assertFalse(result.containsKey("baz"));
+        }).join();
+
+        map.putAll(ImmutableMap.of("foo", value3, "baz", value1)).join();
+
+        map.get("foo").thenAccept(result -> {
+            assertArrayEquals(value3, result.value());
+        }).join();
+
+        map.removeAll(Sets.newHashSet("foo", "bar", "missing")).join();
+
+        map.keySet().thenAccept(result -> {
+            assertEquals(Sets.newHashSet("baz"), result);
+        }).join();
+
+        map.getAll(Sets.newHashSet()).thenAccept(result -> {
+            assertTrue(result.isEmpty());
+        }).join();
+    }
+
     public void mapComputeOperationTests(int clusterSize) throws Throwable {
         final byte[] value1 = Tools.getBytesUtf8("value1");
         final byte[] value2 = Tools.getBytesUtf8("value2");
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.primitives.resources.impl;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import io.atomix.resource.ResourceType;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.onlab.util.Tools;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for {@link AtomixConsistentTreeMap}.
+ */
+public class AtomixConsistentTreeMapTest extends AtomixTestBase {
+
+    @BeforeClass
+    public static void preTestSetup() throws Throwable {
+        createCopycatServers(3);
+    }
+
+    @AfterClass
+    public static void postTestCleanup() throws Exception {
+        clearTests();
+    }
+
+    @Override
+    protected ResourceType resourceType() {
+        return new ResourceType(AtomixConsistentTreeMap.class);
+    }
+
+    /**
+     * Tests navigation operations.
+     */
+    @Test
+    public void testNavigationOperations() throws Throwable {
+        final byte[] value1 = Tools.getBytesUtf8("value1");
+        final byte[] value2 = Tools.getBytesUtf8("value2");
+        final byte[] value3 = Tools.getBytesUtf8("value3");
+
+        AtomixConsistentTreeMap map = createAtomixClient().getResource("testNavigationOperationsMap",
+                                                                       AtomixConsistentTreeMap.class).join();
+
+        map.firstKey().thenAccept(result -> assertNull(result)).join();
+        map.pollFirstEntry().thenAccept(result -> assertNull(result)).join();
+
+        map.putAll(ImmutableMap.of("b", value2, "a", value1, "c", value3)).join();
+
+        map.firstKey().thenAccept(result -> assertEquals("a", result)).join();
+        map.lastKey().thenAccept(result -> assertEquals("c", result)).join();
+        map.ceilingKey("bb").thenAccept(result -> assertEquals("c", result)).join();
+        map.floorKey("bb").thenAccept(result -> assertEquals("b", result)).join();
+        map.higherKey("c").thenAccept(result -> assertNull(result)).join();
+        map.lowerKey("b").thenAccept(result -> assertEquals("a", result)).join();
+
+        map.ceilingEntry("b").thenAccept(result -> {
+            assertEquals("b", result.getKey());
+            assertArrayEquals(value2, result.getValue().value());
+        }).join();
+
+        map.lowerEntry("a").thenAccept(result -> assertNull(result)).join();
+
+        map.navigableKeySet().thenAccept(result -> {
+            assertEquals(Lists.newArrayList("a", "b", "c"), Lists.newArrayList(result));
+        }).join();
+
+        map.pollLastEntry().thenAccept(result -> {
+            assertEquals("c", result.getKey());
+            assertArrayEquals(value3, result.getValue().value());
+        }).join();
+
+        map.containsKey("c").thenAccept(result -> assertTrue(!result)).join();
+    }
+
+    /**
+     * Tests range queries.
+     */
+    @Test
+    public void testSubMap() throws Throwable {
+        final byte[] value = Tools.getBytesUtf8("value");
+
+        AtomixConsistentTreeMap map = createAtomixClient().getResource("testSubMapMap",
+                                                                       AtomixConsistentTreeMap.class).join();
+
+        map.putAll(ImmutableMap.of("label/1", value, "label/2", value,
+                                   "label/3", value, "other/1", value)).join();
+
+        map.subMap("label/", true, "label/\uffff", false).thenAccept(result -> {
+            assertEquals(Lists.newArrayList("label/1", "label/2", "label/3"),
+                         Lists.newArrayList(result.keySet()));
+        }).join();
+
+        map.subMap("label/1", false, "label/3", true).thenAccept(result -> {
+            assertEquals(Lists.newArrayList("label/2", "label/3"), Lists.newArrayList(result.keySet()));
+        }).join();
+
+        map.subMap("z", true, "a", true).thenAccept(result -> assertTrue(result.isEmpty())).join();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.serializers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.onlab.util.ExtendedSet;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CollectionSerializer;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+
+/**
+* Kryo Serializer for {@link ExtendedSet}.
+* <p>
+* Sets are read back as {@link ExtendedSet}s backed by a concurrent map.
+* </p>
+*/
+public class ExtendedSetSerializer extends Serializer<ExtendedSet<?>> {
+
+    private final CollectionSerializer serializer = new CollectionSerializer();
+
+    /**
+     * Creates {@link ExtendedSet} serializer instance.
+     */
+    public ExtendedSetSerializer() {
+        // non-null, mutable
+        super(false, false);
+        serializer.setElementsCanBeNull(false);
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, ExtendedSet<?> object) {
+        kryo.writeObject(output, ImmutableList.copyOf(object), serializer);
+    }
+
+    @Override
+    public ExtendedSet<?> read(Kryo kryo, Input input,
+                               Class<ExtendedSet<?>> type) {
+        List<Object> elms = kryo.readObject(input, ArrayList.class, serializer);
+        ExtendedSet<Object> set = new ExtendedSet<>(Maps.newConcurrentMap());
+        set.addAll(elms);
+        return set;
+    }
+}
@@ -18,6 +18,7 @@ package org.onosproject.store.serializers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
 import com.google.common.testing.EqualsTester;
 
 import org.junit.After;
@@ -26,7 +27,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.onlab.packet.VlanId;
 import org.onlab.util.Bandwidth;
+import org.onlab.util.ExtendedSet;
 import org.onlab.util.Frequency;
+import org.onlab.util.KryoNamespace;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.cluster.RoleInfo;
 import org.onosproject.core.DefaultApplicationId;
@@ -228,6 +231,25 @@ public class KryoSerializerTest {
         testSerializedEquals(ImmutableSet.of());
     }
 
+    @Test
+    public void testExtendedSet() {
+        StoreSerializer extendedSetSerializer = StoreSerializer.using(
+                KryoNamespace.newBuilder()
+                        .register(KryoNamespaces.API)
+                        .register(new ExtendedSetSerializer(), ExtendedSet.class)
+                        .build());
+        ExtendedSet<DeviceId> original = new ExtendedSet<>(Maps.newConcurrentMap());
+        original.add(DID1);
+        original.add(DID2);
+        ExtendedSet<DeviceId> copy = extendedSetSerializer.decode(extendedSetSerializer.encode(original));
+        assertEquals(ImmutableSet.of(DID1, DID2), ImmutableSet.copyOf(copy));
+        assertEquals(DID1, copy.get(DID1));
+
+        // decoded sets remain mutable
+        assertTrue(copy.remove(DID1));
+        assertEquals(ImmutableSet.of(DID2), ImmutableSet.copyOf(copy));
+    }
+
     @Test
     public void testImmutableList() {
         testSerializedEquals(ImmutableList.of(DID1, DID2));
@@ -18,8 +18,21 @@ package org.onosproject.incubator.net.routing;
 
 import org.onosproject.event.EventListener;
 
+import java.util.List;
+
 /**
  * Listener for route events.
  */
 public interface RouteListener extends EventListener<RouteEvent> {
+
+    /**
+     * Reacts to a batch of route events, given in the order they occurred.
+     * Listeners able to program routes in bulk can override this; by default
+     * each event is passed to {@link #event} in turn.
+     *
+     * @param events route events
+     */
+    default void events(List<RouteEvent> events) {
+        events.forEach(this::event);
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.felix.scr.annotations.Reference;
 import org.apache.felix.scr.annotations.ReferenceCardinality;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
 import org.onlab.packet.MacAddress;
 import org.onosproject.event.ListenerService;
 import org.onosproject.incubator.net.routing.NextHop;
@@ -43,9 +44,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.annotation.concurrent.GuardedBy;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -67,6 +72,8 @@ import static org.onlab.util.Tools.groupedThreads;
 public class RouteManager implements ListenerService<RouteEvent, RouteListener>,
         RouteService, RouteAdminService {
 
+    private static final int MAX_EVENT_BATCH = 1000;
+
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private RouteStoreDelegate delegate = new InternalRouteStoreDelegate();
@@ -181,31 +188,49 @@ public class RouteManager implements ListenerService<RouteEvent, RouteListener>,
     @Override
     public void update(Collection<Route> routes) {
         synchronized (this) {
-            routes.forEach(route -> {
+            Collection<Route> updates = coalesce(routes);
+            Set<IpAddress> nextHops = new LinkedHashSet<>();
+            updates.forEach(route -> {
                 log.debug("Received update {}", route);
                 routeStore.updateRoute(route);
-                resolve(route);
+                nextHops.add(route.nextHop());
             });
+            nextHops.forEach(this::resolve);
         }
     }
 
     @Override
     public void withdraw(Collection<Route> routes) {
         synchronized (this) {
-            routes.forEach(route -> {
-                log.debug("Received withdraw {}", routes);
+            coalesce(routes).forEach(route -> {
+                log.debug("Received withdraw {}", route);
                 routeStore.removeRoute(route);
             });
         }
     }
 
-    private void resolve(Route route) {
+    /**
+     * Reduces the given routes to the last route given for each prefix.
+     *
+     * @param routes routes
+     * @return routes with at most one route per prefix
+     */
+    private static Collection<Route> coalesce(Collection<Route> routes) {
+        if (routes.size() <= 1) {
+            return routes;
+        }
+        Map<IpPrefix, Route> coalesced = new LinkedHashMap<>();
+        routes.forEach(route -> coalesced.put(route.prefix(), route));
+        return coalesced.values();
+    }
+
+    private void resolve(IpAddress nextHop) {
         // Monitor the IP address for updates of the MAC address
-        hostService.startMonitoringIp(route.nextHop());
+        hostService.startMonitoringIp(nextHop);
 
-        MacAddress nextHopMac = routeStore.getNextHop(route.nextHop());
+        MacAddress nextHopMac = routeStore.getNextHop(nextHop);
         if (nextHopMac == null) {
-            Set<Host> hosts = hostService.getHostsByIp(route.nextHop());
+            Set<Host> hosts = hostService.getHostsByIp(nextHop);
             Optional<Host> host = hosts.stream().findFirst();
             if (host.isPresent()) {
                 nextHopMac = host.get().mac();
@@ -213,7 +238,7 @@ public class RouteManager implements ListenerService<RouteEvent, RouteListener>,
         }
 
         if (nextHopMac != null) {
-            routeStore.updateNextHop(route.nextHop(), nextHopMac);
+            routeStore.updateNextHop(nextHop, nextHopMac);
         }
     }
 
@@ -281,7 +306,10 @@ public class RouteManager implements ListenerService<RouteEvent, RouteListener>,
         private void poll() {
             try {
                 while (true) {
-                    listener.event(queue.take());
+                    List<RouteEvent> batch = new ArrayList<>();
+                    batch.add(queue.take());
+                    queue.drainTo(batch, MAX_EVENT_BATCH - 1);
+                    listener.events(coalesceEvents(batch));
                 }
             } catch (InterruptedException e) {
                 log.info("Route listener event thread shutting down: {}", e.getMessage());
@@ -290,6 +318,25 @@ public class RouteManager implements ListenerService<RouteEvent, RouteListener>,
 
     }
 
+    /**
+     * Reduces a batch of route events to the last event for each prefix,
+     * ordered by when that last event occurred.
+     *
+     * @param events route events
+     * @return coalesced route events
+     */
+    static List<RouteEvent> coalesceEvents(List<RouteEvent> events) {
+        if (events.size() <= 1) {
+            return events;
+        }
+        Map<IpPrefix, RouteEvent> coalesced = new LinkedHashMap<>();
+        events.forEach(event -> {
+            coalesced.remove(event.subject().prefix());
+            coalesced.put(event.subject().prefix(), event);
+        });
+        return new ArrayList<>(coalesced.values());
+    }
+
     /**
      * Delegate to receive events from the route store.
      */
@@ -16,6 +16,7 @@
 
 package org.onosproject.incubator.net.routing.impl;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
@@ -54,6 +55,7 @@ import static org.easymock.EasyMock.expectLastCall;
 import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.reset;
 import static org.easymock.EasyMock.verify;
+import static org.junit.Assert.assertEquals;
 
 /**
  * Unit tests for the route manager.
@@ -284,6 +286,52 @@ public class RouteManagerTest {
         verify(routeListener);
     }
 
+    /**
+     * Tests that a batch holding several routes for the same prefix is
+     * applied as the last of those routes only.
+     */
+    @Test
+    public void testRouteUpdateCoalescing() {
+        Route route = new Route(Route.Source.STATIC, V4_PREFIX1, V4_NEXT_HOP1);
+        Route updatedRoute = new Route(Route.Source.STATIC, V4_PREFIX1, V4_NEXT_HOP2);
+
+        reset(routeListener);
+        routeListener.event(new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                new ResolvedRoute(updatedRoute, MAC2)));
+        expectLastCall().once();
+        replay(routeListener);
+
+        routeManager.update(Lists.newArrayList(route, updatedRoute));
+
+        verify(routeListener);
+    }
+
+    /**
+     * Tests that a batch of route events is reduced to the last event for
+     * each prefix, ordered by when that last event occurred.
+     */
+    @Test
+    public void testEventCoalescing() {
+        RouteEvent added1 = new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                new ResolvedRoute(V4_PREFIX1, V4_NEXT_HOP1, MAC1));
+        RouteEvent added2 = new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                new ResolvedRoute(V4_PREFIX2, V4_NEXT_HOP1, MAC1));
+        RouteEvent updated1 = new RouteEvent(RouteEvent.Type.ROUTE_UPDATED,
+                new ResolvedRoute(V4_PREFIX1, V4_NEXT_HOP2, MAC2));
+        RouteEvent removed2 = new RouteEvent(RouteEvent.Type.ROUTE_REMOVED,
+                new ResolvedRoute(V4_PREFIX2, null, null));
+        RouteEvent added3 = new RouteEvent(RouteEvent.Type.ROUTE_ADDED,
+                new ResolvedRoute(V6_PREFIX1, V6_NEXT_HOP1, MAC3));
+
+        assertEquals(Lists.newArrayList(added1),
+                     RouteManager.coalesceEvents(Lists.newArrayList(added1)));
+        assertEquals(Lists.newArrayList(updated1, removed2, added3),
+                     RouteManager.coalesceEvents(
+                             Lists.newArrayList(added1, added2, updated1, removed2, added3)));
+        assertEquals(Lists.newArrayList(added2, updated1),
+                     RouteManager.coalesceEvents(Lists.newArrayList(added1, added2, updated1)));
+    }
+
     /**
      * Tests deleting routes from the route manager.
      */
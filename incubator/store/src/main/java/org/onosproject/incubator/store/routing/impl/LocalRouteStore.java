@@ -20,15 +20,10 @@ import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
-import com.googlecode.concurrenttrees.common.KeyValuePair;
-import com.googlecode.concurrenttrees.radix.node.concrete.DefaultByteArrayNodeFactory;
-import com.googlecode.concurrenttrees.radixinverted.ConcurrentInvertedRadixTree;
-import com.googlecode.concurrenttrees.radixinverted.InvertedRadixTree;
 import org.apache.felix.scr.annotations.Activate;
 import org.apache.felix.scr.annotations.Component;
 import org.apache.felix.scr.annotations.Service;
 import org.onlab.packet.IpAddress;
-import org.onlab.packet.IpPrefix;
 import org.onlab.packet.MacAddress;
 import org.onosproject.incubator.net.routing.ResolvedRoute;
 import org.onosproject.incubator.net.routing.Route;
@@ -42,9 +37,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -162,40 +154,14 @@ public class LocalRouteStore extends AbstractStore<RouteEvent, RouteStoreDelegat
         return routeTables.get(routeTableId);
     }
 
-    private static String createBinaryString(IpPrefix ipPrefix) {
-        byte[] octets = ipPrefix.address().toOctets();
-        StringBuilder result = new StringBuilder(ipPrefix.prefixLength());
-        result.append("0");
-        for (int i = 0; i < ipPrefix.prefixLength(); i++) {
-            int byteOffset = i / Byte.SIZE;
-            int bitOffset = i % Byte.SIZE;
-            int mask = 1 << (Byte.SIZE - 1 - bitOffset);
-            byte value = octets[byteOffset];
-            boolean isSet = ((value & mask) != 0);
-            result.append(isSet ? "1" : "0");
-        }
-
-        return result.toString();
-    }
-
     /**
      * Route table into which routes can be placed.
      */
     private class RouteTable {
-        private final InvertedRadixTree<Route> routeTable;
-
-        private final Map<IpPrefix, Route> routes = new ConcurrentHashMap<>();
+        private final PrefixTrie<Route> routes = new PrefixTrie<>();
         private final Multimap<IpAddress, Route> reverseIndex =
                 Multimaps.synchronizedMultimap(HashMultimap.create());
 
-        /**
-         * Creates a new route table.
-         */
-        public RouteTable() {
-            routeTable = new ConcurrentInvertedRadixTree<>(
-                    new DefaultByteArrayNodeFactory());
-        }
-
         /**
          * Adds or updates the route in the route table.
          *
@@ -204,7 +170,6 @@ public class LocalRouteStore extends AbstractStore<RouteEvent, RouteStoreDelegat
         public void update(Route route) {
             synchronized (this) {
                 Route oldRoute = routes.put(route.prefix(), route);
-                routeTable.put(createBinaryString(route.prefix()), route);
 
                 // TODO manage routes from multiple providers
 
@@ -254,7 +219,6 @@ public class LocalRouteStore extends AbstractStore<RouteEvent, RouteStoreDelegat
         public void remove(Route route) {
             synchronized (this) {
                 Route removed = routes.remove(route.prefix());
-                routeTable.remove(createBinaryString(route.prefix()));
 
                 if (removed != null) {
                     reverseIndex.remove(removed.nextHop(), removed);
@@ -280,17 +244,7 @@ public class LocalRouteStore extends AbstractStore<RouteEvent, RouteStoreDelegat
          * @return all routes
          */
         public Collection<Route> getRoutes() {
-            Iterator<KeyValuePair<Route>> it =
-                    routeTable.getKeyValuePairsForKeysStartingWith("").iterator();
-
-            List<Route> routes = new LinkedList<>();
-
-            while (it.hasNext()) {
-                KeyValuePair<Route> entry = it.next();
-                routes.add(entry.getValue());
-            }
-
-            return routes;
+            return routes.values();
         }
 
         /**
@@ -300,17 +254,7 @@ public class LocalRouteStore extends AbstractStore<RouteEvent, RouteStoreDelegat
          * @return most specific prefix containing the given
          */
         public Route longestPrefixMatch(IpAddress ip) {
-            Iterable<Route> prefixes =
-                    routeTable.getValuesForKeysPrefixing(createBinaryString(ip.toIpPrefix()));
-
-            Iterator<Route> it = prefixes.iterator();
-
-            Route route = null;
-            while (it.hasNext()) {
-                route = it.next();
-            }
-
-            return route;
+            return routes.longestPrefixMatch(ip);
         }
     }
 
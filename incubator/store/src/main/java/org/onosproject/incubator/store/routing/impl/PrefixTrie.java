@@ -0,0 +1,251 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.incubator.store.routing.impl;
+
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Path-compressed binary trie (Patricia trie) keyed by IP prefix.
+ * <p>
+ * Nodes are immutable and updates copy the path from the root to the
+ * modified node before publishing the new root, so readers always traverse
+ * a consistent snapshot without taking any locks. Updates are serialized
+ * with each other.
+ * </p>
+ *
+ * @param <V> value type
+ */
+final class PrefixTrie<V> {
+
+    private volatile Node<V> root;
+    private volatile int size;
+
+    /**
+     * Adds or replaces the value stored for the given prefix.
+     *
+     * @param prefix IP prefix
+     * @param value value to store
+     * @return previous value for the prefix, or null if there was none
+     */
+    synchronized V put(IpPrefix prefix, V value) {
+        byte[] key = prefix.address().toOctets();
+        V old = get(root, key, prefix.prefixLength());
+        root = put(root, key, prefix.prefixLength(), value);
+        if (old == null) {
+            size++;
+        }
+        return old;
+    }
+
+    /**
+     * Removes the value stored for the given prefix.
+     *
+     * @param prefix IP prefix
+     * @return removed value, or null if the prefix was not present
+     */
+    synchronized V remove(IpPrefix prefix) {
+        byte[] key = prefix.address().toOctets();
+        V old = get(root, key, prefix.prefixLength());
+        if (old != null) {
+            root = remove(root, key, prefix.prefixLength());
+            size--;
+        }
+        return old;
+    }
+
+    /**
+     * Returns the value stored for exactly the given prefix.
+     *
+     * @param prefix IP prefix
+     * @return value, or null if the prefix is not present
+     */
+    V get(IpPrefix prefix) {
+        return get(root, prefix.address().toOctets(), prefix.prefixLength());
+    }
+
+    /**
+     * Returns the value of the most specific prefix containing the address.
+     *
+     * @param ip IP address to look up
+     * @return value of the longest matching prefix, or null if none matches
+     */
+    V longestPrefixMatch(IpAddress ip) {
+        byte[] key = ip.toOctets();
+        int length = key.length * Byte.SIZE;
+        V best = null;
+        Node<V> node = root;
+        int matched = 0;
+        while (node != null && node.length <= length
+                && commonPrefixLength(node.key, key, matched, node.length) == node.length) {
+            if (node.value != null) {
+                best = node.value;
+            }
+            if (node.length == length) {
+                break;
+            }
+            // Bits up to and including the branching bit are known to match
+            matched = node.length + 1;
+            node = bit(key, node.length) ? node.right : node.left;
+        }
+        return best;
+    }
+
+    /**
+     * Returns a snapshot of all values stored in the trie.
+     *
+     * @return values in prefix order
+     */
+    List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        Node<V> node = root;
+        if (node != null) {
+            stack.push(node);
+        }
+        while (!stack.isEmpty()) {
+            node = stack.pop();
+            if (node.value != null) {
+                values.add(node.value);
+            }
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the number of prefixes stored in the trie.
+     *
+     * @return number of prefixes
+     */
+    int size() {
+        return size;
+    }
+
+    private static <V> V get(Node<V> node, byte[] key, int length) {
+        while (node != null && node.length <= length
+                && commonPrefixLength(node.key, key, 0, node.length) == node.length) {
+            if (node.length == length) {
+                return node.value;
+            }
+            node = bit(key, node.length) ? node.right : node.left;
+        }
+        return null;
+    }
+
+    private static <V> Node<V> put(Node<V> node, byte[] key, int length, V value) {
+        if (node == null) {
+            return new Node<>(key, length, value, null, null);
+        }
+        int common = commonPrefixLength(node.key, key, 0, Math.min(node.length, length));
+        if (common == node.length && common == length) {
+            return new Node<>(node.key, node.length, value, node.left, node.right);
+        }
+        if (common == node.length) {
+            if (bit(key, node.length)) {
+                return new Node<>(node.key, node.length, node.value,
+                                  node.left, put(node.right, key, length, value));
+            }
+            return new Node<>(node.key, node.length, node.value,
+                              put(node.left, key, length, value), node.right);
+        }
+        if (common == length) {
+            return bit(node.key, length)
+                    ? new Node<>(key, length, value, null, node)
+                    : new Node<>(key, length, value, node, null);
+        }
+        Node<V> leaf = new Node<>(key, length, value, null, null);
+        return bit(key, common)
+                ? new Node<>(key, common, null, node, leaf)
+                : new Node<>(key, common, null, leaf, node);
+    }
+
+    private static <V> Node<V> remove(Node<V> node, byte[] key, int length) {
+        if (node == null || node.length > length
+                || commonPrefixLength(node.key, key, 0, node.length) < node.length) {
+            return node;
+        }
+        if (node.length == length) {
+            return collapse(node.key, node.length, null, node.left, node.right);
+        }
+        if (bit(key, node.length)) {
+            Node<V> right = remove(node.right, key, length);
+            return right == node.right ? node
+                    : collapse(node.key, node.length, node.value, node.left, right);
+        }
+        Node<V> left = remove(node.left, key, length);
+        return left == node.left ? node
+                : collapse(node.key, node.length, node.value, left, node.right);
+    }
+
+    // Drops branch nodes that no longer carry a value or split the trie
+    private static <V> Node<V> collapse(byte[] key, int length, V value,
+                                        Node<V> left, Node<V> right) {
+        if (value == null) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+        }
+        return new Node<>(key, length, value, left, right);
+    }
+
+    private static boolean bit(byte[] key, int index) {
+        return (key[index / Byte.SIZE] & (0x80 >>> (index % Byte.SIZE))) != 0;
+    }
+
+    // Number of leading bits, up to limit, that the two keys have in common,
+    // given that the first from bits are already known to be equal
+    private static int commonPrefixLength(byte[] a, byte[] b, int from, int limit) {
+        int bytes = (limit + Byte.SIZE - 1) / Byte.SIZE;
+        for (int i = from / Byte.SIZE; i < bytes; i++) {
+            int diff = (a[i] ^ b[i]) & 0xff;
+            if (diff != 0) {
+                return Math.min(limit, i * Byte.SIZE + Integer.numberOfLeadingZeros(diff) - 24);
+            }
+        }
+        return limit;
+    }
+
+    private static final class Node<V> {
+        private final byte[] key;
+        private final int length;
+        private final V value;
+        private final Node<V> left;
+        private final Node<V> right;
+
+        private Node(byte[] key, int length, V value, Node<V> left, Node<V> right) {
+            this.key = key;
+            this.length = length;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.incubator.store.routing.impl;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for the prefix trie.
+ */
+public class PrefixTrieTest {
+
+    private PrefixTrie<String> trie;
+
+    @Before
+    public void setUp() {
+        trie = new PrefixTrie<>();
+    }
+
+    /**
+     * Tests inserting, replacing and looking up exact prefixes.
+     */
+    @Test
+    public void testPut() {
+        assertNull(trie.put(prefix("10.0.0.0/8"), "a"));
+        assertNull(trie.put(prefix("10.1.0.0/16"), "b"));
+        assertEquals("a", trie.put(prefix("10.0.0.0/8"), "c"));
+
+        assertEquals(2, trie.size());
+        assertEquals("c", trie.get(prefix("10.0.0.0/8")));
+        assertEquals("b", trie.get(prefix("10.1.0.0/16")));
+        assertNull(trie.get(prefix("10.1.0.0/24")));
+        assertNull(trie.get(prefix("10.0.0.0/7")));
+        assertEquals(ImmutableSet.of("b", "c"), ImmutableSet.copyOf(trie.values()));
+    }
+
+    /**
+     * Tests removing prefixes, including ones which only branch the trie.
+     */
+    @Test
+    public void testRemove() {
+        trie.put(prefix("10.0.0.0/8"), "a");
+        trie.put(prefix("10.1.0.0/16"), "b");
+        trie.put(prefix("10.2.0.0/16"), "c");
+
+        assertNull(trie.remove(prefix("10.3.0.0/16")));
+        assertEquals("a", trie.remove(prefix("10.0.0.0/8")));
+        assertNull(trie.remove(prefix("10.0.0.0/8")));
+
+        assertEquals(2, trie.size());
+        assertNull(trie.longestPrefixMatch(ip("10.3.0.1")));
+        assertEquals("b", trie.longestPrefixMatch(ip("10.1.0.1")));
+        assertEquals("c", trie.longestPrefixMatch(ip("10.2.0.1")));
+
+        assertEquals("b", trie.remove(prefix("10.1.0.0/16")));
+        assertEquals("c", trie.remove(prefix("10.2.0.0/16")));
+        assertEquals(0, trie.size());
+        assertEquals(0, trie.values().size());
+        assertNull(trie.longestPrefixMatch(ip("10.2.0.1")));
+    }
+
+    /**
+     * Tests that the most specific of overlapping prefixes is matched.
+     */
+    @Test
+    public void testOverlappingPrefixes() {
+        trie.put(prefix("10.0.0.0/8"), "/8");
+        trie.put(prefix("10.1.0.0/16"), "/16");
+        trie.put(prefix("10.1.1.0/24"), "/24");
+        trie.put(prefix("10.1.1.1/32"), "/32");
+
+        assertEquals("/32", trie.longestPrefixMatch(ip("10.1.1.1")));
+        assertEquals("/24", trie.longestPrefixMatch(ip("10.1.1.2")));
+        assertEquals("/16", trie.longestPrefixMatch(ip("10.1.2.1")));
+        assertEquals("/8", trie.longestPrefixMatch(ip("10.2.1.1")));
+        assertNull(trie.longestPrefixMatch(ip("11.1.1.1")));
+
+        trie.remove(prefix("10.1.1.0/24"));
+        assertEquals("/16", trie.longestPrefixMatch(ip("10.1.1.2")));
+        assertEquals("/32", trie.longestPrefixMatch(ip("10.1.1.1")));
+    }
+
+    /**
+     * Tests that the default route matches any address without a more specific route.
+     */
+    @Test
+    public void testDefaultRoute() {
+        trie.put(prefix("192.168.0.0/16"), "specific");
+        assertNull(trie.longestPrefixMatch(ip("1.2.3.4")));
+
+        trie.put(prefix("0.0.0.0/0"), "default");
+        assertEquals("default", trie.longestPrefixMatch(ip("1.2.3.4")));
+        assertEquals("default", trie.longestPrefixMatch(ip("255.255.255.255")));
+        assertEquals("specific", trie.longestPrefixMatch(ip("192.168.1.1")));
+        assertEquals("default", trie.get(prefix("0.0.0.0/0")));
+
+        trie.remove(prefix("0.0.0.0/0"));
+        assertNull(trie.longestPrefixMatch(ip("1.2.3.4")));
+    }
+
+    /**
+     * Tests IPv6 prefixes, including ones longer than any IPv4 prefix.
+     */
+    @Test
+    public void testIp6() {
+        PrefixTrie<String> trie6 = new PrefixTrie<>();
+        trie6.put(prefix("::/0"), "default");
+        trie6.put(prefix("2001:db8::/32"), "/32");
+        trie6.put(prefix("2001:db8:0:1::/64"), "/64");
+        trie6.put(prefix("2001:db8:0:1::1/128"), "/128");
+
+        assertEquals("/128", trie6.longestPrefixMatch(ip("2001:db8:0:1::1")));
+        assertEquals("/64", trie6.longestPrefixMatch(ip("2001:db8:0:1::2")));
+        assertEquals("/32", trie6.longestPrefixMatch(ip("2001:db8:0:2::1")));
+        assertEquals("default", trie6.longestPrefixMatch(ip("2001:db9::1")));
+        assertEquals(4, trie6.size());
+    }
+
+    /**
+     * Tests the trie against a brute force longest prefix match on random
+     * IPv4 and IPv6 tables, with interleaved removals.
+     */
+    @Test
+    public void testRandomTables() {
+        Random random = new Random(42);
+        checkRandomTable(random, 4);
+        checkRandomTable(random, 16);
+    }
+
+    private void checkRandomTable(Random random, int octets) {
+        PrefixTrie<IpPrefix> table = new PrefixTrie<>();
+        Map<IpPrefix, IpPrefix> expected = new HashMap<>();
+        List<IpPrefix> prefixes = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            IpPrefix prefix = IpPrefix.valueOf(randomAddress(random, octets),
+                                               random.nextInt(octets * Byte.SIZE + 1));
+            table.put(prefix, prefix);
+            expected.put(prefix, prefix);
+            prefixes.add(prefix);
+            if (i % 3 == 0) {
+                IpPrefix removed = prefixes.get(random.nextInt(prefixes.size()));
+                assertEquals(expected.remove(removed), table.remove(removed));
+            }
+        }
+        assertEquals(expected.size(), table.size());
+        assertEquals(expected.keySet(), ImmutableSet.copyOf(table.values()));
+
+        for (int i = 0; i < 2000; i++) {
+            IpAddress ip = randomAddress(random, octets);
+            IpPrefix best = null;
+            for (IpPrefix prefix : expected.keySet()) {
+                if (prefix.contains(ip)
+                        && (best == null || prefix.prefixLength() > best.prefixLength())) {
+                    best = prefix;
+                }
+            }
+            assertEquals(best, table.longestPrefixMatch(ip));
+        }
+    }
+
+    private static IpAddress randomAddress(Random random, int octets) {
+        byte[] address = new byte[octets];
+        random.nextBytes(address);
+        // keep the addresses close together so that prefixes overlap
+        address[0] = (byte) (address[0] & 0x3);
+        return IpAddress.valueOf(octets == 4 ? IpAddress.Version.INET : IpAddress.Version.INET6, address);
+    }
+
+    private static IpPrefix prefix(String prefix) {
+        return IpPrefix.valueOf(prefix);
+    }
+
+    private static IpAddress ip(String ip) {
+        return IpAddress.valueOf(ip);
+    }
+}
@@ -17,7 +17,7 @@
 package org.onosproject.openflow.controller.driver;
 
 import com.google.common.collect.Lists;
-import org.jboss.netty.channel.Channel;
+import io.netty.channel.Channel;
 import org.onlab.packet.IpAddress;
 import org.onosproject.net.Device;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
@@ -46,6 +46,9 @@ import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -62,6 +65,10 @@ public abstract class AbstractOpenFlowSwitch extends AbstractHandlerBehaviour
     private Channel channel;
     protected String channelId;
 
+    // Messages waiting to be written and flushed by the channel's event loop
+    private final Queue<OFMessage> outbound = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
     private boolean connected;
     protected boolean startDriverHandshakeCalled = false;
     private Dpid dpid;
@@ -148,14 +155,17 @@ public abstract class AbstractOpenFlowSwitch extends AbstractHandlerBehaviour
             } else {
                 // not transitioning to MASTER
                 log.warn("Dropping message for switch {} (role: {}, connected: {}): {}",
-                         dpid, role, channel.isConnected(), msgs);
+                         dpid, role, channel.isActive(), msgs);
             }
         }
     }
 
     private void sendMsgsOnChannel(List<OFMessage> msgs) {
-        if (channel.isConnected()) {
-            channel.write(msgs);
+        if (channel.isActive()) {
+            outbound.addAll(msgs);
+            if (flushScheduled.compareAndSet(false, true)) {
+                channel.eventLoop().execute(this::flushOutbound);
+            }
             agent.processDownstreamMessage(dpid, msgs);
         } else {
             log.warn("Dropping messages for switch {} because channel is not connected: {}",
@@ -163,6 +173,23 @@ public abstract class AbstractOpenFlowSwitch extends AbstractHandlerBehaviour
         }
     }
 
+    /**
+     * Writes all queued messages as a single batch and flushes the channel.
+     * Messages sent while a flush is already scheduled join that flush, so a
+     * burst of sends costs one write to the socket rather than one per call.
+     */
+    private void flushOutbound() {
+        flushScheduled.set(false);
+        List<OFMessage> batch = new ArrayList<>();
+        OFMessage msg;
+        while ((msg = outbound.poll()) != null) {
+            batch.add(msg);
+        }
+        if (!batch.isEmpty()) {
+            channel.writeAndFlush(batch);
+        }
+    }
+
     @Override
     public final void sendRoleRequest(OFMessage msg) {
         if (msg instanceof OFRoleRequest ||
@@ -195,7 +222,7 @@ public abstract class AbstractOpenFlowSwitch extends AbstractHandlerBehaviour
     @Override
     public final void setChannel(Channel channel) {
         this.channel = channel;
-        final SocketAddress address = channel.getRemoteAddress();
+        final SocketAddress address = channel.remoteAddress();
         if (address instanceof InetSocketAddress) {
             final InetSocketAddress inetAddress = (InetSocketAddress) address;
             final IpAddress ipAddress = IpAddress.valueOf(inetAddress.getAddress());
@@ -496,7 +523,7 @@ public abstract class AbstractOpenFlowSwitch extends AbstractHandlerBehaviour
     @Override
     public String toString() {
         return this.getClass().getName() + " [" + ((channel != null)
-                ? channel.getRemoteAddress() : "?")
+                ? channel.remoteAddress() : "?")
                 + " DPID[" + ((getStringId() != null) ? getStringId() : "?") + "]]";
     }
 }
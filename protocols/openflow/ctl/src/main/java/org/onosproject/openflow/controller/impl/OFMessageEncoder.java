@@ -16,44 +16,45 @@
 
 package org.onosproject.openflow.controller.impl;
 
-import java.util.List;
-
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.jboss.netty.buffer.ChannelBuffers;
-import org.jboss.netty.channel.Channel;
-import org.jboss.netty.channel.ChannelHandlerContext;
-import org.jboss.netty.handler.codec.oneone.OneToOneEncoder;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 
 /**
- * Encode an openflow message for output into a ChannelBuffer, for use in a
+ * Encode a list of openflow messages for output into a ByteBuf, for use in a
  * netty pipeline.
  */
-public class OFMessageEncoder extends OneToOneEncoder {
+public class OFMessageEncoder extends MessageToByteEncoder<Iterable<OFMessage>> {
 
-    @Override
-    protected Object encode(ChannelHandlerContext ctx, Channel channel,
-                            Object msg) throws Exception {
-        if (!(msg instanceof List)) {
-            return msg;
-        }
+    // Scratch buffers that grew beyond this are not kept for reuse
+    private static final int MAX_SCRATCH_CAPACITY = 1024 * 1024;
+    private static final int INITIAL_SCRATCH_CAPACITY = 4096;
 
-        @SuppressWarnings("unchecked")
-        List<OFMessage> msglist = (List<OFMessage>) msg;
-        /* XXX S can't get length of OFMessage in loxigen's openflowj??
-        int size = 0;
-        for (OFMessage ofm : msglist) {
-            size += ofm.getLengthU();
-        }*/
+    // openflowj writes into netty 3 buffers; the encoder is not shared
+    // between channels, so a single scratch buffer is reused per channel.
+    private ChannelBuffer scratch = newScratch();
 
-        ChannelBuffer buf = ChannelBuffers.dynamicBuffer();
+    private static ChannelBuffer newScratch() {
+        return ChannelBuffers.dynamicBuffer(INITIAL_SCRATCH_CAPACITY);
+    }
 
-        for (OFMessage ofm : msglist) {
+    @Override
+    protected void encode(ChannelHandlerContext ctx, Iterable<OFMessage> msgs,
+                          ByteBuf out) throws Exception {
+        scratch.clear();
+        for (OFMessage ofm : msgs) {
             if (ofm != null) {
-                ofm.writeTo(buf);
+                ofm.writeTo(scratch);
             }
         }
-        return buf;
+        out.writeBytes(scratch.array(), scratch.arrayOffset() + scratch.readerIndex(),
+                       scratch.readableBytes());
+        if (scratch.capacity() > MAX_SCRATCH_CAPACITY) {
+            scratch = newScratch();
+        }
     }
 
 }
@@ -16,15 +16,24 @@
 package org.onosproject.openflow.controller.impl;
 
 
-import org.jboss.netty.buffer.ChannelBuffer;
-import org.jboss.netty.buffer.ChannelBuffers;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.junit.Test;
-import org.onosproject.core.netty.ChannelAdapter;
-import org.onosproject.openflow.ChannelHandlerContextAdapter;
 import org.projectfloodlight.openflow.protocol.OFHello;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.easymock.EasyMock.createMock;
+import static org.easymock.EasyMock.expect;
+import static org.easymock.EasyMock.replay;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
 
@@ -33,19 +42,13 @@ import static org.hamcrest.Matchers.nullValue;
  */
 public class OFMessageDecoderTest {
 
-    static class ConnectedChannel extends ChannelAdapter {
-        @Override
-        public boolean isConnected() {
-            return true;
-        }
-    }
+    // OFHello, OF version 1, xid of 0, total of 8 bytes
+    private static final byte[] HELLO = {0x1, 0x0, 0x0, 0x8, 0x0, 0x0, 0x0, 0x0};
 
-    private ChannelBuffer getHelloMessageBuffer() {
-        // OFHello, OF version 1, xid of 0, total of 8 bytes
-        byte[] messageData = {0x1, 0x0, 0x0, 0x8, 0x0, 0x0, 0x0, 0x0};
-        ChannelBuffer channelBuffer = ChannelBuffers.dynamicBuffer();
-        channelBuffer.writeBytes(messageData);
-        return channelBuffer;
+    private ByteBuf getHelloMessageBuffer() {
+        ByteBuf buffer = Unpooled.buffer();
+        buffer.writeBytes(HELLO);
+        return buffer;
     }
 
     /**
@@ -55,13 +58,16 @@ public class OFMessageDecoderTest {
      */
     @Test
     public void testDecodeNoChannel() throws Exception {
+        Channel channel = createMock(Channel.class);
+        expect(channel.isActive()).andReturn(false).anyTimes();
+        ChannelHandlerContext ctx = createMock(ChannelHandlerContext.class);
+        expect(ctx.channel()).andReturn(channel).anyTimes();
+        replay(channel, ctx);
+
         OFMessageDecoder decoder = new OFMessageDecoder();
-        ChannelBuffer channelBuffer = getHelloMessageBuffer();
-        Object message =
-                decoder.decode(new ChannelHandlerContextAdapter(),
-                               new ChannelAdapter(),
-                               channelBuffer);
-        assertThat(message, nullValue());
+        List<Object> out = new ArrayList<>();
+        decoder.decode(ctx, getHelloMessageBuffer(), out);
+        assertThat(out, is(empty()));
     }
 
     /**
@@ -71,14 +77,31 @@ public class OFMessageDecoderTest {
      */
     @Test
     public void testDecode() throws Exception {
-        OFMessageDecoder decoder = new OFMessageDecoder();
-        ChannelBuffer channelBuffer = getHelloMessageBuffer();
-        Object message =
-                decoder.decode(new ChannelHandlerContextAdapter(),
-                               new ConnectedChannel(),
-                               channelBuffer);
+        EmbeddedChannel channel = new EmbeddedChannel(new OFMessageDecoder());
+        channel.writeInbound(getHelloMessageBuffer());
+        Object message = channel.readInbound();
         assertThat(message, notNullValue());
         assertThat(message, instanceOf(OFHello.class));
     }
 
+    /**
+     * Tests decoding several messages split across reads.
+     *
+     * @throws Exception when an exception is thrown from the decoder
+     */
+    @Test
+    public void testDecodeFragmented() throws Exception {
+        EmbeddedChannel channel = new EmbeddedChannel(new OFMessageDecoder());
+        ByteBuf first = Unpooled.buffer();
+        first.writeBytes(HELLO);
+        first.writeBytes(HELLO, 0, 3);
+        channel.writeInbound(first);
+        assertThat(channel.readInbound(), instanceOf(OFHello.class));
+        assertThat(channel.readInbound(), nullValue());
+
+        channel.writeInbound(Unpooled.wrappedBuffer(HELLO, 3, HELLO.length - 3));
+        assertThat(channel.readInbound(), instanceOf(OFHello.class));
+        assertThat(channel.readInbound(), nullValue());
+    }
+
 }
@@ -18,6 +18,8 @@ package org.onosproject.openflow.controller.impl;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
 import org.jboss.netty.buffer.ChannelBuffer;
 import org.junit.Test;
 import org.onosproject.openflow.OfMessageAdapter;
@@ -52,16 +54,16 @@ public class OFMessageEncoderTest {
     }
 
     /**
-     * Tests that encoding a non-list returns the object specified.
+     * Tests that encoding a non-list passes the object on unchanged.
      *
      * @throws Exception on exception in the encoder
      */
     @Test
     public void testNoList() throws Exception {
-        OFMessageEncoder encoder = new OFMessageEncoder();
+        EmbeddedChannel channel = new EmbeddedChannel(new OFMessageEncoder());
         MockOfMessage message = new MockOfMessage();
-        OFMessage returnedMessage =
-                (OFMessage) encoder.encode(null, null, message);
+        channel.writeOutbound(message);
+        OFMessage returnedMessage = (OFMessage) channel.readOutbound();
         assertThat(message, is(returnedMessage));
     }
 
@@ -72,19 +74,17 @@ public class OFMessageEncoderTest {
      */
     @Test
     public void testList() throws Exception {
-        OFMessageEncoder encoder = new OFMessageEncoder();
+        EmbeddedChannel channel = new EmbeddedChannel(new OFMessageEncoder());
         MockOfMessage message1 = new MockOfMessage();
         MockOfMessage message2 = new MockOfMessage();
         MockOfMessage message3 = new MockOfMessage();
         List<MockOfMessage> messages = ImmutableList.of(message1, message2, message3);
-        ChannelBuffer returnedChannel =
-                (ChannelBuffer) encoder.encode(null, null, messages);
-        assertThat(returnedChannel, notNullValue());
-        byte[] channelBytes = returnedChannel.array();
+        channel.writeOutbound(messages);
+        ByteBuf returnedBuffer = (ByteBuf) channel.readOutbound();
+        assertThat(returnedBuffer, notNullValue());
         String expectedListMessage = "message1 message2 message3 ";
-        String listMessage =
-                (new String(channelBytes, StandardCharsets.UTF_8))
-                        .substring(0, expectedListMessage.length());
+        String listMessage = returnedBuffer.toString(StandardCharsets.UTF_8);
         assertThat(listMessage, is(expectedListMessage));
+        returnedBuffer.release();
     }
 }
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Immutable graph stored in compressed sparse row form.
+ * <p>
+ * Each vertex is assigned a dense ordinal in range [0, vertex count) and
+ * the edges are kept in an array grouped by the ordinal of their source
+ * vertex, together with the ordinal of their destination. The edges leaving
+ * a vertex therefore occupy one contiguous range of that array, which lets
+ * graph searches walk adjacency by index rather than through hash-based
+ * collections. A second, reverse index locates the edges entering a vertex.
+ * </p>
+ *
+ * @param <V> vertex type
+ * @param <E> edge type
+ */
+public class CsrGraph<V extends Vertex, E extends Edge<V>> implements Graph<V, E> {
+
+    private final Set<V> vertexes;
+    private final Set<E> edges;
+
+    private final ImmutableMap<V, Integer> ordinals;
+    private final Object[] vertexArray;
+
+    // edgeOffsets[v] .. edgeOffsets[v + 1] is the range of edges leaving v
+    private final int[] edgeOffsets;
+    private final Object[] edgeArray;
+    private final int[] edgeDsts;
+
+    // inOffsets[v] .. inOffsets[v + 1] is the range of inEdges entering v;
+    // inEdges holds indexes into the edge array
+    private final int[] inOffsets;
+    private final int[] inEdges;
+
+    /**
+     * Creates a graph comprising of the specified vertexes and edges.
+     *
+     * @param vertexes set of graph vertexes
+     * @param edges    set of graph edges
+     */
+    public CsrGraph(Set<V> vertexes, Set<E> edges) {
+        checkNotNull(vertexes, "Vertex set cannot be null");
+        checkNotNull(edges, "Edge set cannot be null");
+
+        // Make sure that all edge end-points are added as vertexes
+        ImmutableSet.Builder<V> actualVertexes = ImmutableSet.builder();
+        actualVertexes.addAll(vertexes);
+        for (E edge : edges) {
+            actualVertexes.add(edge.src());
+            actualVertexes.add(edge.dst());
+        }
+        this.vertexes = actualVertexes.build();
+        this.edges = ImmutableSet.copyOf(edges);
+
+        int vertexCount = this.vertexes.size();
+        int edgeCount = this.edges.size();
+
+        ImmutableMap.Builder<V, Integer> ordinalMap = ImmutableMap.builder();
+        vertexArray = new Object[vertexCount];
+        int ordinal = 0;
+        for (V vertex : this.vertexes) {
+            ordinalMap.put(vertex, ordinal);
+            vertexArray[ordinal++] = vertex;
+        }
+        ordinals = ordinalMap.build();
+
+        // Count the edges leaving and entering each vertex, then place each
+        // edge into its slot within the range of its source vertex.
+        int[] srcs = new int[edgeCount];
+        int[] dsts = new int[edgeCount];
+        edgeOffsets = new int[vertexCount + 1];
+        inOffsets = new int[vertexCount + 1];
+        int i = 0;
+        for (E edge : this.edges) {
+            srcs[i] = ordinals.get(edge.src());
+            dsts[i] = ordinals.get(edge.dst());
+            edgeOffsets[srcs[i] + 1]++;
+            inOffsets[dsts[i] + 1]++;
+            i++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            edgeOffsets[v + 1] += edgeOffsets[v];
+            inOffsets[v + 1] += inOffsets[v];
+        }
+
+        edgeArray = new Object[edgeCount];
+        edgeDsts = new int[edgeCount];
+        inEdges = new int[edgeCount];
+        int[] nextOut = new int[vertexCount];
+        int[] nextIn = new int[vertexCount];
+        i = 0;
+        for (E edge : this.edges) {
+            int slot = edgeOffsets[srcs[i]] + nextOut[srcs[i]]++;
+            edgeArray[slot] = edge;
+            edgeDsts[slot] = dsts[i];
+            inEdges[inOffsets[dsts[i]] + nextIn[dsts[i]]++] = slot;
+            i++;
+        }
+    }
+
+    @Override
+    public Set<V> getVertexes() {
+        return vertexes;
+    }
+
+    @Override
+    public Set<E> getEdges() {
+        return edges;
+    }
+
+    @Override
+    public Set<E> getEdgesFrom(V src) {
+        int v = ordinal(src);
+        return v < 0 ? ImmutableSet.of() : new EdgeRange(edgeOffsets[v], edgeOffsets[v + 1], false);
+    }
+
+    @Override
+    public Set<E> getEdgesTo(V dst) {
+        int v = ordinal(dst);
+        return v < 0 ? ImmutableSet.of() : new EdgeRange(inOffsets[v], inOffsets[v + 1], true);
+    }
+
+    /**
+     * Returns the number of vertexes, which bounds the vertex ordinals.
+     *
+     * @return number of vertexes
+     */
+    public int vertexCount() {
+        return vertexArray.length;
+    }
+
+    /**
+     * Returns the ordinal of the specified vertex.
+     *
+     * @param vertex graph vertex
+     * @return vertex ordinal; -1 if the vertex is not in the graph
+     */
+    public int ordinal(V vertex) {
+        Integer ordinal = ordinals.get(vertex);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    /**
+     * Returns the vertex with the specified ordinal.
+     *
+     * @param ordinal vertex ordinal
+     * @return graph vertex
+     */
+    @SuppressWarnings("unchecked")
+    public V vertex(int ordinal) {
+        return (V) vertexArray[ordinal];
+    }
+
+    /**
+     * Returns the index of the first edge leaving the vertex with the
+     * specified ordinal.
+     *
+     * @param ordinal vertex ordinal
+     * @return index of the first egress edge
+     */
+    public int edgesFromStart(int ordinal) {
+        return edgeOffsets[ordinal];
+    }
+
+    /**
+     * Returns the index just past the last edge leaving the vertex with the
+     * specified ordinal.
+     *
+     * @param ordinal vertex ordinal
+     * @return index past the last egress edge
+     */
+    public int edgesFromEnd(int ordinal) {
+        return edgeOffsets[ordinal + 1];
+    }
+
+    /**
+     * Returns the edge at the specified index.
+     *
+     * @param index edge index
+     * @return graph edge
+     */
+    @SuppressWarnings("unchecked")
+    public E edge(int index) {
+        return (E) edgeArray[index];
+    }
+
+    /**
+     * Returns the ordinal of the destination vertex of the edge at the
+     * specified index.
+     *
+     * @param index edge index
+     * @return destination vertex ordinal
+     */
+    public int edgeDst(int index) {
+        return edgeDsts[index];
+    }
+
+    // Read-only view of a contiguous range of egress or ingress edges
+    private final class EdgeRange extends AbstractSet<E> {
+        private final int start;
+        private final int end;
+        private final boolean ingress;
+
+        private EdgeRange(int start, int end, boolean ingress) {
+            this.start = start;
+            this.end = end;
+            this.ingress = ingress;
+        }
+
+        private E get(int i) {
+            return edge(ingress ? inEdges[i] : i);
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private int i = start;
+
+                @Override
+                public boolean hasNext() {
+                    return i < end;
+                }
+
+                @Override
+                public E next() {
+                    if (i >= end) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(i++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            for (int i = start; i < end; i++) {
+                if (get(i).equals(o)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof CsrGraph) {
+            CsrGraph that = (CsrGraph) obj;
+            return this.getClass() == that.getClass() &&
+                    Objects.equals(this.vertexes, that.vertexes) &&
+                    Objects.equals(this.edges, that.edges);
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(vertexes, edges);
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("vertexes", vertexes)
+                .add("edges", edges)
+                .toString();
+    }
+}
@@ -15,13 +15,17 @@
  */
 package org.onlab.graph;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Set;
-
 /**
  * Dijkstra shortest-path graph search algorithm capable of finding not just
  * one, but all shortest paths between the source and destinations.
+ * <p>
+ * The search walks graphs in compressed sparse row form, such as
+ * {@link CsrGraph} and the topology graphs built on it. Graphs in any other
+ * form are converted on every search, which adds O(V + E) time and memory to
+ * each call; callers searching the same graph repeatedly should build it as
+ * a {@link CsrGraph}. The conversion is not cached, as such graphs are often
+ * mutable.
+ * </p>
  */
 public class DijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
         extends AbstractGraphPathSearch<V, E> {
@@ -43,29 +47,47 @@ public class DijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
             return result;
         }
 
+        // Walk the graph in its compressed sparse row form, where vertexes
+        // have dense ordinals and the edges leaving a vertex are a contiguous
+        // range; graphs in any other form are converted first, per search.
+        CsrGraph<V, E> csr = asCsrGraph(graph);
+        boolean[] settled = new boolean[csr.vertexCount()];
+
         // Use the min priority queue to progressively find each nearest
         // vertex until we reach the desired destination, if one was given,
-        // or until we reach all possible destinations.
-        Heap<V> minQueue = createMinQueue(graph.getVertexes(),
-                                          new PathCostComparator(result));
+        // or until we reach all possible destinations. Only vertexes which
+        // have been reached are queued; their keys are lowered in place as
+        // cheaper paths to them are found.
+        IndexedMinHeap minQueue = new IndexedMinHeap(csr.vertexCount());
+        minQueue.offer(csr.ordinal(src), 0.0);
+        int dstOrdinal = dst == null ? -1 : csr.ordinal(dst);
         while (!minQueue.isEmpty()) {
             // Get the nearest vertex
-            V nearest = minQueue.extractExtreme();
+            int ordinal = minQueue.poll();
+            settled[ordinal] = true;
+            V nearest = csr.vertex(ordinal);
             if (nearest.equals(dst)) {
                 break;
             }
 
-            // Find its cost and use it to determine if the vertex is reachable.
+            // Relax all its egress edges, re-prioritizing the vertexes whose
+            // cost has been lowered.
             double cost = result.cost(nearest);
-            if (cost < Double.MAX_VALUE) {
-                // If the vertex is reachable, relax all its egress edges.
-                for (E e : graph.getEdgesFrom(nearest)) {
-                    result.relaxEdge(e, cost, weight, true);
+            for (int i = csr.edgesFromStart(ordinal); i < csr.edgesFromEnd(ordinal); i++) {
+                E e = csr.edge(i);
+                int next = csr.edgeDst(i);
+                if (result.relaxEdge(e, cost, weight, true) && !settled[next]) {
+                    minQueue.offer(next, result.cost(e.dst()));
                 }
             }
 
-            // Re-prioritize the min queue.
-            minQueue.heapify();
+            // Stop once the destination is among the nearest vertexes; it is
+            // taken ahead of the vertexes tied with it, so the parent edges
+            // it has accrued so far are the ones its paths are built from.
+            if (dstOrdinal >= 0 && minQueue.contains(dstOrdinal)
+                    && result.cost(dst) <= minQueue.minKey()) {
+                break;
+            }
         }
 
         // Now construct a set of paths from the results.
@@ -73,25 +95,10 @@ public class DijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
         return result;
     }
 
-    // Compares path weights using their accrued costs; used for sorting the
-    // min priority queue.
-    private final class PathCostComparator implements Comparator<V> {
-        private final DefaultResult result;
-
-        private PathCostComparator(DefaultResult result) {
-            this.result = result;
-        }
-
-        @Override
-        public int compare(V v1, V v2) {
-            double delta = result.cost(v2) - result.cost(v1);
-            return delta < 0 ? -1 : (delta > 0 ? 1 : 0);
-        }
-    }
-
-    // Creates a min priority queue from the specified vertexes and comparator.
-    private Heap<V> createMinQueue(Set<V> vertexes, Comparator<V> comparator) {
-        return new Heap<>(new ArrayList<>(vertexes), comparator);
+    @SuppressWarnings("unchecked")
+    private static <V extends Vertex, E extends Edge<V>> CsrGraph<V, E> asCsrGraph(Graph<V, E> graph) {
+        return graph instanceof CsrGraph ? (CsrGraph<V, E>) graph :
+                new CsrGraph<>(graph.getVertexes(), graph.getEdges());
     }
 
 }
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Array-backed binary min-heap of dense integer indexes, ordered by a
+ * {@code double} key per index and supporting in-place decrease of a key.
+ * <p>
+ * Each index may be on the heap at most once; offering an index which is
+ * already present lowers its key if the new key is smaller. All operations
+ * other than {@link #isEmpty}, {@link #contains} and {@link #minKey} take O(log n) time.
+ * </p>
+ * <p>
+ * This class is not thread-safe and care must be taken to prevent concurrent
+ * modifications.
+ * </p>
+ */
+final class IndexedMinHeap {
+
+    private static final int ABSENT = -1;
+
+    private final int[] heap;       // heap slot -> index
+    private final int[] positions;  // index -> heap slot, or ABSENT
+    private final double[] keys;    // index -> key
+    private int size = 0;
+
+    /**
+     * Creates an empty heap able to hold indexes in range [0, capacity).
+     *
+     * @param capacity number of distinct indexes
+     */
+    IndexedMinHeap(int capacity) {
+        checkArgument(capacity >= 0, "Capacity must not be negative");
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, ABSENT);
+    }
+
+    /**
+     * Returns true if there are no indexes on the heap.
+     *
+     * @return true if heap is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Indicates whether the given index is presently on the heap.
+     *
+     * @param index index to test
+     * @return true if the index is on the heap
+     */
+    boolean contains(int index) {
+        return positions[index] != ABSENT;
+    }
+
+    /**
+     * Adds the index with the given key, or lowers the key of an index
+     * already on the heap if the given key is smaller.
+     *
+     * @param index index to add
+     * @param key   key of the index
+     */
+    void offer(int index, double key) {
+        int slot = positions[index];
+        if (slot == ABSENT) {
+            keys[index] = key;
+            slot = size++;
+            heap[slot] = index;
+            positions[index] = slot;
+            siftUp(slot);
+        } else if (key < keys[index]) {
+            keys[index] = key;
+            siftUp(slot);
+        }
+    }
+
+    /**
+     * Returns the smallest key on the heap, without removing its index.
+     *
+     * @return smallest key
+     */
+    double minKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes and returns the index with the smallest key.
+     *
+     * @return index with the smallest key
+     */
+    int poll() {
+        int min = heap[0];
+        positions[min] = ABSENT;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            positions[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int slot) {
+        int index = heap[slot];
+        double key = keys[index];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            int parentIndex = heap[parent];
+            if (keys[parentIndex] <= key) {
+                break;
+            }
+            heap[slot] = parentIndex;
+            positions[parentIndex] = slot;
+            slot = parent;
+        }
+        heap[slot] = index;
+        positions[index] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int index = heap[slot];
+        double key = keys[index];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childIndex = heap[child];
+            if (key <= keys[childIndex]) {
+                break;
+            }
+            heap[slot] = childIndex;
+            positions[childIndex] = slot;
+            slot = child;
+        }
+        heap[slot] = index;
+        positions[index] = slot;
+    }
+
+}
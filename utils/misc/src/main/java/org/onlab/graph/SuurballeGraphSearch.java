@@ -42,8 +42,8 @@ public class SuurballeGraphSearch<V extends Vertex, E extends Edge<V>> extends D
         List<DisjointPathPair<V, E>> dpps = new ArrayList<>();
 
         final EdgeWeight weightf = weight;
-        DefaultResult firstDijkstraS = (DefaultResult) super.search(graph, src, dst, weight, ALL_PATHS);
-        DefaultResult firstDijkstra = (DefaultResult) super.search(graph, src, null, weight, ALL_PATHS);
+        DefaultResult firstDijkstraS = (DefaultResult) shortestPaths(graph, src, dst, weight);
+        DefaultResult firstDijkstra = (DefaultResult) shortestPaths(graph, src, null, weight);
 
         //choose an arbitrary shortest path to run Suurballe on
         Path<V, E> shortPath = null;
@@ -88,7 +88,7 @@ public class SuurballeGraphSearch<V extends Vertex, E extends Edge<V>> extends D
 
             //rerun dijkstra on the temporary graph to get a second path
             Result<V, Edge<V>> secondDijkstra;
-            secondDijkstra = new DijkstraGraphSearch<V, Edge<V>>().search(gt, src, dst, modified, ALL_PATHS);
+            secondDijkstra = shortestPaths(gt, src, dst, modified);
 
             Path<V, Edge<V>> residualShortPath = null;
             if (secondDijkstra.paths().size() == 0) {
@@ -117,11 +117,11 @@ public class SuurballeGraphSearch<V extends Vertex, E extends Edge<V>> extends D
                     }
                 }
                 //Actually build the final result
-                DefaultResult lastSearch = (DefaultResult) super.search(roundTrip, src, dst, weight, ALL_PATHS);
+                DefaultResult lastSearch = (DefaultResult) shortestPaths(roundTrip, src, dst, weight);
                 Path<V, E> path1 = lastSearch.paths().iterator().next();
                 path1.edges().forEach(roundTrip::removeEdge);
 
-                Set<Path<V, E>> bckpaths = super.search(roundTrip, src, dst, weight, ALL_PATHS).paths();
+                Set<Path<V, E>> bckpaths = shortestPaths(roundTrip, src, dst, weight).paths();
                 Path<V, E> backup = null;
                 if (bckpaths.size() != 0) {
                     backup = bckpaths.iterator().next();
@@ -167,6 +167,22 @@ public class SuurballeGraphSearch<V extends Vertex, E extends Edge<V>> extends D
         };
     }
 
+    /**
+     * Finds all shortest paths between the source and the destination; all
+     * the searches the disjoint path pairs are built from go through here.
+     *
+     * @param graph  graph to be searched
+     * @param src    source vertex
+     * @param dst    optional destination vertex
+     * @param weight edge weight function
+     * @param <T>    edge type
+     * @return search result
+     */
+    <T extends Edge<V>> Result<V, T> shortestPaths(Graph<V, T> graph, V src, V dst,
+                                                   EdgeWeight<V, T> weight) {
+        return new DijkstraGraphSearch<V, T>().search(graph, src, dst, weight, ALL_PATHS);
+    }
+
     private Class<?> clazzV;
 
     public Class<?> classV() {
@@ -21,6 +21,7 @@ import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.ByteBufferInput;
 import com.esotericsoftware.kryo.io.ByteBufferOutput;
 import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
 import com.esotericsoftware.kryo.pool.KryoCallback;
 import com.esotericsoftware.kryo.pool.KryoFactory;
 import com.esotericsoftware.kryo.pool.KryoPool;
@@ -54,6 +55,16 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
     public static final int DEFAULT_BUFFER_SIZE = 4096;
     public static final int MAX_BUFFER_SIZE = 100 * 1000 * 1000;
 
+    /**
+     * Largest per-thread output buffer retained for reuse between calls.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    // Per-thread reusable output buffers shared by all namespaces;
+    // the slot is null while the buffer is in use
+    private static final ThreadLocal<Output> OUTPUTS =
+            ThreadLocal.withInitial(() -> new Output(DEFAULT_BUFFER_SIZE, MAX_BUFFER_SIZE));
+
     /**
      * ID to use if this KryoNamespace does not define registration id.
      */
@@ -261,7 +272,22 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
      * @return serialized bytes
      */
     public byte[] serialize(final Object obj) {
-        return serialize(obj, DEFAULT_BUFFER_SIZE);
+        Output out = OUTPUTS.get();
+        if (out == null) {
+            // re-entrant call on this thread; the reusable buffer is taken
+            return serialize(obj, DEFAULT_BUFFER_SIZE);
+        }
+        OUTPUTS.set(null);
+        try {
+            return writeAndCopy(obj, out);
+        } finally {
+            out.clear();
+            if (out.getBuffer().length > MAX_POOLED_BUFFER_SIZE) {
+                // do not hold on to buffers grown for exceptionally large objects
+                out = new Output(DEFAULT_BUFFER_SIZE, MAX_BUFFER_SIZE);
+            }
+            OUTPUTS.set(out);
+        }
     }
 
     /**
@@ -272,18 +298,18 @@ public final class KryoNamespace implements KryoFactory, KryoPool {
      * @return serialized bytes
      */
     public byte[] serialize(final Object obj, final int bufferSize) {
-        ByteBufferOutput out = new ByteBufferOutput(bufferSize, MAX_BUFFER_SIZE);
+        return writeAndCopy(obj, new Output(bufferSize, MAX_BUFFER_SIZE));
+    }
+
+    // Writes the object to the given output and returns a copy of the bytes written.
+    private byte[] writeAndCopy(final Object obj, final Output out) {
+        Kryo kryo = borrow();
         try {
-            Kryo kryo = borrow();
-            try {
-                kryo.writeClassAndObject(out, obj);
-                out.flush();
-                return out.toBytes();
-            } finally {
-                release(kryo);
-            }
+            kryo.writeClassAndObject(out, obj);
+            out.flush();
+            return out.toBytes();
         } finally {
-            out.release();
+            release(kryo);
         }
     }
 
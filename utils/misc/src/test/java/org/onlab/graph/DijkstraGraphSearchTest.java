@@ -15,14 +15,19 @@
  */
 package org.onlab.graph;
 
+import com.google.common.collect.ImmutableList;
 import org.junit.Test;
 
 import java.text.DecimalFormat;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static com.google.common.collect.ImmutableSet.of;
 import static org.junit.Assert.assertEquals;
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
 
 /**
  * Test of the Dijkstra algorithm.
@@ -162,4 +167,55 @@ public class DijkstraGraphSearchTest extends BreadthFirstSearchTest {
         System.out.println("Compute cost is " + fmt.format(end - start) + " nanos");
     }
 
+    /**
+     * Tests that the indexed heap search finds the same costs, parent edges
+     * and paths as the heap based search it replaced, on random graphs.
+     */
+    @Test
+    public void matchesHeapSearchOnRandomGraphs() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            // Integer weights make for many equal-cost paths; a search for
+            // all destinations must find every one of them either way.
+            Graph<TestVertex, TestEdge> tied = randomGraph(random, 20, 60, true);
+            TestVertex src = tied.getVertexes().iterator().next();
+            assertSameResult(tied, src, null);
+
+            Graph<TestVertex, TestEdge> distinct = randomGraph(random, 20, 60, false);
+            List<TestVertex> vertexes = new ArrayList<>(distinct.getVertexes());
+            assertSameResult(distinct, vertexes.get(0), null);
+            assertSameResult(distinct, vertexes.get(0), vertexes.get(vertexes.size() - 1));
+        }
+    }
+
+    private void assertSameResult(Graph<TestVertex, TestEdge> graph, TestVertex src, TestVertex dst) {
+        GraphPathSearch.Result<TestVertex, TestEdge> expected =
+                new HeapDijkstraGraphSearch<TestVertex, TestEdge>().search(graph, src, dst, weight, ALL_PATHS);
+        GraphPathSearch.Result<TestVertex, TestEdge> actual =
+                graphSearch().search(graph, src, dst, weight, ALL_PATHS);
+        assertEquals("incorrect costs", expected.costs(), actual.costs());
+        assertEquals("incorrect parents", expected.parents(), actual.parents());
+        assertEquals("incorrect paths", expected.paths(), actual.paths());
+    }
+
+    // Builds a graph of random directed edges, without parallel edges.
+    static Graph<TestVertex, TestEdge> randomGraph(Random random, int vertexCount,
+                                                   int edgeCount, boolean integerWeights) {
+        List<TestVertex> vertexes = new ArrayList<>();
+        for (int i = 0; i < vertexCount; i++) {
+            vertexes.add(new TestVertex("v" + i));
+        }
+        Set<TestEdge> edges = new HashSet<>();
+        Set<List<TestVertex>> ends = new HashSet<>();
+        while (edges.size() < edgeCount) {
+            TestVertex src = vertexes.get(random.nextInt(vertexCount));
+            TestVertex dst = vertexes.get(random.nextInt(vertexCount));
+            if (!src.equals(dst) && ends.add(ImmutableList.of(src, dst))) {
+                double weight = integerWeights ? 1 + random.nextInt(3) : 1 + random.nextDouble();
+                edges.add(new TestEdge(src, dst, weight));
+            }
+        }
+        return new AdjacencyListsGraph<>(new HashSet<>(vertexes), edges);
+    }
+
 }
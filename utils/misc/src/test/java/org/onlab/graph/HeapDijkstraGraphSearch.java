@@ -0,0 +1,66 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+
+/**
+ * Dijkstra graph search re-heapifying a heap of all vertexes after each
+ * extraction, as DijkstraGraphSearch did before it kept an indexed heap;
+ * kept as the reference the indexed search is compared against.
+ */
+public class HeapDijkstraGraphSearch<V extends Vertex, E extends Edge<V>>
+        extends AbstractGraphPathSearch<V, E> {
+
+    @Override
+    public Result<V, E> search(Graph<V, E> graph, V src, V dst,
+                               EdgeWeight<V, E> weight, int maxPaths) {
+        checkArguments(graph, src, dst);
+
+        DefaultResult result = new DefaultResult(src, dst, maxPaths);
+        result.updateVertex(src, null, 0.0, false);
+
+        if (graph.getEdges().isEmpty()) {
+            result.buildPaths();
+            return result;
+        }
+
+        Comparator<V> comparator = (v1, v2) -> {
+            double delta = result.cost(v2) - result.cost(v1);
+            return delta < 0 ? -1 : (delta > 0 ? 1 : 0);
+        };
+        Heap<V> minQueue = new Heap<>(new ArrayList<>(graph.getVertexes()), comparator);
+        while (!minQueue.isEmpty()) {
+            V nearest = minQueue.extractExtreme();
+            if (nearest.equals(dst)) {
+                break;
+            }
+
+            double cost = result.cost(nearest);
+            if (cost < Double.MAX_VALUE) {
+                for (E e : graph.getEdgesFrom(nearest)) {
+                    result.relaxEdge(e, cost, weight, true);
+                }
+            }
+            minQueue.heapify();
+        }
+
+        result.buildPaths();
+        return result;
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onlab.graph;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Indexed min-heap data structure tests.
+ */
+public class IndexedMinHeapTest {
+
+    private static final double[] KEYS = {6, 4, 5, 9, 8, 3, 2, 1, 7, 0};
+
+    private IndexedMinHeap heap() {
+        IndexedMinHeap h = new IndexedMinHeap(KEYS.length);
+        for (int i = 0; i < KEYS.length; i++) {
+            h.offer(i, KEYS[i]);
+        }
+        return h;
+    }
+
+    @Test
+    public void empty() {
+        IndexedMinHeap h = new IndexedMinHeap(3);
+        assertTrue("should be empty", h.isEmpty());
+        assertFalse("no index expected", h.contains(0));
+    }
+
+    @Test
+    public void poll() {
+        IndexedMinHeap h = heap();
+        int[] expected = {9, 7, 6, 5, 1, 2, 0, 8, 4, 3};
+        for (int index : expected) {
+            assertTrue("index should be present", h.contains(index));
+            assertEquals("incorrect index", index, h.poll());
+            assertFalse("index should be gone", h.contains(index));
+        }
+        assertTrue("should be empty", h.isEmpty());
+    }
+
+    @Test
+    public void decreaseKey() {
+        IndexedMinHeap h = heap();
+        h.offer(3, -1);
+        assertEquals("incorrect index", 3, h.poll());
+        h.offer(4, 100);
+        h.offer(4, 0.5);
+        assertEquals("incorrect index", 9, h.poll());
+        assertEquals("incorrect index", 4, h.poll());
+        assertEquals("incorrect index", 7, h.poll());
+    }
+
+    @Test
+    public void reinsert() {
+        IndexedMinHeap h = new IndexedMinHeap(2);
+        h.offer(0, 1);
+        assertEquals("incorrect index", 0, h.poll());
+        h.offer(1, 2);
+        h.offer(0, 3);
+        assertEquals("incorrect index", 1, h.poll());
+        assertEquals("incorrect index", 0, h.poll());
+        assertTrue("should be empty", h.isEmpty());
+    }
+}
@@ -16,10 +16,15 @@
 package org.onlab.graph;
 
 import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import static com.google.common.collect.ImmutableSet.of;
 import static org.junit.Assert.assertEquals;
+import static org.onlab.graph.GraphPathSearch.ALL_PATHS;
 //import static org.junit.Assert.assertTrue;
 
 
@@ -29,9 +34,37 @@ import static org.junit.Assert.assertEquals;
  */
 public class SuurballeGraphSearchTest extends BreadthFirstSearchTest {
 
+    // Every search also checks that its paths match those found when the
+    // underlying shortest path searches use the heap based search.
     @Override
     protected AbstractGraphPathSearch<TestVertex, TestEdge> graphSearch() {
-        return new SuurballeGraphSearch<>();
+        return new SuurballeGraphSearch<TestVertex, TestEdge>() {
+            @Override
+            public Result<TestVertex, TestEdge> search(Graph<TestVertex, TestEdge> graph,
+                                                       TestVertex src, TestVertex dst,
+                                                       EdgeWeight<TestVertex, TestEdge> weight,
+                                                       int maxPaths) {
+                Result<TestVertex, TestEdge> result = super.search(graph, src, dst, weight, maxPaths);
+                if (graph != null && src != null) {
+                    assertEquals("paths differ from the heap based search",
+                                 heapSearch().search(graph, src, dst, weight, maxPaths).paths(),
+                                 result.paths());
+                }
+                return result;
+            }
+        };
+    }
+
+    // Suurballe search running its shortest path searches on the heap based search.
+    private SuurballeGraphSearch<TestVertex, TestEdge> heapSearch() {
+        return new SuurballeGraphSearch<TestVertex, TestEdge>() {
+            @Override
+            <T extends Edge<TestVertex>> Result<TestVertex, T> shortestPaths(Graph<TestVertex, T> graph,
+                                                                              TestVertex src, TestVertex dst,
+                                                                              EdgeWeight<TestVertex, T> weight) {
+                return new HeapDijkstraGraphSearch<TestVertex, T>().search(graph, src, dst, weight, ALL_PATHS);
+            }
+        };
     }
 
     public void setWeights() {
@@ -151,4 +184,14 @@ public class SuurballeGraphSearchTest extends BreadthFirstSearchTest {
         Set<Path<TestVertex, TestEdge>> paths = result.paths();
         assertEquals("incorrect paths count", 0, paths.size());
     }
+    @Test
+    public void matchesHeapSearchOnRandomGraphs() {
+        setWeights();
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            Graph<TestVertex, TestEdge> graph = DijkstraGraphSearchTest.randomGraph(random, 12, 36, false);
+            List<TestVertex> vertexes = new ArrayList<>(graph.getVertexes());
+            graphSearch().search(graph, vertexes.get(0), vertexes.get(vertexes.size() - 1), weight, ALL_PATHS);
+        }
+    }
 }
@@ -19,11 +19,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.app.ApplicationService;
 import org.onosproject.core.ApplicationId;
-import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.flow.FlowEntry;
@@ -33,6 +34,7 @@ import org.onosproject.rest.AbstractWebResource;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
@@ -75,24 +77,27 @@ public class FlowsWebResource extends AbstractWebResource {
 
     /**
      * Gets all flow entries. Returns array of all flow rules in the system.
+     * Flows are streamed device by device; cursor and limit page through
+     * them on a best-effort basis, as the order may shift while flows change.
      *
+     * @param cursor number of flows to skip
+     * @param limit  maximum number of flows to return; 0 for no limit
      * @return 200 OK with a collection of flows
      * @onos.rsModel FlowEntries
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getFlows() {
-        final Iterable<Device> devices = get(DeviceService.class).getDevices();
-        for (final Device device : devices) {
-            final Iterable<FlowEntry> flowEntries = service.getFlowEntries(device.id());
-            if (flowEntries != null) {
-                for (final FlowEntry entry : flowEntries) {
-                    flowsNode.add(codec(FlowEntry.class).encode(entry, this));
-                }
-            }
-        }
-
-        return ok(root).build();
+    public Response getFlows(@QueryParam("cursor") @DefaultValue("0") int cursor,
+                             @QueryParam("limit") @DefaultValue("0") int limit) {
+        final Iterable<FlowEntry> flowEntries =
+                FluentIterable.from(get(DeviceService.class).getDevices())
+                        .<FlowEntry>transformAndConcat(device -> {
+                            Iterable<FlowEntry> entries = service.getFlowEntries(device.id());
+                            return entries != null ? entries : ImmutableList.<FlowEntry>of();
+                        });
+
+        return ok(new JsonArrayStreamingOutput<>(this, codec(FlowEntry.class), FLOWS,
+                                                 flowEntries, cursor, limit)).build();
     }
 
     /**
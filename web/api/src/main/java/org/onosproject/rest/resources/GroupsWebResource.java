@@ -18,7 +18,8 @@ package org.onosproject.rest.resources;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import org.onosproject.net.Device;
+import com.google.common.collect.FluentIterable;
+import com.google.common.collect.ImmutableList;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.group.DefaultGroupDescription;
@@ -31,11 +32,13 @@ import org.onosproject.rest.AbstractWebResource;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -65,22 +68,27 @@ public class GroupsWebResource extends AbstractWebResource {
 
     /**
      * Returns all groups of all devices.
+     * Groups are streamed device by device; cursor and limit page through
+     * them on a best-effort basis, as the order may shift while groups change.
      *
+     * @param cursor number of groups to skip
+     * @param limit  maximum number of groups to return; 0 for no limit
      * @return 200 OK with array of all the groups in the system
      * @onos.rsModel Groups
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getGroups() {
-        final Iterable<Device> devices = get(DeviceService.class).getDevices();
-        devices.forEach(device -> {
-            final Iterable<Group> groups = groupService.getGroups(device.id());
-            if (groups != null) {
-                groups.forEach(group -> groupsNode.add(codec(Group.class).encode(group, this)));
-            }
-        });
-
-        return ok(root).build();
+    public Response getGroups(@QueryParam("cursor") @DefaultValue("0") int cursor,
+                              @QueryParam("limit") @DefaultValue("0") int limit) {
+        final Iterable<Group> groups =
+                FluentIterable.from(get(DeviceService.class).getDevices())
+                        .<Group>transformAndConcat(device -> {
+                            Iterable<Group> deviceGroups = groupService.getGroups(device.id());
+                            return deviceGroups != null ? deviceGroups : ImmutableList.<Group>of();
+                        });
+
+        return ok(new JsonArrayStreamingOutput<>(this, codec(Group.class), "groups",
+                                                 groups, cursor, limit)).build();
     }
 
     /**
@@ -36,11 +36,13 @@ import org.onosproject.net.provider.ProviderId;
 import org.onosproject.rest.AbstractWebResource;
 
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -70,17 +72,22 @@ public class HostsWebResource extends AbstractWebResource {
 
     /**
      * Get all end-station hosts.
-     * Returns array of all known end-station hosts.
+     * Returns array of all known end-station hosts. Cursor and limit page
+     * through them on a best-effort basis, as the order may shift while
+     * hosts come and go.
      *
+     * @param cursor number of hosts to skip
+     * @param limit  maximum number of hosts to return; 0 for no limit
      * @return 200 OK with array of all known end-station hosts.
      * @onos.rsModel Hosts
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getHosts() {
+    public Response getHosts(@QueryParam("cursor") @DefaultValue("0") int cursor,
+                             @QueryParam("limit") @DefaultValue("0") int limit) {
         final Iterable<Host> hosts = get(HostService.class).getHosts();
-        final ObjectNode root = encodeArray(Host.class, "hosts", hosts);
-        return ok(root).build();
+        return ok(new JsonArrayStreamingOutput<>(this, codec(Host.class), "hosts",
+                                                 hosts, cursor, limit)).build();
     }
 
     /**
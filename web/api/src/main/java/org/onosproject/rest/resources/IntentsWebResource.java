@@ -31,11 +31,13 @@ import org.slf4j.Logger;
 
 import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
@@ -67,17 +69,22 @@ public class IntentsWebResource extends AbstractWebResource {
 
     /**
      * Gets all intents.
-     * Returns array containing all the intents in the system.
+     * Returns array containing all the intents in the system. Cursor and limit
+     * page through them on a best-effort basis, as the order may shift while
+     * intents change.
      *
+     * @param cursor number of intents to skip
+     * @param limit  maximum number of intents to return; 0 for no limit
      * @return 200 OK with array of all the intents in the system
      * @onos.rsModel Intents
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getIntents() {
+    public Response getIntents(@QueryParam("cursor") @DefaultValue("0") int cursor,
+                               @QueryParam("limit") @DefaultValue("0") int limit) {
         final Iterable<Intent> intents = get(IntentService.class).getIntents();
-        final ObjectNode root = encodeArray(Intent.class, "intents", intents);
-        return ok(root).build();
+        return ok(new JsonArrayStreamingOutput<>(this, codec(Intent.class), "intents",
+                                                 intents, cursor, limit)).build();
     }
 
     /**
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016-present Open Networking Laboratory
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.rest.resources;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.onosproject.codec.CodecContext;
+import org.onosproject.codec.JsonCodec;
+
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Response entity writing a JSON object that holds an array of entities.
+ * <p>
+ * Entities are encoded one at a time with their codec and written straight
+ * to the response stream, so the complete collection is never held in memory
+ * as a JSON tree. A cursor and a limit may be given to page through the
+ * collection; if entities remain past the limit, the cursor of the next page
+ * is written in the {@code nextCursor} field.
+ * </p>
+ * <p>
+ * Paging is best-effort: the cursor is a position in the iteration order of
+ * the collection, which the services do not keep stable while the collection
+ * changes. Entities added or removed between two requests may therefore make
+ * the next page skip or repeat entities. Clients needing a consistent view
+ * should read the collection without a limit.
+ * </p>
+ *
+ * @param <T> entity type
+ */
+public class JsonArrayStreamingOutput<T> implements StreamingOutput {
+
+    private static final String NEXT_CURSOR = "nextCursor";
+
+    private final CodecContext context;
+    private final JsonCodec<T> codec;
+    private final String field;
+    private final Iterable<? extends T> items;
+    private final int cursor;
+    private final int limit;
+
+    /**
+     * Creates a streaming output for the whole collection of entities.
+     *
+     * @param context codec context
+     * @param codec   codec of the entities
+     * @param field   field holding the array
+     * @param items   entities to be encoded into the array
+     */
+    public JsonArrayStreamingOutput(CodecContext context, JsonCodec<T> codec,
+                                    String field, Iterable<? extends T> items) {
+        this(context, codec, field, items, 0, 0);
+    }
+
+    /**
+     * Creates a streaming output for a page of the collection of entities.
+     *
+     * @param context codec context
+     * @param codec   codec of the entities
+     * @param field   field holding the array
+     * @param items   entities to be encoded into the array
+     * @param cursor  number of entities to skip
+     * @param limit   maximum number of entities to write; 0 for no limit
+     */
+    public JsonArrayStreamingOutput(CodecContext context, JsonCodec<T> codec,
+                                    String field, Iterable<? extends T> items,
+                                    int cursor, int limit) {
+        checkArgument(cursor >= 0, "Cursor must not be negative");
+        checkArgument(limit >= 0, "Limit must not be negative");
+        this.context = checkNotNull(context);
+        this.codec = checkNotNull(codec);
+        this.field = checkNotNull(field);
+        this.items = checkNotNull(items);
+        this.cursor = cursor;
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        JsonGenerator generator = context.mapper().getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(field);
+        Iterator<? extends T> iterator = items.iterator();
+        // computed in longs so that a large cursor and limit cannot overflow
+        long end = limit == 0 ? Long.MAX_VALUE : (long) cursor + limit;
+        long position = 0;
+        while (iterator.hasNext() && position < end) {
+            T item = iterator.next();
+            if (position++ >= cursor) {
+                context.mapper().writeTree(generator, codec.encode(item, context));
+            }
+        }
+        generator.writeEndArray();
+        if (iterator.hasNext()) {
+            generator.writeNumberField(NEXT_CURSOR, position);
+        }
+        generator.writeEndObject();
+        generator.close();
+    }
+}
@@ -774,6 +774,54 @@ public class FlowsResourceTest extends ResourceTest {
         assertThat(jsonFlows, hasFlow(flow4));
     }
 
+    /**
+     * Tests paging through the flows with the cursor and limit parameters.
+     */
+    @Test
+    public void testFlowsPaging() {
+        setupMockFlows();
+        expect(mockDeviceService.getDevices())
+                .andReturn(ImmutableSet.of(device1, device2));
+        replay(mockFlowService);
+        replay(mockDeviceService);
+        final WebTarget wt = target();
+
+        String response = wt.path("flows").queryParam("limit", 3).request().get(String.class);
+        JsonObject result = Json.parse(response).asObject();
+        final JsonArray jsonFlows = result.get("flows").asArray();
+        assertThat(jsonFlows.size(), is(3));
+        assertThat(result.get("nextCursor").asInt(), is(3));
+
+        response = wt.path("flows").queryParam("cursor", 3).queryParam("limit", 3)
+                .request().get(String.class);
+        result = Json.parse(response).asObject();
+        assertThat(result.get("flows").asArray().size(), is(1));
+        assertThat(result.names(), hasSize(1));
+
+        result.get("flows").asArray().forEach(jsonFlows::add);
+        assertThat(jsonFlows, hasFlow(flow1));
+        assertThat(jsonFlows, hasFlow(flow2));
+        assertThat(jsonFlows, hasFlow(flow3));
+        assertThat(jsonFlows, hasFlow(flow4));
+    }
+
+    /**
+     * Tests that a cursor and limit adding up past the integer range return
+     * the end of the collection.
+     */
+    @Test
+    public void testFlowsPagingOverflow() {
+        setupMockFlows();
+        replay(mockFlowService);
+        replay(mockDeviceService);
+        final WebTarget wt = target();
+        final String response = wt.path("flows")
+                .queryParam("cursor", Integer.MAX_VALUE)
+                .queryParam("limit", Integer.MAX_VALUE)
+                .request().get(String.class);
+        assertThat(response, is("{\"flows\":[]}"));
+    }
+
     /**
      * Tests the result of a rest api GET for a device.
      */
@@ -426,6 +426,37 @@ public class GroupsResourceTest extends ResourceTest {
         assertThat(jsonGroups, hasGroup(group4));
     }
 
+    /**
+     * Tests paging through the groups with the cursor and limit parameters.
+     */
+    @Test
+    public void testGroupsPaging() {
+        setupMockGroups();
+        expect(mockDeviceService.getDevices())
+                .andReturn(ImmutableSet.of(device1, device2));
+        replay(mockGroupService);
+        replay(mockDeviceService);
+        final WebTarget wt = target();
+
+        String response = wt.path("groups").queryParam("limit", 3).request().get(String.class);
+        JsonObject result = Json.parse(response).asObject();
+        final JsonArray jsonGroups = result.get("groups").asArray();
+        assertThat(jsonGroups.size(), is(3));
+        assertThat(result.get("nextCursor").asInt(), is(3));
+
+        response = wt.path("groups").queryParam("cursor", 3).queryParam("limit", 3)
+                .request().get(String.class);
+        result = Json.parse(response).asObject();
+        assertThat(result.get("groups").asArray().size(), is(1));
+        assertThat(result.names(), hasSize(1));
+
+        result.get("groups").asArray().forEach(jsonGroups::add);
+        assertThat(jsonGroups, hasGroup(group1));
+        assertThat(jsonGroups, hasGroup(group2));
+        assertThat(jsonGroups, hasGroup(group3));
+        assertThat(jsonGroups, hasGroup(group4));
+    }
+
     /**
      * Tests the result of a rest api GET for a device.
      */
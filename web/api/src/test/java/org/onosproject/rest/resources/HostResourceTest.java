@@ -292,6 +292,33 @@ public class HostResourceTest extends ResourceTest {
         assertThat(hosts, hasHost(host2));
     }
 
+    /**
+     * Tests paging through the hosts with the cursor and limit parameters.
+     */
+    @Test
+    public void testHostsPaging() {
+        replay(mockHostService);
+        final ProviderId pid = new ProviderId("of", "foo");
+        for (int i = 1; i <= 3; i++) {
+            final MacAddress mac = MacAddress.valueOf("00:00:11:00:00:0" + i);
+            hosts.add(new DefaultHost(pid, HostId.hostId(mac), mac, vlanId((short) i),
+                                      new HostLocation(DeviceId.deviceId("1"), portNumber(i), 1),
+                                      ImmutableSet.of()));
+        }
+        WebTarget wt = target();
+
+        String response = wt.path("hosts").queryParam("limit", 2).request().get(String.class);
+        JsonObject result = Json.parse(response).asObject();
+        assertThat(result.get("hosts").asArray().size(), is(2));
+        assertThat(result.get("nextCursor").asInt(), is(2));
+
+        response = wt.path("hosts").queryParam("cursor", 2).queryParam("limit", 2)
+                .request().get(String.class);
+        result = Json.parse(response).asObject();
+        assertThat(result.get("hosts").asArray().size(), is(1));
+        assertThat(result.names(), hasSize(1));
+    }
+
     /**
      * Tests fetch of one host by Id.
      */
@@ -312,6 +312,39 @@ public class IntentsResourceTest extends ResourceTest {
         assertThat(jsonIntents, hasIntent(intent2));
     }
 
+    /**
+     * Tests paging through the intents with the cursor and limit parameters.
+     */
+    @Test
+    public void testIntentsPaging() {
+        replay(mockIntentService);
+
+        final Intent intent1 = new MockIntent(1L, Collections.emptyList());
+        final Intent intent2 = new MockIntent(2L, Collections.emptyList());
+        final Intent intent3 = new MockIntent(3L, Collections.emptyList());
+        intents.add(intent1);
+        intents.add(intent2);
+        intents.add(intent3);
+        final WebTarget wt = target();
+
+        String response = wt.path("intents").queryParam("limit", 2).request().get(String.class);
+        JsonObject result = Json.parse(response).asObject();
+        final JsonArray jsonIntents = result.get("intents").asArray();
+        assertThat(jsonIntents.size(), is(2));
+        assertThat(result.get("nextCursor").asInt(), is(2));
+
+        response = wt.path("intents").queryParam("cursor", 2).queryParam("limit", 2)
+                .request().get(String.class);
+        result = Json.parse(response).asObject();
+        assertThat(result.get("intents").asArray().size(), is(1));
+        assertThat(result.names(), hasSize(1));
+
+        result.get("intents").asArray().forEach(jsonIntents::add);
+        assertThat(jsonIntents, hasIntent(intent1));
+        assertThat(jsonIntents, hasIntent(intent2));
+        assertThat(jsonIntents, hasIntent(intent3));
+    }
+
     /**
      * Tests the result of a rest api GET for a single intent.
      */